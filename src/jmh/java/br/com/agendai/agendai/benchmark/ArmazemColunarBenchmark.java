@@ -0,0 +1,67 @@
+package br.com.agendai.agendai.benchmark;
+
+import br.com.agendai.agendai.model.Tarefa;
+import br.com.agendai.agendai.service.ArmazemColunar;
+import br.com.agendai.agendai.service.CacheConsultas;
+import br.com.agendai.agendai.service.ColunasTarefas;
+import br.com.agendai.agendai.service.DiarioMutacoes;
+import br.com.agendai.agendai.service.GeradorIdsMonotonico;
+import br.com.agendai.agendai.service.ObterEstatisticas;
+import br.com.agendai.agendai.service.ServicoTarefa;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+// Estatísticas por período de criação percorrendo o índice temporal e as tarefas, contra o laço
+// sobre as colunas primitivas. O cache de consultas fica desligado para medir sempre a varredura.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ArmazemColunarBenchmark {
+
+    @Param({"100000", "1000000"})
+    int tamanho;
+
+    @Param({"false", "true"})
+    boolean colunar;
+
+    private ServicoTarefa servico;
+    private LocalDateTime inicio;
+    private LocalDateTime meio;
+    private LocalDateTime fim;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        ColunasTarefas colunas = colunar ? new ArmazemColunar() : ColunasTarefas.NENHUMA;
+        servico = new ServicoTarefa(DiarioMutacoes.NENHUM, CacheConsultas.NENHUM, new GeradorIdsMonotonico(), colunas);
+        Tarefa[] tarefas = new MassaTarefas().popular(servico, tamanho);
+        inicio = tarefas[0].getCriadoEm().minusSeconds(1);
+        meio = tarefas[tarefas.length / 2].getCriadoEm();
+        fim = tarefas[tarefas.length - 1].getCriadoEm().plusSeconds(1);
+    }
+
+    @Benchmark
+    public ObterEstatisticas estatisticasDeTodoPeriodo() {
+        return servico.obterEstatisticasEntreDatas(inicio, fim);
+    }
+
+    @Benchmark
+    public ObterEstatisticas estatisticasDaPrimeiraMetade() {
+        return servico.obterEstatisticasEntreDatas(inicio, meio);
+    }
+}
@@ -0,0 +1,88 @@
+package br.com.agendai.agendai.benchmark;
+
+import br.com.agendai.agendai.model.StatusTarefa;
+import br.com.agendai.agendai.model.Tarefa;
+import br.com.agendai.agendai.service.CacheConsultas;
+import br.com.agendai.agendai.service.CacheConsultasCaffeine;
+import br.com.agendai.agendai.service.DiarioMutacoes;
+import br.com.agendai.agendai.service.ObterEstatisticas;
+import br.com.agendai.agendai.service.Pagina;
+import br.com.agendai.agendai.service.ServicoTarefa;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Consultas repetidas com e sem o cache de resultados. "comEscritas" intercala uma conclusão a cada
+// 100 consultas, o que muda a versão da loja e força o recálculo da próxima consulta de cada chave.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class CacheConsultasBenchmark {
+
+    private static final int TAMANHO_PAGINA = 100;
+    private static final int CONSULTAS_POR_ESCRITA = 100;
+
+    @Param({"100000"})
+    int tamanho;
+
+    @Param({"false", "true"})
+    boolean cache;
+
+    private ServicoTarefa servico;
+    private String[] ids;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        CacheConsultas cacheConsultas = cache ? new CacheConsultasCaffeine(200_000) : CacheConsultas.NENHUM;
+        servico = new ServicoTarefa(DiarioMutacoes.NENHUM, cacheConsultas);
+        Tarefa[] tarefas = new MassaTarefas().popular(servico, tamanho);
+        ids = new String[tarefas.length];
+        for (int i = 0; i < tarefas.length; i++) {
+            ids[i] = tarefas[i].getIdTarefa();
+        }
+    }
+
+    @Benchmark
+    public Pagina<Tarefa> buscarPaginaPorTermoFrequente() {
+        return servico.buscarTarefasPorTermo(MassaTarefas.TERMO_FREQUENTE, null, TAMANHO_PAGINA);
+    }
+
+    @Benchmark
+    public Pagina<Tarefa> listarPaginaPorStatus() {
+        return servico.listarTarefasPorStatus(StatusTarefa.PENDENTE, null, TAMANHO_PAGINA);
+    }
+
+    @Benchmark
+    public ObterEstatisticas obterEstatisticas() {
+        return servico.obterEstatisticas();
+    }
+
+    @Benchmark
+    public Pagina<Tarefa> buscarPaginaPorTermoComEscritas() {
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+        if (aleatorio.nextInt(CONSULTAS_POR_ESCRITA) == 0) {
+            String id = ids[aleatorio.nextInt(ids.length)];
+            if (aleatorio.nextBoolean()) {
+                servico.concluirTarefa(id);
+            } else {
+                servico.reabrirTarefa(id);
+            }
+        }
+        return servico.buscarTarefasPorTermo(MassaTarefas.TERMO_FREQUENTE, null, TAMANHO_PAGINA);
+    }
+}
@@ -0,0 +1,146 @@
+package br.com.agendai.agendai.benchmark;
+
+import br.com.agendai.agendai.model.EventoTarefa;
+import br.com.agendai.agendai.model.PrioridadeTarefa;
+import br.com.agendai.agendai.model.Tarefa;
+import br.com.agendai.agendai.model.TipoEventoTarefa;
+import br.com.agendai.agendai.persistencia.DiarioMapeado;
+import br.com.agendai.agendai.persistencia.PoliticaSincronizacao;
+import br.com.agendai.agendai.service.GeradorIdsMonotonico;
+import br.com.agendai.agendai.service.ServicoTarefa;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+// Vazão de escrita do diário por política de sincronização e tempo de recuperação de uma loja inteira.
+public class DiarioMapeadoBenchmark {
+
+    private static final int TAMANHO_SEGMENTO = 64 * 1024 * 1024;
+
+    @State(Scope.Benchmark)
+    public static class Escrita {
+
+        @Param({"NUNCA", "INTERVALO", "SEMPRE"})
+        PoliticaSincronizacao politica;
+
+        Path diretorio;
+        DiarioMapeado diario;
+        EventoTarefa evento;
+
+        @Setup(Level.Trial)
+        public void preparar() throws IOException {
+            diretorio = Files.createTempDirectory("diario-escrita");
+            diario = new DiarioMapeado(diretorio, politica, Duration.ofMillis(100), TAMANHO_SEGMENTO, Long.MAX_VALUE);
+            diario.recuperar(aplicado -> { });
+            diario.iniciar(Stream::empty);
+            Tarefa tarefa = new Tarefa(new GeradorIdsMonotonico().proximo(), "Revisar relatório #1", "Detalhes da tarefa 1",
+                    PrioridadeTarefa.MEDIA, Tarefa.INQUILINO_PADRAO);
+            evento = new EventoTarefa(TipoEventoTarefa.ATUALIZADA, tarefa.getIdTarefa(), tarefa);
+        }
+
+        @TearDown(Level.Trial)
+        public void encerrar() throws IOException {
+            diario.close();
+            apagar(diretorio);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Warmup(iterations = 2, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    @Fork(1)
+    public long registrarEvento(Escrita estado) {
+        long sequencia = estado.diario.registrar(estado.evento);
+        estado.diario.aguardarDurabilidade(sequencia);
+        return sequencia;
+    }
+
+    @State(Scope.Benchmark)
+    public static class Recuperacao {
+
+        @Param({"100000", "1000000"})
+        int tamanho;
+
+        // Com instantâneo a recuperação lê o arquivo compactado; sem ele reaplica o diário inteiro.
+        @Param({"true", "false"})
+        boolean comInstantaneo;
+
+        Path diretorio;
+
+        @Setup(Level.Trial)
+        public void preparar() throws IOException {
+            diretorio = Files.createTempDirectory("diario-recuperacao");
+            DiarioMapeado diario = new DiarioMapeado(diretorio, PoliticaSincronizacao.NUNCA, Duration.ofSeconds(1),
+                    TAMANHO_SEGMENTO, Long.MAX_VALUE);
+            ServicoTarefa servico = new ServicoTarefa(diario);
+            servico.restaurarEstado();
+            new MassaTarefas().popular(servico, tamanho);
+            if (comInstantaneo) {
+                diario.gerarInstantaneo();
+            }
+            diario.close();
+        }
+
+        @TearDown(Level.Trial)
+        public void encerrar() throws IOException {
+            apagar(diretorio);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    @Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+    public long recuperarEstado(Recuperacao estado) throws IOException {
+        AtomicLong aplicados = new AtomicLong();
+        try (DiarioMapeado diario = new DiarioMapeado(estado.diretorio, PoliticaSincronizacao.NUNCA,
+                Duration.ofSeconds(1), TAMANHO_SEGMENTO, Long.MAX_VALUE)) {
+            diario.recuperar(evento -> aplicados.incrementAndGet());
+        }
+        return aplicados.get();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    @Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+    public ServicoTarefa recuperarServico(Recuperacao estado) throws IOException {
+        try (DiarioMapeado diario = new DiarioMapeado(estado.diretorio, PoliticaSincronizacao.NUNCA,
+                Duration.ofSeconds(1), TAMANHO_SEGMENTO, Long.MAX_VALUE)) {
+            ServicoTarefa servico = new ServicoTarefa(diario);
+            servico.restaurarEstado();
+            return servico;
+        }
+    }
+
+    private static void apagar(Path diretorio) throws IOException {
+        try (Stream<Path> arquivos = Files.walk(diretorio)) {
+            arquivos.sorted(Comparator.reverseOrder()).forEach(arquivo -> arquivo.toFile().delete());
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package br.com.agendai.agendai.benchmark;
+
+import br.com.agendai.agendai.alteracoes.AssinaturaAlteracoes;
+import br.com.agendai.agendai.alteracoes.DifusorAlteracoes;
+import br.com.agendai.agendai.alteracoes.FiltroAlteracoes;
+import br.com.agendai.agendai.alteracoes.PoliticaAssinantesLentos;
+import br.com.agendai.agendai.model.Tarefa;
+import br.com.agendai.agendai.service.CacheConsultas;
+import br.com.agendai.agendai.service.ColunasTarefas;
+import br.com.agendai.agendai.service.DiarioMutacoes;
+import br.com.agendai.agendai.service.GeradorIdsMonotonico;
+import br.com.agendai.agendai.service.ServicoTarefa;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Custo de uma escrita para quem escreve, com 0, mil e dez mil assinantes recebendo todas as
+// alterações do inquilino, cada um esvaziado pela sua thread virtual. Quem é desconectado (fila
+// central cheia) volta a assinar no início da iteração seguinte.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class DifusorAlteracoesBenchmark {
+
+    @Param({"10000"})
+    int tamanho;
+
+    @Param({"0", "1000", "10000"})
+    int assinantes;
+
+    private final SimpleMeterRegistry registro = new SimpleMeterRegistry();
+    private final List<AssinaturaAlteracoes> assinaturas = new ArrayList<>();
+    private DifusorAlteracoes difusor;
+    private ServicoTarefa servico;
+    private String[] ids;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        difusor = new DifusorAlteracoes(65536, 256, 1024, Integer.MAX_VALUE, PoliticaAssinantesLentos.CONFLAR,
+                Duration.ofSeconds(15), registro);
+        servico = new ServicoTarefa(Tarefa.INQUILINO_PADRAO, Long.MAX_VALUE, DiarioMutacoes.NENHUM,
+                Validation.buildDefaultValidatorFactory().getValidator(), CacheConsultas.NENHUM,
+                new GeradorIdsMonotonico(), ColunasTarefas.NENHUMA, difusor);
+        Tarefa[] tarefas = new MassaTarefas().popular(servico, tamanho);
+        ids = new String[tarefas.length];
+        for (int i = 0; i < tarefas.length; i++) {
+            ids[i] = tarefas[i].getIdTarefa();
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void assinar() {
+        assinaturas.removeIf(assinatura -> !assinatura.ativa());
+        while (assinaturas.size() < assinantes) {
+            AssinaturaAlteracoes assinatura = difusor.assinar(FiltroAlteracoes.de(Tarefa.INQUILINO_PADRAO, null, null));
+            assinaturas.add(assinatura);
+            Thread.ofVirtual().start(() -> {
+                try {
+                    while (assinatura.ativa()) {
+                        assinatura.aguardar();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        difusor.close();
+    }
+
+    @Benchmark
+    public Tarefa concluirOuReabrir(Entregas entregas) {
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+        String id = ids[aleatorio.nextInt(ids.length)];
+        return aleatorio.nextBoolean() ? servico.concluirTarefa(id) : servico.reabrirTarefa(id);
+    }
+
+    // O que o difusor fez com as alterações em cada iteração, ao lado do tempo por escrita no relatório.
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Entregas {
+
+        public double publicadas;
+        public double descartadas;
+        public double conflacoes;
+        public double desconectadosPorPerda;
+
+        private double[] inicio;
+
+        @Setup(Level.Iteration)
+        public void zerar(DifusorAlteracoesBenchmark benchmark) {
+            inicio = benchmark.contadores();
+        }
+
+        @TearDown(Level.Iteration)
+        public void medir(DifusorAlteracoesBenchmark benchmark) {
+            double[] fim = benchmark.contadores();
+            publicadas = fim[0] - inicio[0];
+            descartadas = fim[1] - inicio[1];
+            conflacoes = fim[2] - inicio[2];
+            desconectadosPorPerda = fim[3] - inicio[3];
+        }
+    }
+
+    private double[] contadores() {
+        return new double[]{
+                registro.counter("agendai.alteracoes.publicadas").count(),
+                registro.counter("agendai.alteracoes.descartadas").count(),
+                registro.counter("agendai.alteracoes.conflacoes").count(),
+                registro.counter("agendai.alteracoes.desconectados", "motivo", "perda").count()};
+    }
+}
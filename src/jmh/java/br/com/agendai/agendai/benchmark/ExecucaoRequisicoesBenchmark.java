@@ -0,0 +1,106 @@
+package br.com.agendai.agendai.benchmark;
+
+import br.com.agendai.agendai.AgendAiApplication;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// Compara o pool fixo de threads do Tomcat (200 por padrão) com threads virtuais sob mais
+// clientes simultâneos do que threads no pool. A criação usa o diário com fsync por requisição
+// (política SEMPRE), que é o caminho com I/O bloqueante; a busca por ID mede o caminho só em memória.
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Threads(400)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ExecucaoRequisicoesBenchmark {
+
+    private static final int TAREFAS_INICIAIS = 1_000;
+    private static final String CORPO_CRIACAO =
+            "{\"titulo\":\"Revisar relatório\",\"descricao\":\"Benchmark\",\"prioridade\":\"MEDIA\"}";
+
+    @Param({"false", "true"})
+    boolean threadsVirtuais;
+
+    private Path diretorio;
+    private ConfigurableApplicationContext contexto;
+    private HttpClient cliente;
+    private URI uriTarefas;
+    private String[] ids;
+
+    @Setup(Level.Trial)
+    public void preparar() throws Exception {
+        diretorio = Files.createTempDirectory("benchmark-requisicoes");
+        contexto = SpringApplication.run(AgendAiApplication.class,
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + threadsVirtuais,
+                "--agendai.persistencia.habilitada=true",
+                "--agendai.persistencia.diretorio=" + diretorio,
+                "--agendai.persistencia.politica-sincronizacao=SEMPRE",
+                "--logging.level.root=WARN");
+        String porta = contexto.getEnvironment().getProperty("local.server.port");
+        uriTarefas = URI.create("http://localhost:" + porta + "/tarefas");
+        cliente = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        ids = new String[TAREFAS_INICIAIS];
+        for (int i = 0; i < ids.length; i++) {
+            String corpo = cliente.send(criacao(), HttpResponse.BodyHandlers.ofString()).body();
+            int inicio = corpo.indexOf("\"idTarefa\":\"") + 12;
+            ids[i] = corpo.substring(inicio, corpo.indexOf('"', inicio));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() throws IOException {
+        contexto.close();
+        try (Stream<Path> arquivos = Files.walk(diretorio)) {
+            arquivos.sorted(Comparator.reverseOrder()).forEach(arquivo -> arquivo.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public int criarTarefa() throws Exception {
+        return cliente.send(criacao(), HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    @Benchmark
+    public int buscarTarefaPorId() throws Exception {
+        String id = ids[ThreadLocalRandom.current().nextInt(ids.length)];
+        HttpRequest requisicao = HttpRequest.newBuilder(uriTarefas.resolve("/tarefas/" + id)).GET().build();
+        return cliente.send(requisicao, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private HttpRequest criacao() {
+        return HttpRequest.newBuilder(uriTarefas)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(CORPO_CRIACAO))
+                .build();
+    }
+}
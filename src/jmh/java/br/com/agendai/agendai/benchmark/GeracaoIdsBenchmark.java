@@ -0,0 +1,61 @@
+package br.com.agendai.agendai.benchmark;
+
+import br.com.agendai.agendai.model.Tarefa;
+import br.com.agendai.agendai.service.CacheConsultas;
+import br.com.agendai.agendai.service.DiarioMutacoes;
+import br.com.agendai.agendai.service.EstrategiaIds;
+import br.com.agendai.agendai.service.GeradorIds;
+import br.com.agendai.agendai.service.GeradorIdsMonotonico;
+import br.com.agendai.agendai.service.ServicoTarefa;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Geração de IDs isolada e dentro da criação de tarefas, para cada estratégia. A disputa entre
+// criações simultâneas aparece com -t 4 ou -t max.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class GeracaoIdsBenchmark {
+
+    @Param({"UUID", "MONOTONICO"})
+    EstrategiaIds estrategia;
+
+    private GeradorIds gerador;
+    private ServicoTarefa servico;
+    private MassaTarefas massa;
+    private final AtomicLong proximoNumero = new AtomicLong();
+
+    // A loja é recriada a cada iteração para que o tamanho não cresça sem limite durante a medição.
+    @Setup(Level.Iteration)
+    public void preparar() {
+        gerador = estrategia == EstrategiaIds.UUID ? GeradorIds.ALEATORIO : new GeradorIdsMonotonico();
+        servico = new ServicoTarefa(DiarioMutacoes.NENHUM, CacheConsultas.NENHUM, gerador);
+        massa = new MassaTarefas();
+    }
+
+    @Benchmark
+    public String gerarId() {
+        return gerador.proximo();
+    }
+
+    @Benchmark
+    public Tarefa criarTarefa() {
+        return servico.criarTarefa(massa.proximaRequisicao(proximoNumero.incrementAndGet()));
+    }
+}
@@ -0,0 +1,40 @@
+package br.com.agendai.agendai.benchmark;
+
+import br.com.agendai.agendai.model.PrioridadeTarefa;
+import br.com.agendai.agendai.model.RequisicaoCriacaoTarefa;
+import br.com.agendai.agendai.model.Tarefa;
+import br.com.agendai.agendai.service.ServicoTarefa;
+
+import java.util.Random;
+
+// Gera massas determinísticas para que execuções diferentes comparem o mesmo conjunto de tarefas.
+final class MassaTarefas {
+
+    static final String TERMO_FREQUENTE = "relatório";
+
+    private static final String[] VERBOS = {"Revisar", "Escrever", "Enviar", "Planejar", "Corrigir", "Estudar", "Agendar", "Testar"};
+    private static final String[] OBJETOS = {"relatório", "contrato", "reunião", "orçamento", "apresentação", "código", "proposta", "backlog"};
+    private static final PrioridadeTarefa[] PRIORIDADES = PrioridadeTarefa.values();
+
+    private final Random aleatorio = new Random(42);
+
+    RequisicaoCriacaoTarefa proximaRequisicao(long numero) {
+        String titulo = VERBOS[aleatorio.nextInt(VERBOS.length)] + " " + OBJETOS[aleatorio.nextInt(OBJETOS.length)]
+                + " #" + numero;
+        String descricao = aleatorio.nextInt(4) == 0 ? null : "Detalhes da tarefa " + numero;
+        return new RequisicaoCriacaoTarefa(titulo, descricao, PRIORIDADES[aleatorio.nextInt(PRIORIDADES.length)]);
+    }
+
+    // Conclui cerca de um terço das tarefas para que status e datas de conclusão tenham volume.
+    Tarefa[] popular(ServicoTarefa servico, int quantidade) {
+        Tarefa[] tarefas = new Tarefa[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            Tarefa tarefa = servico.criarTarefa(proximaRequisicao(i));
+            if (aleatorio.nextInt(3) == 0) {
+                tarefa = servico.concluirTarefa(tarefa.getIdTarefa());
+            }
+            tarefas[i] = tarefa;
+        }
+        return tarefas;
+    }
+}
@@ -0,0 +1,111 @@
+package br.com.agendai.agendai.benchmark;
+
+import br.com.agendai.agendai.model.Tarefa;
+import br.com.agendai.agendai.service.ObterEstatisticas;
+import br.com.agendai.agendai.service.Pagina;
+import br.com.agendai.agendai.service.ServicoTarefa;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Caminhos quentes do ServicoTarefa sobre lojas de tamanhos diferentes.
+// A quantidade de threads é escolhida na linha de comando com -t (ex.: -t 1, -t 4, -t max).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ServicoTarefaBenchmark {
+
+    private static final int TAMANHO_PAGINA = 100;
+    private static final int TAREFAS_NO_INTERVALO = 100;
+
+    @Param({"1000", "100000", "1000000"})
+    int tamanho;
+
+    private ServicoTarefa servico;
+    private MassaTarefas massa;
+    private String[] ids;
+    private String termoRaro;
+    private LocalDateTime inicioIntervalo;
+    private LocalDateTime fimIntervalo;
+    private final AtomicLong proximoNumero = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        servico = new ServicoTarefa();
+        massa = new MassaTarefas();
+        Tarefa[] tarefas = massa.popular(servico, tamanho);
+
+        ids = new String[tarefas.length];
+        for (int i = 0; i < tarefas.length; i++) {
+            ids[i] = tarefas[i].getIdTarefa();
+        }
+        termoRaro = "#" + (tamanho / 2);
+        proximoNumero.set(tamanho);
+
+        List<Tarefa> porCriacao = servico.listarTodasTarefas();
+        porCriacao.sort(Comparator.comparing(Tarefa::getCriadoEm));
+        int meio = porCriacao.size() / 2;
+        int fim = Math.min(porCriacao.size() - 1, meio + TAREFAS_NO_INTERVALO);
+        inicioIntervalo = porCriacao.get(meio).getCriadoEm().minusNanos(1);
+        fimIntervalo = porCriacao.get(fim).getCriadoEm();
+    }
+
+    @Benchmark
+    public Tarefa criarTarefa() {
+        return servico.criarTarefa(massa.proximaRequisicao(proximoNumero.getAndIncrement()));
+    }
+
+    @Benchmark
+    public Tarefa buscarTarefaPorId() {
+        return servico.buscarTarefaPorId(ids[ThreadLocalRandom.current().nextInt(ids.length)]);
+    }
+
+    @Benchmark
+    public List<Tarefa> listarTodasTarefas() {
+        return servico.listarTodasTarefas();
+    }
+
+    @Benchmark
+    public Pagina<Tarefa> listarPrimeiraPagina() {
+        return servico.listarTodasTarefas(null, TAMANHO_PAGINA);
+    }
+
+    @Benchmark
+    public List<Tarefa> buscarTarefasPorTermoRaro() {
+        return servico.buscarTarefasPorTermo(termoRaro);
+    }
+
+    @Benchmark
+    public Pagina<Tarefa> buscarPaginaPorTermoFrequente() {
+        return servico.buscarTarefasPorTermo(MassaTarefas.TERMO_FREQUENTE, null, TAMANHO_PAGINA);
+    }
+
+    @Benchmark
+    public ObterEstatisticas obterEstatisticas() {
+        return servico.obterEstatisticas();
+    }
+
+    @Benchmark
+    public List<Tarefa> listarTarefasEntreDatas() {
+        return servico.listarTarefasEntreDatas(inicioIntervalo, fimIntervalo);
+    }
+}
@@ -0,0 +1,104 @@
+package br.com.agendai.agendai.benchmark;
+
+import br.com.agendai.agendai.model.PrioridadeTarefa;
+import br.com.agendai.agendai.model.Tarefa;
+import br.com.agendai.agendai.prazos.CaixaSaidaAvisos;
+import br.com.agendai.agendai.prazos.VigiaPrazos;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Custo de reagendar o prazo de uma tarefa (cancelar e agendar lembrete e vencimento) com milhões de
+// temporizadores pendentes, comparado à varredura completa que cada tique faria sem as rodas.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class VigiaPrazosBenchmark {
+
+    private static final int REAGENDADAS = 4096;
+
+    @Param({"10000", "1000000", "3000000"})
+    int pendentes;
+
+    private VigiaPrazos vigia;
+    private Tarefa[] tarefas;
+    private Tarefa[] originais;
+    private Tarefa[] adiadas;
+    private boolean[] adiada;
+    private int posicao;
+
+    // Prazos espalhados pelos próximos 30 dias, com a resolução padrão de 1 s: nada vence durante a medição.
+    @Setup(Level.Trial)
+    public void preparar() {
+        SimpleMeterRegistry registro = new SimpleMeterRegistry();
+        CaixaSaidaAvisos caixaSaida = new CaixaSaidaAvisos(lote -> { }, 1024, 500, Duration.ofSeconds(1), 1,
+                Duration.ofMillis(500), registro);
+        vigia = VigiaPrazos.iniciar(Duration.ofSeconds(1), Duration.ofMinutes(15), caixaSaida,
+                Clock.systemDefaultZone(), registro);
+
+        Random aleatorio = new Random(42);
+        LocalDateTime agora = LocalDateTime.now();
+        tarefas = new Tarefa[pendentes];
+        for (int i = 0; i < pendentes; i++) {
+            tarefas[i] = new Tarefa(Integer.toString(i), "Tarefa " + i, null, PrioridadeTarefa.MEDIA,
+                    Tarefa.INQUILINO_PADRAO, agora.plusMinutes(30 + aleatorio.nextInt(30 * 24 * 60)));
+            vigia.adicionar(tarefas[i]);
+        }
+        originais = new Tarefa[REAGENDADAS];
+        adiadas = new Tarefa[REAGENDADAS];
+        adiada = new boolean[REAGENDADAS];
+        for (int i = 0; i < REAGENDADAS; i++) {
+            originais[i] = tarefas[i % pendentes];
+            adiadas[i] = originais[i].toBuilder().prazo(originais[i].getPrazo().plusDays(1)).build();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        vigia.close();
+    }
+
+    @Benchmark
+    public int reagendarPrazo() {
+        int i = posicao++ & (REAGENDADAS - 1);
+        if (adiada[i]) {
+            vigia.reindexar(adiadas[i], originais[i]);
+        } else {
+            vigia.reindexar(originais[i], adiadas[i]);
+        }
+        adiada[i] = !adiada[i];
+        return i;
+    }
+
+    @Benchmark
+    public int varrerPrazosVencidos() {
+        LocalDateTime limite = LocalDateTime.now();
+        int vencidas = 0;
+        for (Tarefa tarefa : tarefas) {
+            if (!tarefa.estaConcluida() && tarefa.getPrazo() != null && !tarefa.getPrazo().isAfter(limite)) {
+                vencidas++;
+            }
+        }
+        return vencidas;
+    }
+}
@@ -0,0 +1,184 @@
+package br.com.agendai.agendai.alteracoes;
+
+import br.com.agendai.agendai.model.AlteracaoTarefa;
+import br.com.agendai.agendai.model.TipoEventoTarefa;
+import io.micrometer.core.instrument.Counter;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+// Buffer limitado de um assinante: o distribuidor deposita, a thread do assinante retira em lotes.
+// Com CONFLAR o buffer é indexado pela tarefa, então só cresce com tarefas distintas; enquanto o
+// assinante acompanha, há no máximo um lote pendente e nada chega a ser fundido.
+public class AssinaturaAlteracoes implements Closeable {
+
+    static final String MOTIVO_LENTO = "lento";
+    static final String MOTIVO_PERDA = "perda";
+    static final String MOTIVO_CANCELADA = "cancelada";
+    static final String MOTIVO_ENCERRAMENTO = "encerramento";
+
+    private final FiltroAlteracoes filtro;
+    private final int capacidade;
+    private final PoliticaAssinantesLentos politica;
+    private final long esperaNanos;
+    private final Consumer<AssinaturaAlteracoes> aoEncerrar;
+    private final Counter conflacoes;
+    // ReentrantLock em vez de synchronized: a thread do assinante é virtual e passa a maior parte do tempo aqui.
+    private final ReentrantLock trava = new ReentrantLock();
+    private final Condition disponivel = trava.newCondition();
+    private final ArrayDeque<AlteracaoTarefa> fila = new ArrayDeque<>();
+    private final LinkedHashMap<String, AlteracaoTarefa> porTarefa = new LinkedHashMap<>();
+
+    private volatile String motivoEncerramento;
+
+    AssinaturaAlteracoes(FiltroAlteracoes filtro, int capacidade, PoliticaAssinantesLentos politica,
+                         Duration intervaloBatimento, Consumer<AssinaturaAlteracoes> aoEncerrar, Counter conflacoes) {
+        this.filtro = filtro;
+        this.capacidade = capacidade;
+        this.politica = politica;
+        this.esperaNanos = intervaloBatimento.toNanos();
+        this.aoEncerrar = aoEncerrar;
+        this.conflacoes = conflacoes;
+    }
+
+    public FiltroAlteracoes filtro() {
+        return filtro;
+    }
+
+    public boolean ativa() {
+        return motivoEncerramento == null;
+    }
+
+    public String motivoEncerramento() {
+        return motivoEncerramento;
+    }
+
+    // Espera até o intervalo de batimento por alterações; lista vazia significa que nada chegou
+    // ou que a assinatura foi encerrada.
+    public List<AlteracaoTarefa> aguardar() throws InterruptedException {
+        trava.lock();
+        try {
+            long restante = esperaNanos;
+            while (ativa() && pendentes() == 0 && restante > 0) {
+                restante = disponivel.awaitNanos(restante);
+            }
+            if (!ativa() || pendentes() == 0) {
+                return List.of();
+            }
+            List<AlteracaoTarefa> lote;
+            if (politica == PoliticaAssinantesLentos.CONFLAR) {
+                lote = new ArrayList<>(porTarefa.values());
+                porTarefa.clear();
+            } else {
+                lote = new ArrayList<>(fila);
+                fila.clear();
+            }
+            return lote;
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        encerrar(MOTIVO_CANCELADA);
+    }
+
+    // Devolve falso quando a assinatura já não está ativa, inclusive quando acabou de estourar o buffer.
+    boolean oferecer(List<AlteracaoTarefa> alteracoes) {
+        boolean depositou = false;
+        trava.lock();
+        try {
+            for (AlteracaoTarefa alteracao : alteracoes) {
+                if (!ativa()) {
+                    return false;
+                }
+                if (filtro.aceita(alteracao)) {
+                    depositar(alteracao);
+                    depositou = true;
+                }
+            }
+            if (depositou) {
+                disponivel.signal();
+            }
+            return ativa();
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    void encerrar(String motivo) {
+        trava.lock();
+        try {
+            if (!ativa()) {
+                return;
+            }
+            encerrarSemTrava(motivo);
+        } finally {
+            trava.unlock();
+        }
+        aoEncerrar.accept(this);
+    }
+
+    private void depositar(AlteracaoTarefa alteracao) {
+        if (politica == PoliticaAssinantesLentos.DESCONECTAR) {
+            if (fila.size() >= capacidade) {
+                encerrarSemTrava(MOTIVO_LENTO);
+                return;
+            }
+            fila.addLast(alteracao);
+            return;
+        }
+
+        // A fundida leva a sequência mais nova, então sai e volta ao fim do mapa: no mesmo lugar,
+        // passaria à frente de pendentes com sequência menor e o lote deixaria de ser crescente.
+        AlteracaoTarefa pendente = porTarefa.remove(alteracao.getIdTarefa());
+        if (pendente != null) {
+            conflacoes.increment();
+            AlteracaoTarefa fundida = fundir(pendente, alteracao);
+            if (fundida != null) {
+                porTarefa.put(alteracao.getIdTarefa(), fundida);
+            }
+            return;
+        }
+        if (porTarefa.size() >= capacidade) {
+            encerrarSemTrava(MOTIVO_LENTO);
+            return;
+        }
+        porTarefa.put(alteracao.getIdTarefa(), alteracao);
+    }
+
+    // Mantém o estado anterior da pendente, que é o último que o assinante conhece. Uma tarefa criada
+    // e removida antes de ser entregue some do buffer; criada e alterada chega como criação.
+    private static AlteracaoTarefa fundir(AlteracaoTarefa pendente, AlteracaoTarefa posterior) {
+        if (pendente.getTipo() == TipoEventoTarefa.CRIADA) {
+            if (posterior.getTipo() == TipoEventoTarefa.REMOVIDA) {
+                return null;
+            }
+            return new AlteracaoTarefa(posterior.getSequencia(), TipoEventoTarefa.CRIADA, posterior.getInquilino(),
+                    posterior.getIdTarefa(), posterior.getTarefa(), null);
+        }
+        return new AlteracaoTarefa(posterior.getSequencia(), posterior.getTipo(), posterior.getInquilino(),
+                posterior.getIdTarefa(), posterior.getTarefa(), pendente.getAnterior());
+    }
+
+    private int pendentes() {
+        return politica == PoliticaAssinantesLentos.CONFLAR ? porTarefa.size() : fila.size();
+    }
+
+    // Chamado com a trava tomada. Quando é o distribuidor que encerra, ele mesmo tira a assinatura do difusor.
+    private void encerrarSemTrava(String motivo) {
+        motivoEncerramento = motivo;
+        fila.clear();
+        porTarefa.clear();
+        disponivel.signalAll();
+    }
+}
@@ -0,0 +1,197 @@
+package br.com.agendai.agendai.alteracoes;
+
+import br.com.agendai.agendai.exception.CotaExcedidaException;
+import br.com.agendai.agendai.model.AlteracaoTarefa;
+import br.com.agendai.agendai.model.Tarefa;
+import br.com.agendai.agendai.model.TipoEventoTarefa;
+import br.com.agendai.agendai.service.CanalAlteracoes;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Distribui as mutações da loja aos assinantes do fluxo de alterações. Quem escreve faz um único
+// offer numa fila limitada, seja qual for o número de assinantes; uma thread dedicada esvazia a
+// fila em lotes e entrega cada lote, de uma vez, aos assinantes do inquilino. Sem assinantes, a
+// publicação não faz nada.
+@Slf4j
+public class DifusorAlteracoes implements CanalAlteracoes, Closeable {
+
+    private final BlockingQueue<AlteracaoTarefa> fila;
+    private final Map<String, List<AssinaturaAlteracoes>> assinantesPorInquilino = new ConcurrentHashMap<>();
+    private final AtomicInteger assinantes = new AtomicInteger();
+    private final int tamanhoLote;
+    private final int capacidadeAssinante;
+    private final int maximoAssinantes;
+    private final PoliticaAssinantesLentos politica;
+    private final Duration intervaloBatimento;
+    private final Thread distribuidor;
+    private volatile boolean ativo = true;
+    private volatile boolean perdaPendente;
+    private long sequencia;
+
+    private final Counter publicadas;
+    private final Counter descartadas;
+    private final Counter conflacoes;
+    private final Counter desconectadosLentos;
+    private final Counter desconectadosPerda;
+
+    public DifusorAlteracoes(int capacidade, int tamanhoLote, int capacidadeAssinante, int maximoAssinantes,
+                             PoliticaAssinantesLentos politica, Duration intervaloBatimento, MeterRegistry registro) {
+        this.fila = new ArrayBlockingQueue<>(capacidade);
+        this.tamanhoLote = tamanhoLote;
+        this.capacidadeAssinante = capacidadeAssinante;
+        this.maximoAssinantes = maximoAssinantes;
+        this.politica = politica;
+        this.intervaloBatimento = intervaloBatimento;
+
+        publicadas = contador(registro, "agendai.alteracoes.publicadas");
+        descartadas = contador(registro, "agendai.alteracoes.descartadas");
+        conflacoes = contador(registro, "agendai.alteracoes.conflacoes");
+        desconectadosLentos = contador(registro, "agendai.alteracoes.desconectados", "motivo", AssinaturaAlteracoes.MOTIVO_LENTO);
+        desconectadosPerda = contador(registro, "agendai.alteracoes.desconectados", "motivo", AssinaturaAlteracoes.MOTIVO_PERDA);
+        Gauge.builder("agendai.alteracoes.assinantes", assinantes, AtomicInteger::get)
+                .description("Assinantes conectados ao fluxo de alterações")
+                .register(registro);
+        Gauge.builder("agendai.alteracoes.fila.ocupacao", fila, BlockingQueue::size)
+                .description("Alterações aguardando distribuição")
+                .register(registro);
+
+        distribuidor = new Thread(this::distribuir, "alteracoes");
+        distribuidor.setDaemon(true);
+        distribuidor.start();
+    }
+
+    // Com a fila cheia a alteração é perdida; como ninguém pode mais confiar no fluxo, todos os
+    // assinantes são desconectados no próximo lote e, ao voltar, releem o estado.
+    @Override
+    public void publicar(TipoEventoTarefa tipo, Tarefa anterior, Tarefa atual) {
+        if (assinantes.get() == 0) {
+            return;
+        }
+        Tarefa referencia = atual != null ? atual : anterior;
+        AlteracaoTarefa alteracao = new AlteracaoTarefa(0, tipo, referencia.getInquilino(), referencia.getIdTarefa(),
+                atual, anterior);
+        if (fila.offer(alteracao)) {
+            publicadas.increment();
+        } else {
+            descartadas.increment();
+            perdaPendente = true;
+        }
+    }
+
+    public AssinaturaAlteracoes assinar(FiltroAlteracoes filtro) {
+        if (assinantes.incrementAndGet() > maximoAssinantes) {
+            assinantes.decrementAndGet();
+            throw new CotaExcedidaException("Limite de " + maximoAssinantes + " assinantes de alterações atingido");
+        }
+        AssinaturaAlteracoes assinatura = new AssinaturaAlteracoes(filtro, capacidadeAssinante, politica,
+                intervaloBatimento, this::remover, conflacoes);
+        assinantesPorInquilino.computeIfAbsent(filtro.getInquilino(), chave -> new CopyOnWriteArrayList<>())
+                .add(assinatura);
+        return assinatura;
+    }
+
+    public int quantidadeAssinantes() {
+        return assinantes.get();
+    }
+
+    @Override
+    public void close() {
+        ativo = false;
+        try {
+            distribuidor.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        encerrarTodas(AssinaturaAlteracoes.MOTIVO_ENCERRAMENTO);
+    }
+
+    private void distribuir() {
+        List<AlteracaoTarefa> lote = new ArrayList<>(tamanhoLote);
+        while (ativo) {
+            try {
+                AlteracaoTarefa primeira = fila.poll(100, TimeUnit.MILLISECONDS);
+                if (primeira != null) {
+                    lote.add(primeira);
+                    fila.drainTo(lote, tamanhoLote - 1);
+                    entregar(lote);
+                }
+                if (perdaPendente) {
+                    perdaPendente = false;
+                    desconectadosPerda.increment(encerrarTodas(AssinaturaAlteracoes.MOTIVO_PERDA));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Falha ao distribuir lote de {} alterações: {}", lote.size(), e.getMessage(), e);
+            } finally {
+                lote.clear();
+            }
+        }
+    }
+
+    // A sequência é dada aqui, numa única thread, para que o fluxo de cada assinante seja crescente.
+    private void entregar(List<AlteracaoTarefa> lote) {
+        Map<String, List<AlteracaoTarefa>> porInquilino = new LinkedHashMap<>();
+        for (AlteracaoTarefa alteracao : lote) {
+            porInquilino.computeIfAbsent(alteracao.getInquilino(), chave -> new ArrayList<>())
+                    .add(alteracao.comSequencia(++sequencia));
+        }
+        porInquilino.forEach((inquilino, alteracoes) -> {
+            List<AssinaturaAlteracoes> doInquilino = assinantesPorInquilino.get(inquilino);
+            if (doInquilino == null) {
+                return;
+            }
+            for (AssinaturaAlteracoes assinatura : doInquilino) {
+                if (!assinatura.oferecer(alteracoes) && remover(assinatura)
+                        && AssinaturaAlteracoes.MOTIVO_LENTO.equals(assinatura.motivoEncerramento())) {
+                    desconectadosLentos.increment();
+                    log.debug("Assinante de alterações do inquilino {} desconectado por não acompanhar o fluxo",
+                            inquilino);
+                }
+            }
+        });
+    }
+
+    private int encerrarTodas(String motivo) {
+        int encerradas = 0;
+        for (List<AssinaturaAlteracoes> doInquilino : assinantesPorInquilino.values()) {
+            for (AssinaturaAlteracoes assinatura : doInquilino) {
+                if (assinatura.ativa()) {
+                    assinatura.encerrar(motivo);
+                    encerradas++;
+                }
+            }
+        }
+        return encerradas;
+    }
+
+    // Idempotente: a assinatura pode ser retirada pelo distribuidor e, em seguida, pelo próprio assinante.
+    private boolean remover(AssinaturaAlteracoes assinatura) {
+        List<AssinaturaAlteracoes> doInquilino = assinantesPorInquilino.get(assinatura.filtro().getInquilino());
+        if (doInquilino != null && doInquilino.remove(assinatura)) {
+            assinantes.decrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    private static Counter contador(MeterRegistry registro, String nome, String... tags) {
+        return Counter.builder(nome).tags(tags).register(registro);
+    }
+}
@@ -0,0 +1,39 @@
+package br.com.agendai.agendai.alteracoes;
+
+import br.com.agendai.agendai.model.AlteracaoTarefa;
+import br.com.agendai.agendai.model.PrioridadeTarefa;
+import br.com.agendai.agendai.model.StatusTarefa;
+import br.com.agendai.agendai.model.Tarefa;
+import lombok.Value;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+
+// Conjuntos vazios aceitam qualquer valor. Uma alteração passa quando o estado anterior ou o novo
+// passa, para que o cliente também saiba quando uma tarefa deixou de atender ao filtro.
+@Value
+public class FiltroAlteracoes {
+
+    String inquilino;
+    Set<StatusTarefa> status;
+    Set<PrioridadeTarefa> prioridades;
+
+    public static FiltroAlteracoes de(String inquilino, Collection<StatusTarefa> status,
+                                      Collection<PrioridadeTarefa> prioridades) {
+        return new FiltroAlteracoes(inquilino,
+                status == null || status.isEmpty() ? EnumSet.noneOf(StatusTarefa.class) : EnumSet.copyOf(status),
+                prioridades == null || prioridades.isEmpty()
+                        ? EnumSet.noneOf(PrioridadeTarefa.class) : EnumSet.copyOf(prioridades));
+    }
+
+    public boolean aceita(AlteracaoTarefa alteracao) {
+        return aceita(alteracao.getAnterior()) || aceita(alteracao.getTarefa());
+    }
+
+    private boolean aceita(Tarefa tarefa) {
+        return tarefa != null
+                && (status.isEmpty() || status.contains(tarefa.getStatus()))
+                && (prioridades.isEmpty() || prioridades.contains(tarefa.getPrioridade()));
+    }
+}
@@ -0,0 +1,8 @@
+package br.com.agendai.agendai.alteracoes;
+
+// O que fazer quando um assinante não acompanha o fluxo. Nas duas, quem enche o buffer é desconectado;
+// com CONFLAR, alterações pendentes da mesma tarefa são antes fundidas na mais recente.
+public enum PoliticaAssinantesLentos {
+    DESCONECTAR,
+    CONFLAR
+}
@@ -0,0 +1,72 @@
+package br.com.agendai.agendai.alteracoes;
+
+import br.com.agendai.agendai.model.AlteracaoTarefa;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+// Liga uma assinatura a uma resposta SSE. Cada assinante tem a sua thread virtual, que fica quase
+// sempre parada esperando o buffer; a escrita lenta de um cliente nunca segura o distribuidor.
+// Cada lote sai numa única escrita, e o silêncio de um intervalo de batimento vira um comentário
+// que mantém a conexão viva e revela clientes que já foram embora.
+@Slf4j
+public final class TransmissaoAlteracoes {
+
+    static final String EVENTO_ENCERRADA = "encerrada";
+
+    private TransmissaoAlteracoes() {
+    }
+
+    public static SseEmitter transmitir(AssinaturaAlteracoes assinatura) {
+        SseEmitter emissor = new SseEmitter(0L);
+        emissor.onCompletion(assinatura::close);
+        emissor.onTimeout(assinatura::close);
+        emissor.onError(erro -> assinatura.close());
+        Thread.ofVirtual().name("alteracoes-sse").start(() -> transmitir(assinatura, emissor));
+        return emissor;
+    }
+
+    private static void transmitir(AssinaturaAlteracoes assinatura, SseEmitter emissor) {
+        try {
+            emissor.send(SseEmitter.event().comment("assinado"));
+            while (assinatura.ativa()) {
+                List<AlteracaoTarefa> lote = assinatura.aguardar();
+                if (!lote.isEmpty()) {
+                    emissor.send(eventos(lote));
+                } else if (assinatura.ativa()) {
+                    emissor.send(SseEmitter.event().comment("batimento"));
+                }
+            }
+            // Encerrada pelo servidor: o cliente fica sabendo do motivo e deve reler o estado ao voltar.
+            if (!AssinaturaAlteracoes.MOTIVO_CANCELADA.equals(assinatura.motivoEncerramento())) {
+                emissor.send(SseEmitter.event().name(EVENTO_ENCERRADA).data(assinatura.motivoEncerramento()));
+            }
+            emissor.complete();
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Assinante de alterações desconectado: {}", e.getMessage());
+            assinatura.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            assinatura.close();
+            emissor.complete();
+        }
+    }
+
+    private static Set<ResponseBodyEmitter.DataWithMediaType> eventos(List<AlteracaoTarefa> lote) {
+        Set<ResponseBodyEmitter.DataWithMediaType> eventos = new LinkedHashSet<>();
+        for (AlteracaoTarefa alteracao : lote) {
+            eventos.addAll(SseEmitter.event()
+                    .id(Long.toString(alteracao.getSequencia()))
+                    .name(alteracao.getTipo().name())
+                    .data(alteracao, MediaType.APPLICATION_JSON)
+                    .build());
+        }
+        return eventos;
+    }
+}
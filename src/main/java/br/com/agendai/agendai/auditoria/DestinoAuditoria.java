@@ -0,0 +1,8 @@
+package br.com.agendai.agendai.auditoria;
+
+import java.util.List;
+
+public interface DestinoAuditoria {
+
+    void gravar(List<RegistroAuditoria> lote) throws Exception;
+}
@@ -0,0 +1,35 @@
+package br.com.agendai.agendai.auditoria;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+// Uma linha JSON por registro, mas uma única chamada ao logger por lote.
+public class DestinoAuditoriaLog implements DestinoAuditoria {
+
+    private static final Logger LOG = LoggerFactory.getLogger("auditoria");
+
+    private final ObjectMapper objectMapper;
+
+    public DestinoAuditoriaLog(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void gravar(List<RegistroAuditoria> lote) throws JsonProcessingException {
+        if (!LOG.isInfoEnabled()) {
+            return;
+        }
+        StringBuilder linhas = new StringBuilder(lote.size() * 160);
+        for (RegistroAuditoria registro : lote) {
+            if (linhas.length() > 0) {
+                linhas.append('\n');
+            }
+            linhas.append(objectMapper.writeValueAsString(registro));
+        }
+        LOG.info("{}", linhas);
+    }
+}
@@ -0,0 +1,128 @@
+package br.com.agendai.agendai.auditoria;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+
+// Registra cada requisição à API de tarefas: mutações sempre, leituras conforme a amostragem.
+public class FiltroAuditoria extends OncePerRequestFilter {
+
+    private static final String PREFIXO_TAREFAS = "/tarefas";
+    // Leituras que chegam por POST só porque a lista de IDs vai no corpo.
+    private static final Set<String> ROTAS_LEITURA = Set.of("/tarefas/lote/buscar");
+
+    private final PipelineAuditoria pipeline;
+
+    public FiltroAuditoria(PipelineAuditoria pipeline) {
+        this.pipeline = pipeline;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(request.getContextPath() + PREFIXO_TAREFAS);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long inicio = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            // A rota só é conhecida depois do mapeamento, então a amostragem das leituras é decidida aqui.
+            String rota = rota(request);
+            boolean mutacao = mutacao(request.getMethod(), rota);
+            if (mutacao || pipeline.deveRegistrarLeitura()) {
+                RegistroAuditoria.RegistroAuditoriaBuilder registro = RegistroAuditoria.builder()
+                        .mutacao(mutacao)
+                        .metodo(request.getMethod())
+                        .rota(rota)
+                        .idTarefa(idTarefa(request));
+                if (request.isAsyncStarted()) {
+                    // Exportações, importações e o fluxo de alterações respondem bem depois do primeiro despacho.
+                    request.getAsyncContext().addListener(new ConclusaoAssincrona(registro, response, inicio));
+                } else {
+                    registrar(registro, response.getStatus(), inicio);
+                }
+            }
+        }
+    }
+
+    private static boolean mutacao(String metodo, String rota) {
+        return !HttpMethod.GET.matches(metodo) && !HttpMethod.HEAD.matches(metodo) && !ROTAS_LEITURA.contains(rota);
+    }
+
+    private void registrar(RegistroAuditoria.RegistroAuditoriaBuilder registro, int status, long inicio) {
+        pipeline.registrar(registro
+                .instante(Instant.now())
+                .status(status)
+                .duracaoMicros((System.nanoTime() - inicio) / 1_000)
+                .build());
+    }
+
+    private static String rota(HttpServletRequest request) {
+        Object padrao = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return padrao != null ? padrao.toString() : request.getRequestURI();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String idTarefa(HttpServletRequest request) {
+        Object variaveis = request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        return variaveis instanceof Map ? ((Map<String, String>) variaveis).get("id") : null;
+    }
+
+    // Um erro costuma ser seguido da conclusão; a requisição é registrada uma vez só. No erro, a resposta
+    // ainda pode estar com o status de sucesso que o controlador definiu antes de começar a transmitir.
+    private final class ConclusaoAssincrona implements AsyncListener {
+
+        private final RegistroAuditoria.RegistroAuditoriaBuilder registro;
+        private final HttpServletResponse response;
+        private final long inicio;
+        private boolean registrada;
+
+        private ConclusaoAssincrona(RegistroAuditoria.RegistroAuditoriaBuilder registro, HttpServletResponse response,
+                                    long inicio) {
+            this.registro = registro;
+            this.response = response;
+            this.inicio = inicio;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            concluir(response.getStatus());
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            int status = response.getStatus();
+            concluir(status >= HttpServletResponse.SC_BAD_REQUEST ? status : HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+
+        private synchronized void concluir(int status) {
+            if (!registrada) {
+                registrada = true;
+                registrar(registro, status, inicio);
+            }
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package br.com.agendai.agendai.auditoria;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Quem atende a requisição só enfileira num buffer circular limitado; uma thread dedicada
+// esvazia o buffer em lotes e entrega cada lote ao destino.
+@Slf4j
+public class PipelineAuditoria implements Closeable {
+
+    private final BlockingQueue<RegistroAuditoria> buffer;
+    private final DestinoAuditoria destino;
+    private final int tamanhoLote;
+    private final double amostragemLeituras;
+    private final PoliticaDescarte politicaDescarte;
+    private final long esperaMaximaNanos;
+    private final Thread escritor;
+    private volatile boolean ativo = true;
+
+    private final Counter leiturasRegistradas;
+    private final Counter mutacoesRegistradas;
+    private final Counter leiturasForaDaAmostra;
+    private final Counter descartadasBufferCheio;
+    private final Counter mutacoesAguardaram;
+    private final Counter mutacoesDescartadas;
+    private final Counter falhasEscrita;
+
+    public PipelineAuditoria(DestinoAuditoria destino, int capacidade, int tamanhoLote, double amostragemLeituras,
+                             PoliticaDescarte politicaDescarte, Duration esperaMaxima, MeterRegistry registro) {
+        this.buffer = new ArrayBlockingQueue<>(capacidade);
+        this.destino = destino;
+        this.tamanhoLote = tamanhoLote;
+        this.amostragemLeituras = amostragemLeituras;
+        this.politicaDescarte = politicaDescarte;
+        this.esperaMaximaNanos = esperaMaxima.toNanos();
+
+        leiturasRegistradas = contador(registro, "agendai.auditoria.registros", "tipo", "leitura");
+        mutacoesRegistradas = contador(registro, "agendai.auditoria.registros", "tipo", "mutacao");
+        leiturasForaDaAmostra = contador(registro, "agendai.auditoria.leituras.fora.da.amostra");
+        descartadasBufferCheio = contador(registro, "agendai.auditoria.descartados", "motivo", "buffer_cheio");
+        mutacoesAguardaram = contador(registro, "agendai.auditoria.mutacoes.aguardaram");
+        mutacoesDescartadas = contador(registro, "agendai.auditoria.mutacoes.descartadas");
+        falhasEscrita = contador(registro, "agendai.auditoria.falhas.escrita");
+        Gauge.builder("agendai.auditoria.buffer.ocupacao", buffer, BlockingQueue::size)
+                .description("Registros aguardando escrita")
+                .register(registro);
+
+        escritor = new Thread(this::escrever, "auditoria");
+        escritor.setDaemon(true);
+        escritor.start();
+    }
+
+    public boolean deveRegistrarLeitura() {
+        if (amostragemLeituras >= 1.0 || ThreadLocalRandom.current().nextDouble() < amostragemLeituras) {
+            return true;
+        }
+        leiturasForaDaAmostra.increment();
+        return false;
+    }
+
+    public void registrar(RegistroAuditoria registro) {
+        if (registro.isMutacao()) {
+            registrarMutacao(registro);
+        } else {
+            registrarLeitura(registro);
+        }
+    }
+
+    // Mutações sempre esperam por espaço, mas só até a espera máxima: com o escritor travado ou morto,
+    // perder o registro é melhor que prender para sempre a thread de cada requisição de escrita.
+    private void registrarMutacao(RegistroAuditoria registro) {
+        boolean aceito = buffer.offer(registro);
+        if (!aceito) {
+            mutacoesAguardaram.increment();
+            try {
+                aceito = buffer.offer(registro, esperaMaximaNanos, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (aceito) {
+            mutacoesRegistradas.increment();
+        } else {
+            mutacoesDescartadas.increment();
+            log.error("Registro de auditoria de mutação descartado com o buffer cheio: {} {}",
+                    registro.getMetodo(), registro.getRota());
+        }
+    }
+
+    private void registrarLeitura(RegistroAuditoria registro) {
+        boolean aceito = buffer.offer(registro);
+        if (!aceito && politicaDescarte == PoliticaDescarte.AGUARDAR) {
+            try {
+                aceito = buffer.offer(registro, esperaMaximaNanos, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (aceito) {
+            leiturasRegistradas.increment();
+        } else {
+            descartadasBufferCheio.increment();
+        }
+    }
+
+    private void escrever() {
+        List<RegistroAuditoria> lote = new ArrayList<>(tamanhoLote);
+        while (ativo || !buffer.isEmpty()) {
+            try {
+                RegistroAuditoria primeiro = buffer.poll(100, TimeUnit.MILLISECONDS);
+                if (primeiro == null) {
+                    continue;
+                }
+                lote.add(primeiro);
+                buffer.drainTo(lote, tamanhoLote - 1);
+                destino.gravar(lote);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                falhasEscrita.increment();
+                log.error("Falha ao gravar lote de {} registros de auditoria: {}", lote.size(), e.getMessage(), e);
+            } finally {
+                lote.clear();
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        ativo = false;
+        try {
+            escritor.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Counter contador(MeterRegistry registro, String nome, String... tags) {
+        return Counter.builder(nome).tags(tags).register(registro);
+    }
+}
@@ -0,0 +1,7 @@
+package br.com.agendai.agendai.auditoria;
+
+// Vale só para leituras: mutações sempre esperam espaço no buffer, até a espera máxima.
+public enum PoliticaDescarte {
+    DESCARTAR,
+    AGUARDAR
+}
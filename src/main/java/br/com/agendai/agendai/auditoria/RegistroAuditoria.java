@@ -0,0 +1,19 @@
+package br.com.agendai.agendai.auditoria;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Instant;
+
+@Value
+@Builder
+public class RegistroAuditoria {
+
+    Instant instante;
+    boolean mutacao;
+    String metodo;
+    String rota;
+    String idTarefa;
+    int status;
+    long duracaoMicros;
+}
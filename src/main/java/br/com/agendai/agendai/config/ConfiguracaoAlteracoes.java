@@ -0,0 +1,24 @@
+package br.com.agendai.agendai.config;
+
+import br.com.agendai.agendai.alteracoes.DifusorAlteracoes;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(PropriedadesAlteracoes.class)
+public class ConfiguracaoAlteracoes {
+
+    @Bean
+    public DifusorAlteracoes difusorAlteracoes(PropriedadesAlteracoes propriedades, MeterRegistry registro) {
+        return new DifusorAlteracoes(
+                propriedades.getCapacidade(),
+                propriedades.getTamanhoLote(),
+                propriedades.getCapacidadeAssinante(),
+                propriedades.getMaximoAssinantes(),
+                propriedades.getPoliticaLentos(),
+                propriedades.getIntervaloBatimento(),
+                registro);
+    }
+}
@@ -0,0 +1,35 @@
+package br.com.agendai.agendai.config;
+
+import br.com.agendai.agendai.auditoria.DestinoAuditoriaLog;
+import br.com.agendai.agendai.auditoria.FiltroAuditoria;
+import br.com.agendai.agendai.auditoria.PipelineAuditoria;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(PropriedadesAuditoria.class)
+@ConditionalOnProperty(prefix = "agendai.auditoria", name = "habilitada", havingValue = "true", matchIfMissing = true)
+public class ConfiguracaoAuditoria {
+
+    @Bean
+    public PipelineAuditoria pipelineAuditoria(PropriedadesAuditoria propriedades, ObjectMapper objectMapper,
+                                               MeterRegistry registro) {
+        return new PipelineAuditoria(
+                new DestinoAuditoriaLog(objectMapper),
+                propriedades.getCapacidade(),
+                propriedades.getTamanhoLote(),
+                propriedades.getAmostragemLeituras(),
+                propriedades.getPoliticaDescarte(),
+                propriedades.getEsperaMaxima(),
+                registro);
+    }
+
+    @Bean
+    public FiltroAuditoria filtroAuditoria(PipelineAuditoria pipelineAuditoria) {
+        return new FiltroAuditoria(pipelineAuditoria);
+    }
+}
@@ -0,0 +1,23 @@
+package br.com.agendai.agendai.config;
+
+import br.com.agendai.agendai.service.CacheConsultas;
+import br.com.agendai.agendai.service.CacheConsultasCaffeine;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.function.Supplier;
+
+@Configuration
+@EnableConfigurationProperties(PropriedadesCache.class)
+public class ConfiguracaoCache {
+
+    // Cada partição de inquilino tem o seu cache, então o bean é uma fábrica.
+    @Bean
+    public Supplier<CacheConsultas> cacheConsultas(PropriedadesCache propriedades) {
+        if (!propriedades.isHabilitado()) {
+            return () -> CacheConsultas.NENHUM;
+        }
+        return () -> new CacheConsultasCaffeine(propriedades.getPesoMaximo());
+    }
+}
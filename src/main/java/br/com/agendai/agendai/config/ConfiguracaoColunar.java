@@ -0,0 +1,22 @@
+package br.com.agendai.agendai.config;
+
+import br.com.agendai.agendai.service.ArmazemColunar;
+import br.com.agendai.agendai.service.ColunasTarefas;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.function.Supplier;
+
+@Configuration
+@EnableConfigurationProperties(PropriedadesColunar.class)
+public class ConfiguracaoColunar {
+
+    @Bean
+    public Supplier<ColunasTarefas> colunasTarefas(PropriedadesColunar propriedades) {
+        if (!propriedades.isHabilitado()) {
+            return () -> ColunasTarefas.NENHUMA;
+        }
+        return ArmazemColunar::new;
+    }
+}
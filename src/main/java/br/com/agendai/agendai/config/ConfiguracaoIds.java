@@ -0,0 +1,20 @@
+package br.com.agendai.agendai.config;
+
+import br.com.agendai.agendai.service.GeradorIds;
+import br.com.agendai.agendai.service.GeradorIdsMonotonico;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(PropriedadesIds.class)
+public class ConfiguracaoIds {
+
+    @Bean
+    public GeradorIds geradorIds(PropriedadesIds propriedades) {
+        return switch (propriedades.getEstrategia()) {
+            case MONOTONICO -> new GeradorIdsMonotonico();
+            case UUID -> GeradorIds.ALEATORIO;
+        };
+    }
+}
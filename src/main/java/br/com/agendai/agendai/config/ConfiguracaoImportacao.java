@@ -0,0 +1,18 @@
+package br.com.agendai.agendai.config;
+
+import br.com.agendai.agendai.importacao.ImportadorTarefas;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(PropriedadesImportacao.class)
+public class ConfiguracaoImportacao {
+
+    @Bean
+    public ImportadorTarefas importadorTarefas(PropriedadesImportacao propriedades, ObjectMapper objectMapper) {
+        return new ImportadorTarefas(objectMapper, propriedades.getTamanhoLote(),
+                propriedades.getTamanhoMaximoRegistro());
+    }
+}
@@ -0,0 +1,35 @@
+package br.com.agendai.agendai.config;
+
+import br.com.agendai.agendai.service.AgendaPrazos;
+import br.com.agendai.agendai.service.CacheConsultas;
+import br.com.agendai.agendai.service.CanalAlteracoes;
+import br.com.agendai.agendai.service.ColunasTarefas;
+import br.com.agendai.agendai.service.DiarioMutacoes;
+import br.com.agendai.agendai.service.GeradorIds;
+import br.com.agendai.agendai.service.ServicoInquilinos;
+import br.com.agendai.agendai.service.ServicoTarefa;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import jakarta.validation.Validator;
+import java.util.function.Supplier;
+
+@Configuration
+@EnableConfigurationProperties(PropriedadesInquilinos.class)
+public class ConfiguracaoInquilinos {
+
+    // Diário, validador, gerador de IDs, canal de alterações e agenda de prazos são compartilhados; cache e
+    // armazém colunar são por partição.
+    @Bean
+    public ServicoInquilinos servicoInquilinos(PropriedadesInquilinos propriedades, DiarioMutacoes diarioMutacoes,
+                                               Validator validador, GeradorIds geradorIds,
+                                               Supplier<CacheConsultas> cacheConsultas,
+                                               Supplier<ColunasTarefas> colunasTarefas,
+                                               CanalAlteracoes canalAlteracoes, AgendaPrazos agendaPrazos) {
+        return new ServicoInquilinos(diarioMutacoes,
+                inquilino -> new ServicoTarefa(inquilino, propriedades.getCotaTarefas(), diarioMutacoes, validador,
+                        cacheConsultas.get(), geradorIds, colunasTarefas.get(), canalAlteracoes, agendaPrazos),
+                propriedades.getMaximo());
+    }
+}
@@ -0,0 +1,62 @@
+package br.com.agendai.agendai.config;
+
+import br.com.agendai.agendai.persistencia.DiarioMapeado;
+import br.com.agendai.agendai.replicacao.LiderReplicacao;
+import br.com.agendai.agendai.replicacao.SeguidorReplicacao;
+import br.com.agendai.agendai.service.DiarioMutacoes;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Paths;
+
+@Slf4j
+@Configuration
+@EnableConfigurationProperties({PropriedadesPersistencia.class, PropriedadesReplicacao.class})
+public class ConfiguracaoPersistencia {
+
+    // O líder grava no diário local e transmite; o seguidor recebe tudo do líder e não usa o diário local.
+    @Bean
+    public DiarioMutacoes diarioMutacoes(PropriedadesPersistencia propriedades, PropriedadesReplicacao replicacao,
+                                         MeterRegistry registro) {
+        return switch (replicacao.getPapel()) {
+            case NENHUM -> diarioLocal(propriedades);
+            case LIDER -> {
+                LiderReplicacao lider = new LiderReplicacao(
+                        diarioLocal(propriedades),
+                        replicacao.getPorta(),
+                        replicacao.getIntervaloBatimento(),
+                        replicacao.getCapacidadeFila(),
+                        replicacao.getTamanhoHistorico());
+                lider.bindTo(registro);
+                yield lider;
+            }
+            case SEGUIDOR -> {
+                if (propriedades.isHabilitada()) {
+                    log.warn("Persistência ignorada: um seguidor recebe o estado do líder");
+                }
+                SeguidorReplicacao seguidor = new SeguidorReplicacao(
+                        replicacao.getHostLider(),
+                        replicacao.getPortaLider(),
+                        replicacao.getIntervaloBatimento(),
+                        replicacao.getIntervaloReconexao());
+                seguidor.bindTo(registro);
+                yield seguidor;
+            }
+        };
+    }
+
+    private static DiarioMutacoes diarioLocal(PropriedadesPersistencia propriedades) {
+        if (!propriedades.isHabilitada()) {
+            return DiarioMutacoes.NENHUM;
+        }
+        return new DiarioMapeado(
+                Paths.get(propriedades.getDiretorio()),
+                propriedades.getPoliticaSincronizacao(),
+                propriedades.getIntervaloSincronizacao(),
+                Math.toIntExact(propriedades.getTamanhoSegmento().toBytes()),
+                propriedades.getRegistrosPorInstantaneo());
+    }
+}
@@ -0,0 +1,53 @@
+package br.com.agendai.agendai.config;
+
+import br.com.agendai.agendai.prazos.CaixaSaidaAvisos;
+import br.com.agendai.agendai.prazos.DestinoAvisos;
+import br.com.agendai.agendai.prazos.DestinoAvisosHttp;
+import br.com.agendai.agendai.prazos.DestinoAvisosLog;
+import br.com.agendai.agendai.prazos.VigiaPrazos;
+import br.com.agendai.agendai.replicacao.PapelReplicacao;
+import br.com.agendai.agendai.service.AgendaPrazos;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.URI;
+import java.time.Clock;
+
+@Configuration
+@EnableConfigurationProperties({PropriedadesPrazos.class, PropriedadesReplicacao.class})
+public class ConfiguracaoPrazos {
+
+    // Um seguidor aplica as mesmas mutações do líder; se também vigiasse os prazos, cada aviso sairia em dobro.
+    @Bean
+    public AgendaPrazos agendaPrazos(PropriedadesPrazos propriedades, PropriedadesReplicacao replicacao,
+                                     ObjectMapper objectMapper, MeterRegistry registro) {
+        if (!propriedades.isHabilitados() || replicacao.getPapel() == PapelReplicacao.SEGUIDOR) {
+            return AgendaPrazos.NENHUMA;
+        }
+        CaixaSaidaAvisos caixaSaida = new CaixaSaidaAvisos(
+                destino(propriedades, objectMapper),
+                propriedades.getCapacidadeSaida(),
+                propriedades.getTamanhoLote(),
+                propriedades.getEsperaLote(),
+                propriedades.getTentativasEntrega(),
+                propriedades.getEsperaRetentativa(),
+                registro);
+        return VigiaPrazos.iniciar(
+                propriedades.getResolucao(),
+                propriedades.getAntecedenciaLembrete(),
+                caixaSaida,
+                Clock.systemDefaultZone(),
+                registro);
+    }
+
+    private static DestinoAvisos destino(PropriedadesPrazos propriedades, ObjectMapper objectMapper) {
+        return switch (propriedades.getDestino()) {
+            case LOG -> new DestinoAvisosLog(objectMapper);
+            case HTTP -> new DestinoAvisosHttp(URI.create(propriedades.getUrlDestino()),
+                    propriedades.getTempoLimiteEntrega(), objectMapper);
+        };
+    }
+}
@@ -0,0 +1,30 @@
+package br.com.agendai.agendai.config;
+
+import br.com.agendai.agendai.controller.ServidorReativo;
+import br.com.agendai.agendai.controller.TarefaControleReativo;
+import br.com.agendai.agendai.service.ServicoInquilinos;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import jakarta.validation.Validator;
+
+@Configuration
+@EnableConfigurationProperties(PropriedadesReativa.class)
+@ConditionalOnProperty(prefix = "agendai.reativa", name = "habilitada", havingValue = "true")
+public class ConfiguracaoReativa {
+
+    @Bean
+    public TarefaControleReativo tarefaControleReativo(ServicoInquilinos servicoInquilinos, Validator validador) {
+        return new TarefaControleReativo(servicoInquilinos, validador);
+    }
+
+    @Bean
+    public ServidorReativo servidorReativo(PropriedadesReativa propriedades, TarefaControleReativo tarefaControleReativo,
+                                           ObjectMapper objectMapper) {
+        return new ServidorReativo(tarefaControleReativo.rotas(), objectMapper,
+                propriedades.getPorta(), propriedades.getThreadsLacoEventos());
+    }
+}
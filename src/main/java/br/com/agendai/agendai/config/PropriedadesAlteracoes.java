@@ -0,0 +1,19 @@
+package br.com.agendai.agendai.config;
+
+import br.com.agendai.agendai.alteracoes.PoliticaAssinantesLentos;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "agendai.alteracoes")
+public class PropriedadesAlteracoes {
+
+    private int capacidade = 65536;
+    private int tamanhoLote = 256;
+    private int capacidadeAssinante = 1024;
+    private int maximoAssinantes = 10000;
+    private PoliticaAssinantesLentos politicaLentos = PoliticaAssinantesLentos.CONFLAR;
+    private Duration intervaloBatimento = Duration.ofSeconds(15);
+}
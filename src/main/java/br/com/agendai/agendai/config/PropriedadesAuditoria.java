@@ -0,0 +1,19 @@
+package br.com.agendai.agendai.config;
+
+import br.com.agendai.agendai.auditoria.PoliticaDescarte;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "agendai.auditoria")
+public class PropriedadesAuditoria {
+
+    private boolean habilitada = true;
+    private int capacidade = 8192;
+    private int tamanhoLote = 256;
+    private double amostragemLeituras = 0.01;
+    private PoliticaDescarte politicaDescarte = PoliticaDescarte.DESCARTAR;
+    private Duration esperaMaxima = Duration.ofMillis(5);
+}
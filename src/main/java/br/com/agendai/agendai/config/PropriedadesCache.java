@@ -0,0 +1,12 @@
+package br.com.agendai.agendai.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "agendai.cache-consultas")
+public class PropriedadesCache {
+
+    private boolean habilitado = true;
+    private long pesoMaximo = 200_000;
+}
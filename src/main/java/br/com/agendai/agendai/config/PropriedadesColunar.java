@@ -0,0 +1,11 @@
+package br.com.agendai.agendai.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "agendai.colunar")
+public class PropriedadesColunar {
+
+    private boolean habilitado = false;
+}
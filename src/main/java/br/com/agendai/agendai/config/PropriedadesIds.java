@@ -0,0 +1,12 @@
+package br.com.agendai.agendai.config;
+
+import br.com.agendai.agendai.service.EstrategiaIds;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "agendai.ids")
+public class PropriedadesIds {
+
+    private EstrategiaIds estrategia = EstrategiaIds.MONOTONICO;
+}
@@ -0,0 +1,12 @@
+package br.com.agendai.agendai.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "agendai.importacao")
+public class PropriedadesImportacao {
+
+    private int tamanhoLote = 500;
+    private int tamanhoMaximoRegistro = 65536;
+}
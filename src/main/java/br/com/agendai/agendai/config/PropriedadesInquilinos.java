@@ -0,0 +1,12 @@
+package br.com.agendai.agendai.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "agendai.inquilinos")
+public class PropriedadesInquilinos {
+
+    private long cotaTarefas = 1_000_000;
+    private int maximo = 1000;
+}
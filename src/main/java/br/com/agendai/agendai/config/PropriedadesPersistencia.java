@@ -0,0 +1,20 @@
+package br.com.agendai.agendai.config;
+
+import br.com.agendai.agendai.persistencia.PoliticaSincronizacao;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "agendai.persistencia")
+public class PropriedadesPersistencia {
+
+    private boolean habilitada = false;
+    private String diretorio = "dados";
+    private PoliticaSincronizacao politicaSincronizacao = PoliticaSincronizacao.INTERVALO;
+    private Duration intervaloSincronizacao = Duration.ofMillis(100);
+    private DataSize tamanhoSegmento = DataSize.ofMegabytes(64);
+    private long registrosPorInstantaneo = 500_000;
+}
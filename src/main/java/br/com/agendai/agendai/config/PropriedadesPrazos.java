@@ -0,0 +1,24 @@
+package br.com.agendai.agendai.config;
+
+import br.com.agendai.agendai.prazos.TipoDestinoAvisos;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "agendai.prazos")
+public class PropriedadesPrazos {
+
+    private boolean habilitados = true;
+    private Duration resolucao = Duration.ofSeconds(1);
+    private Duration antecedenciaLembrete = Duration.ofMinutes(15);
+    private TipoDestinoAvisos destino = TipoDestinoAvisos.LOG;
+    private String urlDestino;
+    private Duration tempoLimiteEntrega = Duration.ofSeconds(5);
+    private int capacidadeSaida = 65536;
+    private int tamanhoLote = 500;
+    private Duration esperaLote = Duration.ofSeconds(1);
+    private int tentativasEntrega = 5;
+    private Duration esperaRetentativa = Duration.ofMillis(500);
+}
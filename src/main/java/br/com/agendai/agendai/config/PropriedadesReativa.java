@@ -0,0 +1,13 @@
+package br.com.agendai.agendai.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "agendai.reativa")
+public class PropriedadesReativa {
+
+    private boolean habilitada = false;
+    private int porta = 8081;
+    private int threadsLacoEventos = Runtime.getRuntime().availableProcessors();
+}
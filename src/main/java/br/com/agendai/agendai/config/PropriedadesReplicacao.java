@@ -0,0 +1,21 @@
+package br.com.agendai.agendai.config;
+
+import br.com.agendai.agendai.replicacao.PapelReplicacao;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "agendai.replicacao")
+public class PropriedadesReplicacao {
+
+    private PapelReplicacao papel = PapelReplicacao.NENHUM;
+    private int porta = 7070;
+    private String hostLider = "localhost";
+    private int portaLider = 7070;
+    private Duration intervaloBatimento = Duration.ofSeconds(1);
+    private Duration intervaloReconexao = Duration.ofSeconds(1);
+    private int capacidadeFila = 65_536;
+    private int tamanhoHistorico = 4096;
+}
@@ -0,0 +1,47 @@
+package br.com.agendai.agendai.controller;
+
+import br.com.agendai.agendai.importacao.FormatoCsv;
+import br.com.agendai.agendai.model.Tarefa;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+final class RespostaCsv {
+
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+
+    private static final int TAREFAS_POR_DESCARGA = 256;
+
+    private RespostaCsv() {
+    }
+
+    static ResponseEntity<StreamingResponseBody> de(Stream<Tarefa> tarefas) {
+        StreamingResponseBody corpo = saida -> {
+            try (Stream<Tarefa> fluxo = tarefas) {
+                Writer escritor = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+                escritor.write(FormatoCsv.CABECALHO);
+                escritor.write('\n');
+
+                int escritas = 0;
+                Iterator<Tarefa> iterador = fluxo.iterator();
+                while (iterador.hasNext()) {
+                    FormatoCsv.escrever(escritor, iterador.next());
+                    if (++escritas % TAREFAS_POR_DESCARGA == 0) {
+                        escritor.flush();
+                    }
+                }
+                escritor.flush();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(TEXT_CSV)
+                .body(corpo);
+    }
+}
@@ -0,0 +1,48 @@
+package br.com.agendai.agendai.controller;
+
+import br.com.agendai.agendai.model.Tarefa;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+final class RespostaNdjson {
+
+    private static final int TAREFAS_POR_DESCARGA = 256;
+
+    private RespostaNdjson() {
+    }
+
+    static ResponseEntity<StreamingResponseBody> de(Stream<Tarefa> tarefas, ObjectMapper objectMapper) {
+        ObjectWriter escritor = objectMapper.writerFor(Tarefa.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        StreamingResponseBody corpo = saida -> {
+            try (Stream<Tarefa> fluxo = tarefas;
+                 JsonGenerator gerador = escritor.createGenerator(saida)) {
+                gerador.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                // Sem isso o gerador separa os valores na raiz com um espaço, que abriria cada linha.
+                gerador.setRootValueSeparator(null);
+
+                int escritas = 0;
+                Iterator<Tarefa> iterador = fluxo.iterator();
+                while (iterador.hasNext()) {
+                    escritor.writeValue(gerador, iterador.next());
+                    gerador.writeRaw('\n');
+                    if (++escritas % TAREFAS_POR_DESCARGA == 0) {
+                        gerador.flush();
+                    }
+                }
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(corpo);
+    }
+}
@@ -0,0 +1,70 @@
+package br.com.agendai.agendai.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.LoopResources;
+
+// Servidor Reactor Netty próprio para a API reativa. A aplicação continua sendo servlet (Tomcat);
+// este servidor sobe numa porta separada, com um punhado de threads de laço de eventos que atendem
+// qualquer número de conexões ociosas sem reservar uma thread para cada uma.
+@Slf4j
+public class ServidorReativo implements SmartLifecycle {
+
+    private final HttpHandler manipulador;
+    private final int porta;
+    private final int threadsLacoEventos;
+
+    private LoopResources lacosEventos;
+    private volatile DisposableServer servidor;
+
+    public ServidorReativo(RouterFunction<ServerResponse> rotas, ObjectMapper objectMapper, int porta,
+                           int threadsLacoEventos) {
+        HandlerStrategies estrategias = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .build();
+        this.manipulador = RouterFunctions.toHttpHandler(rotas, estrategias);
+        this.porta = porta;
+        this.threadsLacoEventos = threadsLacoEventos;
+    }
+
+    @Override
+    public void start() {
+        lacosEventos = LoopResources.create("agendai-reativo", threadsLacoEventos, true);
+        servidor = HttpServer.create()
+                .port(porta)
+                .runOn(lacosEventos)
+                .handle(new ReactorHttpHandlerAdapter(manipulador))
+                .bindNow();
+        log.info("API reativa escutando na porta {} com {} threads de laço de eventos", servidor.port(), threadsLacoEventos);
+    }
+
+    @Override
+    public void stop() {
+        servidor.disposeNow();
+        servidor = null;
+        lacosEventos.disposeLater().block();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return servidor != null;
+    }
+
+    public int porta() {
+        return servidor.port();
+    }
+}
@@ -1,8 +1,16 @@
 package br.com.agendai.agendai.controller;
 
+import br.com.agendai.agendai.alteracoes.DifusorAlteracoes;
+import br.com.agendai.agendai.alteracoes.FiltroAlteracoes;
+import br.com.agendai.agendai.alteracoes.TransmissaoAlteracoes;
+import br.com.agendai.agendai.importacao.FormatoImportacao;
+import br.com.agendai.agendai.importacao.ImportadorTarefas;
 import br.com.agendai.agendai.model.*;
 import br.com.agendai.agendai.service.ObterEstatisticas;
+import br.com.agendai.agendai.service.Pagina;
+import br.com.agendai.agendai.service.ServicoInquilinos;
 import br.com.agendai.agendai.service.ServicoTarefa;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -12,21 +20,47 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import javax.validation.Valid;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.io.InputStream;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
 
 @Slf4j
 @RestController
 @RequestMapping("/tarefas")
+@Validated
 @RequiredArgsConstructor
 @Tag(name = "Tarefas", description = "API para gerenciamento de tarefas")
 public class TarefaControle {
 
-    private final ServicoTarefa servicoTarefa;
+    static final String CABECALHO_PROXIMO_CURSOR = "X-Proximo-Cursor";
+    static final String CABECALHO_INQUILINO = "X-Inquilino";
+    private static final String LIMITE_PADRAO = "100";
+    private static final long LIMITE_MAXIMO = 1000;
+    private static final int LIMITE_LOTE = 1000;
+
+    private final ServicoInquilinos servicoInquilinos;
+    private final DifusorAlteracoes difusorAlteracoes;
+    private final ImportadorTarefas importadorTarefas;
+    private final HttpServletRequest requisicaoHttp;
+    private final ObjectMapper objectMapper;
+    private final String prefixoEtag = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
 
     @Operation(summary = "Criar uma nova tarefa")
     @ApiResponses(value = {
@@ -35,31 +69,76 @@ public class TarefaControle {
     })
     @PostMapping
     public ResponseEntity<Tarefa> criarTarefa(@Valid @RequestBody RequisicaoCriacaoTarefa requisicao) {
-        log.info("Recebida requisição para criar tarefa: {}", requisicao.getTitulo());
-        Tarefa novaTarefa = servicoTarefa.criarTarefa(requisicao);
+        log.debug("Recebida requisição para criar tarefa: {}", requisicao.getTitulo());
+        Tarefa novaTarefa = particaoParaCriacao().criarTarefa(requisicao);
         return ResponseEntity.status(HttpStatus.CREATED).body(novaTarefa);
     }
 
     @Operation(summary = "Listar todas as tarefas")
-    @ApiResponse(responseCode = "200", description = "Lista de tarefas retornada com sucesso")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lista de tarefas retornada com sucesso"),
+            @ApiResponse(responseCode = "304", description = "Nada mudou desde a ETag enviada em If-None-Match")
+    })
     @GetMapping
-    public ResponseEntity<List<Tarefa>> listarTodasAsTarefas() {
-        log.info("Recebida requisição para listar todas as tarefas");
-        List<Tarefa> tarefas = servicoTarefa.listarTodasTarefas();
-        return ResponseEntity.ok(tarefas);
+    public ResponseEntity<List<Tarefa>> listarTodasAsTarefas(
+            @Parameter(description = "Cursor retornado pela página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Quantidade máxima de tarefas na página")
+            @RequestParam(defaultValue = LIMITE_PADRAO) @Min(1) @Max(LIMITE_MAXIMO) int limite,
+            WebRequest requisicao) {
+        log.debug("Recebida requisição para listar todas as tarefas");
+        return responderPagina(requisicao, () -> servicoTarefa().listarTodasTarefas(cursor, limite));
+    }
+
+    @Operation(summary = "Exportar todas as tarefas em NDJSON")
+    @ApiResponse(responseCode = "200", description = "Tarefas transmitidas uma por linha")
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportarTodasAsTarefas() {
+        log.debug("Recebida requisição para exportar todas as tarefas");
+        return RespostaNdjson.de(servicoTarefa().percorrerTodasTarefas(), objectMapper);
+    }
+
+    @Operation(summary = "Exportar todas as tarefas em CSV")
+    @ApiResponse(responseCode = "200", description = "Tarefas transmitidas uma por linha, após o cabeçalho")
+    @GetMapping(produces = "text/csv")
+    public ResponseEntity<StreamingResponseBody> exportarTodasAsTarefasEmCsv() {
+        log.debug("Recebida requisição para exportar todas as tarefas em CSV");
+        return RespostaCsv.de(servicoTarefa().percorrerTodasTarefas());
+    }
+
+    @Operation(summary = "Importar tarefas em CSV")
+    @ApiResponse(responseCode = "200", description = "Relatório em NDJSON a cada lote gravado e ao final")
+    @PostMapping(value = "/importacao", consumes = "text/csv", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> importarCsv(InputStream corpo) {
+        log.debug("Recebida requisição para importar tarefas em CSV");
+        return importar(corpo, FormatoImportacao.CSV);
+    }
+
+    @Operation(summary = "Importar tarefas em NDJSON")
+    @ApiResponse(responseCode = "200", description = "Relatório em NDJSON a cada lote gravado e ao final")
+    @PostMapping(value = "/importacao", consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> importarNdjson(InputStream corpo) {
+        log.debug("Recebida requisição para importar tarefas em NDJSON");
+        return importar(corpo, FormatoImportacao.NDJSON);
     }
 
     @Operation(summary = "Buscar tarefa por ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Tarefa encontrada"),
+            @ApiResponse(responseCode = "304", description = "Tarefa não mudou desde a ETag enviada em If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Tarefa não encontrada")
     })
     @GetMapping("/{id}")
     public ResponseEntity<Tarefa> buscarTarefaPorId(
-            @Parameter(description = "ID da tarefa") @PathVariable String id) {
-        log.info("Recebida requisição para buscar tarefa por ID: {}", id);
-        Tarefa tarefa = servicoTarefa.buscarTarefaPorId(id);
-        return ResponseEntity.ok(tarefa);
+            @Parameter(description = "ID da tarefa") @PathVariable String id,
+            WebRequest requisicao) {
+        log.debug("Recebida requisição para buscar tarefa por ID: {}", id);
+        Tarefa tarefa = servicoTarefa().buscarTarefaPorId(id);
+        String etag = "\"" + tarefa.getVersao() + "\"";
+        if (requisicao.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(tarefa);
     }
 
     @Operation(summary = "Atualizar uma tarefa")
@@ -72,8 +151,8 @@ public class TarefaControle {
     public ResponseEntity<Tarefa> atualizarTarefa(
             @Parameter(description = "ID da tarefa") @PathVariable String id,
             @Valid @RequestBody AtualizarTarefa requisicao) {
-        log.info("Recebida requisição para atualizar tarefa ID: {}", id);
-        Tarefa tarefaAtualizada = servicoTarefa.atualizarTarefa(id, requisicao);
+        log.debug("Recebida requisição para atualizar tarefa ID: {}", id);
+        Tarefa tarefaAtualizada = servicoTarefa().atualizarTarefa(id, requisicao);
         return ResponseEntity.ok(tarefaAtualizada);
     }
 
@@ -85,8 +164,8 @@ public class TarefaControle {
     @PatchMapping("/{id}/concluir")
     public ResponseEntity<Tarefa> concluirTarefa(
             @Parameter(description = "ID da tarefa") @PathVariable String id) {
-        log.info("Recebida requisição para concluir tarefa. ID: {}", id);
-        Tarefa tarefaConcluida = servicoTarefa.concluirTarefa(id);
+        log.debug("Recebida requisição para concluir tarefa. ID: {}", id);
+        Tarefa tarefaConcluida = servicoTarefa().concluirTarefa(id);
         return ResponseEntity.ok(tarefaConcluida);
     }
 
@@ -98,11 +177,41 @@ public class TarefaControle {
     @PatchMapping("/{id}/reabrir")
     public ResponseEntity<Tarefa> reabrirTarefa(
             @Parameter(description = "ID da tarefa") @PathVariable String id) {
-        log.info("Recebida requisição para reabrir tarefa. ID: {}", id);
-        Tarefa tarefaReaberta = servicoTarefa.reabrirTarefa(id);
+        log.debug("Recebida requisição para reabrir tarefa. ID: {}", id);
+        Tarefa tarefaReaberta = servicoTarefa().reabrirTarefa(id);
         return ResponseEntity.ok(tarefaReaberta);
     }
 
+    @Operation(summary = "Concluir uma ocorrência de uma tarefa recorrente")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Ocorrência concluída; a série continua pendente"),
+            @ApiResponse(responseCode = "404", description = "Tarefa não encontrada ou sem ocorrência na data")
+    })
+    @PatchMapping("/{id}/ocorrencias/{data}/concluir")
+    public ResponseEntity<Tarefa> concluirOcorrencia(
+            @Parameter(description = "ID da tarefa") @PathVariable String id,
+            @Parameter(description = "Data da ocorrência")
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate data) {
+        log.debug("Recebida requisição para concluir a ocorrência de {} da tarefa ID: {}", data, id);
+        Tarefa tarefa = servicoTarefa().concluirOcorrencia(id, data);
+        return ResponseEntity.ok(tarefa);
+    }
+
+    @Operation(summary = "Reabrir uma ocorrência de uma tarefa recorrente")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Ocorrência reaberta"),
+            @ApiResponse(responseCode = "404", description = "Tarefa não encontrada ou sem ocorrência na data")
+    })
+    @PatchMapping("/{id}/ocorrencias/{data}/reabrir")
+    public ResponseEntity<Tarefa> reabrirOcorrencia(
+            @Parameter(description = "ID da tarefa") @PathVariable String id,
+            @Parameter(description = "Data da ocorrência")
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate data) {
+        log.debug("Recebida requisição para reabrir a ocorrência de {} da tarefa ID: {}", data, id);
+        Tarefa tarefa = servicoTarefa().reabrirOcorrencia(id, data);
+        return ResponseEntity.ok(tarefa);
+    }
+
     @Operation(summary = "Excluir uma tarefa")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Tarefa excluída com sucesso"),
@@ -111,60 +220,333 @@ public class TarefaControle {
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> excluirTarefa(
             @Parameter(description = "ID da tarefa") @PathVariable String id) {
-        log.info("Recebida requisição para excluir tarefa. ID: {}", id);
-        servicoTarefa.removerTarefa(id);
+        log.debug("Recebida requisição para excluir tarefa. ID: {}", id);
+        servicoTarefa().removerTarefa(id);
         return ResponseEntity.noContent().build();
     }
 
+    @Operation(summary = "Criar tarefas em lote")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Todas as tarefas foram criadas"),
+            @ApiResponse(responseCode = "207", description = "Parte dos itens falhou; veja o resultado de cada um"),
+            @ApiResponse(responseCode = "400", description = "Lote vazio ou maior que o permitido")
+    })
+    @PostMapping("/lote")
+    public ResponseEntity<RespostaLote> criarTarefasEmLote(
+            @RequestBody @NotEmpty @Size(max = LIMITE_LOTE) List<RequisicaoCriacaoTarefa> requisicoes) {
+        log.debug("Recebida requisição para criar lote de {} tarefas", requisicoes.size());
+        return responderLote(particaoParaCriacao().criarTarefasEmLote(requisicoes), HttpStatus.CREATED);
+    }
+
+    @Operation(summary = "Buscar tarefas em lote por ID")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Todas as tarefas foram encontradas"),
+            @ApiResponse(responseCode = "207", description = "Parte dos itens falhou; veja o resultado de cada um"),
+            @ApiResponse(responseCode = "400", description = "Lote vazio ou maior que o permitido")
+    })
+    @PostMapping("/lote/buscar")
+    public ResponseEntity<RespostaLote> buscarTarefasEmLote(
+            @RequestBody @NotEmpty @Size(max = LIMITE_LOTE) List<String> ids) {
+        log.debug("Recebida requisição para buscar lote de {} tarefas", ids.size());
+        return responderLote(servicoTarefa().buscarTarefasEmLote(ids), HttpStatus.OK);
+    }
+
+    @Operation(summary = "Concluir tarefas em lote")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Todas as tarefas foram concluídas"),
+            @ApiResponse(responseCode = "207", description = "Parte dos itens falhou; veja o resultado de cada um"),
+            @ApiResponse(responseCode = "400", description = "Lote vazio ou maior que o permitido")
+    })
+    @PatchMapping("/lote/concluir")
+    public ResponseEntity<RespostaLote> concluirTarefasEmLote(
+            @RequestBody @NotEmpty @Size(max = LIMITE_LOTE) List<String> ids) {
+        log.debug("Recebida requisição para concluir lote de {} tarefas", ids.size());
+        return responderLote(servicoTarefa().concluirTarefasEmLote(ids), HttpStatus.OK);
+    }
+
+    @Operation(summary = "Excluir tarefas em lote")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Todas as tarefas foram excluídas"),
+            @ApiResponse(responseCode = "207", description = "Parte dos itens falhou; veja o resultado de cada um"),
+            @ApiResponse(responseCode = "400", description = "Lote vazio ou maior que o permitido")
+    })
+    @PostMapping("/lote/excluir")
+    public ResponseEntity<RespostaLote> excluirTarefasEmLote(
+            @RequestBody @NotEmpty @Size(max = LIMITE_LOTE) List<String> ids) {
+        log.debug("Recebida requisição para excluir lote de {} tarefas", ids.size());
+        return responderLote(servicoTarefa().removerTarefasEmLote(ids), HttpStatus.OK);
+    }
+
     @Operation(summary = "Filtrar tarefas por status")
     @ApiResponse(responseCode = "200", description = "Lista de tarefas filtradas por status")
     @GetMapping("/status/{status}")
     public ResponseEntity<List<Tarefa>> listarPorStatus(
+            @Parameter(description = "Status da tarefa") @PathVariable StatusTarefa status,
+            @Parameter(description = "Cursor retornado pela página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Quantidade máxima de tarefas na página")
+            @RequestParam(defaultValue = LIMITE_PADRAO) @Min(1) @Max(LIMITE_MAXIMO) int limite,
+            WebRequest requisicao) {
+        log.debug("Recebida requisição para listar tarefas por status: {}", status);
+        return responderPagina(requisicao, () -> servicoTarefa().listarTarefasPorStatus(status, cursor, limite));
+    }
+
+    @Operation(summary = "Exportar tarefas por status em NDJSON")
+    @ApiResponse(responseCode = "200", description = "Tarefas filtradas por status transmitidas uma por linha")
+    @GetMapping(value = "/status/{status}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportarPorStatus(
             @Parameter(description = "Status da tarefa") @PathVariable StatusTarefa status) {
-        log.info("Recebida requisição para listar tarefas por status: {}", status);
-        List<Tarefa> tarefas = servicoTarefa.listarTarefasPorStatus(status);
-        return ResponseEntity.ok(tarefas);
+        log.debug("Recebida requisição para exportar tarefas por status: {}", status);
+        return RespostaNdjson.de(servicoTarefa().percorrerTarefasPorStatus(status), objectMapper);
     }
 
     @Operation(summary = "Filtrar tarefas por prioridade")
     @ApiResponse(responseCode = "200", description = "Lista de tarefas filtradas por prioridade")
     @GetMapping("/prioridade/{prioridade}")
     public ResponseEntity<List<Tarefa>> listarPorPrioridade(
+            @Parameter(description = "Prioridade da tarefa") @PathVariable PrioridadeTarefa prioridade,
+            @Parameter(description = "Cursor retornado pela página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Quantidade máxima de tarefas na página")
+            @RequestParam(defaultValue = LIMITE_PADRAO) @Min(1) @Max(LIMITE_MAXIMO) int limite,
+            WebRequest requisicao) {
+        log.debug("Recebida requisição para listar tarefas por prioridade: {}", prioridade);
+        return responderPagina(requisicao, () -> servicoTarefa().listarTarefasPorPrioridade(prioridade, cursor, limite));
+    }
+
+    @Operation(summary = "Exportar tarefas por prioridade em NDJSON")
+    @ApiResponse(responseCode = "200", description = "Tarefas filtradas por prioridade transmitidas uma por linha")
+    @GetMapping(value = "/prioridade/{prioridade}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportarPorPrioridade(
             @Parameter(description = "Prioridade da tarefa") @PathVariable PrioridadeTarefa prioridade) {
-        log.info("Recebida requisição para listar tarefas por prioridade: {}", prioridade);
-        List<Tarefa> tarefas = servicoTarefa.listarTarefasPorPrioridade(prioridade);
-        return ResponseEntity.ok(tarefas);
+        log.debug("Recebida requisição para exportar tarefas por prioridade: {}", prioridade);
+        return RespostaNdjson.de(servicoTarefa().percorrerTarefasPorPrioridade(prioridade), objectMapper);
     }
 
     @Operation(summary = "Buscar tarefas por termo")
     @ApiResponse(responseCode = "200", description = "Lista de tarefas que contêm o termo buscado")
     @GetMapping("/buscar")
     public ResponseEntity<List<Tarefa>> buscarTarefas(
+            @Parameter(description = "Termo de busca") @RequestParam String termo,
+            @Parameter(description = "Cursor retornado pela página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Quantidade máxima de tarefas na página")
+            @RequestParam(defaultValue = LIMITE_PADRAO) @Min(1) @Max(LIMITE_MAXIMO) int limite,
+            WebRequest requisicao) {
+        log.debug("Recebida requisição para buscar tarefas com termo: {}", termo);
+        return responderPagina(requisicao, () -> servicoTarefa().buscarTarefasPorTermo(termo, cursor, limite));
+    }
+
+    @Operation(summary = "Exportar tarefas que contêm o termo em NDJSON")
+    @ApiResponse(responseCode = "200", description = "Tarefas que contêm o termo transmitidas uma por linha")
+    @GetMapping(value = "/buscar", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportarBusca(
             @Parameter(description = "Termo de busca") @RequestParam String termo) {
-        log.info("Recebida requisição para buscar tarefas com termo: {}", termo);
-        List<Tarefa> tarefas = servicoTarefa.buscarTarefasPorTermo(termo);
-        return ResponseEntity.ok(tarefas);
+        log.debug("Recebida requisição para exportar tarefas com termo: {}", termo);
+        return RespostaNdjson.de(servicoTarefa().percorrerTarefasPorTermo(termo), objectMapper);
+    }
+
+    @Operation(summary = "Acompanhar as alterações das tarefas por Server-Sent Events")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Eventos CRIADA, ATUALIZADA, CONCLUIDA, REABERTA e REMOVIDA do inquilino"),
+            @ApiResponse(responseCode = "429", description = "Limite de assinantes atingido")
+    })
+    @GetMapping(value = "/alteracoes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter acompanharAlteracoes(
+            @Parameter(description = "Só tarefas com estes status, antes ou depois da alteração")
+            @RequestParam(required = false) List<StatusTarefa> status,
+            @Parameter(description = "Só tarefas com estas prioridades, antes ou depois da alteração")
+            @RequestParam(required = false) List<PrioridadeTarefa> prioridade) {
+        String inquilino = servicoTarefa().inquilino();
+        log.debug("Recebida requisição para acompanhar alterações do inquilino {}", inquilino);
+        return TransmissaoAlteracoes.transmitir(
+                difusorAlteracoes.assinar(FiltroAlteracoes.de(inquilino, status, prioridade)));
     }
 
     @Operation(summary = "Obter estatísticas das tarefas")
-    @ApiResponse(responseCode = "200", description = "Estatísticas das tarefas")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Estatísticas das tarefas"),
+            @ApiResponse(responseCode = "304", description = "Nada mudou desde a ETag enviada em If-None-Match")
+    })
     @GetMapping("/estatisticas")
-    public ResponseEntity<ObterEstatisticas> obterEstatisticas() {
-        log.info("Recebida requisição para obter estatísticas das tarefas");
-        ObterEstatisticas estatisticas = servicoTarefa.obterEstatisticas();
-        return ResponseEntity.ok(estatisticas);
+    public ResponseEntity<ObterEstatisticas> obterEstatisticas(WebRequest requisicao) {
+        log.debug("Recebida requisição para obter estatísticas das tarefas");
+        String etag = etagLoja();
+        if (requisicao.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        ObterEstatisticas estatisticas = servicoTarefa().obterEstatisticas();
+        return ResponseEntity.ok().eTag(etag).body(estatisticas);
+    }
+
+    @Operation(summary = "Obter estatísticas das tarefas criadas em um período")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Estatísticas das tarefas criadas no período"),
+            @ApiResponse(responseCode = "304", description = "Nada mudou desde a ETag enviada em If-None-Match")
+    })
+    @GetMapping("/estatisticas/criadas-entre")
+    public ResponseEntity<ObterEstatisticas> obterEstatisticasPorPeriodo(
+            @Parameter(description = "Data de início")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dataInicio,
+            @Parameter(description = "Data de fim")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dataFim,
+            WebRequest requisicao) {
+        log.debug("Recebida requisição para obter estatísticas das tarefas criadas entre {} e {}", dataInicio, dataFim);
+        String etag = etagLoja();
+        if (requisicao.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        ObterEstatisticas estatisticas = servicoTarefa().obterEstatisticasEntreDatas(dataInicio, dataFim);
+        return ResponseEntity.ok().eTag(etag).body(estatisticas);
+    }
+
+    @Operation(summary = "Listar prazos e ocorrências de tarefas recorrentes em uma janela")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Ocorrências da janela, em ordem de prazo"),
+            @ApiResponse(responseCode = "304", description = "Nada mudou desde a ETag enviada em If-None-Match"),
+            @ApiResponse(responseCode = "400", description = "Janela vazia ou maior que 366 dias")
+    })
+    @GetMapping("/calendario")
+    public ResponseEntity<List<Ocorrencia>> listarCalendario(
+            @Parameter(description = "Início da janela (inclusive)")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dataInicio,
+            @Parameter(description = "Fim da janela (exclusive)")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dataFim,
+            WebRequest requisicao) {
+        log.debug("Recebida requisição para o calendário entre {} e {}", dataInicio, dataFim);
+        String etag = etagLoja();
+        if (requisicao.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        List<Ocorrencia> ocorrencias = servicoTarefa().listarCalendario(dataInicio, dataFim);
+        return ResponseEntity.ok().eTag(etag).body(ocorrencias);
     }
 
     @Operation(summary = "Buscar tarefas criadas em um período")
     @ApiResponse(responseCode = "200", description = "Lista de tarefas criadas no período especificado")
-        @GetMapping("/criadas-entre")
+    @GetMapping("/criadas-entre")
     public ResponseEntity<List<Tarefa>> buscarTarefasPorPeriodo(
+            @Parameter(description = "Data de início")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dataInicio,
+            @Parameter(description = "Data de fim")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dataFim,
+            @Parameter(description = "Cursor retornado pela página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Quantidade máxima de tarefas na página")
+            @RequestParam(defaultValue = LIMITE_PADRAO) @Min(1) @Max(LIMITE_MAXIMO) int limite,
+            WebRequest requisicao) {
+        log.debug("Recebida requisição para buscar tarefas criadas entre {} e {}", dataInicio, dataFim);
+        return responderPagina(requisicao, () -> servicoTarefa().listarTarefasEntreDatas(dataInicio, dataFim, cursor, limite));
+    }
+
+    @Operation(summary = "Exportar tarefas criadas em um período em NDJSON")
+    @ApiResponse(responseCode = "200", description = "Tarefas criadas no período transmitidas uma por linha")
+    @GetMapping(value = "/criadas-entre", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportarPorPeriodo(
+            @Parameter(description = "Data de início")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dataInicio,
+            @Parameter(description = "Data de fim")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dataFim) {
+        log.debug("Recebida requisição para exportar tarefas criadas entre {} e {}", dataInicio, dataFim);
+        return RespostaNdjson.de(servicoTarefa().percorrerTarefasEntreDatas(dataInicio, dataFim), objectMapper);
+    }
+
+    @Operation(summary = "Buscar tarefas atualizadas em um período")
+    @ApiResponse(responseCode = "200", description = "Lista de tarefas atualizadas no período especificado")
+    @GetMapping("/atualizadas-entre")
+    public ResponseEntity<List<Tarefa>> buscarTarefasAtualizadasPorPeriodo(
+            @Parameter(description = "Data de início")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dataInicio,
+            @Parameter(description = "Data de fim")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dataFim,
+            @Parameter(description = "Cursor retornado pela página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Quantidade máxima de tarefas na página")
+            @RequestParam(defaultValue = LIMITE_PADRAO) @Min(1) @Max(LIMITE_MAXIMO) int limite,
+            WebRequest requisicao) {
+        log.debug("Recebida requisição para buscar tarefas atualizadas entre {} e {}", dataInicio, dataFim);
+        return responderPagina(requisicao, () -> servicoTarefa().listarTarefasAtualizadasEntre(dataInicio, dataFim, cursor, limite));
+    }
+
+    @Operation(summary = "Exportar tarefas atualizadas em um período em NDJSON")
+    @ApiResponse(responseCode = "200", description = "Tarefas atualizadas no período transmitidas uma por linha")
+    @GetMapping(value = "/atualizadas-entre", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportarAtualizadasPorPeriodo(
+            @Parameter(description = "Data de início")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dataInicio,
+            @Parameter(description = "Data de fim")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dataFim) {
+        log.debug("Recebida requisição para exportar tarefas atualizadas entre {} e {}", dataInicio, dataFim);
+        return RespostaNdjson.de(servicoTarefa().percorrerTarefasAtualizadasEntre(dataInicio, dataFim), objectMapper);
+    }
+
+    @Operation(summary = "Buscar tarefas concluídas em um período")
+    @ApiResponse(responseCode = "200", description = "Lista de tarefas concluídas no período especificado")
+    @GetMapping("/concluidas-entre")
+    public ResponseEntity<List<Tarefa>> buscarTarefasConcluidasPorPeriodo(
+            @Parameter(description = "Data de início")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dataInicio,
+            @Parameter(description = "Data de fim")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dataFim,
+            @Parameter(description = "Cursor retornado pela página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Quantidade máxima de tarefas na página")
+            @RequestParam(defaultValue = LIMITE_PADRAO) @Min(1) @Max(LIMITE_MAXIMO) int limite,
+            WebRequest requisicao) {
+        log.debug("Recebida requisição para buscar tarefas concluídas entre {} e {}", dataInicio, dataFim);
+        return responderPagina(requisicao, () -> servicoTarefa().listarTarefasConcluidasEntre(dataInicio, dataFim, cursor, limite));
+    }
+
+    @Operation(summary = "Exportar tarefas concluídas em um período em NDJSON")
+    @ApiResponse(responseCode = "200", description = "Tarefas concluídas no período transmitidas uma por linha")
+    @GetMapping(value = "/concluidas-entre", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportarConcluidasPorPeriodo(
             @Parameter(description = "Data de início")
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dataInicio,
             @Parameter(description = "Data de fim")
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dataFim) {
-        log.info("Recebida requisição para buscar tarefas criadas entre {} e {}", dataInicio, dataFim);
-        List<Tarefa> tarefas = servicoTarefa.listarTarefasEntreDatas(dataInicio, dataFim);
-        return ResponseEntity.ok(tarefas);
+        log.debug("Recebida requisição para exportar tarefas concluídas entre {} e {}", dataInicio, dataFim);
+        return RespostaNdjson.de(servicoTarefa().percorrerTarefasConcluidasEntre(dataInicio, dataFim), objectMapper);
+    }
+
+    // Listagens e estatísticas usam a versão da loja como ETag, lida antes da consulta: com
+    // If-None-Match igual à versão atual a resposta é 304 sem consultar nem serializar nada.
+    private ResponseEntity<List<Tarefa>> responderPagina(WebRequest requisicao, Supplier<Pagina<Tarefa>> consulta) {
+        String etag = etagLoja();
+        if (requisicao.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        Pagina<Tarefa> pagina = consulta.get();
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok().eTag(etag);
+        if (pagina.temProxima()) {
+            resposta.header(CABECALHO_PROXIMO_CURSOR, pagina.getProximoCursor());
+        }
+        return resposta.body(pagina.getItens());
+    }
+
+    // A versão da loja recomeça do zero a cada inicialização; o prefixo da instância evita que uma
+    // ETag antiga coincida por acaso com a de outro estado. Cada inquilino tem a sua versão.
+    private String etagLoja() {
+        ServicoTarefa particao = servicoTarefa();
+        return "\"" + prefixoEtag + "-" + particao.inquilino() + "-" + particao.versaoLoja() + "\"";
+    }
+
+    // A partição é resolvida aqui, na thread da requisição; o corpo é lido e gravado aos poucos enquanto
+    // os relatórios são transmitidos.
+    private ResponseEntity<StreamingResponseBody> importar(InputStream corpo, FormatoImportacao formato) {
+        ServicoTarefa particao = particaoParaCriacao();
+        StreamingResponseBody relatorios = saida -> importadorTarefas.importar(particao, corpo, formato, saida);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(relatorios);
+    }
+
+    // O HttpServletRequest injetado é um proxy para a requisição da thread atual. Fora das criações, um
+    // inquilino desconhecido é atendido por uma vista vazia, sem criar a partição.
+    private ServicoTarefa servicoTarefa() {
+        return servicoInquilinos.doInquilinoSemCriar(requisicaoHttp.getHeader(CABECALHO_INQUILINO));
+    }
+
+    private ServicoTarefa particaoParaCriacao() {
+        return servicoInquilinos.doInquilino(requisicaoHttp.getHeader(CABECALHO_INQUILINO));
+    }
+
+    private static ResponseEntity<RespostaLote> responderLote(RespostaLote resposta, HttpStatus statusSucesso) {
+        HttpStatus status = resposta.getFalhas() == 0 ? statusSucesso : HttpStatus.MULTI_STATUS;
+        return ResponseEntity.status(status).body(resposta);
     }
 }
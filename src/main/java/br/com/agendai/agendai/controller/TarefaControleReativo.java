@@ -0,0 +1,313 @@
+package br.com.agendai.agendai.controller;
+
+import br.com.agendai.agendai.exception.CotaExcedidaException;
+import br.com.agendai.agendai.exception.InquilinoInvalidoException;
+import br.com.agendai.agendai.exception.ReplicaSomenteLeituraException;
+import br.com.agendai.agendai.exception.RespostaErro;
+import br.com.agendai.agendai.exception.TarefaNaoEncontradaException;
+import br.com.agendai.agendai.model.*;
+import br.com.agendai.agendai.service.ServicoInquilinos;
+import br.com.agendai.agendai.service.ServicoTarefaReativo;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+// Espelha as rotas do TarefaControle em funções de roteamento do WebFlux. As listagens não são
+// paginadas: o corpo é um Flux lido dos índices conforme o cliente consome, em JSON ou NDJSON
+// segundo o cabeçalho Accept, e o parâmetro opcional "limite" apenas corta o fluxo.
+@Slf4j
+@RequiredArgsConstructor
+public class TarefaControleReativo {
+
+    private static final int LIMITE_LOTE = 1000;
+    private static final ParameterizedTypeReference<List<String>> LISTA_IDS = new ParameterizedTypeReference<>() {
+    };
+    private static final ParameterizedTypeReference<List<RequisicaoCriacaoTarefa>> LISTA_REQUISICOES =
+            new ParameterizedTypeReference<>() {
+            };
+
+    private final ServicoInquilinos servicoInquilinos;
+    private final Validator validador;
+
+    // As rotas fixas vêm antes de "/tarefas/{id}" para não serem capturadas como ID. O filtro adia a
+    // execução de cada função para que erros de conversão de parâmetros também cheguem ao onError.
+    public RouterFunction<ServerResponse> rotas() {
+        return RouterFunctions.route()
+                .POST("/tarefas/lote", this::criarTarefasEmLote)
+                .POST("/tarefas/lote/buscar", this::buscarTarefasEmLote)
+                .PATCH("/tarefas/lote/concluir", this::concluirTarefasEmLote)
+                .POST("/tarefas/lote/excluir", this::excluirTarefasEmLote)
+                .GET("/tarefas/status/{status}", this::listarPorStatus)
+                .GET("/tarefas/prioridade/{prioridade}", this::listarPorPrioridade)
+                .GET("/tarefas/buscar", this::buscarTarefas)
+                .GET("/tarefas/estatisticas", this::obterEstatisticas)
+                .GET("/tarefas/estatisticas/criadas-entre", this::obterEstatisticasPorPeriodo)
+                .GET("/tarefas/criadas-entre", this::buscarTarefasPorPeriodo)
+                .GET("/tarefas/atualizadas-entre", this::buscarTarefasAtualizadasPorPeriodo)
+                .GET("/tarefas/concluidas-entre", this::buscarTarefasConcluidasPorPeriodo)
+                .POST("/tarefas", this::criarTarefa)
+                .GET("/tarefas", this::listarTodasAsTarefas)
+                .GET("/tarefas/{id}", this::buscarTarefaPorId)
+                .PUT("/tarefas/{id}", this::atualizarTarefa)
+                .PATCH("/tarefas/{id}/concluir", this::concluirTarefa)
+                .PATCH("/tarefas/{id}/reabrir", this::reabrirTarefa)
+                .DELETE("/tarefas/{id}", this::excluirTarefa)
+                .onError(Throwable.class, (erro, requisicao) -> tratarErro(erro))
+                .filter((requisicao, proximo) -> Mono.defer(() -> proximo.handle(requisicao)))
+                .build();
+    }
+
+    Mono<ServerResponse> criarTarefa(ServerRequest requisicao) {
+        return corpoValidado(requisicao, RequisicaoCriacaoTarefa.class)
+                .doOnNext(corpo -> log.debug("Recebida requisição reativa para criar tarefa: {}", corpo.getTitulo()))
+                .flatMap(servicoParaCriacao(requisicao)::criarTarefa)
+                .flatMap(tarefa -> ServerResponse.status(HttpStatus.CREATED).bodyValue(tarefa));
+    }
+
+    Mono<ServerResponse> listarTodasAsTarefas(ServerRequest requisicao) {
+        log.debug("Recebida requisição reativa para listar todas as tarefas");
+        return responderFluxo(requisicao, servico(requisicao).listarTodasTarefas());
+    }
+
+    Mono<ServerResponse> buscarTarefaPorId(ServerRequest requisicao) {
+        String id = requisicao.pathVariable("id");
+        log.debug("Recebida requisição reativa para buscar tarefa por ID: {}", id);
+        return servico(requisicao).buscarTarefaPorId(id).flatMap(ServerResponse.ok()::bodyValue);
+    }
+
+    Mono<ServerResponse> atualizarTarefa(ServerRequest requisicao) {
+        String id = requisicao.pathVariable("id");
+        log.debug("Recebida requisição reativa para atualizar tarefa ID: {}", id);
+        return corpoValidado(requisicao, AtualizarTarefa.class)
+                .flatMap(corpo -> servico(requisicao).atualizarTarefa(id, corpo))
+                .flatMap(ServerResponse.ok()::bodyValue);
+    }
+
+    Mono<ServerResponse> concluirTarefa(ServerRequest requisicao) {
+        String id = requisicao.pathVariable("id");
+        log.debug("Recebida requisição reativa para concluir tarefa. ID: {}", id);
+        return servico(requisicao).concluirTarefa(id).flatMap(ServerResponse.ok()::bodyValue);
+    }
+
+    Mono<ServerResponse> reabrirTarefa(ServerRequest requisicao) {
+        String id = requisicao.pathVariable("id");
+        log.debug("Recebida requisição reativa para reabrir tarefa. ID: {}", id);
+        return servico(requisicao).reabrirTarefa(id).flatMap(ServerResponse.ok()::bodyValue);
+    }
+
+    Mono<ServerResponse> excluirTarefa(ServerRequest requisicao) {
+        String id = requisicao.pathVariable("id");
+        log.debug("Recebida requisição reativa para excluir tarefa. ID: {}", id);
+        return servico(requisicao).removerTarefa(id).then(ServerResponse.noContent().build());
+    }
+
+    Mono<ServerResponse> criarTarefasEmLote(ServerRequest requisicao) {
+        return lote(requisicao, LISTA_REQUISICOES)
+                .flatMap(servicoParaCriacao(requisicao)::criarTarefasEmLote)
+                .flatMap(resposta -> responderLote(resposta, HttpStatus.CREATED));
+    }
+
+    Mono<ServerResponse> buscarTarefasEmLote(ServerRequest requisicao) {
+        return lote(requisicao, LISTA_IDS)
+                .flatMap(servico(requisicao)::buscarTarefasEmLote)
+                .flatMap(resposta -> responderLote(resposta, HttpStatus.OK));
+    }
+
+    Mono<ServerResponse> concluirTarefasEmLote(ServerRequest requisicao) {
+        return lote(requisicao, LISTA_IDS)
+                .flatMap(servico(requisicao)::concluirTarefasEmLote)
+                .flatMap(resposta -> responderLote(resposta, HttpStatus.OK));
+    }
+
+    Mono<ServerResponse> excluirTarefasEmLote(ServerRequest requisicao) {
+        return lote(requisicao, LISTA_IDS)
+                .flatMap(servico(requisicao)::removerTarefasEmLote)
+                .flatMap(resposta -> responderLote(resposta, HttpStatus.OK));
+    }
+
+    Mono<ServerResponse> listarPorStatus(ServerRequest requisicao) {
+        StatusTarefa status = converter(requisicao.pathVariable("status"), "status", StatusTarefa::valueOf);
+        log.debug("Recebida requisição reativa para listar tarefas por status: {}", status);
+        return responderFluxo(requisicao, servico(requisicao).listarTarefasPorStatus(status));
+    }
+
+    Mono<ServerResponse> listarPorPrioridade(ServerRequest requisicao) {
+        PrioridadeTarefa prioridade = converter(requisicao.pathVariable("prioridade"), "prioridade", PrioridadeTarefa::valueOf);
+        log.debug("Recebida requisição reativa para listar tarefas por prioridade: {}", prioridade);
+        return responderFluxo(requisicao, servico(requisicao).listarTarefasPorPrioridade(prioridade));
+    }
+
+    Mono<ServerResponse> buscarTarefas(ServerRequest requisicao) {
+        String termo = parametroObrigatorio(requisicao, "termo");
+        log.debug("Recebida requisição reativa para buscar tarefas com termo: {}", termo);
+        return responderFluxo(requisicao, servico(requisicao).buscarTarefasPorTermo(termo));
+    }
+
+    Mono<ServerResponse> obterEstatisticas(ServerRequest requisicao) {
+        log.debug("Recebida requisição reativa para obter estatísticas das tarefas");
+        return servico(requisicao).obterEstatisticas().flatMap(ServerResponse.ok()::bodyValue);
+    }
+
+    Mono<ServerResponse> obterEstatisticasPorPeriodo(ServerRequest requisicao) {
+        LocalDateTime inicio = data(requisicao, "dataInicio");
+        LocalDateTime fim = data(requisicao, "dataFim");
+        log.debug("Recebida requisição reativa para obter estatísticas das tarefas criadas entre {} e {}", inicio, fim);
+        return servico(requisicao).obterEstatisticasEntreDatas(inicio, fim).flatMap(ServerResponse.ok()::bodyValue);
+    }
+
+    Mono<ServerResponse> buscarTarefasPorPeriodo(ServerRequest requisicao) {
+        LocalDateTime inicio = data(requisicao, "dataInicio");
+        LocalDateTime fim = data(requisicao, "dataFim");
+        log.debug("Recebida requisição reativa para buscar tarefas criadas entre {} e {}", inicio, fim);
+        return responderFluxo(requisicao, servico(requisicao).listarTarefasEntreDatas(inicio, fim));
+    }
+
+    Mono<ServerResponse> buscarTarefasAtualizadasPorPeriodo(ServerRequest requisicao) {
+        LocalDateTime inicio = data(requisicao, "dataInicio");
+        LocalDateTime fim = data(requisicao, "dataFim");
+        log.debug("Recebida requisição reativa para buscar tarefas atualizadas entre {} e {}", inicio, fim);
+        return responderFluxo(requisicao, servico(requisicao).listarTarefasAtualizadasEntre(inicio, fim));
+    }
+
+    Mono<ServerResponse> buscarTarefasConcluidasPorPeriodo(ServerRequest requisicao) {
+        LocalDateTime inicio = data(requisicao, "dataInicio");
+        LocalDateTime fim = data(requisicao, "dataFim");
+        log.debug("Recebida requisição reativa para buscar tarefas concluídas entre {} e {}", inicio, fim);
+        return responderFluxo(requisicao, servico(requisicao).listarTarefasConcluidasEntre(inicio, fim));
+    }
+
+    private Mono<ServerResponse> responderFluxo(ServerRequest requisicao, Flux<Tarefa> tarefas) {
+        MediaType tipo = requisicao.headers().accept().contains(MediaType.APPLICATION_NDJSON)
+                ? MediaType.APPLICATION_NDJSON
+                : MediaType.APPLICATION_JSON;
+        Flux<Tarefa> corpo = requisicao.queryParam("limite")
+                .map(valor -> converter(valor, "limite", Integer::parseInt))
+                .map(limite -> {
+                    if (limite < 1) {
+                        throw new ServerWebInputException("O parâmetro 'limite' deve ser maior que zero");
+                    }
+                    return tarefas.take(limite, true);
+                })
+                .orElse(tarefas);
+        return ServerResponse.ok().contentType(tipo).body(corpo, Tarefa.class);
+    }
+
+    private static Mono<ServerResponse> responderLote(RespostaLote resposta, HttpStatus statusSucesso) {
+        HttpStatus status = resposta.getFalhas() == 0 ? statusSucesso : HttpStatus.MULTI_STATUS;
+        return ServerResponse.status(status).bodyValue(resposta);
+    }
+
+    private <T> Mono<T> corpoValidado(ServerRequest requisicao, Class<T> tipo) {
+        return requisicao.bodyToMono(tipo)
+                .switchIfEmpty(Mono.error(() -> new ServerWebInputException("O corpo da requisição é obrigatório")))
+                .doOnNext(corpo -> {
+                    Set<ConstraintViolation<T>> violacoes = validador.validate(corpo);
+                    if (!violacoes.isEmpty()) {
+                        throw new ConstraintViolationException(violacoes);
+                    }
+                });
+    }
+
+    private static <T> Mono<List<T>> lote(ServerRequest requisicao, ParameterizedTypeReference<List<T>> tipo) {
+        return requisicao.bodyToMono(tipo)
+                .filter(itens -> !itens.isEmpty() && itens.size() <= LIMITE_LOTE)
+                .switchIfEmpty(Mono.error(() -> new ServerWebInputException(
+                        "O lote deve ter entre 1 e " + LIMITE_LOTE + " itens")))
+                .doOnNext(itens -> log.debug("Recebida requisição reativa de lote com {} itens", itens.size()));
+    }
+
+    private static String parametroObrigatorio(ServerRequest requisicao, String nome) {
+        return requisicao.queryParam(nome)
+                .orElseThrow(() -> new ServerWebInputException("O parâmetro '" + nome + "' é obrigatório"));
+    }
+
+    private static LocalDateTime data(ServerRequest requisicao, String nome) {
+        return converter(parametroObrigatorio(requisicao, nome), nome, LocalDateTime::parse);
+    }
+
+    private static <T> T converter(String valor, String nome, Function<String, T> conversor) {
+        try {
+            return conversor.apply(valor);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ServerWebInputException("Valor '" + valor + "' inválido para o parâmetro '" + nome + "'");
+        }
+    }
+
+    // A fachada reativa é só um invólucro sobre a partição do inquilino, barata de criar a cada requisição.
+    // Como na API servlet, só as criações abrem a partição de um inquilino desconhecido.
+    private ServicoTarefaReativo servico(ServerRequest requisicao) {
+        return new ServicoTarefaReativo(servicoInquilinos.doInquilinoSemCriar(
+                requisicao.headers().firstHeader(TarefaControle.CABECALHO_INQUILINO)));
+    }
+
+    private ServicoTarefaReativo servicoParaCriacao(ServerRequest requisicao) {
+        return new ServicoTarefaReativo(servicoInquilinos.doInquilino(
+                requisicao.headers().firstHeader(TarefaControle.CABECALHO_INQUILINO)));
+    }
+
+    // Mesmo formato de erro do ManipuladorExcecaoGlobal da API servlet.
+    private static Mono<ServerResponse> tratarErro(Throwable erro) {
+        if (erro instanceof TarefaNaoEncontradaException) {
+            log.error("Tarefa não encontrada: {}", erro.getMessage());
+            return responderErro(HttpStatus.NOT_FOUND, "Tarefa não encontrada", erro.getMessage(), null);
+        }
+        if (erro instanceof InquilinoInvalidoException) {
+            log.error("Inquilino inválido: {}", erro.getMessage());
+            return responderErro(HttpStatus.BAD_REQUEST, "Inquilino inválido", erro.getMessage(), null);
+        }
+        if (erro instanceof CotaExcedidaException) {
+            log.warn("Cota excedida: {}", erro.getMessage());
+            return responderErro(HttpStatus.TOO_MANY_REQUESTS, "Cota excedida", erro.getMessage(), null);
+        }
+        if (erro instanceof ReplicaSomenteLeituraException) {
+            log.warn("Escrita recusada: {}", erro.getMessage());
+            return responderErro(HttpStatus.FORBIDDEN, "Réplica somente leitura", erro.getMessage(), null);
+        }
+        if (erro instanceof ConstraintViolationException violacao) {
+            log.error("Erro de validação: {}", erro.getMessage());
+            Map<String, String> erros = new HashMap<>();
+            violacao.getConstraintViolations().forEach(v -> erros.put(v.getPropertyPath().toString(), v.getMessage()));
+            return responderErro(HttpStatus.BAD_REQUEST, "Erro de validação", "Dados inválidos fornecidos", erros);
+        }
+        if (erro instanceof ResponseStatusException status) {
+            log.error("Requisição inválida: {}", erro.getMessage());
+            return responderErro(status.getStatusCode(), "Requisição inválida", status.getReason(), null);
+        }
+        log.error("Erro interno do servidor: {}", erro.getMessage(), erro);
+        return responderErro(HttpStatus.INTERNAL_SERVER_ERROR, "Erro interno do servidor", "Ocorreu um erro inesperado", null);
+    }
+
+    private static Mono<ServerResponse> responderErro(HttpStatusCode status, String erro, String mensagem,
+                                                      Map<String, String> errosValidacao) {
+        RespostaErro resposta = RespostaErro.builder()
+                .dataHora(LocalDateTime.now())
+                .status(status.value())
+                .erro(erro)
+                .mensagem(mensagem)
+                .errosValidacao(errosValidacao)
+                .build();
+        return ServerResponse.status(status).contentType(MediaType.APPLICATION_JSON).bodyValue(resposta);
+    }
+}
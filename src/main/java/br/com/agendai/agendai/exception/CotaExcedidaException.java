@@ -0,0 +1,8 @@
+package br.com.agendai.agendai.exception;
+
+public class CotaExcedidaException extends RuntimeException {
+
+    public CotaExcedidaException(String mensagem) {
+        super(mensagem);
+    }
+}
@@ -0,0 +1,8 @@
+package br.com.agendai.agendai.exception;
+
+public class CursorInvalidoException extends RuntimeException {
+
+    public CursorInvalidoException(String cursor) {
+        super("Cursor de paginação '" + cursor + "' é inválido");
+    }
+}
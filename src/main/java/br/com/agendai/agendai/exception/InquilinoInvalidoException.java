@@ -0,0 +1,8 @@
+package br.com.agendai.agendai.exception;
+
+public class InquilinoInvalidoException extends RuntimeException {
+
+    public InquilinoInvalidoException(String inquilino) {
+        super("Inquilino '" + inquilino + "' é inválido: use de 1 a 64 letras, dígitos, '-' ou '_'");
+    }
+}
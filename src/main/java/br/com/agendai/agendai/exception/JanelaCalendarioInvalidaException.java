@@ -0,0 +1,8 @@
+package br.com.agendai.agendai.exception;
+
+public class JanelaCalendarioInvalidaException extends RuntimeException {
+
+    public JanelaCalendarioInvalidaException(String mensagem) {
+        super(mensagem);
+    }
+}
@@ -5,10 +5,13 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
+import org.springframework.web.HttpMediaTypeNotSupportedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.resource.NoResourceFoundException;
 
+import jakarta.validation.ConstraintViolationException;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
@@ -53,6 +56,126 @@ public class ManipuladorExcecaoGlobal {
 
     return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
 }
+    @ExceptionHandler(OcorrenciaNaoEncontradaException.class)
+    public ResponseEntity<RespostaErro> tratarOcorrenciaNaoEncontrada(OcorrenciaNaoEncontradaException e){
+        log.error("Ocorrência não encontrada: {}", e.getMessage());
+
+        RespostaErro errorResponse = RespostaErro.builder()
+                .dataHora(LocalDateTime.now())
+                .status(HttpStatus.NOT_FOUND.value())
+                .erro("Ocorrência não encontrada")
+                .mensagem(e.getMessage())
+                .build();
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+    }
+
+    @ExceptionHandler(JanelaCalendarioInvalidaException.class)
+    public ResponseEntity<RespostaErro> tratarJanelaCalendarioInvalida(JanelaCalendarioInvalidaException e){
+        log.error("Janela de calendário inválida: {}", e.getMessage());
+
+        RespostaErro errorResponse = RespostaErro.builder()
+                .dataHora(LocalDateTime.now())
+                .status(HttpStatus.BAD_REQUEST.value())
+                .erro("Janela de calendário inválida")
+                .mensagem(e.getMessage())
+                .build();
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
+    @ExceptionHandler(CursorInvalidoException.class)
+    public ResponseEntity<RespostaErro> tratarCursorInvalido(CursorInvalidoException e){
+        log.error("Cursor inválido: {}", e.getMessage());
+
+        RespostaErro errorResponse = RespostaErro.builder()
+                .dataHora(LocalDateTime.now())
+                .status(HttpStatus.BAD_REQUEST.value())
+                .erro("Cursor inválido")
+                .mensagem(e.getMessage())
+                .build();
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
+    @ExceptionHandler(InquilinoInvalidoException.class)
+    public ResponseEntity<RespostaErro> tratarInquilinoInvalido(InquilinoInvalidoException e){
+        log.error("Inquilino inválido: {}", e.getMessage());
+
+        RespostaErro errorResponse = RespostaErro.builder()
+                .dataHora(LocalDateTime.now())
+                .status(HttpStatus.BAD_REQUEST.value())
+                .erro("Inquilino inválido")
+                .mensagem(e.getMessage())
+                .build();
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
+    @ExceptionHandler(CotaExcedidaException.class)
+    public ResponseEntity<RespostaErro> tratarCotaExcedida(CotaExcedidaException e){
+        log.warn("Cota excedida: {}", e.getMessage());
+
+        RespostaErro errorResponse = RespostaErro.builder()
+                .dataHora(LocalDateTime.now())
+                .status(HttpStatus.TOO_MANY_REQUESTS.value())
+                .erro("Cota excedida")
+                .mensagem(e.getMessage())
+                .build();
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(errorResponse);
+    }
+
+    @ExceptionHandler(ReplicaSomenteLeituraException.class)
+    public ResponseEntity<RespostaErro> tratarReplicaSomenteLeitura(ReplicaSomenteLeituraException e){
+        log.warn("Escrita recusada: {}", e.getMessage());
+
+        RespostaErro errorResponse = RespostaErro.builder()
+                .dataHora(LocalDateTime.now())
+                .status(HttpStatus.FORBIDDEN.value())
+                .erro("Réplica somente leitura")
+                .mensagem(e.getMessage())
+                .build();
+        return ResponseEntity.status(HttpStatus.FORBIDDEN).body(errorResponse);
+    }
+
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<RespostaErro> tratarParametrosInvalidos(ConstraintViolationException e){
+        log.error("Parâmetros inválidos: {}", e.getMessage());
+
+        Map<String, String> erros = new HashMap<>();
+        e.getConstraintViolations().forEach(violacao ->
+                erros.put(violacao.getPropertyPath().toString(), violacao.getMessage()));
+
+        RespostaErro errorResponse = RespostaErro.builder()
+                .dataHora(LocalDateTime.now())
+                .status(HttpStatus.BAD_REQUEST.value())
+                .erro("Erro de validação")
+                .mensagem("Parâmetros inválidos fornecidos")
+                .errosValidacao(erros)
+                .build();
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
+    // A partir do Spring 6.1 caminhos inexistentes chegam aqui como exceção; sem este tratamento virariam 500.
+    @ExceptionHandler(NoResourceFoundException.class)
+    public ResponseEntity<RespostaErro> tratarRecursoInexistente(NoResourceFoundException e){
+        RespostaErro errorResponse = RespostaErro.builder()
+                .dataHora(LocalDateTime.now())
+                .status(HttpStatus.NOT_FOUND.value())
+                .erro("Recurso não encontrado")
+                .mensagem(e.getMessage())
+                .build();
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+    }
+
+    // A importação escolhe o leitor pelo Content-Type; um tipo que nenhum endpoint aceita é erro do cliente.
+    @ExceptionHandler(HttpMediaTypeNotSupportedException.class)
+    public ResponseEntity<RespostaErro> tratarTipoNaoSuportado(HttpMediaTypeNotSupportedException e){
+        RespostaErro errorResponse = RespostaErro.builder()
+                .dataHora(LocalDateTime.now())
+                .status(HttpStatus.UNSUPPORTED_MEDIA_TYPE.value())
+                .erro("Tipo de conteúdo não suportado")
+                .mensagem(e.getMessage())
+                .build();
+        return ResponseEntity.status(HttpStatus.UNSUPPORTED_MEDIA_TYPE).body(errorResponse);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<RespostaErro> tratarExcecaoGenerica(Exception e){
      log.error("Erro interno do servidor: {}", e.getMessage(), e);
@@ -0,0 +1,10 @@
+package br.com.agendai.agendai.exception;
+
+import java.time.LocalDate;
+
+public class OcorrenciaNaoEncontradaException extends RuntimeException {
+
+    public OcorrenciaNaoEncontradaException(String idTarefa, LocalDate data) {
+        super("A tarefa com ID '" + idTarefa + "' não tem ocorrência em " + data);
+    }
+}
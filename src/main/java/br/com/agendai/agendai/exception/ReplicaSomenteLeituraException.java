@@ -0,0 +1,8 @@
+package br.com.agendai.agendai.exception;
+
+public class ReplicaSomenteLeituraException extends RuntimeException {
+
+    public ReplicaSomenteLeituraException() {
+        super("Este nó é um seguidor somente leitura; envie as escritas ao líder");
+    }
+}
@@ -0,0 +1,61 @@
+package br.com.agendai.agendai.importacao;
+
+import br.com.agendai.agendai.model.RegraRecorrencia;
+import br.com.agendai.agendai.model.Tarefa;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.DayOfWeek;
+import java.util.stream.Collectors;
+
+// Colunas da exportação em CSV. A importação lê as mesmas colunas pelo nome e ignora as que só fazem
+// sentido na saída (id, status e datas de controle).
+public final class FormatoCsv {
+
+    public static final String CABECALHO = "idTarefa,titulo,descricao,status,prioridade,criadoEm,atualizadoEm,"
+            + "concluidoEm,prazo,frequencia,intervalo,diasSemana,terminaEm,maximoOcorrencias";
+
+    static final String SEPARADOR_DIAS = ";";
+
+    private FormatoCsv() {
+    }
+
+    public static void escrever(Writer saida, Tarefa tarefa) throws IOException {
+        RegraRecorrencia regra = tarefa.getRecorrencia();
+        campo(saida, tarefa.getIdTarefa(), ',');
+        campo(saida, tarefa.getTitulo(), ',');
+        campo(saida, tarefa.getDiscricao(), ',');
+        campo(saida, tarefa.getStatus(), ',');
+        campo(saida, tarefa.getPrioridade(), ',');
+        campo(saida, tarefa.getCriadoEm(), ',');
+        campo(saida, tarefa.getAtualizadoEm(), ',');
+        campo(saida, tarefa.getConcluidoEm(), ',');
+        campo(saida, tarefa.getPrazo(), ',');
+        if (regra == null) {
+            saida.write(",,,,\n");
+            return;
+        }
+        campo(saida, regra.getFrequencia(), ',');
+        campo(saida, regra.getIntervalo(), ',');
+        campo(saida, regra.getDiasSemana().stream()
+                .map(DayOfWeek::name)
+                .collect(Collectors.joining(SEPARADOR_DIAS)), ',');
+        campo(saida, regra.getTerminaEm(), ',');
+        campo(saida, regra.getMaximoOcorrencias(), '\n');
+    }
+
+    private static void campo(Writer saida, Object valor, char separador) throws IOException {
+        if (valor != null) {
+            String texto = valor.toString();
+            if (texto.indexOf(',') >= 0 || texto.indexOf('"') >= 0 || texto.indexOf('\n') >= 0
+                    || texto.indexOf('\r') >= 0) {
+                saida.write('"');
+                saida.write(texto.replace("\"", "\"\""));
+                saida.write('"');
+            } else {
+                saida.write(texto);
+            }
+        }
+        saida.write(separador);
+    }
+}
@@ -0,0 +1,18 @@
+package br.com.agendai.agendai.importacao;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.Reader;
+
+public enum FormatoImportacao {
+
+    CSV,
+    NDJSON;
+
+    LeitorRegistros leitor(Reader entrada, ObjectMapper objectMapper, int tamanhoMaximoRegistro) {
+        return switch (this) {
+            case CSV -> new LeitorCsv(entrada, objectMapper, tamanhoMaximoRegistro);
+            case NDJSON -> new LeitorNdjson(entrada, objectMapper, tamanhoMaximoRegistro);
+        };
+    }
+}
@@ -0,0 +1,9 @@
+package br.com.agendai.agendai.importacao;
+
+// Erro do qual o leitor não consegue se recuperar, como aspas que nunca fecham: a importação para ali.
+class FormatoInvalidoException extends RuntimeException {
+
+    FormatoInvalidoException(String mensagem) {
+        super(mensagem);
+    }
+}
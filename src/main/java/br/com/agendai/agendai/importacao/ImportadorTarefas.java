@@ -0,0 +1,141 @@
+package br.com.agendai.agendai.importacao;
+
+import br.com.agendai.agendai.model.RelatorioImportacao;
+import br.com.agendai.agendai.model.RequisicaoCriacaoTarefa;
+import br.com.agendai.agendai.model.RespostaLote;
+import br.com.agendai.agendai.model.ResultadoLote;
+import br.com.agendai.agendai.service.ServicoTarefa;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+// Lê a entrada registro a registro e grava em lotes pelo mesmo caminho do POST /tarefas/lote: a
+// validação é a da RequisicaoCriacaoTarefa e a espera pelo diário acontece uma vez por lote. Depois de
+// cada lote, uma linha de relatório em NDJSON vai para a saída. Em memória fica no máximo um lote.
+@Slf4j
+public class ImportadorTarefas {
+
+    private final ObjectWriter escritorRelatorio;
+    private final ObjectMapper objectMapper;
+    private final int tamanhoLote;
+    private final int tamanhoMaximoRegistro;
+
+    public ImportadorTarefas(ObjectMapper objectMapper, int tamanhoLote, int tamanhoMaximoRegistro) {
+        this.objectMapper = objectMapper;
+        this.tamanhoLote = tamanhoLote;
+        this.tamanhoMaximoRegistro = tamanhoMaximoRegistro;
+        this.escritorRelatorio = objectMapper.writerFor(RelatorioImportacao.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    // A resposta já começou quando algo dá errado no meio do caminho, então o erro vai no último
+    // relatório. O que foi gravado antes dele permanece.
+    public RelatorioImportacao importar(ServicoTarefa servico, InputStream entrada, FormatoImportacao formato,
+                                        OutputStream saida) throws IOException {
+        LeitorRegistros leitor = formato.leitor(
+                new InputStreamReader(entrada, StandardCharsets.UTF_8), objectMapper, tamanhoMaximoRegistro);
+        Andamento andamento = new Andamento();
+        RelatorioImportacao ultimo;
+        try (JsonGenerator gerador = escritorRelatorio.createGenerator(saida)) {
+            gerador.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            gerador.setRootValueSeparator(null);
+            try {
+                RegistroImportacao registro;
+                while ((registro = leitor.proximo()) != null) {
+                    andamento.adicionar(registro);
+                    if (andamento.pendentes() >= tamanhoLote) {
+                        andamento.gravar(servico);
+                        enviar(gerador, andamento.relatorio(false, null));
+                    }
+                }
+                andamento.gravar(servico);
+                ultimo = andamento.relatorio(true, null);
+            } catch (FormatoInvalidoException e) {
+                andamento.gravar(servico);
+                ultimo = andamento.relatorio(true, e.getMessage());
+            } catch (RuntimeException e) {
+                log.error("Importação interrompida após {} registros: {}", andamento.registros, e.getMessage(), e);
+                ultimo = andamento.relatorio(true, "Importação interrompida: " + e.getMessage());
+            }
+            enviar(gerador, ultimo);
+        }
+        log.info("Importação em {} concluída: {} registros, {} importados, {} falhas",
+                formato, ultimo.getRegistros(), ultimo.getImportadas(), ultimo.getFalhas());
+        return ultimo;
+    }
+
+    private void enviar(JsonGenerator gerador, RelatorioImportacao relatorio) throws IOException {
+        escritorRelatorio.writeValue(gerador, relatorio);
+        gerador.writeRaw('\n');
+        gerador.flush();
+    }
+
+    private static final class Andamento {
+
+        private final List<RequisicaoCriacaoTarefa> lote = new ArrayList<>();
+        private final List<Integer> linhas = new ArrayList<>();
+        private List<ResultadoLote> falhasLote = new ArrayList<>();
+        private long registros;
+        private long importadas;
+        private long falhas;
+
+        void adicionar(RegistroImportacao registro) {
+            registros++;
+            if (registro.getErro() != null) {
+                falhar(ResultadoLote.builder().indice(registro.getLinha()).status(400).erro(registro.getErro()).build());
+                return;
+            }
+            lote.add(registro.getRequisicao());
+            linhas.add(registro.getLinha());
+        }
+
+        int pendentes() {
+            return lote.size() + falhasLote.size();
+        }
+
+        // No relatório, o índice de cada falha é a linha da entrada onde o registro começa.
+        void gravar(ServicoTarefa servico) {
+            if (lote.isEmpty()) {
+                return;
+            }
+            RespostaLote resposta = servico.criarTarefasEmLote(lote);
+            importadas += resposta.getSucessos();
+            for (ResultadoLote resultado : resposta.getResultados()) {
+                if (!resultado.sucesso()) {
+                    resultado.setIndice(linhas.get(resultado.getIndice()));
+                    falhar(resultado);
+                }
+            }
+            lote.clear();
+            linhas.clear();
+        }
+
+        RelatorioImportacao relatorio(boolean concluida, String erro) {
+            RelatorioImportacao relatorio = RelatorioImportacao.builder()
+                    .concluida(concluida)
+                    .registros(registros)
+                    .importadas(importadas)
+                    .falhas(falhas)
+                    .falhasLote(falhasLote)
+                    .erro(erro)
+                    .build();
+            falhasLote = new ArrayList<>();
+            return relatorio;
+        }
+
+        private void falhar(ResultadoLote resultado) {
+            falhas++;
+            falhasLote.add(resultado);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package br.com.agendai.agendai.importacao;
+
+import br.com.agendai.agendai.model.RequisicaoCriacaoTarefa;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+// CSV no formato da RFC 4180, com cabeçalho. Colunas são reconhecidas pelo nome e as desconhecidas
+// ignoradas, então um arquivo exportado volta a ser importado. Cada registro vira a mesma árvore JSON
+// que a API recebe, e a conversão fica com o Jackson, como no NDJSON.
+class LeitorCsv extends LeitorRegistros {
+
+    private static final char MARCA_ORDEM_BYTES = '\uFEFF';
+
+    private final List<String> campos = new ArrayList<>();
+    private final StringBuilder campo = new StringBuilder();
+    private List<String> cabecalho;
+    private int linha = 1;
+
+    LeitorCsv(Reader entrada, ObjectMapper objectMapper, int tamanhoMaximo) {
+        super(entrada, objectMapper, tamanhoMaximo);
+    }
+
+    @Override
+    RegistroImportacao proximo() throws IOException {
+        if (cabecalho == null) {
+            if (!lerRegistro()) {
+                return null;
+            }
+            cabecalho = new ArrayList<>(campos.size());
+            for (String nome : campos) {
+                cabecalho.add(nome.replace(String.valueOf(MARCA_ORDEM_BYTES), "").trim());
+            }
+        }
+        while (true) {
+            int inicio = linha;
+            if (!lerRegistro()) {
+                return null;
+            }
+            if (campos.size() == 1 && campos.get(0).isBlank()) {
+                continue;
+            }
+            return converter(inicio);
+        }
+    }
+
+    private RegistroImportacao converter(int inicio) {
+        if (campos.size() > cabecalho.size()) {
+            return RegistroImportacao.invalido(inicio,
+                    "Registro com " + campos.size() + " colunas; o cabeçalho tem " + cabecalho.size());
+        }
+        ObjectNode requisicao = objectMapper.createObjectNode();
+        ObjectNode recorrencia = objectMapper.createObjectNode();
+        for (int i = 0; i < campos.size(); i++) {
+            String valor = campos.get(i);
+            if (valor.isEmpty()) {
+                continue;
+            }
+            switch (cabecalho.get(i)) {
+                case "titulo", "descricao", "prioridade", "prazo" -> requisicao.put(cabecalho.get(i), valor);
+                case "frequencia", "intervalo", "terminaEm", "maximoOcorrencias" ->
+                        recorrencia.put(cabecalho.get(i), valor);
+                case "diasSemana" -> {
+                    ArrayNode dias = recorrencia.putArray("diasSemana");
+                    for (String dia : valor.split(FormatoCsv.SEPARADOR_DIAS)) {
+                        dias.add(dia.trim());
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+        if (!recorrencia.isEmpty()) {
+            requisicao.set("recorrencia", recorrencia);
+        }
+        try {
+            return RegistroImportacao.valido(inicio, objectMapper.treeToValue(requisicao, RequisicaoCriacaoTarefa.class));
+        } catch (JsonProcessingException e) {
+            return RegistroImportacao.invalido(inicio, e);
+        }
+    }
+
+    // Aspas só abrem no começo do campo; dentro delas vírgulas e quebras de linha são texto e "" é uma aspa.
+    private boolean lerRegistro() throws IOException {
+        campos.clear();
+        campo.setLength(0);
+        int inicio = linha;
+        int c = ler();
+        if (c == -1) {
+            return false;
+        }
+        boolean entreAspas = false;
+        int tamanho = 0;
+        while (true) {
+            if (c == -1) {
+                if (entreAspas) {
+                    throw new FormatoInvalidoException("Aspas abertas na linha " + inicio + " nunca são fechadas");
+                }
+                campos.add(campo.toString());
+                return true;
+            }
+            if (++tamanho > tamanhoMaximo) {
+                throw new FormatoInvalidoException(
+                        "Registro da linha " + inicio + " maior que " + tamanhoMaximo + " caracteres");
+            }
+            if (entreAspas) {
+                if (c == '"') {
+                    c = ler();
+                    if (c != '"') {
+                        entreAspas = false;
+                        continue;
+                    }
+                } else if (c == '\n') {
+                    linha++;
+                }
+                campo.append((char) c);
+            } else if (c == '"' && campo.isEmpty()) {
+                entreAspas = true;
+            } else if (c == ',') {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else if (c == '\n') {
+                linha++;
+                campos.add(campo.toString());
+                return true;
+            } else if (c != '\r') {
+                campo.append((char) c);
+            }
+            c = ler();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package br.com.agendai.agendai.importacao;
+
+import br.com.agendai.agendai.model.RequisicaoCriacaoTarefa;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+import java.io.Reader;
+
+// Uma requisição de criação por linha. Como a quebra de linha delimita o registro, uma linha inválida
+// ou longa demais vira uma falha daquela linha e a leitura segue na próxima.
+class LeitorNdjson extends LeitorRegistros {
+
+    private final ObjectReader leitorRequisicao;
+    private final StringBuilder linhaAtual = new StringBuilder();
+    private int linha;
+
+    LeitorNdjson(Reader entrada, ObjectMapper objectMapper, int tamanhoMaximo) {
+        super(entrada, objectMapper, tamanhoMaximo);
+        this.leitorRequisicao = objectMapper.readerFor(RequisicaoCriacaoTarefa.class);
+    }
+
+    @Override
+    RegistroImportacao proximo() throws IOException {
+        while (true) {
+            linha++;
+            linhaAtual.setLength(0);
+            boolean longa = false;
+            int c;
+            while ((c = ler()) != -1 && c != '\n') {
+                if (linhaAtual.length() < tamanhoMaximo) {
+                    linhaAtual.append((char) c);
+                } else {
+                    longa = true;
+                }
+            }
+            if (longa) {
+                return RegistroImportacao.invalido(linha, "Linha maior que " + tamanhoMaximo + " caracteres");
+            }
+            if (linhaAtual.toString().isBlank()) {
+                if (c == -1) {
+                    return null;
+                }
+                continue;
+            }
+            try {
+                return RegistroImportacao.valido(linha, leitorRequisicao.readValue(linhaAtual.toString()));
+            } catch (JsonProcessingException e) {
+                return RegistroImportacao.invalido(linha, e);
+            }
+        }
+    }
+}
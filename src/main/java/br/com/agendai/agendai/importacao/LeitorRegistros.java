@@ -0,0 +1,40 @@
+package br.com.agendai.agendai.importacao;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.Reader;
+
+// Lê a entrada caractere a caractere por um buffer próprio, sem carregar mais que um registro por vez.
+// Nenhum registro passa de `tamanhoMaximo` caracteres, então a memória não depende do tamanho do arquivo.
+abstract class LeitorRegistros {
+
+    private static final int TAMANHO_BUFFER = 8192;
+
+    protected final ObjectMapper objectMapper;
+    protected final int tamanhoMaximo;
+    private final Reader entrada;
+    private final char[] buffer = new char[TAMANHO_BUFFER];
+    private int posicao;
+    private int limite;
+
+    LeitorRegistros(Reader entrada, ObjectMapper objectMapper, int tamanhoMaximo) {
+        this.entrada = entrada;
+        this.objectMapper = objectMapper;
+        this.tamanhoMaximo = tamanhoMaximo;
+    }
+
+    // O próximo registro, ou null no fim da entrada.
+    abstract RegistroImportacao proximo() throws IOException;
+
+    protected int ler() throws IOException {
+        if (posicao == limite) {
+            limite = Math.max(0, entrada.read(buffer, 0, buffer.length));
+            posicao = 0;
+            if (limite == 0) {
+                return -1;
+            }
+        }
+        return buffer[posicao++];
+    }
+}
@@ -0,0 +1,36 @@
+package br.com.agendai.agendai.importacao;
+
+import br.com.agendai.agendai.model.RequisicaoCriacaoTarefa;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import lombok.Value;
+
+import java.util.stream.Collectors;
+
+// Um registro lido da entrada: a requisição convertida ou o motivo de não ter sido possível convertê-la.
+@Value
+class RegistroImportacao {
+
+    int linha;
+    RequisicaoCriacaoTarefa requisicao;
+    String erro;
+
+    static RegistroImportacao valido(int linha, RequisicaoCriacaoTarefa requisicao) {
+        return new RegistroImportacao(linha, requisicao, null);
+    }
+
+    static RegistroImportacao invalido(int linha, String erro) {
+        return new RegistroImportacao(linha, null, erro);
+    }
+
+    static RegistroImportacao invalido(int linha, JsonProcessingException e) {
+        if (e instanceof JsonMappingException mapeamento && !mapeamento.getPath().isEmpty()) {
+            String caminho = mapeamento.getPath().stream()
+                    .map(referencia -> referencia.getFieldName() != null
+                            ? referencia.getFieldName() : "[" + referencia.getIndex() + "]")
+                    .collect(Collectors.joining("."));
+            return invalido(linha, "Valor inválido em '" + caminho + "'");
+        }
+        return invalido(linha, "Registro malformado: " + e.getOriginalMessage());
+    }
+}
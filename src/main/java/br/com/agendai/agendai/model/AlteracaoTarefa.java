@@ -0,0 +1,25 @@
+package br.com.agendai.agendai.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Value;
+
+// Evento entregue aos assinantes do fluxo de alterações.
+@Value
+public class AlteracaoTarefa {
+
+    long sequencia;
+    TipoEventoTarefa tipo;
+    String inquilino;
+    String idTarefa;
+
+    // Estado depois da alteração; nulo quando a tarefa foi removida.
+    Tarefa tarefa;
+
+    // Estado antes da alteração: só serve para os filtros, que também avisam quando a tarefa sai do filtro.
+    @JsonIgnore
+    Tarefa anterior;
+
+    public AlteracaoTarefa comSequencia(long novaSequencia) {
+        return new AlteracaoTarefa(novaSequencia, tipo, inquilino, idTarefa, tarefa, anterior);
+    }
+}
@@ -0,0 +1,16 @@
+package br.com.agendai.agendai.model;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+@Value
+public class AvisoPrazo {
+
+    TipoAvisoPrazo tipo;
+    String inquilino;
+    String idTarefa;
+    String titulo;
+    LocalDateTime prazo;
+    LocalDateTime disparadoEm;
+}
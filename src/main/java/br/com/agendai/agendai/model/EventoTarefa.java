@@ -0,0 +1,26 @@
+package br.com.agendai.agendai.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventoTarefa {
+
+    private TipoEventoTarefa tipo;
+    private String inquilino;
+    private String idTarefa;
+
+    // Estado completo da tarefa depois da mutação; nulo quando a tarefa foi removida.
+    private Tarefa tarefa;
+
+    public EventoTarefa(TipoEventoTarefa tipo, String idTarefa, Tarefa tarefa) {
+        this(tipo, tarefa != null ? tarefa.getInquilino() : Tarefa.INQUILINO_PADRAO, idTarefa, tarefa);
+    }
+
+    public boolean ehRemocao() {
+        return TipoEventoTarefa.REMOVIDA.equals(tipo);
+    }
+}
@@ -0,0 +1,7 @@
+package br.com.agendai.agendai.model;
+
+public enum FrequenciaRecorrencia {
+    DIARIA,
+    SEMANAL,
+    MENSAL
+}
@@ -0,0 +1,23 @@
+package br.com.agendai.agendai.model;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+// Uma entrada do calendário: o prazo de uma tarefa simples ou uma ocorrência de uma série.
+// Existe só na resposta; a série continua sendo uma única tarefa na loja.
+@Value
+public class Ocorrencia {
+
+    String idTarefa;
+    String titulo;
+    PrioridadeTarefa prioridade;
+    LocalDateTime instante;
+    boolean recorrente;
+    boolean concluida;
+
+    public static Ocorrencia de(Tarefa tarefa, LocalDateTime instante) {
+        return new Ocorrencia(tarefa.getIdTarefa(), tarefa.getTitulo(), tarefa.getPrioridade(), instante,
+                tarefa.ehRecorrente(), tarefa.ocorrenciaConcluida(instante.toLocalDate()));
+    }
+}
@@ -0,0 +1,111 @@
+package br.com.agendai.agendai.model;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Value;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+// Regra de uma série: a cada `intervalo` dias, semanas ou meses a partir do prazo da tarefa, que é a
+// primeira ocorrência. A n-ésima ocorrência é calculada diretamente, então expandir uma janela custa
+// o número de ocorrências dentro dela, qualquer que seja a distância até o início da série.
+@Value
+public class RegraRecorrencia {
+
+    @NotNull(message = "A frequência da recorrência é obrigatória")
+    FrequenciaRecorrencia frequencia;
+
+    @Positive(message = "O intervalo da recorrência deve ser positivo")
+    int intervalo;
+
+    // Só na frequência semanal; vazio repete no dia da semana do prazo.
+    Set<DayOfWeek> diasSemana;
+
+    // Condições de término opcionais; com as duas, vale a que chegar primeiro.
+    LocalDate terminaEm;
+
+    @Positive(message = "A quantidade de ocorrências deve ser positiva")
+    Integer maximoOcorrencias;
+
+    public RegraRecorrencia(FrequenciaRecorrencia frequencia, Integer intervalo, Set<DayOfWeek> diasSemana,
+                            LocalDate terminaEm, Integer maximoOcorrencias) {
+        this.frequencia = frequencia;
+        this.intervalo = intervalo == null ? 1 : intervalo;
+        this.diasSemana = diasSemana == null || diasSemana.isEmpty()
+                ? Set.of() : Collections.unmodifiableSet(EnumSet.copyOf(diasSemana));
+        this.terminaEm = terminaEm;
+        this.maximoOcorrencias = maximoOcorrencias;
+    }
+
+    // Ocorrências da série iniciada em `inicio` que caem em [de, ate), em ordem, geradas sob demanda.
+    public Stream<LocalDateTime> ocorrencias(LocalDateTime inicio, LocalDateTime de, LocalDateTime ate) {
+        DayOfWeek[] dias = dias(inicio);
+        long primeira = Math.max(0, estimarIndice(inicio, de, dias) - 1);
+        while (instante(inicio, primeira, dias).isBefore(de)) {
+            primeira++;
+        }
+        return LongStream.iterate(primeira, n -> n + 1)
+                .takeWhile(n -> maximoOcorrencias == null || n < maximoOcorrencias)
+                .mapToObj(n -> instante(inicio, n, dias))
+                .takeWhile(instante -> instante.isBefore(ate)
+                        && (terminaEm == null || !instante.toLocalDate().isAfter(terminaEm)));
+    }
+
+    public boolean temOcorrenciaEm(LocalDateTime inicio, LocalDate data) {
+        return ocorrencias(inicio, data.atStartOfDay(), data.plusDays(1).atStartOfDay()).findAny().isPresent();
+    }
+
+    // LocalDateTime.plusMonths ajusta para o último dia do mês quando o dia do prazo não existe nele.
+    private LocalDateTime instante(LocalDateTime inicio, long n, DayOfWeek[] dias) {
+        return switch (frequencia) {
+            case DIARIA -> inicio.plusDays(n * intervalo);
+            case MENSAL -> inicio.plusMonths(n * intervalo);
+            case SEMANAL -> {
+                long posicao = n + anteriores(inicio, dias);
+                DayOfWeek dia = dias[(int) (posicao % dias.length)];
+                yield segunda(inicio).plusWeeks(posicao / dias.length * intervalo).plusDays(dia.ordinal());
+            }
+        };
+    }
+
+    // Nunca passa do índice real da primeira ocorrência em `de`; quem chama avança o que faltar.
+    private long estimarIndice(LocalDateTime inicio, LocalDateTime de, DayOfWeek[] dias) {
+        if (!de.isAfter(inicio)) {
+            return 0;
+        }
+        return switch (frequencia) {
+            case DIARIA -> ChronoUnit.DAYS.between(inicio, de) / intervalo;
+            case MENSAL -> ChronoUnit.MONTHS.between(inicio, de) / intervalo;
+            case SEMANAL -> Math.max(0,
+                    ChronoUnit.WEEKS.between(segunda(inicio), de) / intervalo * dias.length - anteriores(inicio, dias));
+        };
+    }
+
+    private DayOfWeek[] dias(LocalDateTime inicio) {
+        return diasSemana.isEmpty()
+                ? new DayOfWeek[]{inicio.getDayOfWeek()}
+                : diasSemana.stream().sorted().toArray(DayOfWeek[]::new);
+    }
+
+    // Dias escolhidos que, na primeira semana, caem antes do prazo e por isso não contam.
+    private static int anteriores(LocalDateTime inicio, DayOfWeek[] dias) {
+        int anteriores = 0;
+        while (anteriores < dias.length && dias[anteriores].compareTo(inicio.getDayOfWeek()) < 0) {
+            anteriores++;
+        }
+        return anteriores;
+    }
+
+    private static LocalDateTime segunda(LocalDateTime inicio) {
+        return inicio.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+}
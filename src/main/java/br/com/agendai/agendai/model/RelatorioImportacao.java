@@ -0,0 +1,28 @@
+package br.com.agendai.agendai.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Uma linha do relatório transmitido durante a importação: um por lote gravado e um último com
+// `concluida` verdadeiro. Os contadores são acumulados; `falhasLote` traz só as falhas daquele lote.
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RelatorioImportacao {
+
+    private boolean concluida;
+    private long registros;
+    private long importadas;
+    private long falhas;
+    private List<ResultadoLote> falhasLote;
+
+    // Erro que interrompeu a leitura; o que foi gravado antes dele continua na loja.
+    private String erro;
+}
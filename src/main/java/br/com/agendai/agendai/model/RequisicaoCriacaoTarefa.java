@@ -1,12 +1,16 @@
 package br.com.agendai.agendai.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import javax.validation.constraints.NotBlank;
-import javax.validation.constraints.NotNull;
-import javax.validation.constraints.Size;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.time.LocalDateTime;
 
 @Data
 @NoArgsConstructor
@@ -22,4 +26,23 @@ public class RequisicaoCriacaoTarefa {
 
     @NotNull(message = "A prioridade da tarefa é obrigatória")
     private PrioridadeTarefa prioridade;
+
+    private LocalDateTime prazo;
+
+    @Valid
+    private RegraRecorrencia recorrencia;
+
+    public RequisicaoCriacaoTarefa(String titulo, String descricao, PrioridadeTarefa prioridade) {
+        this(titulo, descricao, prioridade, null);
+    }
+
+    public RequisicaoCriacaoTarefa(String titulo, String descricao, PrioridadeTarefa prioridade, LocalDateTime prazo) {
+        this(titulo, descricao, prioridade, prazo, null);
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "A recorrência exige um prazo, que é a primeira ocorrência da série")
+    public boolean isRecorrenciaComPrazo() {
+        return recorrencia == null || prazo != null;
+    }
 }
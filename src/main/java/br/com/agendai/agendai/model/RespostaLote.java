@@ -0,0 +1,30 @@
+package br.com.agendai.agendai.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RespostaLote {
+
+    private int total;
+    private int sucessos;
+    private int falhas;
+    private List<ResultadoLote> resultados;
+
+    public static RespostaLote de(List<ResultadoLote> resultados) {
+        int sucessos = (int) resultados.stream().filter(ResultadoLote::sucesso).count();
+        return RespostaLote.builder()
+                .total(resultados.size())
+                .sucessos(sucessos)
+                .falhas(resultados.size() - sucessos)
+                .resultados(resultados)
+                .build();
+    }
+}
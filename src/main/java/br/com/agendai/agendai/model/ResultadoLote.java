@@ -0,0 +1,29 @@
+package br.com.agendai.agendai.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ResultadoLote {
+
+    // Posição do item na requisição, para que o cliente relacione cada resultado ao que enviou.
+    private int indice;
+    private String idTarefa;
+    private int status;
+    private Tarefa tarefa;
+    private String erro;
+    private Map<String, String> errosValidacao;
+
+    public boolean sucesso() {
+        return status < 400;
+    }
+}
@@ -1,72 +1,198 @@
 package br.com.agendai.agendai.model;
 
 import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.Builder;
+import lombok.Value;
 
-import javax.validation.constraints.NotBlank;
-import javax.validation.constraints.NotNull;
-import javax.validation.constraints.Size;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.UUID;
-
-@Data
-@NoArgsConstructor
+import java.util.Collections;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+// Cada alteração produz uma nova versão da tarefa; instâncias publicadas nunca mudam,
+// então leitores e a serialização não enxergam estados pela metade.
+@Value
+@Builder(toBuilder = true)
 @AllArgsConstructor
 public class Tarefa {
 
-    private String idTarefa;
+    public static final String INQUILINO_PADRAO = "padrao";
+
+    String idTarefa;
 
     @NotBlank(message = "O título da tarefa não pode estar vazio")
     @Size(min = 3, max = 100, message = "O título deve ter entre 3 e 100 caracteres")
-    private String titulo;
+    String titulo;
 
     @Size(max = 100, message = "A descrição não pode ter mais de 100 caracteres")
-    private String discricao;
+    String discricao;
 
     @NotNull(message = "O status da tarefa é obrigatório")
-    private StatusTarefa status;
+    StatusTarefa status;
 
     @NotNull(message = "A prioridade da tarefa é obrigatoria")
-    private PrioridadeTarefa prioridade;
+    PrioridadeTarefa prioridade;
+
+    LocalDateTime criadoEm;
+
+    LocalDateTime atualizadoEm;
+
+    LocalDateTime concluidoEm;
 
-    private LocalDateTime criadoEm;
+    long versao;
 
-    private LocalDateTime atualizadoEm;
+    // Dono da tarefa; cada inquilino tem a sua partição da loja.
+    String inquilino;
 
-    private LocalDateTime concluidoEm;
+    // Data limite opcional; tarefas pendentes com prazo geram lembrete e aviso de vencimento.
+    LocalDateTime prazo;
 
-    public Tarefa(String titulo, String discricao, PrioridadeTarefa prioridade) {
-        this.idTarefa = UUID.randomUUID().toString();
-        this.titulo = titulo;
-        this.discricao = discricao;
-        this.status = StatusTarefa.PENDENTE;
-        this.prioridade = prioridade;
-        this.criadoEm = LocalDateTime.now();
-        this.atualizadoEm = LocalDateTime.now();
+    // Com uma regra, o prazo é a primeira ocorrência de uma série que nunca é materializada.
+    RegraRecorrencia recorrencia;
+
+    // Datas das ocorrências da série concluídas uma a uma; a série em si continua pendente.
+    @Builder.Default
+    Set<LocalDate> ocorrenciasConcluidas = Set.of();
+
+    public Tarefa(String idTarefa, String titulo, String discricao, StatusTarefa status, PrioridadeTarefa prioridade,
+                  LocalDateTime criadoEm, LocalDateTime atualizadoEm, LocalDateTime concluidoEm) {
+        this(idTarefa, titulo, discricao, status, prioridade, criadoEm, atualizadoEm, concluidoEm, 1, INQUILINO_PADRAO);
     }
 
-    public void marcarComoConcluida(){
-        this.status = StatusTarefa.CONCLUIDA;
-        this.concluidoEm = java.time.LocalDateTime.now();
-        this.atualizadoEm = LocalDateTime.now();
+    public Tarefa(String idTarefa, String titulo, String discricao, StatusTarefa status, PrioridadeTarefa prioridade,
+                  LocalDateTime criadoEm, LocalDateTime atualizadoEm, LocalDateTime concluidoEm, long versao,
+                  String inquilino) {
+        this(idTarefa, titulo, discricao, status, prioridade, criadoEm, atualizadoEm, concluidoEm, versao, inquilino,
+                null);
     }
 
-    public void marcarComoPendente() {
-        this.status = StatusTarefa.PENDENTE;
-        this.concluidoEm = null;
-        this.atualizadoEm = LocalDateTime.now();
+    public Tarefa(String idTarefa, String titulo, String discricao, StatusTarefa status, PrioridadeTarefa prioridade,
+                  LocalDateTime criadoEm, LocalDateTime atualizadoEm, LocalDateTime concluidoEm, long versao,
+                  String inquilino, LocalDateTime prazo) {
+        this(idTarefa, titulo, discricao, status, prioridade, criadoEm, atualizadoEm, concluidoEm, versao, inquilino,
+                prazo, null, Set.of());
+    }
+
+    public Tarefa(String idTarefa, String titulo, String discricao, PrioridadeTarefa prioridade, String inquilino) {
+        this(idTarefa, titulo, discricao, prioridade, inquilino, null);
+    }
+
+    public Tarefa(String idTarefa, String titulo, String discricao, PrioridadeTarefa prioridade, String inquilino,
+                  LocalDateTime prazo) {
+        this(idTarefa, titulo, discricao, prioridade, inquilino, prazo, null);
+    }
+
+    public Tarefa(String idTarefa, String titulo, String discricao, PrioridadeTarefa prioridade, String inquilino,
+                  LocalDateTime prazo, RegraRecorrencia recorrencia) {
+        this(idTarefa, titulo, discricao, StatusTarefa.PENDENTE, prioridade,
+                LocalDateTime.now(), LocalDateTime.now(), null, 1, inquilino, prazo, recorrencia, Set.of());
+    }
+
+    public Tarefa marcarComoConcluida() {
+        LocalDateTime agora = LocalDateTime.now();
+        return proximaVersao()
+                .status(StatusTarefa.CONCLUIDA)
+                .concluidoEm(agora)
+                .atualizadoEm(agora)
+                .build();
+    }
+
+    public Tarefa marcarComoPendente() {
+        return proximaVersao()
+                .status(StatusTarefa.PENDENTE)
+                .concluidoEm(null)
+                .atualizadoEm(LocalDateTime.now())
+                .build();
     }
 
     public boolean estaConcluida() {
         return StatusTarefa.CONCLUIDA.equals(this.status);
     }
 
-    public void atualizarTarefa(String titulo, String descricao, PrioridadeTarefa prioridade) {
-        this.titulo = titulo;
-        this.discricao = descricao;
-        this.prioridade = prioridade;
-        this.atualizadoEm = LocalDateTime.now();
+    public boolean ehRecorrente() {
+        return recorrencia != null;
+    }
+
+    public Tarefa atualizarTarefa(String titulo, String descricao, PrioridadeTarefa prioridade) {
+        return atualizarTarefa(titulo, descricao, prioridade, prazo);
     }
 
-}
\ No newline at end of file
+    public Tarefa atualizarTarefa(String titulo, String descricao, PrioridadeTarefa prioridade, LocalDateTime prazo) {
+        return atualizarTarefa(titulo, descricao, prioridade, prazo, recorrencia);
+    }
+
+    // Mudar a série descarta as conclusões avulsas, que podem não ser mais ocorrências dela.
+    public Tarefa atualizarTarefa(String titulo, String descricao, PrioridadeTarefa prioridade, LocalDateTime prazo,
+                                  RegraRecorrencia recorrencia) {
+        boolean mesmaSerie = Objects.equals(this.prazo, prazo) && Objects.equals(this.recorrencia, recorrencia);
+        return proximaVersao()
+                .titulo(titulo)
+                .discricao(descricao)
+                .prioridade(prioridade)
+                .prazo(prazo)
+                .recorrencia(recorrencia)
+                .ocorrenciasConcluidas(mesmaSerie ? ocorrenciasConcluidas : Set.of())
+                .atualizadoEm(LocalDateTime.now())
+                .build();
+    }
+
+    // Prazos da tarefa que caem em [de, ate). Concluir a série encerra a recorrência na data da conclusão.
+    public Stream<LocalDateTime> ocorrenciasEntre(LocalDateTime de, LocalDateTime ate) {
+        if (prazo == null) {
+            return Stream.empty();
+        }
+        if (recorrencia == null) {
+            return prazo.isBefore(de) || !prazo.isBefore(ate) ? Stream.empty() : Stream.of(prazo);
+        }
+        Stream<LocalDateTime> ocorrencias = recorrencia.ocorrencias(prazo, de, ate);
+        return estaConcluida() ? ocorrencias.takeWhile(instante -> !instante.isAfter(concluidoEm)) : ocorrencias;
+    }
+
+    public boolean temOcorrenciaEm(LocalDate data) {
+        return recorrencia != null && recorrencia.temOcorrenciaEm(prazo, data);
+    }
+
+    public boolean ocorrenciaConcluida(LocalDate data) {
+        return estaConcluida() || ocorrenciasConcluidas.contains(data);
+    }
+
+    // Próximo prazo ainda em aberto depois do instante informado, ou null se não houver.
+    public LocalDateTime proximoPrazo(LocalDateTime depoisDe) {
+        if (estaConcluida()) {
+            return null;
+        }
+        return ocorrenciasEntre(depoisDe.plusNanos(1), LocalDateTime.MAX)
+                .filter(instante -> !ocorrenciasConcluidas.contains(instante.toLocalDate()))
+                .findFirst()
+                .orElse(null);
+    }
+
+    public Tarefa concluirOcorrencia(LocalDate data) {
+        Set<LocalDate> concluidas = new TreeSet<>(ocorrenciasConcluidas);
+        concluidas.add(data);
+        return comOcorrenciasConcluidas(concluidas);
+    }
+
+    public Tarefa reabrirOcorrencia(LocalDate data) {
+        Set<LocalDate> concluidas = new TreeSet<>(ocorrenciasConcluidas);
+        concluidas.remove(data);
+        return comOcorrenciasConcluidas(concluidas);
+    }
+
+    private Tarefa comOcorrenciasConcluidas(Set<LocalDate> concluidas) {
+        return proximaVersao()
+                .ocorrenciasConcluidas(Collections.unmodifiableSet(concluidas))
+                .atualizadoEm(LocalDateTime.now())
+                .build();
+    }
+
+    private TarefaBuilder proximaVersao() {
+        return toBuilder().versao(versao + 1);
+    }
+}
@@ -0,0 +1,6 @@
+package br.com.agendai.agendai.model;
+
+public enum TipoAvisoPrazo {
+    LEMBRETE,
+    VENCIMENTO
+}
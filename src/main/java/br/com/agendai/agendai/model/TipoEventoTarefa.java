@@ -0,0 +1,9 @@
+package br.com.agendai.agendai.model;
+
+public enum TipoEventoTarefa {
+    CRIADA,
+    ATUALIZADA,
+    CONCLUIDA,
+    REABERTA,
+    REMOVIDA
+}
@@ -0,0 +1,106 @@
+package br.com.agendai.agendai.persistencia;
+
+import br.com.agendai.agendai.model.Tarefa;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+// Fotografia compactada do estado: [mágico][versão][sequência de corte][tarefas...][quantidade][crc].
+final class ArquivoInstantaneo {
+
+    static final String EXTENSAO = ".instantaneo";
+    private static final int MAGICO = 0x41474449;
+    private static final int TAMANHO_BUFFER = 1 << 16;
+
+    private ArquivoInstantaneo() {
+    }
+
+    static String nomeArquivo(long sequenciaCorte) {
+        return String.format("%020d%s", sequenciaCorte, EXTENSAO);
+    }
+
+    static long sequenciaCorte(Path arquivo) {
+        String nome = arquivo.getFileName().toString();
+        return Long.parseLong(nome.substring(0, nome.length() - EXTENSAO.length()));
+    }
+
+    static Path escrever(Path diretorio, long sequenciaCorte, Stream<Tarefa> tarefas) throws IOException {
+        Path destino = diretorio.resolve(nomeArquivo(sequenciaCorte));
+        Path temporario = diretorio.resolve(destino.getFileName() + ".tmp");
+
+        try (FileOutputStream arquivo = new FileOutputStream(temporario.toFile());
+             BufferedOutputStream buffer = new BufferedOutputStream(arquivo, TAMANHO_BUFFER);
+             Stream<Tarefa> fluxo = tarefas) {
+            CheckedOutputStream verificado = new CheckedOutputStream(buffer, new CRC32());
+            DataOutputStream saida = new DataOutputStream(verificado);
+            saida.writeInt(MAGICO);
+            saida.writeByte(CodificadorEventos.VERSAO_FORMATO);
+            saida.writeLong(sequenciaCorte);
+
+            long quantidade = 0;
+            Iterator<Tarefa> iterador = fluxo.iterator();
+            while (iterador.hasNext()) {
+                saida.writeBoolean(true);
+                CodificadorEventos.escreverTarefa(saida, iterador.next());
+                quantidade++;
+            }
+            saida.writeBoolean(false);
+            saida.writeLong(quantidade);
+            saida.flush();
+
+            new DataOutputStream(buffer).writeInt((int) verificado.getChecksum().getValue());
+            buffer.flush();
+            arquivo.getChannel().force(true);
+        }
+
+        Files.move(temporario, destino, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return destino;
+    }
+
+    static boolean valido(Path arquivo) {
+        try {
+            ler(arquivo, tarefa -> { });
+            return true;
+        } catch (IOException | RuntimeException e) {
+            return false;
+        }
+    }
+
+    static long ler(Path arquivo, Consumer<Tarefa> consumidor) throws IOException {
+        try (InputStream buffer = new BufferedInputStream(Files.newInputStream(arquivo), TAMANHO_BUFFER)) {
+            CheckedInputStream verificado = new CheckedInputStream(buffer, new CRC32());
+            DataInputStream entrada = new DataInputStream(verificado);
+            if (entrada.readInt() != MAGICO) {
+                throw new IOException("Instantâneo com cabeçalho inválido: " + arquivo);
+            }
+            byte versaoFormato = CodificadorEventos.verificarVersao(entrada.readByte());
+            long sequenciaCorte = entrada.readLong();
+
+            long lidas = 0;
+            while (entrada.readBoolean()) {
+                consumidor.accept(CodificadorEventos.lerTarefa(entrada, versaoFormato));
+                lidas++;
+            }
+            long quantidade = entrada.readLong();
+            int crcCalculado = (int) verificado.getChecksum().getValue();
+            if (quantidade != lidas || new DataInputStream(buffer).readInt() != crcCalculado) {
+                throw new IOException("Instantâneo corrompido: " + arquivo);
+            }
+            return sequenciaCorte;
+        }
+    }
+}
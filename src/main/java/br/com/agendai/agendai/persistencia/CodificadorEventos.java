@@ -0,0 +1,199 @@
+package br.com.agendai.agendai.persistencia;
+
+import br.com.agendai.agendai.model.EventoTarefa;
+import br.com.agendai.agendai.model.FrequenciaRecorrencia;
+import br.com.agendai.agendai.model.PrioridadeTarefa;
+import br.com.agendai.agendai.model.RegraRecorrencia;
+import br.com.agendai.agendai.model.StatusTarefa;
+import br.com.agendai.agendai.model.Tarefa;
+import br.com.agendai.agendai.model.TipoEventoTarefa;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+public final class CodificadorEventos {
+
+    // A versão 2 acrescentou a versão da tarefa; registros da versão 1 são lidos como versão 1 da tarefa.
+    // A versão 3 acrescentou o inquilino; registros anteriores pertencem ao inquilino padrão.
+    // A versão 4 acrescentou o prazo; registros anteriores não têm prazo.
+    // A versão 5 acrescentou a recorrência e as ocorrências concluídas; registros anteriores não são recorrentes.
+    static final byte VERSAO_FORMATO = 5;
+    private static final byte VERSAO_SEM_VERSIONAMENTO = 1;
+    private static final byte VERSAO_SEM_INQUILINO = 2;
+    private static final byte VERSAO_SEM_PRAZO = 3;
+    private static final byte VERSAO_SEM_RECORRENCIA = 4;
+
+    private CodificadorEventos() {
+    }
+
+    public static byte[] codificar(EventoTarefa evento) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream saida = new DataOutputStream(bytes)) {
+            escreverEvento(saida, evento);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static EventoTarefa decodificar(byte[] dados) {
+        try (DataInputStream entrada = new DataInputStream(new ByteArrayInputStream(dados))) {
+            return lerEvento(entrada);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static void escreverEvento(DataOutput saida, EventoTarefa evento) throws IOException {
+        saida.writeByte(VERSAO_FORMATO);
+        saida.writeUTF(evento.getTipo().name());
+        saida.writeUTF(evento.getInquilino());
+        saida.writeUTF(evento.getIdTarefa());
+        saida.writeBoolean(evento.getTarefa() != null);
+        if (evento.getTarefa() != null) {
+            escreverTarefa(saida, evento.getTarefa());
+        }
+    }
+
+    public static EventoTarefa lerEvento(DataInput entrada) throws IOException {
+        byte versaoFormato = verificarVersao(entrada.readByte());
+        TipoEventoTarefa tipo = TipoEventoTarefa.valueOf(entrada.readUTF());
+        String inquilino = versaoFormato <= VERSAO_SEM_INQUILINO ? Tarefa.INQUILINO_PADRAO : entrada.readUTF();
+        String idTarefa = entrada.readUTF();
+        Tarefa tarefa = entrada.readBoolean() ? lerTarefa(entrada, versaoFormato) : null;
+        return new EventoTarefa(tipo, inquilino, idTarefa, tarefa);
+    }
+
+    static void escreverTarefa(DataOutput saida, Tarefa tarefa) throws IOException {
+        saida.writeUTF(tarefa.getIdTarefa());
+        saida.writeUTF(tarefa.getTitulo());
+        escreverTextoOpcional(saida, tarefa.getDiscricao());
+        saida.writeUTF(tarefa.getStatus().name());
+        saida.writeUTF(tarefa.getPrioridade().name());
+        escreverInstante(saida, tarefa.getCriadoEm());
+        escreverInstante(saida, tarefa.getAtualizadoEm());
+        escreverInstante(saida, tarefa.getConcluidoEm());
+        saida.writeLong(tarefa.getVersao());
+        saida.writeUTF(tarefa.getInquilino());
+        escreverInstante(saida, tarefa.getPrazo());
+        escreverRecorrencia(saida, tarefa.getRecorrencia());
+        saida.writeInt(tarefa.getOcorrenciasConcluidas().size());
+        for (LocalDate data : tarefa.getOcorrenciasConcluidas()) {
+            saida.writeLong(data.toEpochDay());
+        }
+    }
+
+    static Tarefa lerTarefa(DataInput entrada, byte versaoFormato) throws IOException {
+        return new Tarefa(
+                entrada.readUTF(),
+                entrada.readUTF(),
+                lerTextoOpcional(entrada),
+                StatusTarefa.valueOf(entrada.readUTF()),
+                PrioridadeTarefa.valueOf(entrada.readUTF()),
+                lerInstante(entrada),
+                lerInstante(entrada),
+                lerInstante(entrada),
+                versaoFormato == VERSAO_SEM_VERSIONAMENTO ? 1 : entrada.readLong(),
+                versaoFormato <= VERSAO_SEM_INQUILINO ? Tarefa.INQUILINO_PADRAO : entrada.readUTF(),
+                versaoFormato <= VERSAO_SEM_PRAZO ? null : lerInstante(entrada),
+                versaoFormato <= VERSAO_SEM_RECORRENCIA ? null : lerRecorrencia(entrada),
+                versaoFormato <= VERSAO_SEM_RECORRENCIA ? Set.of() : lerDatas(entrada));
+    }
+
+    static byte verificarVersao(byte versao) throws IOException {
+        if (versao < VERSAO_SEM_VERSIONAMENTO || versao > VERSAO_FORMATO) {
+            throw new IOException("Versão de formato desconhecida: " + versao);
+        }
+        return versao;
+    }
+
+    // Dias da semana vão como máscara de bits; intervalo e término ausentes, como zero.
+    private static void escreverRecorrencia(DataOutput saida, RegraRecorrencia regra) throws IOException {
+        saida.writeBoolean(regra != null);
+        if (regra == null) {
+            return;
+        }
+        saida.writeUTF(regra.getFrequencia().name());
+        saida.writeInt(regra.getIntervalo());
+        int dias = 0;
+        for (DayOfWeek dia : regra.getDiasSemana()) {
+            dias |= 1 << dia.ordinal();
+        }
+        saida.writeByte(dias);
+        saida.writeBoolean(regra.getTerminaEm() != null);
+        if (regra.getTerminaEm() != null) {
+            saida.writeLong(regra.getTerminaEm().toEpochDay());
+        }
+        saida.writeInt(regra.getMaximoOcorrencias() == null ? 0 : regra.getMaximoOcorrencias());
+    }
+
+    private static RegraRecorrencia lerRecorrencia(DataInput entrada) throws IOException {
+        if (!entrada.readBoolean()) {
+            return null;
+        }
+        FrequenciaRecorrencia frequencia = FrequenciaRecorrencia.valueOf(entrada.readUTF());
+        int intervalo = entrada.readInt();
+        int mascara = entrada.readByte();
+        Set<DayOfWeek> dias = EnumSet.noneOf(DayOfWeek.class);
+        for (DayOfWeek dia : DayOfWeek.values()) {
+            if ((mascara & 1 << dia.ordinal()) != 0) {
+                dias.add(dia);
+            }
+        }
+        LocalDate terminaEm = entrada.readBoolean() ? LocalDate.ofEpochDay(entrada.readLong()) : null;
+        int maximo = entrada.readInt();
+        return new RegraRecorrencia(frequencia, intervalo, dias, terminaEm, maximo == 0 ? null : maximo);
+    }
+
+    private static Set<LocalDate> lerDatas(DataInput entrada) throws IOException {
+        int quantidade = entrada.readInt();
+        if (quantidade == 0) {
+            return Set.of();
+        }
+        Set<LocalDate> datas = new TreeSet<>();
+        for (int i = 0; i < quantidade; i++) {
+            datas.add(LocalDate.ofEpochDay(entrada.readLong()));
+        }
+        return Collections.unmodifiableSet(datas);
+    }
+
+    private static void escreverTextoOpcional(DataOutput saida, String texto) throws IOException {
+        saida.writeBoolean(texto != null);
+        if (texto != null) {
+            saida.writeUTF(texto);
+        }
+    }
+
+    private static String lerTextoOpcional(DataInput entrada) throws IOException {
+        return entrada.readBoolean() ? entrada.readUTF() : null;
+    }
+
+    private static void escreverInstante(DataOutput saida, LocalDateTime instante) throws IOException {
+        saida.writeBoolean(instante != null);
+        if (instante != null) {
+            saida.writeLong(instante.toEpochSecond(ZoneOffset.UTC));
+            saida.writeInt(instante.getNano());
+        }
+    }
+
+    private static LocalDateTime lerInstante(DataInput entrada) throws IOException {
+        if (!entrada.readBoolean()) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(entrada.readLong(), entrada.readInt(), ZoneOffset.UTC);
+    }
+}
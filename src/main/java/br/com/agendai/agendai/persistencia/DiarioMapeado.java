@@ -0,0 +1,333 @@
+package br.com.agendai.agendai.persistencia;
+
+import br.com.agendai.agendai.model.EventoTarefa;
+import br.com.agendai.agendai.model.Tarefa;
+import br.com.agendai.agendai.model.TipoEventoTarefa;
+import br.com.agendai.agendai.service.DiarioMutacoes;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Diário de mutações só de acréscimo, em segmentos mapeados em memória, com instantâneos periódicos.
+// Os registros guardam o estado completo da tarefa, então reaplicá-los sobre um instantâneo
+// tirado com escritas concorrentes converge para o mesmo estado final.
+@Slf4j
+public class DiarioMapeado implements DiarioMutacoes, Closeable {
+
+    private final Path diretorio;
+    private final PoliticaSincronizacao politica;
+    private final Duration intervaloSincronizacao;
+    private final int tamanhoSegmento;
+    private final long registrosPorInstantaneo;
+
+    private final ReentrantLock travaEscrita = new ReentrantLock();
+    private final ReentrantLock travaSincronizacao = new ReentrantLock();
+    private final AtomicLong sequenciaDuravel = new AtomicLong();
+    private final AtomicBoolean instantaneoEmAndamento = new AtomicBoolean();
+    private final List<Path> segmentosFechados = new ArrayList<>();
+    // Sequências já no diário cujas tarefas ainda não estão no estado que o instantâneo percorre.
+    private final NavigableSet<Long> naoPublicadas = new ConcurrentSkipListSet<>();
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+        Thread thread = new Thread(tarefa, "diario-mutacoes");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private SegmentoDiario segmentoAtual;
+    private long ultimaSequencia;
+    private long registrosDesdeInstantaneo;
+    private volatile Supplier<Stream<Tarefa>> estadoAtual;
+
+    public DiarioMapeado(Path diretorio, PoliticaSincronizacao politica, Duration intervaloSincronizacao,
+                         int tamanhoSegmento, long registrosPorInstantaneo) {
+        this.diretorio = diretorio;
+        this.politica = politica;
+        this.intervaloSincronizacao = intervaloSincronizacao;
+        this.tamanhoSegmento = tamanhoSegmento;
+        this.registrosPorInstantaneo = registrosPorInstantaneo;
+    }
+
+    @Override
+    public void recuperar(Consumer<EventoTarefa> aplicador) {
+        long inicio = System.nanoTime();
+        try {
+            Files.createDirectories(diretorio);
+
+            long sequenciaInstantaneo = 0;
+            long tarefasInstantaneo = 0;
+            Path instantaneo = ultimoInstantaneoValido();
+            if (instantaneo != null) {
+                long[] contagem = new long[1];
+                sequenciaInstantaneo = ArquivoInstantaneo.ler(instantaneo, tarefa -> {
+                    aplicador.accept(new EventoTarefa(TipoEventoTarefa.CRIADA, tarefa.getIdTarefa(), tarefa));
+                    contagem[0]++;
+                });
+                tarefasInstantaneo = contagem[0];
+            }
+
+            long corte = sequenciaInstantaneo;
+            long[] reaplicados = new long[1];
+            ultimaSequencia = sequenciaInstantaneo;
+            for (Path arquivo : listar(SegmentoDiario.EXTENSAO)) {
+                if (segmentoAtual != null) {
+                    segmentoAtual.close();
+                    segmentosFechados.add(segmentoAtual.arquivo());
+                }
+                segmentoAtual = SegmentoDiario.abrir(arquivo, tamanhoSegmento);
+                long ultimaDoSegmento = segmentoAtual.percorrer((sequencia, conteudo) -> {
+                    if (sequencia > corte) {
+                        aplicador.accept(CodificadorEventos.decodificar(conteudo));
+                        reaplicados[0]++;
+                    }
+                });
+                ultimaSequencia = Math.max(ultimaSequencia, ultimaDoSegmento);
+            }
+            if (segmentoAtual == null) {
+                segmentoAtual = SegmentoDiario.criar(diretorio, ultimaSequencia + 1, tamanhoSegmento);
+            }
+            sequenciaDuravel.set(ultimaSequencia);
+
+            log.info("Estado recuperado de {}: {} tarefas do instantâneo e {} registros reaplicados em {} ms",
+                    diretorio, tarefasInstantaneo, reaplicados[0], TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao recuperar o diário de mutações em " + diretorio, e);
+        }
+    }
+
+    @Override
+    public void iniciar(Supplier<Stream<Tarefa>> estadoAtual) {
+        this.estadoAtual = estadoAtual;
+        if (politica == PoliticaSincronizacao.INTERVALO) {
+            long intervalo = intervaloSincronizacao.toMillis();
+            executor.scheduleWithFixedDelay(this::sincronizarComSeguranca, intervalo, intervalo, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public long registrar(EventoTarefa evento) {
+        byte[] conteudo = CodificadorEventos.codificar(evento);
+
+        travaEscrita.lock();
+        try {
+            if (!segmentoAtual.cabe(conteudo.length)) {
+                if (segmentoAtual.vazio()) {
+                    throw new IllegalStateException("Registro de " + conteudo.length + " bytes não cabe em um segmento");
+                }
+                rotacionar();
+            }
+            long sequencia = ++ultimaSequencia;
+            segmentoAtual.anexar(sequencia, conteudo);
+            naoPublicadas.add(sequencia);
+
+            if (++registrosDesdeInstantaneo >= registrosPorInstantaneo) {
+                registrosDesdeInstantaneo = 0;
+                agendarInstantaneo();
+            }
+            return sequencia;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao gravar no diário de mutações", e);
+        } finally {
+            travaEscrita.unlock();
+        }
+    }
+
+    @Override
+    public void publicado(long sequencia) {
+        naoPublicadas.remove(sequencia);
+    }
+
+    // Quem chega enquanto outro fsync está em andamento espera a trava e, em geral, já encontra
+    // a própria sequência gravada: um único fsync confirma o grupo inteiro.
+    @Override
+    public void aguardarDurabilidade(long sequencia) {
+        if (politica != PoliticaSincronizacao.SEMPRE || sequencia <= sequenciaDuravel.get()) {
+            return;
+        }
+        travaSincronizacao.lock();
+        try {
+            if (sequencia > sequenciaDuravel.get()) {
+                sincronizar();
+            }
+        } finally {
+            travaSincronizacao.unlock();
+        }
+    }
+
+    public long ultimaSequencia() {
+        travaEscrita.lock();
+        try {
+            return ultimaSequencia;
+        } finally {
+            travaEscrita.unlock();
+        }
+    }
+
+    public void gerarInstantaneo() {
+        Supplier<Stream<Tarefa>> estado = estadoAtual;
+        if (estado == null) {
+            return;
+        }
+
+        // Quem escreve registra no diário antes de publicar a tarefa no mapa, então um registro pode estar
+        // em qualquer segmento, inclusive num que acabou de girar por tamanho, sem aparecer no estado
+        // percorrido. O corte recua para antes do menor deles e todo segmento com algo acima do corte
+        // fica: a recuperação o reaplica por cima do instantâneo. O segmento fechado aqui também fica
+        // até o próximo instantâneo, para que um instantâneo danificado ainda tenha o diário por trás.
+        long corte;
+        List<Path> obsoletos;
+        travaEscrita.lock();
+        try {
+            rotacionar();
+            corte = ultimaSequencia;
+            if (!segmentosFechados.isEmpty()) {
+                corte = SegmentoDiario.primeiraSequencia(segmentosFechados.get(segmentosFechados.size() - 1)) - 1;
+            }
+            Long menorNaoPublicada = naoPublicadas.ceiling(Long.MIN_VALUE);
+            if (menorNaoPublicada != null) {
+                corte = Math.min(corte, menorNaoPublicada - 1);
+            }
+            int mantidos = 0;
+            while (mantidos < segmentosFechados.size() - 1
+                    && SegmentoDiario.primeiraSequencia(segmentosFechados.get(mantidos + 1)) - 1 <= corte) {
+                mantidos++;
+            }
+            List<Path> anteriores = segmentosFechados.subList(0, mantidos);
+            obsoletos = new ArrayList<>(anteriores);
+            anteriores.clear();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao rotacionar o diário de mutações", e);
+        } finally {
+            travaEscrita.unlock();
+        }
+
+        long inicio = System.nanoTime();
+        try {
+            Path instantaneo = ArquivoInstantaneo.escrever(diretorio, corte, estado.get());
+            for (Path arquivo : listar(ArquivoInstantaneo.EXTENSAO)) {
+                if (!arquivo.equals(instantaneo)) {
+                    Files.deleteIfExists(arquivo);
+                }
+            }
+            for (Path arquivo : obsoletos) {
+                Files.deleteIfExists(arquivo);
+            }
+            log.info("Instantâneo gerado até a sequência {} em {} ms", corte,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio));
+        } catch (IOException e) {
+            travaEscrita.lock();
+            try {
+                segmentosFechados.addAll(0, obsoletos);
+            } finally {
+                travaEscrita.unlock();
+            }
+            throw new UncheckedIOException("Falha ao gerar instantâneo do diário de mutações", e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(intervaloSincronizacao.toMillis() + 5_000, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        travaEscrita.lock();
+        try {
+            if (segmentoAtual != null) {
+                segmentoAtual.close();
+                sequenciaDuravel.set(ultimaSequencia);
+            }
+        } finally {
+            travaEscrita.unlock();
+        }
+    }
+
+    private void sincronizar() {
+        SegmentoDiario segmento;
+        long alvo;
+        int ate;
+        travaEscrita.lock();
+        try {
+            segmento = segmentoAtual;
+            alvo = ultimaSequencia;
+            ate = segmento.posicao();
+        } finally {
+            travaEscrita.unlock();
+        }
+
+        segmento.sincronizar(ate);
+        sequenciaDuravel.accumulateAndGet(alvo, Math::max);
+    }
+
+    private void sincronizarComSeguranca() {
+        try {
+            sincronizar();
+        } catch (RuntimeException e) {
+            log.error("Falha ao sincronizar o diário de mutações: {}", e.getMessage(), e);
+        }
+    }
+
+    private void agendarInstantaneo() {
+        if (estadoAtual != null && instantaneoEmAndamento.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                try {
+                    gerarInstantaneo();
+                } catch (RuntimeException e) {
+                    log.error("Falha ao gerar instantâneo: {}", e.getMessage(), e);
+                } finally {
+                    instantaneoEmAndamento.set(false);
+                }
+            });
+        }
+    }
+
+    private void rotacionar() throws IOException {
+        if (segmentoAtual.vazio()) {
+            return;
+        }
+        segmentoAtual.close();
+        segmentosFechados.add(segmentoAtual.arquivo());
+        sequenciaDuravel.accumulateAndGet(ultimaSequencia, Math::max);
+        segmentoAtual = SegmentoDiario.criar(diretorio, ultimaSequencia + 1, tamanhoSegmento);
+    }
+
+    private Path ultimoInstantaneoValido() throws IOException {
+        List<Path> instantaneos = listar(ArquivoInstantaneo.EXTENSAO);
+        for (int i = instantaneos.size() - 1; i >= 0; i--) {
+            if (ArquivoInstantaneo.valido(instantaneos.get(i))) {
+                return instantaneos.get(i);
+            }
+            log.warn("Ignorando instantâneo inválido: {}", instantaneos.get(i));
+        }
+        return null;
+    }
+
+    private List<Path> listar(String extensao) throws IOException {
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            return arquivos
+                    .filter(arquivo -> arquivo.getFileName().toString().endsWith(extensao))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+}
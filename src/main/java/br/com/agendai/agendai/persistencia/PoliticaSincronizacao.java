@@ -0,0 +1,10 @@
+package br.com.agendai.agendai.persistencia;
+
+public enum PoliticaSincronizacao {
+    // Cada escrita só retorna depois do fsync; escritas concorrentes compartilham o mesmo fsync.
+    SEMPRE,
+    // Um fsync em segundo plano a cada intervalo configurado.
+    INTERVALO,
+    // O sistema operacional decide quando gravar as páginas em disco.
+    NUNCA
+}
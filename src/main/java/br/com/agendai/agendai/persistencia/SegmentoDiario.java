@@ -0,0 +1,143 @@
+package br.com.agendai.agendai.persistencia;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+// Arquivo pré-alocado e mapeado em memória com registros [tamanho][crc][sequência][conteúdo].
+// Um tamanho zero marca o fim; um CRC inválido indica escrita interrompida e também encerra a leitura.
+final class SegmentoDiario implements Closeable {
+
+    static final String EXTENSAO = ".diario";
+    static final int CABECALHO_REGISTRO = Integer.BYTES + Integer.BYTES + Long.BYTES;
+
+    interface LeitorRegistro {
+        void ler(long sequencia, byte[] conteudo);
+    }
+
+    private final Path arquivo;
+    private final long primeiraSequencia;
+    private final FileChannel canal;
+    private final MappedByteBuffer mapa;
+    private final ReentrantLock travaSincronizacao = new ReentrantLock();
+    private int posicao;
+    private int posicaoSincronizada;
+
+    private SegmentoDiario(Path arquivo, long primeiraSequencia, FileChannel canal, MappedByteBuffer mapa) {
+        this.arquivo = arquivo;
+        this.primeiraSequencia = primeiraSequencia;
+        this.canal = canal;
+        this.mapa = mapa;
+    }
+
+    static SegmentoDiario criar(Path diretorio, long primeiraSequencia, int capacidade) throws IOException {
+        return abrir(diretorio.resolve(nomeArquivo(primeiraSequencia)), capacidade);
+    }
+
+    static SegmentoDiario abrir(Path arquivo, int capacidadeMinima) throws IOException {
+        FileChannel canal = FileChannel.open(arquivo,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long capacidade = Math.max(canal.size(), capacidadeMinima);
+        MappedByteBuffer mapa = canal.map(FileChannel.MapMode.READ_WRITE, 0, capacidade);
+        return new SegmentoDiario(arquivo, primeiraSequencia(arquivo), canal, mapa);
+    }
+
+    static String nomeArquivo(long primeiraSequencia) {
+        return String.format("%020d%s", primeiraSequencia, EXTENSAO);
+    }
+
+    static long primeiraSequencia(Path arquivo) {
+        String nome = arquivo.getFileName().toString();
+        return Long.parseLong(nome.substring(0, nome.length() - EXTENSAO.length()));
+    }
+
+    // Percorre os registros válidos e posiciona o segmento logo depois do último deles.
+    long percorrer(LeitorRegistro leitor) {
+        long ultimaSequencia = primeiraSequencia - 1;
+        int atual = 0;
+        while (atual + CABECALHO_REGISTRO <= mapa.capacity()) {
+            int tamanho = mapa.getInt(atual);
+            if (tamanho <= 0 || atual + CABECALHO_REGISTRO + tamanho > mapa.capacity()
+                    || mapa.getInt(atual + Integer.BYTES) != crc(atual, tamanho)) {
+                break;
+            }
+            long sequencia = mapa.getLong(atual + 2 * Integer.BYTES);
+            byte[] conteudo = new byte[tamanho];
+            mapa.get(atual + CABECALHO_REGISTRO, conteudo);
+            leitor.ler(sequencia, conteudo);
+
+            ultimaSequencia = sequencia;
+            atual += CABECALHO_REGISTRO + tamanho;
+        }
+
+        if (atual + Integer.BYTES <= mapa.capacity() && mapa.getInt(atual) != 0) {
+            descartarCauda(atual);
+        }
+        posicao = atual;
+        posicaoSincronizada = atual;
+        return ultimaSequencia;
+    }
+
+    boolean cabe(int tamanhoConteudo) {
+        return posicao + CABECALHO_REGISTRO + tamanhoConteudo <= mapa.capacity();
+    }
+
+    boolean vazio() {
+        return posicao == 0;
+    }
+
+    // O cabeçalho é gravado por último para que um registro pela metade nunca pareça válido.
+    void anexar(long sequencia, byte[] conteudo) {
+        int inicio = posicao;
+        mapa.putLong(inicio + 2 * Integer.BYTES, sequencia);
+        mapa.put(inicio + CABECALHO_REGISTRO, conteudo);
+        mapa.putInt(inicio + Integer.BYTES, crc(inicio, conteudo.length));
+        mapa.putInt(inicio, conteudo.length);
+        posicao = inicio + CABECALHO_REGISTRO + conteudo.length;
+    }
+
+    int posicao() {
+        return posicao;
+    }
+
+    // ReentrantLock em vez de synchronized: uma thread virtual esperando o fsync não prende a thread portadora.
+    void sincronizar(int ate) {
+        travaSincronizacao.lock();
+        try {
+            if (ate > posicaoSincronizada) {
+                mapa.force(posicaoSincronizada, ate - posicaoSincronizada);
+                posicaoSincronizada = ate;
+            }
+        } finally {
+            travaSincronizacao.unlock();
+        }
+    }
+
+    Path arquivo() {
+        return arquivo;
+    }
+
+    @Override
+    public void close() throws IOException {
+        sincronizar(posicao);
+        canal.close();
+    }
+
+    private int crc(int inicio, int tamanhoConteudo) {
+        CRC32 crc = new CRC32();
+        crc.update(mapa.slice(inicio + 2 * Integer.BYTES, Long.BYTES + tamanhoConteudo));
+        return (int) crc.getValue();
+    }
+
+    private void descartarCauda(int inicio) {
+        for (int i = inicio; i < mapa.capacity(); i++) {
+            mapa.put(i, (byte) 0);
+        }
+        mapa.force();
+    }
+}
@@ -0,0 +1,143 @@
+package br.com.agendai.agendai.prazos;
+
+import br.com.agendai.agendai.model.AvisoPrazo;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+// Os avisos disparados entram numa fila limitada; uma thread dedicada junta até tamanhoLote avisos,
+// esperando no máximo esperaLote depois do primeiro, e entrega o lote ao destino. Um lote que falha
+// é tentado de novo com espera crescente e, esgotadas as tentativas, descartado.
+@Slf4j
+public class CaixaSaidaAvisos implements Closeable {
+
+    private static final long ESPERA_MAXIMA_RETENTATIVA_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+    private final BlockingQueue<AvisoPrazo> fila;
+    private final DestinoAvisos destino;
+    private final int tamanhoLote;
+    private final long esperaLoteNanos;
+    private final int tentativas;
+    private final long esperaRetentativaMillis;
+    private final Thread entregador;
+    private volatile boolean ativo = true;
+
+    private final Counter entregues;
+    private final Counter descartadosFilaCheia;
+    private final Counter descartadosFalhaEntrega;
+    private final Counter falhasEntrega;
+
+    public CaixaSaidaAvisos(DestinoAvisos destino, int capacidade, int tamanhoLote, Duration esperaLote,
+                            int tentativas, Duration esperaRetentativa, MeterRegistry registro) {
+        this.fila = new ArrayBlockingQueue<>(capacidade);
+        this.destino = destino;
+        this.tamanhoLote = tamanhoLote;
+        this.esperaLoteNanos = esperaLote.toNanos();
+        this.tentativas = tentativas;
+        this.esperaRetentativaMillis = Math.max(1, esperaRetentativa.toMillis());
+
+        entregues = contador(registro, "agendai.prazos.avisos.entregues");
+        descartadosFilaCheia = contador(registro, "agendai.prazos.avisos.descartados", "motivo", "fila_cheia");
+        descartadosFalhaEntrega = contador(registro, "agendai.prazos.avisos.descartados", "motivo", "falha_entrega");
+        falhasEntrega = contador(registro, "agendai.prazos.entregas.falhas");
+        Gauge.builder("agendai.prazos.saida.ocupacao", fila, BlockingQueue::size)
+                .description("Avisos de prazo aguardando entrega")
+                .register(registro);
+
+        entregador = new Thread(this::entregar, "prazos-saida");
+        entregador.setDaemon(true);
+        entregador.start();
+    }
+
+    public void enfileirar(AvisoPrazo aviso) {
+        if (!fila.offer(aviso)) {
+            descartadosFilaCheia.increment();
+            log.warn("Caixa de saída cheia: aviso {} da tarefa {} descartado", aviso.getTipo(), aviso.getIdTarefa());
+        }
+    }
+
+    private void entregar() {
+        List<AvisoPrazo> lote = new ArrayList<>(tamanhoLote);
+        while (ativo || !fila.isEmpty()) {
+            try {
+                AvisoPrazo primeiro = fila.poll(100, TimeUnit.MILLISECONDS);
+                if (primeiro == null) {
+                    continue;
+                }
+                lote.add(primeiro);
+                completarLote(lote);
+                entregarComRetentativas(lote);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lote.clear();
+            }
+        }
+    }
+
+    // Quando muitos prazos vencem juntos, a espera curta troca muitas chamadas ao destino por poucas.
+    private void completarLote(List<AvisoPrazo> lote) throws InterruptedException {
+        long limite = System.nanoTime() + esperaLoteNanos;
+        while (ativo) {
+            fila.drainTo(lote, tamanhoLote - lote.size());
+            long restante = limite - System.nanoTime();
+            if (lote.size() >= tamanhoLote || restante <= 0) {
+                return;
+            }
+            AvisoPrazo proximo = fila.poll(restante, TimeUnit.NANOSECONDS);
+            if (proximo == null) {
+                return;
+            }
+            lote.add(proximo);
+        }
+    }
+
+    private void entregarComRetentativas(List<AvisoPrazo> lote) throws InterruptedException {
+        long espera = esperaRetentativaMillis;
+        for (int tentativa = 1; ; tentativa++) {
+            try {
+                destino.entregar(lote);
+                entregues.increment(lote.size());
+                return;
+            } catch (InterruptedException e) {
+                throw e;
+            } catch (Exception e) {
+                falhasEntrega.increment();
+                if (tentativa >= tentativas || !ativo) {
+                    descartadosFalhaEntrega.increment(lote.size());
+                    log.error("Lote de {} avisos de prazo descartado depois de {} tentativa(s): {}",
+                            lote.size(), tentativa, e.getMessage(), e);
+                    return;
+                }
+                log.warn("Falha ao entregar lote de {} avisos de prazo (tentativa {}): {}",
+                        lote.size(), tentativa, e.getMessage());
+                Thread.sleep(espera);
+                espera = Math.min(espera * 2, ESPERA_MAXIMA_RETENTATIVA_MILLIS);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        ativo = false;
+        try {
+            entregador.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Counter contador(MeterRegistry registro, String nome, String... tags) {
+        return Counter.builder(nome).tags(tags).register(registro);
+    }
+}
@@ -0,0 +1,12 @@
+package br.com.agendai.agendai.prazos;
+
+import br.com.agendai.agendai.model.AvisoPrazo;
+
+import java.util.List;
+
+// Uma exceção faz a caixa de saída tentar o mesmo lote de novo, então o destino pode receber um
+// aviso mais de uma vez.
+public interface DestinoAvisos {
+
+    void entregar(List<AvisoPrazo> lote) throws Exception;
+}
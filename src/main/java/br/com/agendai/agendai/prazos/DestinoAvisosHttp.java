@@ -0,0 +1,41 @@
+package br.com.agendai.agendai.prazos;
+
+import br.com.agendai.agendai.model.AvisoPrazo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+// Cada lote vira um POST com um array JSON; qualquer resposta fora de 2xx conta como falha.
+public class DestinoAvisosHttp implements DestinoAvisos {
+
+    private final URI url;
+    private final Duration tempoLimite;
+    private final ObjectMapper objectMapper;
+    private final HttpClient cliente;
+
+    public DestinoAvisosHttp(URI url, Duration tempoLimite, ObjectMapper objectMapper) {
+        this.url = url;
+        this.tempoLimite = tempoLimite;
+        this.objectMapper = objectMapper;
+        this.cliente = HttpClient.newBuilder().connectTimeout(tempoLimite).build();
+    }
+
+    @Override
+    public void entregar(List<AvisoPrazo> lote) throws IOException, InterruptedException {
+        HttpRequest requisicao = HttpRequest.newBuilder(url)
+                .timeout(tempoLimite)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(lote)))
+                .build();
+        HttpResponse<Void> resposta = cliente.send(requisicao, HttpResponse.BodyHandlers.discarding());
+        if (resposta.statusCode() / 100 != 2) {
+            throw new IOException("Destino de avisos respondeu " + resposta.statusCode());
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package br.com.agendai.agendai.prazos;
+
+import br.com.agendai.agendai.model.AvisoPrazo;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+// Uma linha JSON por aviso, mas uma única chamada ao logger por lote.
+public class DestinoAvisosLog implements DestinoAvisos {
+
+    private static final Logger LOG = LoggerFactory.getLogger("avisos");
+
+    private final ObjectMapper objectMapper;
+
+    public DestinoAvisosLog(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void entregar(List<AvisoPrazo> lote) throws JsonProcessingException {
+        if (!LOG.isInfoEnabled()) {
+            return;
+        }
+        StringBuilder linhas = new StringBuilder(lote.size() * 200);
+        for (AvisoPrazo aviso : lote) {
+            if (linhas.length() > 0) {
+                linhas.append('\n');
+            }
+            linhas.append(objectMapper.writeValueAsString(aviso));
+        }
+        LOG.info("{}", linhas);
+    }
+}
@@ -0,0 +1,154 @@
+package br.com.agendai.agendai.prazos;
+
+import java.util.function.Consumer;
+
+// Roda de temporização hierárquica: cada nível tem 64 posições e cada posição de um nível cobre uma
+// volta inteira do nível de baixo. Agendar e cancelar são O(1), porque o temporizador só entra ou sai
+// da lista duplamente encadeada da sua posição. A cada tique dispara a posição corrente do primeiro
+// nível; quando ele completa a volta, a próxima posição do nível de cima é redistribuída nos de
+// baixo, então cada temporizador desce no máximo uma vez por nível. Não é thread-safe: quem usa
+// protege as chamadas com a sua própria trava.
+final class RodaTemporizacao<T> {
+
+    private static final int BITS_NIVEL = 6;
+    private static final int POSICOES = 1 << BITS_NIVEL;
+    private static final int MASCARA = POSICOES - 1;
+    // Seis níveis cobrem 64^6 tiques: mais de dois mil anos com resolução de um segundo.
+    private static final int NIVEIS = 6;
+    private static final long ALCANCE = 1L << (BITS_NIVEL * NIVEIS);
+
+    private final long resolucaoMillis;
+    private final Temporizador<T>[] cabecas;
+    private long proximoTique;
+    private int quantidade;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    RodaTemporizacao(long resolucaoMillis, long agoraMillis) {
+        this.resolucaoMillis = resolucaoMillis;
+        this.cabecas = new Temporizador[NIVEIS * POSICOES];
+        this.proximoTique = agoraMillis / resolucaoMillis;
+    }
+
+    // Um instante já passado dispara no próximo avanço.
+    Temporizador<T> agendar(long instanteMillis, T carga) {
+        long tique = Math.max(proximoTique, Math.floorDiv(instanteMillis + resolucaoMillis - 1, resolucaoMillis));
+        Temporizador<T> temporizador = new Temporizador<>(carga, tique);
+        inserir(temporizador);
+        quantidade++;
+        return temporizador;
+    }
+
+    boolean cancelar(Temporizador<T> temporizador) {
+        if (temporizador.posicao < 0) {
+            return false;
+        }
+        desligar(temporizador);
+        quantidade--;
+        return true;
+    }
+
+    // Dispara, em ordem de tique, tudo o que vence até agoraMillis.
+    void avancar(long agoraMillis, Consumer<T> disparo) {
+        long alvo = agoraMillis / resolucaoMillis;
+        if (quantidade == 0) {
+            proximoTique = Math.max(proximoTique, alvo + 1);
+            return;
+        }
+        while (proximoTique <= alvo) {
+            int posicao = (int) (proximoTique & MASCARA);
+            if (posicao == 0) {
+                redistribuir();
+            }
+            Temporizador<T> atual = cabecas[posicao];
+            cabecas[posicao] = null;
+            while (atual != null) {
+                Temporizador<T> seguinte = atual.proximo;
+                atual.anterior = null;
+                atual.proximo = null;
+                atual.posicao = -1;
+                if (atual.tique > proximoTique) {
+                    // Passou do alcance da roda ao ser agendado; volta para o nível que couber agora.
+                    inserir(atual);
+                } else {
+                    quantidade--;
+                    disparo.accept(atual.carga);
+                }
+                atual = seguinte;
+            }
+            proximoTique++;
+        }
+    }
+
+    int quantidade() {
+        return quantidade;
+    }
+
+    // Desce a próxima posição de cada nível cuja volta o nível de baixo acabou de completar.
+    private void redistribuir() {
+        for (int nivel = 1; nivel < NIVEIS; nivel++) {
+            int indice = (int) ((proximoTique >>> (BITS_NIVEL * nivel)) & MASCARA);
+            int posicao = nivel * POSICOES + indice;
+            Temporizador<T> atual = cabecas[posicao];
+            cabecas[posicao] = null;
+            while (atual != null) {
+                Temporizador<T> seguinte = atual.proximo;
+                atual.anterior = null;
+                atual.proximo = null;
+                inserir(atual);
+                atual = seguinte;
+            }
+            if (indice != 0) {
+                return;
+            }
+        }
+    }
+
+    private void inserir(Temporizador<T> temporizador) {
+        long distancia = Math.min(temporizador.tique - proximoTique, ALCANCE - 1);
+        long tique = proximoTique + distancia;
+        int nivel = 0;
+        while (distancia >= 1L << (BITS_NIVEL * (nivel + 1))) {
+            nivel++;
+        }
+        int posicao = nivel * POSICOES + (int) ((tique >>> (BITS_NIVEL * nivel)) & MASCARA);
+        Temporizador<T> cabeca = cabecas[posicao];
+        temporizador.proximo = cabeca;
+        if (cabeca != null) {
+            cabeca.anterior = temporizador;
+        }
+        cabecas[posicao] = temporizador;
+        temporizador.posicao = posicao;
+    }
+
+    private void desligar(Temporizador<T> temporizador) {
+        if (temporizador.anterior != null) {
+            temporizador.anterior.proximo = temporizador.proximo;
+        } else {
+            cabecas[temporizador.posicao] = temporizador.proximo;
+        }
+        if (temporizador.proximo != null) {
+            temporizador.proximo.anterior = temporizador.anterior;
+        }
+        temporizador.anterior = null;
+        temporizador.proximo = null;
+        temporizador.posicao = -1;
+    }
+
+    static final class Temporizador<T> {
+
+        private final T carga;
+        private final long tique;
+        private Temporizador<T> anterior;
+        private Temporizador<T> proximo;
+        private int posicao = -1;
+
+        private Temporizador(T carga, long tique) {
+            this.carga = carga;
+            this.tique = tique;
+        }
+
+        T carga() {
+            return carga;
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package br.com.agendai.agendai.prazos;
+
+public enum TipoDestinoAvisos {
+    LOG,
+    HTTP
+}
@@ -0,0 +1,254 @@
+package br.com.agendai.agendai.prazos;
+
+import br.com.agendai.agendai.model.AvisoPrazo;
+import br.com.agendai.agendai.model.Tarefa;
+import br.com.agendai.agendai.model.TipoAvisoPrazo;
+import br.com.agendai.agendai.service.AgendaPrazos;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Acompanha os prazos das tarefas pendentes de todos os inquilinos em rodas de temporização, uma
+// para lembretes e outra para vencimentos em cada fatia, sem nunca percorrer a loja. Cada mutação agenda ou
+// cancela em O(1); a cada tique da resolução, o que venceu sai das rodas e vai para a caixa de saída.
+// Só prazos futuros são agendados: tarefas que já venceram, inclusive durante uma parada da
+// aplicação, não geram aviso. De uma série fica agendada só a próxima ocorrência em aberto; quando
+// ela vence, a seguinte toma o lugar.
+@Slf4j
+public class VigiaPrazos implements AgendaPrazos, Closeable {
+
+    // Potência de dois: a fatia sai dos bits baixos do hash do id.
+    private static final int FATIAS = 16;
+
+    // Cada fatia tem rodas, mapa e trava próprios. As travas são tomadas de dentro do compute do mapa de
+    // cada partição, e o tique nunca toma a trava do mapa. Mutações de partições diferentes raramente
+    // disputam a mesma fatia, e o tique segura uma fatia por vez enquanto monta os avisos de uma rajada.
+    private final Fatia[] fatias = new Fatia[FATIAS];
+    private final long antecedenciaMillis;
+    private final CaixaSaidaAvisos caixaSaida;
+    private final Clock relogio;
+    private final ScheduledExecutorService tiques = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+        Thread thread = new Thread(tarefa, "prazos");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Counter lembretesDisparados;
+    private final Counter vencimentosDisparados;
+
+    private VigiaPrazos(long resolucaoMillis, Duration antecedenciaLembrete, CaixaSaidaAvisos caixaSaida, Clock relogio,
+                        MeterRegistry registro) {
+        for (int i = 0; i < FATIAS; i++) {
+            fatias[i] = new Fatia(resolucaoMillis, relogio.millis());
+        }
+        this.antecedenciaMillis = antecedenciaLembrete.toMillis();
+        this.caixaSaida = caixaSaida;
+        this.relogio = relogio;
+
+        lembretesDisparados = Counter.builder("agendai.prazos.disparos").tag("tipo", "lembrete").register(registro);
+        vencimentosDisparados = Counter.builder("agendai.prazos.disparos").tag("tipo", "vencimento").register(registro);
+    }
+
+    // O medidor e os tiques recebem a instância já construída.
+    public static VigiaPrazos iniciar(Duration resolucao, Duration antecedenciaLembrete, CaixaSaidaAvisos caixaSaida,
+                                      Clock relogio, MeterRegistry registro) {
+        long resolucaoMillis = Math.max(1, resolucao.toMillis());
+        VigiaPrazos vigia = new VigiaPrazos(resolucaoMillis, antecedenciaLembrete, caixaSaida, relogio, registro);
+        Gauge.builder("agendai.prazos.temporizadores", vigia, VigiaPrazos::temporizadores)
+                .description("Lembretes e vencimentos agendados")
+                .register(registro);
+        vigia.tiques.scheduleAtFixedRate(vigia::tique, resolucaoMillis, resolucaoMillis, TimeUnit.MILLISECONDS);
+        return vigia;
+    }
+
+    @Override
+    public void adicionar(Tarefa tarefa) {
+        Fatia fatia = fatia(tarefa.getIdTarefa());
+        fatia.trava.lock();
+        try {
+            fatia.agendar(tarefa, LocalDateTime.now(relogio));
+        } finally {
+            fatia.trava.unlock();
+        }
+    }
+
+    @Override
+    public void remover(Tarefa tarefa) {
+        Fatia fatia = fatia(tarefa.getIdTarefa());
+        fatia.trava.lock();
+        try {
+            fatia.cancelar(tarefa.getIdTarefa());
+        } finally {
+            fatia.trava.unlock();
+        }
+    }
+
+    // Alterações que não mexem no prazo, na série nem no status só trocam a tarefa que vai no aviso.
+    @Override
+    public void reindexar(Tarefa anterior, Tarefa atual) {
+        Fatia fatia = fatia(atual.getIdTarefa());
+        fatia.trava.lock();
+        try {
+            PrazosTarefa existente = fatia.agendados.get(atual.getIdTarefa());
+            if (existente != null && !atual.estaConcluida() && mesmosPrazos(anterior, atual)) {
+                existente.tarefa = atual;
+                return;
+            }
+            fatia.cancelar(atual.getIdTarefa());
+            fatia.agendar(atual, LocalDateTime.now(relogio));
+        } finally {
+            fatia.trava.unlock();
+        }
+    }
+
+    public int temporizadores() {
+        int total = 0;
+        for (Fatia fatia : fatias) {
+            fatia.trava.lock();
+            try {
+                total += fatia.lembretes.quantidade() + fatia.vencimentos.quantidade();
+            } finally {
+                fatia.trava.unlock();
+            }
+        }
+        return total;
+    }
+
+    @Override
+    public void close() {
+        tiques.shutdownNow();
+        caixaSaida.close();
+    }
+
+    private Fatia fatia(String idTarefa) {
+        int hash = idTarefa.hashCode();
+        return fatias[(hash ^ (hash >>> 16)) & (FATIAS - 1)];
+    }
+
+    // Os avisos são montados dentro da trava de cada fatia, com a versão da tarefa daquele momento, e
+    // enfileirados fora dela, antes de passar à fatia seguinte.
+    private void tique() {
+        try {
+            long agora = relogio.millis();
+            LocalDateTime disparadoEm = LocalDateTime.now(relogio);
+            List<AvisoPrazo> disparados = new ArrayList<>();
+            for (Fatia fatia : fatias) {
+                fatia.trava.lock();
+                try {
+                    fatia.avancar(agora, disparadoEm, disparados);
+                } finally {
+                    fatia.trava.unlock();
+                }
+                for (AvisoPrazo aviso : disparados) {
+                    (aviso.getTipo() == TipoAvisoPrazo.LEMBRETE ? lembretesDisparados : vencimentosDisparados).increment();
+                    caixaSaida.enfileirar(aviso);
+                }
+                disparados.clear();
+            }
+        } catch (RuntimeException e) {
+            // Uma exceção aqui cancelaria os próximos tiques do agendador.
+            log.error("Falha ao disparar avisos de prazo: {}", e.getMessage(), e);
+        }
+    }
+
+    private static boolean mesmosPrazos(Tarefa anterior, Tarefa atual) {
+        return Objects.equals(anterior.getPrazo(), atual.getPrazo())
+                && Objects.equals(anterior.getRecorrencia(), atual.getRecorrencia())
+                && anterior.getOcorrenciasConcluidas().equals(atual.getOcorrenciasConcluidas());
+    }
+
+    private static AvisoPrazo aviso(TipoAvisoPrazo tipo, PrazosTarefa prazos, LocalDateTime disparadoEm) {
+        Tarefa tarefa = prazos.tarefa;
+        return new AvisoPrazo(tipo, tarefa.getInquilino(), tarefa.getIdTarefa(), tarefa.getTitulo(),
+                prazos.prazo, disparadoEm);
+    }
+
+    // Não é thread-safe: todo acesso acontece sob a trava da própria fatia.
+    private final class Fatia {
+
+        private final ReentrantLock trava = new ReentrantLock();
+        private final RodaTemporizacao<PrazosTarefa> lembretes;
+        private final RodaTemporizacao<PrazosTarefa> vencimentos;
+        private final Map<String, PrazosTarefa> agendados = new HashMap<>();
+
+        private Fatia(long resolucaoMillis, long agoraMillis) {
+            this.lembretes = new RodaTemporizacao<>(resolucaoMillis, agoraMillis);
+            this.vencimentos = new RodaTemporizacao<>(resolucaoMillis, agoraMillis);
+        }
+
+        private void agendar(Tarefa tarefa, LocalDateTime depoisDe) {
+            if (tarefa.getPrazo() == null || tarefa.estaConcluida()) {
+                return;
+            }
+            LocalDateTime prazo = tarefa.proximoPrazo(depoisDe);
+            if (prazo == null) {
+                return;
+            }
+            long agora = relogio.millis();
+            long vencimento = prazo.atZone(relogio.getZone()).toInstant().toEpochMilli();
+            if (vencimento <= agora) {
+                return;
+            }
+            PrazosTarefa prazos = new PrazosTarefa(tarefa, prazo);
+            prazos.vencimento = vencimentos.agendar(vencimento, prazos);
+            long lembrete = vencimento - antecedenciaMillis;
+            if (antecedenciaMillis > 0 && lembrete > agora) {
+                prazos.lembrete = lembretes.agendar(lembrete, prazos);
+            }
+            agendados.put(tarefa.getIdTarefa(), prazos);
+        }
+
+        private void cancelar(String idTarefa) {
+            PrazosTarefa prazos = agendados.remove(idTarefa);
+            if (prazos == null) {
+                return;
+            }
+            if (prazos.lembrete != null) {
+                lembretes.cancelar(prazos.lembrete);
+            }
+            vencimentos.cancelar(prazos.vencimento);
+        }
+
+        private void avancar(long agora, LocalDateTime disparadoEm, List<AvisoPrazo> disparados) {
+            lembretes.avancar(agora, prazos -> {
+                prazos.lembrete = null;
+                disparados.add(aviso(TipoAvisoPrazo.LEMBRETE, prazos, disparadoEm));
+            });
+            vencimentos.avancar(agora, prazos -> {
+                agendados.remove(prazos.tarefa.getIdTarefa(), prazos);
+                disparados.add(aviso(TipoAvisoPrazo.VENCIMENTO, prazos, disparadoEm));
+                if (prazos.tarefa.ehRecorrente()) {
+                    agendar(prazos.tarefa, prazos.prazo);
+                }
+            });
+        }
+    }
+
+    private static final class PrazosTarefa {
+
+        private final LocalDateTime prazo;
+        private Tarefa tarefa;
+        private RodaTemporizacao.Temporizador<PrazosTarefa> lembrete;
+        private RodaTemporizacao.Temporizador<PrazosTarefa> vencimento;
+
+        private PrazosTarefa(Tarefa tarefa, LocalDateTime prazo) {
+            this.tarefa = tarefa;
+            this.prazo = prazo;
+        }
+    }
+}
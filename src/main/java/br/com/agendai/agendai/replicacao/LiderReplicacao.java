@@ -0,0 +1,308 @@
+package br.com.agendai.agendai.replicacao;
+
+import br.com.agendai.agendai.model.EventoTarefa;
+import br.com.agendai.agendai.model.Tarefa;
+import br.com.agendai.agendai.model.TipoEventoTarefa;
+import br.com.agendai.agendai.persistencia.CodificadorEventos;
+import br.com.agendai.agendai.service.DiarioMutacoes;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+// Decora o diário local e transmite, por TCP, cada mutação registrada aos seguidores conectados.
+// Quem escreve só numera o evento e o coloca na fila limitada de cada seguidor; uma thread por
+// seguidor esvazia a fila no socket. Um seguidor que deixa a fila encher é desconectado e, ao
+// voltar, ressincroniza a partir de um instantâneo novo.
+@Slf4j
+public class LiderReplicacao implements DiarioMutacoes, MeterBinder, Closeable {
+
+    private static final int TAMANHO_BUFFER = 1 << 16;
+
+    private final DiarioMutacoes diarioLocal;
+    private final int porta;
+    private final Duration intervaloBatimento;
+    private final int capacidadeFila;
+    private final QuadroReplicacao[] historico;
+    private final ReentrantLock travaPublicacao = new ReentrantLock();
+    private final List<ConexaoSeguidor> seguidores = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService batimentos = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+        Thread thread = new Thread(tarefa, "replicacao-batimento");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicLong seguidoresDescartados = new AtomicLong();
+
+    // Só muda sob a trava de publicação; quem escreve no socket lê sem ela para carimbar a cabeça.
+    private volatile long sequencia;
+    private volatile Supplier<Stream<Tarefa>> estadoAtual;
+    private volatile ServerSocket servidor;
+    private volatile boolean ativo = true;
+
+    public LiderReplicacao(DiarioMutacoes diarioLocal, int porta, Duration intervaloBatimento, int capacidadeFila,
+                           int tamanhoHistorico) {
+        this.diarioLocal = diarioLocal;
+        this.porta = porta;
+        this.intervaloBatimento = intervaloBatimento;
+        this.capacidadeFila = capacidadeFila;
+        this.historico = new QuadroReplicacao[tamanhoHistorico];
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registro) {
+        Gauge.builder("agendai.replicacao.seguidores", seguidores, List::size)
+                .description("Seguidores conectados ao líder")
+                .register(registro);
+        Gauge.builder("agendai.replicacao.sequencia", this, LiderReplicacao::sequencia)
+                .description("Última mutação publicada pelo líder")
+                .register(registro);
+        FunctionCounter.builder("agendai.replicacao.seguidores.descartados", seguidoresDescartados, AtomicLong::get)
+                .description("Seguidores desconectados por não acompanharem o fluxo de mutações")
+                .register(registro);
+    }
+
+    @Override
+    public void recuperar(Consumer<EventoTarefa> aplicador) {
+        diarioLocal.recuperar(aplicador);
+    }
+
+    @Override
+    public void iniciar(Supplier<Stream<Tarefa>> estadoAtual) {
+        diarioLocal.iniciar(estadoAtual);
+        this.estadoAtual = estadoAtual;
+        try {
+            ServerSocket socket = new ServerSocket();
+            socket.setReuseAddress(true);
+            socket.bind(new InetSocketAddress(porta));
+            servidor = socket;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao abrir a porta de replicação " + porta, e);
+        }
+        iniciarThread("replicacao-lider", this::aceitar);
+        long intervalo = intervaloBatimento.toMillis();
+        batimentos.scheduleWithFixedDelay(this::bater, intervalo, intervalo, TimeUnit.MILLISECONDS);
+        log.info("Líder de replicação aguardando seguidores na porta {}", porta());
+    }
+
+    // O evento é codificado fora da trava; dentro dela só recebe a sequência e entra nas filas, de modo
+    // que todo seguidor o recebe na mesma ordem. A ordem entre eventos da mesma tarefa já vem garantida
+    // por quem escreve, que registra dentro do compute do mapa.
+    @Override
+    public long registrar(EventoTarefa evento) {
+        long sequenciaLocal = diarioLocal.registrar(evento);
+        byte[] conteudo = CodificadorEventos.codificar(evento);
+
+        travaPublicacao.lock();
+        try {
+            QuadroReplicacao quadro = new QuadroReplicacao(
+                    QuadroReplicacao.EVENTO, ++sequencia, System.currentTimeMillis(), conteudo);
+            historico[(int) (quadro.getSequencia() % historico.length)] = quadro;
+            for (ConexaoSeguidor seguidor : seguidores) {
+                seguidor.enfileirar(quadro);
+            }
+        } finally {
+            travaPublicacao.unlock();
+        }
+        return sequenciaLocal;
+    }
+
+    @Override
+    public void publicado(long sequencia) {
+        diarioLocal.publicado(sequencia);
+    }
+
+    @Override
+    public void aguardarDurabilidade(long sequencia) {
+        diarioLocal.aguardarDurabilidade(sequencia);
+    }
+
+    public int porta() {
+        return servidor.getLocalPort();
+    }
+
+    public long sequencia() {
+        return sequencia;
+    }
+
+    @Override
+    public void close() throws IOException {
+        ativo = false;
+        batimentos.shutdownNow();
+        if (servidor != null) {
+            servidor.close();
+        }
+        for (ConexaoSeguidor seguidor : seguidores) {
+            seguidor.socket.close();
+        }
+        if (diarioLocal instanceof Closeable fechavel) {
+            fechavel.close();
+        }
+    }
+
+    private void aceitar() {
+        while (ativo) {
+            try {
+                Socket socket = servidor.accept();
+                iniciarThread("replicacao-seguidor-" + socket.getRemoteSocketAddress(), () -> atender(socket));
+            } catch (IOException e) {
+                if (ativo) {
+                    log.error("Falha ao aceitar seguidor de replicação: {}", e.getMessage(), e);
+                }
+            }
+        }
+    }
+
+    // Quem escreve registra no diário antes de publicar a tarefa no mapa, então as últimas mutações
+    // anteriores à conexão podem não aparecer no instantâneo. Como no DiarioMapeado, elas são
+    // reenviadas depois dele a partir do histórico; como cada evento leva o estado completo da
+    // tarefa e o seguidor ignora as versões que o instantâneo já superou, a reaplicação converge
+    // sem fazer o estado voltar.
+    private void atender(Socket socket) {
+        SocketAddress endereco = socket.getRemoteSocketAddress();
+        ConexaoSeguidor seguidor = new ConexaoSeguidor(socket, capacidadeFila);
+        long corte;
+        List<QuadroReplicacao> recentes;
+        travaPublicacao.lock();
+        try {
+            seguidores.add(seguidor);
+            corte = sequencia;
+            recentes = historicoAte(corte);
+        } finally {
+            travaPublicacao.unlock();
+        }
+
+        log.info("Seguidor {} conectado; enviando instantâneo até a sequência {}", endereco, corte);
+        try (socket) {
+            socket.setTcpNoDelay(true);
+            DataOutputStream saida = new DataOutputStream(
+                    new BufferedOutputStream(socket.getOutputStream(), TAMANHO_BUFFER));
+            saida.writeInt(QuadroReplicacao.MAGICO);
+            saida.writeByte(QuadroReplicacao.VERSAO_PROTOCOLO);
+            enviarInstantaneo(saida, seguidor, corte);
+            for (QuadroReplicacao quadro : recentes) {
+                quadro.escrever(saida, sequencia);
+            }
+            saida.flush();
+
+            while (ativo) {
+                QuadroReplicacao quadro = seguidor.fila.poll(intervaloBatimento.toMillis(), TimeUnit.MILLISECONDS);
+                verificarAtraso(seguidor);
+                if (quadro == null) {
+                    continue;
+                }
+                quadro.escrever(saida, sequencia);
+                if (seguidor.fila.isEmpty()) {
+                    saida.flush();
+                }
+            }
+        } catch (IOException e) {
+            if (ativo) {
+                log.warn("Seguidor {} desconectado: {}", endereco, e.getMessage());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            seguidores.remove(seguidor);
+        }
+    }
+
+    private void enviarInstantaneo(DataOutputStream saida, ConexaoSeguidor seguidor, long corte) throws IOException {
+        QuadroReplicacao.controle(QuadroReplicacao.INICIO_INSTANTANEO, corte).escrever(saida, corte);
+        try (Stream<Tarefa> tarefas = estadoAtual.get()) {
+            Iterator<Tarefa> iterador = tarefas.iterator();
+            while (iterador.hasNext()) {
+                Tarefa tarefa = iterador.next();
+                byte[] conteudo = CodificadorEventos.codificar(
+                        new EventoTarefa(TipoEventoTarefa.CRIADA, tarefa.getIdTarefa(), tarefa));
+                new QuadroReplicacao(QuadroReplicacao.TAREFA_INSTANTANEO, corte, 0, conteudo)
+                        .escrever(saida, sequencia);
+                verificarAtraso(seguidor);
+            }
+        }
+        QuadroReplicacao.controle(QuadroReplicacao.FIM_INSTANTANEO, corte).escrever(saida, sequencia);
+    }
+
+    private void verificarAtraso(ConexaoSeguidor seguidor) throws IOException {
+        if (seguidor.atrasado) {
+            seguidoresDescartados.incrementAndGet();
+            throw new IOException("fila de replicação cheia (" + capacidadeFila + " quadros)");
+        }
+    }
+
+    private List<QuadroReplicacao> historicoAte(long corte) {
+        List<QuadroReplicacao> recentes = new ArrayList<>();
+        for (long s = Math.max(1, corte - historico.length + 1); s <= corte; s++) {
+            QuadroReplicacao quadro = historico[(int) (s % historico.length)];
+            if (quadro != null && quadro.getSequencia() == s) {
+                recentes.add(quadro);
+            }
+        }
+        return recentes;
+    }
+
+    // O batimento passa pela mesma fila dos eventos: quando o seguidor o aplica, tudo o que veio antes
+    // já foi aplicado, então o instante dele diz até quando o estado do seguidor está em dia. Sem
+    // receber nada por alguns intervalos, o seguidor considera a conexão perdida.
+    private void bater() {
+        travaPublicacao.lock();
+        try {
+            QuadroReplicacao batimento = QuadroReplicacao.controle(QuadroReplicacao.BATIMENTO, sequencia);
+            for (ConexaoSeguidor seguidor : seguidores) {
+                seguidor.enfileirar(batimento);
+            }
+        } finally {
+            travaPublicacao.unlock();
+        }
+    }
+
+    private static void iniciarThread(String nome, Runnable execucao) {
+        Thread thread = new Thread(execucao, nome);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private static final class ConexaoSeguidor {
+
+        private final Socket socket;
+        private final BlockingQueue<QuadroReplicacao> fila;
+        private volatile boolean atrasado;
+
+        private ConexaoSeguidor(Socket socket, int capacidadeFila) {
+            this.socket = socket;
+            this.fila = new ArrayBlockingQueue<>(capacidadeFila);
+        }
+
+        // Com a fila cheia o quadro é perdido, então a conexão já não pode continuar.
+        private void enfileirar(QuadroReplicacao quadro) {
+            if (!fila.offer(quadro)) {
+                atrasado = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package br.com.agendai.agendai.replicacao;
+
+public enum PapelReplicacao {
+    // Nó isolado: nenhum socket de replicação é aberto.
+    NENHUM,
+    // Aceita escritas e transmite cada mutação aos seguidores conectados.
+    LIDER,
+    // Recebe o estado do líder e atende só leituras.
+    SEGUIDOR
+}
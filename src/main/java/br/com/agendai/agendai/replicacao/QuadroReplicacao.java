@@ -0,0 +1,67 @@
+package br.com.agendai.agendai.replicacao;
+
+import lombok.Value;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+// Unidade do protocolo entre líder e seguidor: [tipo][sequência][cabeça][instante no líder][tamanho][conteúdo].
+// Eventos e tarefas do instantâneo levam no conteúdo o mesmo registro gravado no diário. A cabeça é a
+// última sequência publicada pelo líder no momento em que o quadro foi escrito no socket, e não quando
+// entrou na fila: assim o seguidor enxerga o que ainda está represado na fila do líder.
+@Value
+class QuadroReplicacao {
+
+    static final int MAGICO = 0x41475250;
+    static final byte VERSAO_PROTOCOLO = 2;
+
+    static final byte EVENTO = 1;
+    static final byte INICIO_INSTANTANEO = 2;
+    static final byte TAREFA_INSTANTANEO = 3;
+    static final byte FIM_INSTANTANEO = 4;
+    static final byte BATIMENTO = 5;
+
+    private static final byte[] VAZIO = new byte[0];
+
+    byte tipo;
+    long sequencia;
+    long instante;
+    byte[] conteudo;
+    long cabeca;
+
+    QuadroReplicacao(byte tipo, long sequencia, long instante, byte[] conteudo) {
+        this(tipo, sequencia, instante, conteudo, 0);
+    }
+
+    private QuadroReplicacao(byte tipo, long sequencia, long instante, byte[] conteudo, long cabeca) {
+        this.tipo = tipo;
+        this.sequencia = sequencia;
+        this.instante = instante;
+        this.conteudo = conteudo;
+        this.cabeca = cabeca;
+    }
+
+    static QuadroReplicacao controle(byte tipo, long sequencia) {
+        return new QuadroReplicacao(tipo, sequencia, System.currentTimeMillis(), VAZIO);
+    }
+
+    void escrever(DataOutput saida, long cabecaAtual) throws IOException {
+        saida.writeByte(tipo);
+        saida.writeLong(sequencia);
+        saida.writeLong(cabecaAtual);
+        saida.writeLong(instante);
+        saida.writeInt(conteudo.length);
+        saida.write(conteudo);
+    }
+
+    static QuadroReplicacao ler(DataInput entrada) throws IOException {
+        byte tipo = entrada.readByte();
+        long sequencia = entrada.readLong();
+        long cabeca = entrada.readLong();
+        long instante = entrada.readLong();
+        byte[] conteudo = new byte[entrada.readInt()];
+        entrada.readFully(conteudo);
+        return new QuadroReplicacao(tipo, sequencia, instante, conteudo, cabeca);
+    }
+}
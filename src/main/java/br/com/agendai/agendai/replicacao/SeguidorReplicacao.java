@@ -0,0 +1,283 @@
+package br.com.agendai.agendai.replicacao;
+
+import br.com.agendai.agendai.exception.ReplicaSomenteLeituraException;
+import br.com.agendai.agendai.model.EventoTarefa;
+import br.com.agendai.agendai.model.Tarefa;
+import br.com.agendai.agendai.model.TipoEventoTarefa;
+import br.com.agendai.agendai.persistencia.CodificadorEventos;
+import br.com.agendai.agendai.service.DiarioMutacoes;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Ocupa o lugar do diário num nó seguidor: em vez de ler o disco, recebe do líder um instantâneo
+// seguido do fluxo de mutações e aplica tudo pelo mesmo caminho da recuperação. Não grava nada
+// localmente e recusa escritas. Ao perder o líder tenta de novo e ressincroniza do zero.
+//
+// Uma thread lê o socket e outra aplica: quem lê vê até onde o líder chegou mesmo quando a aplicação
+// está atrasada, e é essa diferença que o atraso mede. Com a fila local cheia a leitura para, o TCP
+// segura o líder e, se a fila dele também encher, ele desconecta o seguidor.
+@Slf4j
+public class SeguidorReplicacao implements DiarioMutacoes, MeterBinder, Closeable {
+
+    private static final int TAMANHO_BUFFER = 1 << 16;
+    private static final int BATIMENTOS_PERDIDOS = 3;
+    private static final int CAPACIDADE_RECEBIDOS = 65536;
+
+    private final String hostLider;
+    private final int portaLider;
+    private final Duration intervaloBatimento;
+    private final Duration intervaloReconexao;
+    private final BlockingQueue<QuadroReplicacao> recebidos = new ArrayBlockingQueue<>(CAPACIDADE_RECEBIDOS);
+
+    private volatile Consumer<EventoTarefa> aplicador;
+    private volatile Supplier<Stream<Tarefa>> estadoAtual;
+    private volatile Thread receptor;
+    private volatile Thread aplicadora;
+    private volatile Socket socket;
+    private volatile boolean ativo = true;
+    private volatile boolean sincronizado;
+    private volatile long sequenciaAplicada;
+    private volatile long sequenciaLider;
+    private volatile long instanteAplicado = System.currentTimeMillis();
+
+    public SeguidorReplicacao(String hostLider, int portaLider, Duration intervaloBatimento,
+                              Duration intervaloReconexao) {
+        this.hostLider = hostLider;
+        this.portaLider = portaLider;
+        this.intervaloBatimento = intervaloBatimento;
+        this.intervaloReconexao = intervaloReconexao;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registro) {
+        Gauge.builder("agendai.replicacao.atraso.eventos", this, SeguidorReplicacao::atrasoEventos)
+                .description("Mutações já publicadas pelo líder e ainda não aplicadas no seguidor")
+                .register(registro);
+        TimeGauge.builder("agendai.replicacao.atraso", this, TimeUnit.MILLISECONDS, SeguidorReplicacao::atrasoMillis)
+                .description("Idade do estado servido pelo seguidor, pelo relógio do líder")
+                .register(registro);
+        Gauge.builder("agendai.replicacao.sincronizado", this, s -> s.sincronizado() ? 1 : 0)
+                .description("1 quando o seguidor está conectado e já aplicou o instantâneo do líder")
+                .register(registro);
+    }
+
+    @Override
+    public void recuperar(Consumer<EventoTarefa> aplicador) {
+        this.aplicador = aplicador;
+    }
+
+    @Override
+    public void iniciar(Supplier<Stream<Tarefa>> estadoAtual) {
+        this.estadoAtual = estadoAtual;
+        receptor = iniciarThread("replicacao-seguidor", this::receber);
+        aplicadora = iniciarThread("replicacao-seguidor-aplicacao", this::aplicar);
+    }
+
+    @Override
+    public long registrar(EventoTarefa evento) {
+        throw new ReplicaSomenteLeituraException();
+    }
+
+    @Override
+    public void publicado(long sequencia) {
+    }
+
+    @Override
+    public void aguardarDurabilidade(long sequencia) {
+    }
+
+    public boolean sincronizado() {
+        return sincronizado && socket != null;
+    }
+
+    public long sequenciaAplicada() {
+        return sequenciaAplicada;
+    }
+
+    public long atrasoEventos() {
+        return Math.max(0, sequenciaLider - sequenciaAplicada);
+    }
+
+    // Agora menos o instante, no líder, do último quadro aplicado. Parado, o batimento mantém isso perto
+    // de um intervalo; sem conexão, cresce até voltar. Supõe relógios sincronizados entre os nós.
+    public long atrasoMillis() {
+        return Math.max(0, System.currentTimeMillis() - instanteAplicado);
+    }
+
+    @Override
+    public void close() throws IOException {
+        ativo = false;
+        Socket atual = socket;
+        if (atual != null) {
+            atual.close();
+        }
+        for (Thread thread : new Thread[]{receptor, aplicadora}) {
+            if (thread == null) {
+                continue;
+            }
+            thread.interrupt();
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void receber() {
+        while (ativo) {
+            try (Socket conexao = new Socket()) {
+                conexao.connect(new InetSocketAddress(hostLider, portaLider), (int) intervaloReconexao.toMillis());
+                conexao.setSoTimeout((int) intervaloBatimento.toMillis() * BATIMENTOS_PERDIDOS);
+                socket = conexao;
+                DataInputStream entrada = new DataInputStream(
+                        new BufferedInputStream(conexao.getInputStream(), TAMANHO_BUFFER));
+                if (entrada.readInt() != QuadroReplicacao.MAGICO
+                        || entrada.readByte() != QuadroReplicacao.VERSAO_PROTOCOLO) {
+                    throw new IOException("protocolo de replicação incompatível");
+                }
+                log.info("Conectado ao líder {}:{}", hostLider, portaLider);
+                receberFluxo(entrada);
+            } catch (IOException | RuntimeException e) {
+                if (ativo) {
+                    log.warn("Replicação a partir de {}:{} interrompida: {}", hostLider, portaLider, e.getMessage());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                ativo = false;
+            } finally {
+                socket = null;
+                sincronizado = false;
+                // O que sobrou da conexão perdida não serve: a próxima começa com um instantâneo completo.
+                recebidos.clear();
+            }
+            esperarReconexao();
+        }
+    }
+
+    private void receberFluxo(DataInputStream entrada) throws IOException, InterruptedException {
+        while (ativo) {
+            QuadroReplicacao quadro = QuadroReplicacao.ler(entrada);
+            if (quadro.getTipo() == QuadroReplicacao.INICIO_INSTANTANEO) {
+                // Um líder reiniciado recomeça a numeração; o máximo aqui prenderia o atraso no valor antigo.
+                sequenciaLider = quadro.getCabeca();
+            } else {
+                sequenciaLider = Math.max(sequenciaLider, Math.max(quadro.getCabeca(), quadro.getSequencia()));
+            }
+            recebidos.put(quadro);
+        }
+    }
+
+    private void aplicar() {
+        Set<String> vistos = new HashSet<>();
+        long instanteInstantaneo = 0;
+        while (ativo) {
+            QuadroReplicacao quadro;
+            try {
+                quadro = recebidos.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            try {
+                switch (quadro.getTipo()) {
+                    case QuadroReplicacao.INICIO_INSTANTANEO -> {
+                        sincronizado = false;
+                        sequenciaAplicada = 0;
+                        instanteInstantaneo = quadro.getInstante();
+                        vistos.clear();
+                    }
+                    case QuadroReplicacao.TAREFA_INSTANTANEO -> {
+                        EventoTarefa evento = CodificadorEventos.decodificar(quadro.getConteudo());
+                        aplicador.accept(evento);
+                        vistos.add(evento.getIdTarefa());
+                    }
+                    case QuadroReplicacao.FIM_INSTANTANEO -> {
+                        removerAusentes(vistos);
+                        vistos = new HashSet<>();
+                        sequenciaAplicada = quadro.getSequencia();
+                        instanteAplicado = instanteInstantaneo;
+                        sincronizado = true;
+                        log.info("Instantâneo do líder aplicado até a sequência {}", quadro.getSequencia());
+                    }
+                    case QuadroReplicacao.EVENTO -> {
+                        aplicador.accept(CodificadorEventos.decodificar(quadro.getConteudo()));
+                        sequenciaAplicada = Math.max(sequenciaAplicada, quadro.getSequencia());
+                        instanteAplicado = quadro.getInstante();
+                    }
+                    case QuadroReplicacao.BATIMENTO -> {
+                        if (sincronizado) {
+                            sequenciaAplicada = Math.max(sequenciaAplicada, quadro.getSequencia());
+                            instanteAplicado = quadro.getInstante();
+                        }
+                    }
+                    default -> throw new IOException("quadro de replicação desconhecido: " + quadro.getTipo());
+                }
+            } catch (IOException | RuntimeException e) {
+                log.warn("Falha ao aplicar quadro do líder; reconectando: {}", e.getMessage());
+                reconectar();
+            }
+        }
+    }
+
+    // Depois de uma reconexão, o que o seguidor tem e não veio no instantâneo foi removido no líder.
+    private void removerAusentes(Set<String> vistos) {
+        List<Tarefa> ausentes;
+        try (Stream<Tarefa> tarefas = estadoAtual.get()) {
+            ausentes = tarefas.filter(tarefa -> !vistos.contains(tarefa.getIdTarefa())).collect(Collectors.toList());
+        }
+        for (Tarefa tarefa : ausentes) {
+            aplicador.accept(new EventoTarefa(TipoEventoTarefa.REMOVIDA, tarefa.getInquilino(), tarefa.getIdTarefa(), null));
+        }
+    }
+
+    // Fechar o socket derruba a leitura, que limpa a fila e volta com um instantâneo novo.
+    private void reconectar() {
+        Socket atual = socket;
+        if (atual == null) {
+            return;
+        }
+        try {
+            atual.close();
+        } catch (IOException e) {
+            log.debug("Falha ao fechar a conexão com o líder: {}", e.getMessage());
+        }
+    }
+
+    private void esperarReconexao() {
+        try {
+            Thread.sleep(intervaloReconexao.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            ativo = false;
+        }
+    }
+
+    private static Thread iniciarThread(String nome, Runnable execucao) {
+        Thread thread = new Thread(execucao, nome);
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+}
@@ -0,0 +1,22 @@
+package br.com.agendai.agendai.service;
+
+import br.com.agendai.agendai.model.Tarefa;
+
+// Projeção opcional dos prazos das tarefas pendentes: recebe cada mutação dentro do compute do
+// mapa, então agendar e cancelar os avisos de uma tarefa precisa custar O(1).
+public interface AgendaPrazos extends ProjecaoTarefas {
+
+    AgendaPrazos NENHUMA = new AgendaPrazos() {
+        @Override
+        public void adicionar(Tarefa tarefa) {
+        }
+
+        @Override
+        public void remover(Tarefa tarefa) {
+        }
+
+        @Override
+        public void reindexar(Tarefa anterior, Tarefa atual) {
+        }
+    };
+}
@@ -0,0 +1,163 @@
+package br.com.agendai.agendai.service;
+
+import br.com.agendai.agendai.model.PrioridadeTarefa;
+import br.com.agendai.agendai.model.StatusTarefa;
+import br.com.agendai.agendai.model.Tarefa;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+// Cada tarefa ocupa uma linha em arrays paralelos: status e prioridade como byte, instantes como
+// nanossegundos desde a época (lidos em UTC, o que preserva a ordem exata dos LocalDateTime). Textos
+// continuam só nas tarefas; o ID fica no mapa que localiza a linha. Agregar é um laço sobre primitivos contíguos, sem seguir referências até os
+// objetos Tarefa. Linhas liberadas por remoções são reaproveitadas. Escritas alteram uma linha sob a
+// trava de escrita; varreduras seguram a de leitura.
+public class ArmazemColunar implements ColunasTarefas {
+
+    static final long AUSENTE = Long.MIN_VALUE;
+    private static final byte LIVRE = -1;
+    private static final int CAPACIDADE_INICIAL = 1024;
+    private static final long NANOS_POR_SEGUNDO = 1_000_000_000L;
+    private static final StatusTarefa[] STATUS = StatusTarefa.values();
+    private static final PrioridadeTarefa[] PRIORIDADES = PrioridadeTarefa.values();
+    private static final CampoTemporal[] CAMPOS = CampoTemporal.values();
+
+    private final ReentrantReadWriteLock trava = new ReentrantReadWriteLock();
+    private final Map<String, Integer> linhaPorId = new HashMap<>();
+    private byte[] status = new byte[CAPACIDADE_INICIAL];
+    private byte[] prioridade = new byte[CAPACIDADE_INICIAL];
+    private final long[][] instantes = new long[CAMPOS.length][CAPACIDADE_INICIAL];
+    private int[] linhasLivres = new int[16];
+    private int quantidadeLivres;
+    private int linhasUsadas;
+
+    @Override
+    public void adicionar(Tarefa tarefa) {
+        trava.writeLock().lock();
+        try {
+            Integer linha = linhaPorId.get(tarefa.getIdTarefa());
+            if (linha == null) {
+                linha = novaLinha();
+                linhaPorId.put(tarefa.getIdTarefa(), linha);
+            }
+            preencher(linha, tarefa);
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remover(Tarefa tarefa) {
+        trava.writeLock().lock();
+        try {
+            Integer linha = linhaPorId.remove(tarefa.getIdTarefa());
+            if (linha == null) {
+                return;
+            }
+            status[linha] = LIVRE;
+            if (quantidadeLivres == linhasLivres.length) {
+                linhasLivres = Arrays.copyOf(linhasLivres, quantidadeLivres * 2);
+            }
+            linhasLivres[quantidadeLivres++] = linha;
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void reindexar(Tarefa anterior, Tarefa atual) {
+        adicionar(atual);
+    }
+
+    @Override
+    public ObterEstatisticas agregar(CampoTemporal campo, LocalDateTime inicio, LocalDateTime fim,
+                                     Supplier<ObterEstatisticas> varreduraObjetos) {
+        long de = nanos(inicio);
+        long ate = nanos(fim);
+        long[] porStatus = new long[STATUS.length];
+        long[] porPrioridade = new long[PRIORIDADES.length];
+
+        trava.readLock().lock();
+        try {
+            long[] coluna = instantes[campo.ordinal()];
+            for (int linha = 0; linha < linhasUsadas; linha++) {
+                long instante = coluna[linha];
+                byte s = status[linha];
+                if (instante > de && instante < ate && s != LIVRE) {
+                    porStatus[s]++;
+                    porPrioridade[prioridade[linha]]++;
+                }
+            }
+        } finally {
+            trava.readLock().unlock();
+        }
+
+        Map<StatusTarefa, Long> tarefasPorStatus = new EnumMap<>(StatusTarefa.class);
+        for (int i = 0; i < porStatus.length; i++) {
+            if (porStatus[i] > 0) {
+                tarefasPorStatus.put(STATUS[i], porStatus[i]);
+            }
+        }
+        Map<PrioridadeTarefa, Long> tarefasPorPrioridade = new EnumMap<>(PrioridadeTarefa.class);
+        for (int i = 0; i < porPrioridade.length; i++) {
+            if (porPrioridade[i] > 0) {
+                tarefasPorPrioridade.put(PRIORIDADES[i], porPrioridade[i]);
+            }
+        }
+        return ObterEstatisticas.de(tarefasPorStatus, tarefasPorPrioridade);
+    }
+
+    int quantidadeLinhas() {
+        trava.readLock().lock();
+        try {
+            return linhaPorId.size();
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    // Instantes fora do alcance de um long em nanossegundos (antes de 1677 ou depois de 2262) são
+    // saturados; AUSENTE fica reservado para campos nulos e nunca cai dentro de um intervalo aberto.
+    static long nanos(LocalDateTime instante) {
+        if (instante == null) {
+            return AUSENTE;
+        }
+        long segundos = instante.toEpochSecond(ZoneOffset.UTC);
+        if (segundos >= Long.MAX_VALUE / NANOS_POR_SEGUNDO) {
+            return Long.MAX_VALUE;
+        }
+        if (segundos <= Long.MIN_VALUE / NANOS_POR_SEGUNDO) {
+            return AUSENTE + 1;
+        }
+        return segundos * NANOS_POR_SEGUNDO + instante.getNano();
+    }
+
+    private int novaLinha() {
+        if (quantidadeLivres > 0) {
+            return linhasLivres[--quantidadeLivres];
+        }
+        if (linhasUsadas == status.length) {
+            int capacidade = status.length * 2;
+            status = Arrays.copyOf(status, capacidade);
+            prioridade = Arrays.copyOf(prioridade, capacidade);
+            for (int i = 0; i < instantes.length; i++) {
+                instantes[i] = Arrays.copyOf(instantes[i], capacidade);
+            }
+        }
+        return linhasUsadas++;
+    }
+
+    private void preencher(int linha, Tarefa tarefa) {
+        status[linha] = (byte) tarefa.getStatus().ordinal();
+        prioridade[linha] = (byte) tarefa.getPrioridade().ordinal();
+        for (CampoTemporal campo : CAMPOS) {
+            instantes[campo.ordinal()][linha] = nanos(campo.de(tarefa));
+        }
+    }
+}
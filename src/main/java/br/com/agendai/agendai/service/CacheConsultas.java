@@ -0,0 +1,24 @@
+package br.com.agendai.agendai.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+import java.util.function.Supplier;
+
+public interface CacheConsultas {
+
+    CacheConsultas NENHUM = new CacheConsultas() {
+        @Override
+        public <T> T obter(ChaveConsulta chave, Supplier<T> consulta) {
+            return consulta.get();
+        }
+
+        @Override
+        public void vincular(MeterRegistry registro, Tags tags) {
+        }
+    };
+
+    <T> T obter(ChaveConsulta chave, Supplier<T> consulta);
+
+    void vincular(MeterRegistry registro, Tags tags);
+}
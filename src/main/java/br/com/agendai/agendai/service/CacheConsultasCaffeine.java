@@ -0,0 +1,52 @@
+package br.com.agendai.agendai.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+// O peso de uma página ou lista é a quantidade de itens que ela referencia; as tarefas em si são as
+// mesmas instâncias imutáveis da loja, então o cache guarda só as listas.
+public class CacheConsultasCaffeine implements CacheConsultas {
+
+    static final String NOME_CACHE = "consultas.tarefas";
+
+    private final Cache<ChaveConsulta, Object> cache;
+
+    public CacheConsultasCaffeine(long pesoMaximo) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(pesoMaximo)
+                .weigher((ChaveConsulta chave, Object resultado) -> peso(resultado))
+                .recordStats()
+                .build();
+    }
+
+    // Consultas concorrentes pela mesma chave esperam uma única execução.
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T obter(ChaveConsulta chave, Supplier<T> consulta) {
+        return (T) cache.get(chave, ignorada -> consulta.get());
+    }
+
+    @Override
+    public void vincular(MeterRegistry registro, Tags tags) {
+        CaffeineCacheMetrics.monitor(registro, cache, NOME_CACHE, tags);
+        Gauge.builder("agendai.cache.consultas.peso", cache,
+                        c -> c.policy().eviction().map(e -> e.weightedSize().orElse(0)).orElse(0L))
+                .description("Tarefas referenciadas pelos resultados em cache")
+                .tags(tags)
+                .register(registro);
+    }
+
+    private static int peso(Object resultado) {
+        if (resultado instanceof Pagina<?> pagina) {
+            return 1 + pagina.getItens().size();
+        }
+        return resultado instanceof List<?> lista ? 1 + lista.size() : 1;
+    }
+}
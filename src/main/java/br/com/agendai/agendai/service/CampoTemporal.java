@@ -0,0 +1,23 @@
+package br.com.agendai.agendai.service;
+
+import br.com.agendai.agendai.model.Tarefa;
+
+import java.time.LocalDateTime;
+import java.util.function.Function;
+
+enum CampoTemporal {
+    CRIACAO(Tarefa::getCriadoEm),
+    ATUALIZACAO(Tarefa::getAtualizadoEm),
+    CONCLUSAO(Tarefa::getConcluidoEm),
+    PRAZO(Tarefa::getPrazo);
+
+    private final Function<Tarefa, LocalDateTime> extrator;
+
+    CampoTemporal(Function<Tarefa, LocalDateTime> extrator) {
+        this.extrator = extrator;
+    }
+
+    LocalDateTime de(Tarefa tarefa) {
+        return extrator.apply(tarefa);
+    }
+}
@@ -0,0 +1,16 @@
+package br.com.agendai.agendai.service;
+
+import br.com.agendai.agendai.model.Tarefa;
+import br.com.agendai.agendai.model.TipoEventoTarefa;
+
+// Recebe cada mutação aplicada na loja, na mesma ordem em que ela entra no diário. Criações chegam
+// depois que a tarefa já está no mapa; as demais, de dentro do compute do mapa. Em ambos os casos
+// não pode bloquear nem fazer trabalho proporcional aos interessados.
+public interface CanalAlteracoes {
+
+    CanalAlteracoes NENHUM = (tipo, anterior, atual) -> {
+    };
+
+    // anterior é nulo na criação; atual é nulo na remoção.
+    void publicar(TipoEventoTarefa tipo, Tarefa anterior, Tarefa atual);
+}
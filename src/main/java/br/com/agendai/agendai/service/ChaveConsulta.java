@@ -0,0 +1,15 @@
+package br.com.agendai.agendai.service;
+
+import lombok.Value;
+
+import java.util.List;
+
+// A versão da loja faz parte da chave: depois de qualquer mutação as entradas antigas deixam de ser
+// alcançáveis e saem do cache pelo limite de peso, sem invalidação explícita.
+@Value
+public class ChaveConsulta {
+
+    String consulta;
+    List<Object> parametros;
+    long versaoLoja;
+}
@@ -0,0 +1,35 @@
+package br.com.agendai.agendai.service;
+
+import br.com.agendai.agendai.model.Tarefa;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+@Value
+class ChaveOrdenacao implements Comparable<ChaveOrdenacao> {
+
+    int nivel;
+    LocalDateTime criadoEm;
+    String idTarefa;
+
+    static ChaveOrdenacao de(Tarefa tarefa) {
+        return new ChaveOrdenacao(tarefa.getPrioridade().getNivel(), tarefa.getCriadoEm(), tarefa.getIdTarefa());
+    }
+
+    boolean corresponde(Tarefa tarefa) {
+        return tarefa.getPrioridade().getNivel() == nivel && tarefa.getCriadoEm().equals(criadoEm);
+    }
+
+    @Override
+    public int compareTo(ChaveOrdenacao outra) {
+        int comparacao = Integer.compare(outra.nivel, nivel);
+        if (comparacao != 0) {
+            return comparacao;
+        }
+        comparacao = criadoEm.compareTo(outra.criadoEm);
+        if (comparacao != 0) {
+            return comparacao;
+        }
+        return idTarefa.compareTo(outra.idTarefa);
+    }
+}
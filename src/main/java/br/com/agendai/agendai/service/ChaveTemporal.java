@@ -0,0 +1,27 @@
+package br.com.agendai.agendai.service;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+@Value
+class ChaveTemporal implements Comparable<ChaveTemporal> {
+
+    private static final String MENOR_ID = "";
+
+    LocalDateTime instante;
+    String idTarefa;
+
+    static ChaveTemporal inicioDe(LocalDateTime instante) {
+        return new ChaveTemporal(instante, MENOR_ID);
+    }
+
+    @Override
+    public int compareTo(ChaveTemporal outra) {
+        int comparacao = instante.compareTo(outra.instante);
+        if (comparacao != 0) {
+            return comparacao;
+        }
+        return idTarefa.compareTo(outra.idTarefa);
+    }
+}
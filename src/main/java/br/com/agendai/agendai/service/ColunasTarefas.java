@@ -0,0 +1,35 @@
+package br.com.agendai.agendai.service;
+
+import br.com.agendai.agendai.model.Tarefa;
+
+import java.time.LocalDateTime;
+import java.util.function.Supplier;
+
+// Projeção opcional dos campos usados em varreduras e agregações. Sem ela, quem chama agrega
+// percorrendo os índices e as próprias tarefas.
+public interface ColunasTarefas extends ProjecaoTarefas {
+
+    ColunasTarefas NENHUMA = new ColunasTarefas() {
+        @Override
+        public void adicionar(Tarefa tarefa) {
+        }
+
+        @Override
+        public void remover(Tarefa tarefa) {
+        }
+
+        @Override
+        public void reindexar(Tarefa anterior, Tarefa atual) {
+        }
+
+        @Override
+        public ObterEstatisticas agregar(CampoTemporal campo, LocalDateTime inicio, LocalDateTime fim,
+                                         Supplier<ObterEstatisticas> varreduraObjetos) {
+            return varreduraObjetos.get();
+        }
+    };
+
+    // Estatísticas das tarefas cujo instante no campo está no intervalo aberto (inicio, fim).
+    ObterEstatisticas agregar(CampoTemporal campo, LocalDateTime inicio, LocalDateTime fim,
+                              Supplier<ObterEstatisticas> varreduraObjetos);
+}
@@ -0,0 +1,72 @@
+package br.com.agendai.agendai.service;
+
+import br.com.agendai.agendai.model.PrioridadeTarefa;
+import br.com.agendai.agendai.model.StatusTarefa;
+import br.com.agendai.agendai.model.Tarefa;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+class ContadoresTarefas implements ProjecaoTarefas {
+
+    private final Map<StatusTarefa, LongAdder> porStatus = new EnumMap<>(StatusTarefa.class);
+    private final Map<PrioridadeTarefa, LongAdder> porPrioridade = new EnumMap<>(PrioridadeTarefa.class);
+
+    ContadoresTarefas() {
+        for (StatusTarefa status : StatusTarefa.values()) {
+            porStatus.put(status, new LongAdder());
+        }
+        for (PrioridadeTarefa prioridade : PrioridadeTarefa.values()) {
+            porPrioridade.put(prioridade, new LongAdder());
+        }
+    }
+
+    @Override
+    public void adicionar(Tarefa tarefa) {
+        porStatus.get(tarefa.getStatus()).increment();
+        porPrioridade.get(tarefa.getPrioridade()).increment();
+    }
+
+    @Override
+    public void remover(Tarefa tarefa) {
+        porStatus.get(tarefa.getStatus()).decrement();
+        porPrioridade.get(tarefa.getPrioridade()).decrement();
+    }
+
+    @Override
+    public void reindexar(Tarefa anterior, Tarefa atual) {
+        if (anterior.getStatus() != atual.getStatus()) {
+            porStatus.get(atual.getStatus()).increment();
+            porStatus.get(anterior.getStatus()).decrement();
+        }
+        if (anterior.getPrioridade() != atual.getPrioridade()) {
+            porPrioridade.get(atual.getPrioridade()).increment();
+            porPrioridade.get(anterior.getPrioridade()).decrement();
+        }
+    }
+
+    long quantidadeComStatus(StatusTarefa status) {
+        return porStatus.get(status).sum();
+    }
+
+    ObterEstatisticas obterEstatisticas() {
+        Map<StatusTarefa, Long> tarefasPorStatus = new EnumMap<>(StatusTarefa.class);
+        for (Map.Entry<StatusTarefa, LongAdder> contador : porStatus.entrySet()) {
+            long quantidade = contador.getValue().sum();
+            if (quantidade > 0) {
+                tarefasPorStatus.put(contador.getKey(), quantidade);
+            }
+        }
+
+        Map<PrioridadeTarefa, Long> tarefasPorPrioridade = new EnumMap<>(PrioridadeTarefa.class);
+        for (Map.Entry<PrioridadeTarefa, LongAdder> contador : porPrioridade.entrySet()) {
+            long quantidade = contador.getValue().sum();
+            if (quantidade > 0) {
+                tarefasPorPrioridade.put(contador.getKey(), quantidade);
+            }
+        }
+
+        return ObterEstatisticas.de(tarefasPorStatus, tarefasPorPrioridade);
+    }
+}
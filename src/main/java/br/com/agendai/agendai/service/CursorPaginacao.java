@@ -0,0 +1,55 @@
+package br.com.agendai.agendai.service;
+
+import br.com.agendai.agendai.exception.CursorInvalidoException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+final class CursorPaginacao {
+
+    private static final String SEPARADOR = "|";
+
+    private CursorPaginacao() {
+    }
+
+    static String codificar(ChaveOrdenacao chave) {
+        return codificar(chave.getNivel() + SEPARADOR + chave.getCriadoEm() + SEPARADOR + chave.getIdTarefa());
+    }
+
+    static String codificar(ChaveTemporal chave) {
+        return codificar(chave.getInstante() + SEPARADOR + chave.getIdTarefa());
+    }
+
+    static ChaveOrdenacao decodificar(String cursor) {
+        try {
+            String[] partes = decodificar(cursor, 3);
+            return new ChaveOrdenacao(Integer.parseInt(partes[0]), LocalDateTime.parse(partes[1]), partes[2]);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new CursorInvalidoException(cursor);
+        }
+    }
+
+    static ChaveTemporal decodificarTemporal(String cursor) {
+        try {
+            String[] partes = decodificar(cursor, 2);
+            return new ChaveTemporal(LocalDateTime.parse(partes[0]), partes[1]);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new CursorInvalidoException(cursor);
+        }
+    }
+
+    private static String codificar(String conteudo) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(conteudo.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodificar(String cursor, int quantidadePartes) {
+        String conteudo = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        String[] partes = conteudo.split("\\|", quantidadePartes);
+        if (partes.length != quantidadePartes) {
+            throw new CursorInvalidoException(cursor);
+        }
+        return partes;
+    }
+}
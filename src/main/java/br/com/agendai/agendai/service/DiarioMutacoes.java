@@ -0,0 +1,46 @@
+package br.com.agendai.agendai.service;
+
+import br.com.agendai.agendai.model.EventoTarefa;
+import br.com.agendai.agendai.model.Tarefa;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+public interface DiarioMutacoes {
+
+    DiarioMutacoes NENHUM = new DiarioMutacoes() {
+        @Override
+        public void recuperar(Consumer<EventoTarefa> aplicador) {
+        }
+
+        @Override
+        public void iniciar(Supplier<Stream<Tarefa>> estadoAtual) {
+        }
+
+        @Override
+        public long registrar(EventoTarefa evento) {
+            return 0;
+        }
+
+        @Override
+        public void publicado(long sequencia) {
+        }
+
+        @Override
+        public void aguardarDurabilidade(long sequencia) {
+        }
+    };
+
+    void recuperar(Consumer<EventoTarefa> aplicador);
+
+    void iniciar(Supplier<Stream<Tarefa>> estadoAtual);
+
+    long registrar(EventoTarefa evento);
+
+    // Avisa que a mutação registrada com essa sequência já está visível no estado percorrido pelos
+    // instantâneos. Quem registra chama sempre, mesmo se a aplicação falhar depois do registro.
+    void publicado(long sequencia);
+
+    void aguardarDurabilidade(long sequencia);
+}
@@ -0,0 +1,8 @@
+package br.com.agendai.agendai.service;
+
+public enum EstrategiaIds {
+    // 13 caracteres ordenados pelo tempo de criação
+    MONOTONICO,
+    // UUID aleatório de 36 caracteres, o formato original
+    UUID
+}
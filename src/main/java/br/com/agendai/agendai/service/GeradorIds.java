@@ -0,0 +1,16 @@
+package br.com.agendai.agendai.service;
+
+import java.util.UUID;
+
+// Estratégia de identificação das novas tarefas. IDs já existentes continuam válidos qualquer que
+// seja a estratégia: a loja trata o ID como texto opaco.
+public interface GeradorIds {
+
+    GeradorIds ALEATORIO = () -> UUID.randomUUID().toString();
+
+    String proximo();
+
+    // Recebe os IDs lidos na recuperação do estado, para que os próximos não repitam os antigos.
+    default void observar(String id) {
+    }
+}
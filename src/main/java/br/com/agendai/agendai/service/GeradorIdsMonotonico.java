@@ -0,0 +1,89 @@
+package br.com.agendai.agendai.service;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// IDs de 64 bits ordenados pelo tempo: 41 bits de milissegundos desde 2024 (cerca de 69 anos) e
+// 22 bits de contador, que absorvem até ~4 milhões de criações no mesmo milissegundo antes de
+// adiantar o relógio lógico. Um CAS por ID, sem SecureRandom. O texto tem 13 caracteres em base32
+// de Crockford com largura fixa, então a ordem alfabética dos IDs é a ordem de criação.
+public class GeradorIdsMonotonico implements GeradorIds {
+
+    static final int TAMANHO = 13;
+    private static final long EPOCA = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+    private static final int BITS_CONTADOR = 22;
+    private static final char[] ALFABETO = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final byte[] VALORES = new byte[128];
+
+    static {
+        Arrays.fill(VALORES, (byte) -1);
+        for (int i = 0; i < ALFABETO.length; i++) {
+            VALORES[ALFABETO[i]] = (byte) i;
+        }
+    }
+
+    private final AtomicLong ultimo = new AtomicLong();
+    private final LongSupplier relogio;
+
+    public GeradorIdsMonotonico() {
+        this(System::currentTimeMillis);
+    }
+
+    GeradorIdsMonotonico(LongSupplier relogio) {
+        this.relogio = relogio;
+    }
+
+    @Override
+    public String proximo() {
+        return codificar(proximoValor());
+    }
+
+    // Se o relógio voltar, o contador segue a partir do último ID emitido em vez de repetir valores.
+    long proximoValor() {
+        long agora = (relogio.getAsLong() - EPOCA) << BITS_CONTADOR;
+        while (true) {
+            long anterior = ultimo.get();
+            long candidato = Math.max(agora, anterior + 1);
+            if (ultimo.compareAndSet(anterior, candidato)) {
+                return candidato;
+            }
+        }
+    }
+
+    // IDs em outro formato, como os UUIDs de antes, não interferem na sequência.
+    @Override
+    public void observar(String id) {
+        long valor = decodificar(id);
+        if (valor >= 0) {
+            ultimo.accumulateAndGet(valor, Math::max);
+        }
+    }
+
+    static String codificar(long valor) {
+        char[] texto = new char[TAMANHO];
+        for (int i = TAMANHO - 1; i >= 0; i--) {
+            texto[i] = ALFABETO[(int) (valor & 31)];
+            valor >>>= 5;
+        }
+        return new String(texto);
+    }
+
+    // Devolve -1 para textos que não foram produzidos por este gerador.
+    static long decodificar(String id) {
+        if (id == null || id.length() != TAMANHO || id.charAt(0) > '7') {
+            return -1;
+        }
+        long valor = 0;
+        for (int i = 0; i < TAMANHO; i++) {
+            char caractere = id.charAt(i);
+            int digito = caractere < VALORES.length ? VALORES[caractere] : -1;
+            if (digito < 0) {
+                return -1;
+            }
+            valor = (valor << 5) | digito;
+        }
+        return valor;
+    }
+}
@@ -0,0 +1,43 @@
+package br.com.agendai.agendai.service;
+
+import br.com.agendai.agendai.model.Tarefa;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Tarefas com regra de recorrência, de onde o calendário expande as séries. Cada série ocupa uma
+// entrada, não importa quantas ocorrências tenha.
+class IndiceRecorrencias implements ProjecaoTarefas {
+
+    private final Map<String, Tarefa> series = new ConcurrentHashMap<>();
+
+    @Override
+    public void adicionar(Tarefa tarefa) {
+        if (tarefa.ehRecorrente()) {
+            series.put(tarefa.getIdTarefa(), tarefa);
+        }
+    }
+
+    @Override
+    public void remover(Tarefa tarefa) {
+        series.remove(tarefa.getIdTarefa());
+    }
+
+    @Override
+    public void reindexar(Tarefa anterior, Tarefa atual) {
+        if (atual.ehRecorrente()) {
+            series.put(atual.getIdTarefa(), atual);
+        } else if (anterior.ehRecorrente()) {
+            series.remove(anterior.getIdTarefa());
+        }
+    }
+
+    Collection<Tarefa> series() {
+        return series.values();
+    }
+
+    int quantidadeSeries() {
+        return series.size();
+    }
+}
@@ -0,0 +1,70 @@
+package br.com.agendai.agendai.service;
+
+import br.com.agendai.agendai.model.PrioridadeTarefa;
+import br.com.agendai.agendai.model.StatusTarefa;
+import br.com.agendai.agendai.model.Tarefa;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+class IndiceTarefas implements ProjecaoTarefas {
+
+    private final NavigableSet<ChaveOrdenacao> ordemGeral = new ConcurrentSkipListSet<>();
+    private final Map<StatusTarefa, NavigableSet<ChaveOrdenacao>> chavesPorStatus = new EnumMap<>(StatusTarefa.class);
+    private final Map<PrioridadeTarefa, NavigableSet<ChaveOrdenacao>> chavesPorPrioridade = new EnumMap<>(PrioridadeTarefa.class);
+
+    IndiceTarefas() {
+        for (StatusTarefa status : StatusTarefa.values()) {
+            chavesPorStatus.put(status, new ConcurrentSkipListSet<>());
+        }
+        for (PrioridadeTarefa prioridade : PrioridadeTarefa.values()) {
+            chavesPorPrioridade.put(prioridade, new ConcurrentSkipListSet<>());
+        }
+    }
+
+    @Override
+    public void adicionar(Tarefa tarefa) {
+        ChaveOrdenacao chave = ChaveOrdenacao.de(tarefa);
+        ordemGeral.add(chave);
+        chavesPorStatus.get(tarefa.getStatus()).add(chave);
+        chavesPorPrioridade.get(tarefa.getPrioridade()).add(chave);
+    }
+
+    @Override
+    public void remover(Tarefa tarefa) {
+        ChaveOrdenacao chave = ChaveOrdenacao.de(tarefa);
+        ordemGeral.remove(chave);
+        chavesPorStatus.get(tarefa.getStatus()).remove(chave);
+        chavesPorPrioridade.get(tarefa.getPrioridade()).remove(chave);
+    }
+
+    // Insere a nova posição antes de retirar a antiga para que uma leitura concorrente nunca perca a tarefa.
+    @Override
+    public void reindexar(Tarefa anterior, Tarefa atual) {
+        ChaveOrdenacao chaveAnterior = ChaveOrdenacao.de(anterior);
+        ChaveOrdenacao chaveAtual = ChaveOrdenacao.de(atual);
+
+        if (!chaveAnterior.equals(chaveAtual)) {
+            adicionar(atual);
+            remover(anterior);
+        } else if (anterior.getStatus() != atual.getStatus()) {
+            chavesPorStatus.get(atual.getStatus()).add(chaveAtual);
+            chavesPorStatus.get(anterior.getStatus()).remove(chaveAnterior);
+        }
+    }
+
+    NavigableSet<ChaveOrdenacao> ordemGeral() {
+        return Collections.unmodifiableNavigableSet(ordemGeral);
+    }
+
+    NavigableSet<ChaveOrdenacao> chavesComStatus(StatusTarefa status) {
+        return Collections.unmodifiableNavigableSet(chavesPorStatus.get(status));
+    }
+
+    NavigableSet<ChaveOrdenacao> chavesComPrioridade(PrioridadeTarefa prioridade) {
+        return Collections.unmodifiableNavigableSet(chavesPorPrioridade.get(prioridade));
+    }
+}
@@ -0,0 +1,89 @@
+package br.com.agendai.agendai.service;
+
+import br.com.agendai.agendai.model.Tarefa;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.LongAdder;
+
+class IndiceTemporal implements ProjecaoTarefas {
+
+    private final Map<CampoTemporal, NavigableSet<ChaveTemporal>> chavesPorCampo = new EnumMap<>(CampoTemporal.class);
+    private final Map<CampoTemporal, LongAdder> entradasPorCampo = new EnumMap<>(CampoTemporal.class);
+
+    IndiceTemporal() {
+        for (CampoTemporal campo : CampoTemporal.values()) {
+            chavesPorCampo.put(campo, new ConcurrentSkipListSet<>());
+            entradasPorCampo.put(campo, new LongAdder());
+        }
+    }
+
+    @Override
+    public void adicionar(Tarefa tarefa) {
+        for (CampoTemporal campo : CampoTemporal.values()) {
+            LocalDateTime instante = campo.de(tarefa);
+            if (instante != null) {
+                inserir(campo, new ChaveTemporal(instante, tarefa.getIdTarefa()));
+            }
+        }
+    }
+
+    @Override
+    public void remover(Tarefa tarefa) {
+        for (CampoTemporal campo : CampoTemporal.values()) {
+            LocalDateTime instante = campo.de(tarefa);
+            if (instante != null) {
+                retirar(campo, new ChaveTemporal(instante, tarefa.getIdTarefa()));
+            }
+        }
+    }
+
+    @Override
+    public void reindexar(Tarefa anterior, Tarefa atual) {
+        for (CampoTemporal campo : CampoTemporal.values()) {
+            LocalDateTime instanteAnterior = campo.de(anterior);
+            LocalDateTime instanteAtual = campo.de(atual);
+            if (Objects.equals(instanteAnterior, instanteAtual)) {
+                continue;
+            }
+            if (instanteAtual != null) {
+                inserir(campo, new ChaveTemporal(instanteAtual, atual.getIdTarefa()));
+            }
+            if (instanteAnterior != null) {
+                retirar(campo, new ChaveTemporal(instanteAnterior, anterior.getIdTarefa()));
+            }
+        }
+    }
+
+    // Intervalo aberto nas duas pontas, do mais recente para o mais antigo.
+    NavigableSet<ChaveTemporal> entre(CampoTemporal campo, LocalDateTime inicio, LocalDateTime fim) {
+        if (!inicio.isBefore(fim)) {
+            return Collections.emptyNavigableSet();
+        }
+        NavigableSet<ChaveTemporal> intervalo = chavesPorCampo.get(campo)
+                .subSet(ChaveTemporal.inicioDe(inicio.plusNanos(1)), true, ChaveTemporal.inicioDe(fim), false);
+        return Collections.unmodifiableNavigableSet(intervalo.descendingSet());
+    }
+
+    // Contagem mantida à parte porque size() de um ConcurrentSkipListSet percorre o conjunto inteiro.
+    long quantidadeEntradas(CampoTemporal campo) {
+        return entradasPorCampo.get(campo).sum();
+    }
+
+    private void inserir(CampoTemporal campo, ChaveTemporal chave) {
+        if (chavesPorCampo.get(campo).add(chave)) {
+            entradasPorCampo.get(campo).increment();
+        }
+    }
+
+    private void retirar(CampoTemporal campo, ChaveTemporal chave) {
+        if (chavesPorCampo.get(campo).remove(chave)) {
+            entradasPorCampo.get(campo).decrement();
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package br.com.agendai.agendai.service;
+
+import br.com.agendai.agendai.model.Tarefa;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+class IndiceTrigramas implements ProjecaoTarefas {
+
+    static final int TAMANHO_TRIGRAMA = 3;
+
+    private final Map<Long, Set<String>> idsPorTrigrama = new ConcurrentHashMap<>();
+    private final LongAdder vinculos = new LongAdder();
+
+    @Override
+    public void adicionar(Tarefa tarefa) {
+        for (Long trigrama : trigramas(tarefa)) {
+            vincular(trigrama, tarefa.getIdTarefa());
+        }
+    }
+
+    @Override
+    public void remover(Tarefa tarefa) {
+        for (Long trigrama : trigramas(tarefa)) {
+            desvincular(trigrama, tarefa.getIdTarefa());
+        }
+    }
+
+    @Override
+    public void reindexar(Tarefa anterior, Tarefa atual) {
+        if (Objects.equals(anterior.getTitulo(), atual.getTitulo())
+                && Objects.equals(anterior.getDiscricao(), atual.getDiscricao())) {
+            return;
+        }
+
+        Set<Long> trigramasAnteriores = trigramas(anterior);
+        Set<Long> trigramasAtuais = trigramas(atual);
+        for (Long trigrama : trigramasAtuais) {
+            if (!trigramasAnteriores.contains(trigrama)) {
+                vincular(trigrama, atual.getIdTarefa());
+            }
+        }
+        for (Long trigrama : trigramasAnteriores) {
+            if (!trigramasAtuais.contains(trigrama)) {
+                desvincular(trigrama, anterior.getIdTarefa());
+            }
+        }
+    }
+
+    boolean podeResponder(String termoMinusculo) {
+        return termoMinusculo.length() >= TAMANHO_TRIGRAMA;
+    }
+
+    // Devolve um superconjunto das tarefas cujo texto contém o termo; quem chama confirma cada candidata.
+    List<String> candidatos(String termoMinusculo) {
+        Set<Long> trigramasTermo = new HashSet<>();
+        adicionarTrigramas(termoMinusculo, trigramasTermo);
+
+        List<Set<String>> listas = new ArrayList<>(trigramasTermo.size());
+        for (Long trigrama : trigramasTermo) {
+            Set<String> ids = idsPorTrigrama.get(trigrama);
+            if (ids == null) {
+                return Collections.emptyList();
+            }
+            listas.add(ids);
+        }
+
+        Set<String> menor = listas.get(0);
+        for (Set<String> ids : listas) {
+            if (ids.size() < menor.size()) {
+                menor = ids;
+            }
+        }
+
+        List<String> candidatos = new ArrayList<>();
+        for (String id : menor) {
+            if (estaEmTodas(id, listas, menor)) {
+                candidatos.add(id);
+            }
+        }
+        return candidatos;
+    }
+
+    int quantidadeTrigramas() {
+        return idsPorTrigrama.size();
+    }
+
+    long quantidadeVinculos() {
+        return vinculos.sum();
+    }
+
+    private static boolean estaEmTodas(String id, List<Set<String>> listas, Set<String> ignorada) {
+        for (Set<String> ids : listas) {
+            if (ids != ignorada && !ids.contains(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void vincular(Long trigrama, String idTarefa) {
+        idsPorTrigrama.compute(trigrama, (chave, ids) -> {
+            Set<String> destino = ids == null ? ConcurrentHashMap.newKeySet() : ids;
+            if (destino.add(idTarefa)) {
+                vinculos.increment();
+            }
+            return destino;
+        });
+    }
+
+    private void desvincular(Long trigrama, String idTarefa) {
+        idsPorTrigrama.computeIfPresent(trigrama, (chave, ids) -> {
+            if (ids.remove(idTarefa)) {
+                vinculos.decrement();
+            }
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    private static Set<Long> trigramas(Tarefa tarefa) {
+        Set<Long> trigramas = new HashSet<>();
+        adicionarTrigramas(tarefa.getTitulo().toLowerCase(), trigramas);
+        if (tarefa.getDiscricao() != null) {
+            adicionarTrigramas(tarefa.getDiscricao().toLowerCase(), trigramas);
+        }
+        return trigramas;
+    }
+
+    private static void adicionarTrigramas(String texto, Set<Long> destino) {
+        for (int i = 0; i + TAMANHO_TRIGRAMA <= texto.length(); i++) {
+            destino.add(((long) texto.charAt(i) << 32) | ((long) texto.charAt(i + 1) << 16) | texto.charAt(i + 2));
+        }
+    }
+}
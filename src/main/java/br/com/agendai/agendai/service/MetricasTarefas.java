@@ -0,0 +1,99 @@
+package br.com.agendai.agendai.service;
+
+import br.com.agendai.agendai.model.StatusTarefa;
+import br.com.agendai.agendai.model.Tarefa;
+import br.com.agendai.agendai.model.TipoEventoTarefa;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// Medidores criados uma única vez num registro composto: enquanto nenhum registro real é
+// vinculado (testes, benchmarks) eles não fazem nada, e a gravação no caminho quente é só
+// um nanoTime e um acesso a EnumMap. Os medidores de tamanho levam o inquilino da partição;
+// tempos e contadores não, e por isso as partições compartilham os mesmos no registro real.
+class MetricasTarefas {
+
+    static final String TAG_INQUILINO = "inquilino";
+
+    private final CompositeMeterRegistry registro = new CompositeMeterRegistry();
+    private final Map<OperacaoTarefa, Timer> temposPorOperacao = new EnumMap<>(OperacaoTarefa.class);
+    private final Map<TipoEventoTarefa, Counter> mutacoesPorTipo = new EnumMap<>(TipoEventoTarefa.class);
+    private final Counter naoEncontradas;
+
+    MetricasTarefas(String inquilino, Map<String, Tarefa> bancoTarefas, ContadoresTarefas contadoresTarefas,
+                    IndiceTrigramas indiceTrigramas, IndiceTemporal indiceTemporal,
+                    IndiceRecorrencias indiceRecorrencias) {
+        for (OperacaoTarefa operacao : OperacaoTarefa.values()) {
+            temposPorOperacao.put(operacao, Timer.builder("agendai.tarefas.operacao")
+                    .description("Tempo de cada operação do serviço de tarefas")
+                    .tag("operacao", operacao.rotulo())
+                    .register(registro));
+        }
+        for (TipoEventoTarefa tipo : TipoEventoTarefa.values()) {
+            mutacoesPorTipo.put(tipo, Counter.builder("agendai.tarefas.mutacoes")
+                    .description("Mutações aplicadas ao armazenamento de tarefas")
+                    .tag("tipo", tipo.name().toLowerCase())
+                    .register(registro));
+        }
+        naoEncontradas = Counter.builder("agendai.tarefas.nao.encontradas")
+                .description("Buscas e alterações por ID de tarefas inexistentes")
+                .register(registro);
+
+        Gauge.builder("agendai.tarefas.armazenadas", bancoTarefas, Map::size)
+                .description("Tarefas no armazenamento em memória")
+                .tag(TAG_INQUILINO, inquilino)
+                .register(registro);
+        for (StatusTarefa status : StatusTarefa.values()) {
+            Gauge.builder("agendai.tarefas.por.status", contadoresTarefas, c -> c.quantidadeComStatus(status))
+                    .tag("status", status.name().toLowerCase())
+                    .tag(TAG_INQUILINO, inquilino)
+                    .register(registro);
+        }
+        Gauge.builder("agendai.indice.trigramas.chaves", indiceTrigramas, IndiceTrigramas::quantidadeTrigramas)
+                .description("Trigramas distintos no índice de busca por termo")
+                .tag(TAG_INQUILINO, inquilino)
+                .register(registro);
+        Gauge.builder("agendai.indice.trigramas.vinculos", indiceTrigramas, IndiceTrigramas::quantidadeVinculos)
+                .description("Pares trigrama-tarefa no índice de busca por termo")
+                .tag(TAG_INQUILINO, inquilino)
+                .register(registro);
+        for (CampoTemporal campo : CampoTemporal.values()) {
+            Gauge.builder("agendai.indice.temporal.entradas", indiceTemporal, i -> i.quantidadeEntradas(campo))
+                    .tag("campo", campo.name().toLowerCase())
+                    .tag(TAG_INQUILINO, inquilino)
+                    .register(registro);
+        }
+        Gauge.builder("agendai.indice.recorrencias.series", indiceRecorrencias, IndiceRecorrencias::quantidadeSeries)
+                .description("Tarefas recorrentes expandidas pelo calendário")
+                .tag(TAG_INQUILINO, inquilino)
+                .register(registro);
+    }
+
+    void vincular(MeterRegistry destino) {
+        registro.add(destino);
+    }
+
+    <T> T medir(OperacaoTarefa operacao, Supplier<T> execucao) {
+        long inicio = System.nanoTime();
+        try {
+            return execucao.get();
+        } finally {
+            temposPorOperacao.get(operacao).record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    void registrarMutacao(TipoEventoTarefa tipo) {
+        mutacoesPorTipo.get(tipo).increment();
+    }
+
+    void registrarNaoEncontrada() {
+        naoEncontradas.increment();
+    }
+}
@@ -21,6 +21,22 @@ public class ObterEstatisticas {
     private Map<PrioridadeTarefa, Long> tarefasPorPrioridade;
     private Map<StatusTarefa, Long> tarefasPorStatus;
 
+    // Os mapas trazem só as contagens maiores que zero; o total é a soma por status.
+    static ObterEstatisticas de(Map<StatusTarefa, Long> tarefasPorStatus, Map<PrioridadeTarefa, Long> tarefasPorPrioridade) {
+        long total = 0;
+        for (long quantidade : tarefasPorStatus.values()) {
+            total += quantidade;
+        }
+        long concluidas = tarefasPorStatus.getOrDefault(StatusTarefa.CONCLUIDA, 0L);
+        return ObterEstatisticas.builder()
+                .totalTarefas(total)
+                .tarefasConcluidas(concluidas)
+                .tarefasPendentes(total - concluidas)
+                .tarefasPorPrioridade(tarefasPorPrioridade)
+                .tarefasPorStatus(tarefasPorStatus)
+                .build();
+    }
+
     public double getPorcentagemConcluidas() {
         if (totalTarefas == 0) {
             return 0.0;
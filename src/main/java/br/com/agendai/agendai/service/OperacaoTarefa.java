@@ -0,0 +1,28 @@
+package br.com.agendai.agendai.service;
+
+enum OperacaoTarefa {
+    CRIAR,
+    BUSCAR_POR_ID,
+    LISTAR,
+    ATUALIZAR,
+    CONCLUIR,
+    REABRIR,
+    REMOVER,
+    LISTAR_POR_STATUS,
+    LISTAR_POR_PRIORIDADE,
+    BUSCAR_POR_TERMO,
+    ESTATISTICAS,
+    ESTATISTICAS_POR_INTERVALO,
+    LISTAR_POR_INTERVALO,
+    CRIAR_LOTE,
+    BUSCAR_LOTE,
+    CONCLUIR_LOTE,
+    REMOVER_LOTE,
+    CALENDARIO,
+    CONCLUIR_OCORRENCIA,
+    REABRIR_OCORRENCIA;
+
+    String rotulo() {
+        return name().toLowerCase();
+    }
+}
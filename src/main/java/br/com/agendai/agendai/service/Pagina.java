@@ -0,0 +1,20 @@
+package br.com.agendai.agendai.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Pagina<T> {
+
+    private List<T> itens;
+    private String proximoCursor;
+
+    public boolean temProxima() {
+        return proximoCursor != null;
+    }
+}
@@ -0,0 +1,12 @@
+package br.com.agendai.agendai.service;
+
+import br.com.agendai.agendai.model.Tarefa;
+
+interface ProjecaoTarefas {
+
+    void adicionar(Tarefa tarefa);
+
+    void remover(Tarefa tarefa);
+
+    void reindexar(Tarefa anterior, Tarefa atual);
+}
@@ -0,0 +1,168 @@
+package br.com.agendai.agendai.service;
+
+import br.com.agendai.agendai.exception.CotaExcedidaException;
+import br.com.agendai.agendai.exception.InquilinoInvalidoException;
+import br.com.agendai.agendai.model.EventoTarefa;
+import br.com.agendai.agendai.model.Tarefa;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+// Loja particionada por inquilino: cada um tem o seu ServicoTarefa, com mapa, índices, contadores,
+// versão e cache próprios. Mutações de inquilinos diferentes nunca disputam o mesmo bin do mapa nem
+// invalidam o cache umas das outras. O diário continua único; cada evento carrega o seu inquilino.
+@Slf4j
+public class ServicoInquilinos implements MeterBinder {
+
+    private static final Pattern FORMATO_INQUILINO = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
+    // Diário das vistas de leitura: nada chega a ele pelos controles, e o que chegar é recusado.
+    private static final DiarioMutacoes SOMENTE_LEITURA = new DiarioMutacoes() {
+        @Override
+        public void recuperar(Consumer<EventoTarefa> aplicador) {
+        }
+
+        @Override
+        public void iniciar(Supplier<Stream<Tarefa>> estadoAtual) {
+        }
+
+        @Override
+        public long registrar(EventoTarefa evento) {
+            throw new IllegalStateException("Inquilino " + evento.getInquilino() + " sem partição; escrita recusada");
+        }
+
+        @Override
+        public void publicado(long sequencia) {
+        }
+
+        @Override
+        public void aguardarDurabilidade(long sequencia) {
+        }
+    };
+
+    private final Map<String, ServicoTarefa> particoes = new ConcurrentHashMap<>();
+    private final AtomicInteger vagasOcupadas = new AtomicInteger();
+    private final Validator validador = Validation.buildDefaultValidatorFactory().getValidator();
+    private final GeradorIds geradorIds = new GeradorIdsMonotonico();
+    private final DiarioMutacoes diarioMutacoes;
+    private final Function<String, ServicoTarefa> fabrica;
+    private final int maximoInquilinos;
+    private volatile MeterRegistry registro;
+
+    public ServicoInquilinos() {
+        this(DiarioMutacoes.NENHUM, fabricaPadrao(DiarioMutacoes.NENHUM, Long.MAX_VALUE), Integer.MAX_VALUE);
+    }
+
+    public ServicoInquilinos(DiarioMutacoes diarioMutacoes, Function<String, ServicoTarefa> fabrica,
+                             int maximoInquilinos) {
+        this.diarioMutacoes = diarioMutacoes;
+        this.fabrica = fabrica;
+        this.maximoInquilinos = maximoInquilinos;
+    }
+
+    // Partições sem cache que compartilham o diário, o gerador de IDs e o validador.
+    public static Function<String, ServicoTarefa> fabricaPadrao(DiarioMutacoes diarioMutacoes, long cotaTarefas) {
+        Validator validador = Validation.buildDefaultValidatorFactory().getValidator();
+        GeradorIds geradorIds = new GeradorIdsMonotonico();
+        return inquilino -> new ServicoTarefa(inquilino, cotaTarefas, diarioMutacoes, validador,
+                CacheConsultas.NENHUM, geradorIds, ColunasTarefas.NENHUMA, CanalAlteracoes.NENHUM);
+    }
+
+    // Na recuperação as partições são criadas sem checar formato nem limite: o que está no diário já foi aceito.
+    @PostConstruct
+    public void restaurarEstado() {
+        diarioMutacoes.recuperar(evento -> particao(evento.getInquilino()).aplicarEvento(evento));
+        diarioMutacoes.iniciar(() -> particoes.values().stream().flatMap(ServicoTarefa::tarefasArmazenadas));
+        log.info("Loja recuperada com {} inquilino(s)", particoes.size());
+    }
+
+    // Sem inquilino informado, a requisição cai na partição padrão. A vaga é reservada dentro do
+    // computeIfAbsent: o tamanho do mapa não serve de trava, já que chaves diferentes caem em bins
+    // diferentes e duas criações simultâneas passariam pela mesma checagem.
+    public ServicoTarefa doInquilino(String inquilino) {
+        String chave = chave(inquilino);
+        ServicoTarefa existente = particoes.get(chave);
+        if (existente != null) {
+            return existente;
+        }
+        validarFormato(chave);
+        return particoes.computeIfAbsent(chave, nova -> {
+            if (vagasOcupadas.incrementAndGet() > maximoInquilinos) {
+                vagasOcupadas.decrementAndGet();
+                throw new CotaExcedidaException("Limite de " + maximoInquilinos + " inquilinos atingido");
+            }
+            try {
+                return criar(nova);
+            } catch (RuntimeException e) {
+                vagasOcupadas.decrementAndGet();
+                throw e;
+            }
+        });
+    }
+
+    // Só criações abrem partição. Para todo o resto um inquilino desconhecido recebe uma vista vazia, fora
+    // do mapa e sem vaga, descartada ao fim da requisição: leituras respondem vazio, e alterações e remoções
+    // respondem 404. Assim um cabeçalho qualquer não gasta o limite.
+    public ServicoTarefa doInquilinoSemCriar(String inquilino) {
+        String chave = chave(inquilino);
+        ServicoTarefa existente = particoes.get(chave);
+        if (existente != null) {
+            return existente;
+        }
+        validarFormato(chave);
+        return new ServicoTarefa(chave, 0, SOMENTE_LEITURA, validador, CacheConsultas.NENHUM, geradorIds,
+                ColunasTarefas.NENHUMA, CanalAlteracoes.NENHUM);
+    }
+
+    public int quantidadeInquilinos() {
+        return particoes.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registro) {
+        this.registro = registro;
+        Gauge.builder("agendai.inquilinos.particoes", particoes, Map::size)
+                .description("Inquilinos com partição na loja em memória")
+                .register(registro);
+        particoes.values().forEach(particao -> particao.bindTo(registro));
+    }
+
+    private ServicoTarefa particao(String inquilino) {
+        return particoes.computeIfAbsent(inquilino, chave -> {
+            vagasOcupadas.incrementAndGet();
+            return criar(chave);
+        });
+    }
+
+    private ServicoTarefa criar(String chave) {
+        ServicoTarefa nova = fabrica.apply(chave);
+        MeterRegistry atual = registro;
+        if (atual != null) {
+            nova.bindTo(atual);
+        }
+        return nova;
+    }
+
+    private static String chave(String inquilino) {
+        return inquilino == null || inquilino.isBlank() ? Tarefa.INQUILINO_PADRAO : inquilino;
+    }
+
+    private static void validarFormato(String chave) {
+        if (!FORMATO_INQUILINO.matcher(chave).matches()) {
+            throw new InquilinoInvalidoException(chave);
+        }
+    }
+}
@@ -1,165 +1,749 @@
 package br.com.agendai.agendai.service;
 
+import br.com.agendai.agendai.exception.CotaExcedidaException;
+import br.com.agendai.agendai.exception.JanelaCalendarioInvalidaException;
+import br.com.agendai.agendai.exception.OcorrenciaNaoEncontradaException;
 import br.com.agendai.agendai.exception.TarefaNaoEncontradaException;
 import br.com.agendai.agendai.model.*;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.stereotype.Service;
 
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 
+// Partição da loja de um inquilino: mapa, índices, contadores, versão e cache próprios. As
+// partições são criadas e localizadas pelo ServicoInquilinos.
 @Slf4j
-@Service
-public class ServicoTarefa {
+public class ServicoTarefa implements MeterBinder {
 
+    // Limita o que uma consulta ao calendário pode expandir: uma série diária rende no máximo 366 ocorrências.
+    static final Duration JANELA_MAXIMA_CALENDARIO = Duration.ofDays(366);
+    private static final Comparator<Ocorrencia> ORDEM_CALENDARIO =
+            Comparator.comparing(Ocorrencia::getInstante).thenComparing(Ocorrencia::getIdTarefa);
 
     private final Map<String, Tarefa> bancoTarefas = new ConcurrentHashMap<>();
+    private final IndiceTarefas indiceTarefas = new IndiceTarefas();
+    private final ContadoresTarefas contadoresTarefas = new ContadoresTarefas();
+    private final IndiceTrigramas indiceTrigramas = new IndiceTrigramas();
+    private final IndiceTemporal indiceTemporal = new IndiceTemporal();
+    private final IndiceRecorrencias indiceRecorrencias = new IndiceRecorrencias();
+    private final List<ProjecaoTarefas> projecoes;
+    private final MetricasTarefas metricas;
+    private final AtomicLong versaoLoja = new AtomicLong();
+    private final AtomicLong tarefasNaCota = new AtomicLong();
+    private final String inquilino;
+    private final long cotaTarefas;
+    private final DiarioMutacoes diarioMutacoes;
+    private final Validator validador;
+    private final CacheConsultas cacheConsultas;
+    private final GeradorIds geradorIds;
+    private final ColunasTarefas colunas;
+    private final CanalAlteracoes canalAlteracoes;
+
+    public ServicoTarefa() {
+        this(DiarioMutacoes.NENHUM);
+    }
+
+    public ServicoTarefa(DiarioMutacoes diarioMutacoes) {
+        this(diarioMutacoes, CacheConsultas.NENHUM);
+    }
+
+    public ServicoTarefa(DiarioMutacoes diarioMutacoes, CacheConsultas cacheConsultas) {
+        this(diarioMutacoes, cacheConsultas, new GeradorIdsMonotonico());
+    }
+
+    public ServicoTarefa(DiarioMutacoes diarioMutacoes, CacheConsultas cacheConsultas, GeradorIds geradorIds) {
+        this(diarioMutacoes, cacheConsultas, geradorIds, ColunasTarefas.NENHUMA);
+    }
+
+    public ServicoTarefa(DiarioMutacoes diarioMutacoes, CacheConsultas cacheConsultas, GeradorIds geradorIds,
+                         ColunasTarefas colunas) {
+        this(Tarefa.INQUILINO_PADRAO, Long.MAX_VALUE, diarioMutacoes,
+                Validation.buildDefaultValidatorFactory().getValidator(), cacheConsultas, geradorIds, colunas,
+                CanalAlteracoes.NENHUM);
+    }
+
+    public ServicoTarefa(String inquilino, long cotaTarefas, DiarioMutacoes diarioMutacoes, Validator validador,
+                         CacheConsultas cacheConsultas, GeradorIds geradorIds, ColunasTarefas colunas,
+                         CanalAlteracoes canalAlteracoes) {
+        this(inquilino, cotaTarefas, diarioMutacoes, validador, cacheConsultas, geradorIds, colunas, canalAlteracoes,
+                AgendaPrazos.NENHUMA);
+    }
+
+    public ServicoTarefa(String inquilino, long cotaTarefas, DiarioMutacoes diarioMutacoes, Validator validador,
+                         CacheConsultas cacheConsultas, GeradorIds geradorIds, ColunasTarefas colunas,
+                         CanalAlteracoes canalAlteracoes, AgendaPrazos agendaPrazos) {
+        this.inquilino = inquilino;
+        this.cotaTarefas = cotaTarefas;
+        this.diarioMutacoes = diarioMutacoes;
+        this.validador = validador;
+        this.cacheConsultas = cacheConsultas;
+        this.geradorIds = geradorIds;
+        this.colunas = colunas;
+        this.canalAlteracoes = canalAlteracoes;
+        this.projecoes = List.of(indiceTarefas, contadoresTarefas, indiceTrigramas, indiceTemporal, indiceRecorrencias,
+                colunas, agendaPrazos);
+        this.metricas = new MetricasTarefas(inquilino, bancoTarefas, contadoresTarefas, indiceTrigramas, indiceTemporal,
+                indiceRecorrencias);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registro) {
+        metricas.vincular(registro);
+        cacheConsultas.vincular(registro, Tags.of(MetricasTarefas.TAG_INQUILINO, inquilino));
+    }
+
+    // Recuperação de uma loja com uma única partição; com várias, quem recupera é o ServicoInquilinos.
+    public void restaurarEstado() {
+        diarioMutacoes.recuperar(this::aplicarEvento);
+        diarioMutacoes.iniciar(this::tarefasArmazenadas);
+    }
+
+    public String inquilino() {
+        return inquilino;
+    }
+
+    Stream<Tarefa> tarefasArmazenadas() {
+        return bancoTarefas.values().stream();
+    }
+
+    // Avança a cada mutação, depois que ela já está visível no mapa e nos índices. Quem lê a versão
+    // antes de consultar recebe um resultado que inclui pelo menos tudo o que ela conta, então pode
+    // usá-la como validador (ETag) da resposta.
+    public long versaoLoja() {
+        return versaoLoja.get();
+    }
 
     public Tarefa criarTarefa(RequisicaoCriacaoTarefa requisicao) {
-        log.info("Criando nova tarefa: {}", requisicao.getTitulo());
+        log.debug("Criando nova tarefa: {}", requisicao.getTitulo());
 
-        Tarefa tarefa = new Tarefa(requisicao.getTitulo(), requisicao.getDescricao(), requisicao.getPrioridade());
-        bancoTarefas.put(tarefa.getIdTarefa(), tarefa);
+        Tarefa tarefa = metricas.medir(OperacaoTarefa.CRIAR, () -> {
+            Tarefa nova = novaTarefa(requisicao);
+            diarioMutacoes.aguardarDurabilidade(inserir(nova));
+            return nova;
+        });
 
-        log.info("Tarefa criada com sucesso. ID: {}", tarefa.getIdTarefa());
+        log.debug("Tarefa criada com sucesso. ID: {}", tarefa.getIdTarefa());
         return tarefa;
     }
 
     public List<Tarefa> listarTodasTarefas() {
-        log.info("Buscando todas as tarefas");
+        return metricas.medir(OperacaoTarefa.LISTAR, () -> percorrerTodasTarefas().collect(Collectors.toList()));
+    }
 
-        return bancoTarefas.values()
-                .stream()
-                .sorted(Comparator
-                        .comparing((Tarefa t) -> t.getPrioridade().getNivel())
-                        .reversed()
-                        .thenComparing(Tarefa::getCriadoEm))
-                .collect(Collectors.toList());
+    public Stream<Tarefa> percorrerTodasTarefas() {
+        log.debug("Buscando todas as tarefas");
+
+        return resolver(indiceTarefas.ordemGeral());
     }
 
-    public Tarefa buscarTarefaPorId(String id) {
-        log.info("Buscando tarefa por ID: {}", id);
+    public Pagina<Tarefa> listarTodasTarefas(String cursor, int limite) {
+        log.debug("Buscando página de tarefas. Limite: {}", limite);
 
-        return Optional.ofNullable(bancoTarefas.get(id))
-                .orElseThrow(() -> new TarefaNaoEncontradaException(id));
+        return metricas.medir(OperacaoTarefa.LISTAR, () -> consultar(OperacaoTarefa.LISTAR,
+                () -> paginar(indiceTarefas.ordemGeral(), cursor, limite, t -> true), cursor, limite));
+    }
+
+    public Tarefa buscarTarefaPorId(String id) {
+        log.debug("Buscando tarefa por ID: {}", id);
+
+        return metricas.medir(OperacaoTarefa.BUSCAR_POR_ID, () -> {
+            Tarefa tarefa = bancoTarefas.get(id);
+            if (tarefa == null) {
+                metricas.registrarNaoEncontrada();
+                throw new TarefaNaoEncontradaException(id);
+            }
+            return tarefa;
+        });
     }
 
     public Tarefa atualizarTarefa(String id, AtualizarTarefa requisicao) {
-        log.info("Atualizando tarefa ID: {}", id);
+        log.debug("Atualizando tarefa ID: {}", id);
 
-        Tarefa tarefa = buscarTarefaPorId(id);
-        tarefa.atualizarTarefa(requisicao.getTitulo(), requisicao.getDescricao(), requisicao.getPrioridade());
+        Tarefa tarefa = alterarTarefa(id, OperacaoTarefa.ATUALIZAR, TipoEventoTarefa.ATUALIZADA, t ->
+                t.atualizarTarefa(requisicao.getTitulo(), requisicao.getDescricao(), requisicao.getPrioridade(),
+                        requisicao.getPrazo(), requisicao.getRecorrencia()));
 
-        log.info("Tarefa atualizada com sucesso. ID: {}", id);
+        log.debug("Tarefa atualizada com sucesso. ID: {}", id);
         return tarefa;
     }
 
     public Tarefa concluirTarefa(String id) {
-        log.info("Marcando tarefa como concluída. ID: {}", id);
+        log.debug("Marcando tarefa como concluída. ID: {}", id);
 
-        Tarefa tarefa = buscarTarefaPorId(id);
-        tarefa.marcarComoConcluida();
+        Tarefa tarefa = alterarTarefa(id, OperacaoTarefa.CONCLUIR, TipoEventoTarefa.CONCLUIDA, Tarefa::marcarComoConcluida);
 
-        log.info("Tarefa marcada como concluída. ID: {}", id);
+        log.debug("Tarefa marcada como concluída. ID: {}", id);
         return tarefa;
     }
 
     public Tarefa reabrirTarefa(String id) {
-        log.info("Reabrindo tarefa. ID: {}", id);
+        log.debug("Reabrindo tarefa. ID: {}", id);
 
-        Tarefa tarefa = buscarTarefaPorId(id);
-        tarefa.marcarComoPendente();
+        Tarefa tarefa = alterarTarefa(id, OperacaoTarefa.REABRIR, TipoEventoTarefa.REABERTA, Tarefa::marcarComoPendente);
 
-        log.info("Tarefa reaberta com sucesso. ID: {}", id);
+        log.debug("Tarefa reaberta com sucesso. ID: {}", id);
+        return tarefa;
+    }
+
+    // Conclui só a ocorrência daquela data; a série continua pendente e a tarefa não é copiada.
+    public Tarefa concluirOcorrencia(String id, LocalDate data) {
+        log.debug("Concluindo a ocorrência de {} da tarefa ID: {}", data, id);
+
+        Tarefa tarefa = alterarTarefa(id, OperacaoTarefa.CONCLUIR_OCORRENCIA, TipoEventoTarefa.ATUALIZADA,
+                t -> exigirOcorrencia(t, data).concluirOcorrencia(data));
+
+        log.debug("Ocorrência de {} concluída. ID: {}", data, id);
+        return tarefa;
+    }
+
+    public Tarefa reabrirOcorrencia(String id, LocalDate data) {
+        log.debug("Reabrindo a ocorrência de {} da tarefa ID: {}", data, id);
+
+        Tarefa tarefa = alterarTarefa(id, OperacaoTarefa.REABRIR_OCORRENCIA, TipoEventoTarefa.ATUALIZADA,
+                t -> exigirOcorrencia(t, data).reabrirOcorrencia(data));
+
+        log.debug("Ocorrência de {} reaberta. ID: {}", data, id);
         return tarefa;
     }
 
     public void removerTarefa(String id) {
-        log.info("Removendo tarefa. ID: {}", id);
+        log.debug("Removendo tarefa. ID: {}", id);
+
+        metricas.medir(OperacaoTarefa.REMOVER, () -> {
+            long[] sequencia = new long[1];
+            if (remover(id, sequencia) == null) {
+                metricas.registrarNaoEncontrada();
+                throw new TarefaNaoEncontradaException(id);
+            }
+            diarioMutacoes.aguardarDurabilidade(sequencia[0]);
+            return null;
+        });
+        log.debug("Tarefa removida com sucesso. ID: {}", id);
+    }
 
-        if (!bancoTarefas.containsKey(id)) {
-            throw new TarefaNaoEncontradaException(id);
+    // As operações em lote validam e aplicam cada item de forma independente, registram uma única
+    // linha de log e esperam a durabilidade do diário uma só vez, pela maior sequência do lote.
+    public RespostaLote criarTarefasEmLote(List<RequisicaoCriacaoTarefa> requisicoes) {
+        log.debug("Criando lote de {} tarefas", requisicoes.size());
+
+        return metricas.medir(OperacaoTarefa.CRIAR_LOTE, () -> aplicarCriacaoEmLote(requisicoes));
+    }
+
+    public RespostaLote buscarTarefasEmLote(List<String> ids) {
+        log.debug("Buscando lote de {} tarefas", ids.size());
+
+        return metricas.medir(OperacaoTarefa.BUSCAR_LOTE, () ->
+                processarLote(ids, (id, sequencia) -> bancoTarefas.get(id), 200));
+    }
+
+    public RespostaLote concluirTarefasEmLote(List<String> ids) {
+        log.debug("Concluindo lote de {} tarefas", ids.size());
+
+        return metricas.medir(OperacaoTarefa.CONCLUIR_LOTE, () -> processarLote(ids, (id, sequencia) ->
+                alterar(id, TipoEventoTarefa.CONCLUIDA, Tarefa::marcarComoConcluida, sequencia), 200));
+    }
+
+    public RespostaLote removerTarefasEmLote(List<String> ids) {
+        log.debug("Removendo lote de {} tarefas", ids.size());
+
+        return metricas.medir(OperacaoTarefa.REMOVER_LOTE, () -> processarLote(ids, this::remover, 204));
+    }
+
+    private RespostaLote aplicarCriacaoEmLote(List<RequisicaoCriacaoTarefa> requisicoes) {
+        long sequencia = 0;
+        List<ResultadoLote> resultados = new ArrayList<>(requisicoes.size());
+        for (int i = 0; i < requisicoes.size(); i++) {
+            RequisicaoCriacaoTarefa requisicao = requisicoes.get(i);
+            Map<String, String> erros = validar(requisicao);
+            if (!erros.isEmpty()) {
+                resultados.add(ResultadoLote.builder()
+                        .indice(i)
+                        .status(400)
+                        .erro("Dados inválidos fornecidos")
+                        .errosValidacao(erros)
+                        .build());
+                continue;
+            }
+
+            Tarefa tarefa = novaTarefa(requisicao);
+            try {
+                sequencia = Math.max(sequencia, inserir(tarefa));
+            } catch (CotaExcedidaException e) {
+                resultados.add(ResultadoLote.builder().indice(i).status(429).erro(e.getMessage()).build());
+                continue;
+            }
+            resultados.add(ResultadoLote.builder()
+                    .indice(i)
+                    .idTarefa(tarefa.getIdTarefa())
+                    .status(201)
+                    .tarefa(tarefa)
+                    .build());
         }
+        diarioMutacoes.aguardarDurabilidade(sequencia);
 
-        bancoTarefas.remove(id);
-        log.info("Tarefa removida com sucesso. ID: {}", id);
+        return RespostaLote.de(resultados);
     }
 
     public List<Tarefa> listarTarefasPorStatus(StatusTarefa status) {
-        log.info("Filtrando tarefas por status: {}", status);
+        return metricas.medir(OperacaoTarefa.LISTAR_POR_STATUS,
+                () -> percorrerTarefasPorStatus(status).collect(Collectors.toList()));
+    }
 
-        return bancoTarefas.values()
-                .stream()
-                .filter(t -> t.getStatus().equals(status))
-                .sorted(Comparator
-                        .comparing((Tarefa t) -> t.getPrioridade().getNivel())
-                        .reversed()
-                        .thenComparing(Tarefa::getCriadoEm))
-                .collect(Collectors.toList());
+    public Stream<Tarefa> percorrerTarefasPorStatus(StatusTarefa status) {
+        log.debug("Filtrando tarefas por status: {}", status);
+
+        return resolver(indiceTarefas.chavesComStatus(status))
+                .filter(t -> t.getStatus().equals(status));
+    }
+
+    public Pagina<Tarefa> listarTarefasPorStatus(StatusTarefa status, String cursor, int limite) {
+        log.debug("Filtrando página de tarefas por status: {}", status);
+
+        return metricas.medir(OperacaoTarefa.LISTAR_POR_STATUS, () -> consultar(OperacaoTarefa.LISTAR_POR_STATUS,
+                () -> paginar(indiceTarefas.chavesComStatus(status), cursor, limite, t -> t.getStatus().equals(status)),
+                status, cursor, limite));
     }
 
     public List<Tarefa> listarTarefasPorPrioridade(PrioridadeTarefa prioridade) {
-        log.info("Filtrando tarefas por prioridade: {}", prioridade);
+        return metricas.medir(OperacaoTarefa.LISTAR_POR_PRIORIDADE,
+                () -> percorrerTarefasPorPrioridade(prioridade).collect(Collectors.toList()));
+    }
 
-        return bancoTarefas.values()
-                .stream()
-                .filter(t -> t.getPrioridade().equals(prioridade))
-                .sorted(Comparator.comparing(Tarefa::getCriadoEm))
-                .collect(Collectors.toList());
+    public Stream<Tarefa> percorrerTarefasPorPrioridade(PrioridadeTarefa prioridade) {
+        log.debug("Filtrando tarefas por prioridade: {}", prioridade);
+
+        return resolver(indiceTarefas.chavesComPrioridade(prioridade));
+    }
+
+    public Pagina<Tarefa> listarTarefasPorPrioridade(PrioridadeTarefa prioridade, String cursor, int limite) {
+        log.debug("Filtrando página de tarefas por prioridade: {}", prioridade);
+
+        return metricas.medir(OperacaoTarefa.LISTAR_POR_PRIORIDADE, () -> consultar(OperacaoTarefa.LISTAR_POR_PRIORIDADE,
+                () -> paginar(indiceTarefas.chavesComPrioridade(prioridade), cursor, limite, t -> true),
+                prioridade, cursor, limite));
     }
 
     public List<Tarefa> buscarTarefasPorTermo(String termo) {
-        log.info("Buscando tarefas com termo: {}", termo);
+        return metricas.medir(OperacaoTarefa.BUSCAR_POR_TERMO,
+                () -> percorrerTarefasPorTermo(termo).collect(Collectors.toList()));
+    }
 
-        String termoMinusculo = termo.toLowerCase();
+    public Stream<Tarefa> percorrerTarefasPorTermo(String termo) {
+        log.debug("Buscando tarefas com termo: {}", termo);
 
-        return bancoTarefas.values()
-                .stream()
-                .filter(t ->
-                        t.getTitulo().toLowerCase().contains(termoMinusculo) ||
-                                (t.getDiscricao() != null &&
-                                        t.getDiscricao().toLowerCase().contains(termoMinusculo)))
-                .sorted(Comparator
-                        .comparing((Tarefa t) -> t.getPrioridade().getNivel())
-                        .reversed()
-                        .thenComparing(Tarefa::getCriadoEm))
-                .collect(Collectors.toList());
+        return filtrarPorTermo(termo, null);
+    }
+
+    public Pagina<Tarefa> buscarTarefasPorTermo(String termo, String cursor, int limite) {
+        log.debug("Buscando página de tarefas com termo: {}", termo);
+
+        return metricas.medir(OperacaoTarefa.BUSCAR_POR_TERMO, () -> consultar(OperacaoTarefa.BUSCAR_POR_TERMO, () -> {
+            ChaveOrdenacao ultima = cursor == null ? null : CursorPaginacao.decodificar(cursor);
+            List<Tarefa> itens = filtrarPorTermo(termo, ultima)
+                    .limit(limite + 1L)
+                    .collect(Collectors.toList());
+            return montarPagina(itens, limite, tarefa -> CursorPaginacao.codificar(ChaveOrdenacao.de(tarefa)));
+        }, termo, cursor, limite));
     }
 
     public ObterEstatisticas obterEstatisticas() {
-        log.info("Calculando estatísticas das tarefas");
+        log.debug("Calculando estatísticas das tarefas");
 
-        List<Tarefa> tarefas = new ArrayList<>(bancoTarefas.values());
+        return metricas.medir(OperacaoTarefa.ESTATISTICAS, () ->
+                consultar(OperacaoTarefa.ESTATISTICAS, contadoresTarefas::obterEstatisticas));
+    }
 
-        long total = tarefas.size();
-        long concluidas = tarefas.stream().filter(Tarefa::estaConcluida).count();
-        long pendentes = tarefas.stream().filter(t -> !t.estaConcluida()).count();
+    public ObterEstatisticas obterEstatisticasEntreDatas(LocalDateTime inicio, LocalDateTime fim) {
+        log.debug("Calculando estatísticas das tarefas criadas entre {} e {}", inicio, fim);
 
-        Map<PrioridadeTarefa, Long> porPrioridade = tarefas.stream()
-                .collect(Collectors.groupingBy(Tarefa::getPrioridade, Collectors.counting()));
+        OperacaoTarefa operacao = OperacaoTarefa.ESTATISTICAS_POR_INTERVALO;
+        return metricas.medir(operacao, () -> consultar(operacao, () -> colunas.agregar(CampoTemporal.CRIACAO,
+                inicio, fim, () -> agregarIntervalo(CampoTemporal.CRIACAO, inicio, fim)), inicio, fim));
+    }
 
-        Map<StatusTarefa, Long> porStatus = tarefas.stream()
-                .collect(Collectors.groupingBy(Tarefa::getStatus, Collectors.counting()));
+    // Prazos e ocorrências em [inicio, fim), em ordem. As séries são expandidas só dentro da janela e o
+    // resultado fica no cache de consultas até a próxima mutação do inquilino.
+    public List<Ocorrencia> listarCalendario(LocalDateTime inicio, LocalDateTime fim) {
+        log.debug("Expandindo o calendário entre {} e {}", inicio, fim);
 
-        return ObterEstatisticas.builder()
-                .totalTarefas(total)
-                .tarefasConcluidas(concluidas)
-                .tarefasPendentes(pendentes)
-                .tarefasPorPrioridade(porPrioridade)
-                .tarefasPorStatus(porStatus)
-                .build();
+        if (!inicio.isBefore(fim)) {
+            throw new JanelaCalendarioInvalidaException("O início da janela deve ser anterior ao fim");
+        }
+        if (Duration.between(inicio, fim).compareTo(JANELA_MAXIMA_CALENDARIO) > 0) {
+            throw new JanelaCalendarioInvalidaException(
+                    "A janela do calendário não pode passar de " + JANELA_MAXIMA_CALENDARIO.toDays() + " dias");
+        }
+        return metricas.medir(OperacaoTarefa.CALENDARIO, () -> consultar(OperacaoTarefa.CALENDARIO,
+                () -> expandirCalendario(inicio, fim), inicio, fim));
     }
 
     public List<Tarefa> listarTarefasEntreDatas(LocalDateTime inicio, LocalDateTime fim) {
-        log.info("Buscando tarefas criadas entre {} e {}", inicio, fim);
+        return metricas.medir(OperacaoTarefa.LISTAR_POR_INTERVALO,
+                () -> percorrerTarefasEntreDatas(inicio, fim).collect(Collectors.toList()));
+    }
 
-        return bancoTarefas.values()
-                .stream()
-                .filter(t -> t.getCriadoEm().isAfter(inicio) && t.getCriadoEm().isBefore(fim))
-                .sorted(Comparator.comparing(Tarefa::getCriadoEm).reversed())
+    public Stream<Tarefa> percorrerTarefasEntreDatas(LocalDateTime inicio, LocalDateTime fim) {
+        log.debug("Buscando tarefas criadas entre {} e {}", inicio, fim);
+
+        return percorrerIntervalo(CampoTemporal.CRIACAO, inicio, fim, null);
+    }
+
+    public Pagina<Tarefa> listarTarefasEntreDatas(LocalDateTime inicio, LocalDateTime fim, String cursor, int limite) {
+        log.debug("Buscando página de tarefas criadas entre {} e {}", inicio, fim);
+
+        return paginarIntervalo(CampoTemporal.CRIACAO, inicio, fim, cursor, limite);
+    }
+
+    public Stream<Tarefa> percorrerTarefasAtualizadasEntre(LocalDateTime inicio, LocalDateTime fim) {
+        log.debug("Buscando tarefas atualizadas entre {} e {}", inicio, fim);
+
+        return percorrerIntervalo(CampoTemporal.ATUALIZACAO, inicio, fim, null);
+    }
+
+    public Pagina<Tarefa> listarTarefasAtualizadasEntre(LocalDateTime inicio, LocalDateTime fim, String cursor, int limite) {
+        log.debug("Buscando página de tarefas atualizadas entre {} e {}", inicio, fim);
+
+        return paginarIntervalo(CampoTemporal.ATUALIZACAO, inicio, fim, cursor, limite);
+    }
+
+    public Stream<Tarefa> percorrerTarefasConcluidasEntre(LocalDateTime inicio, LocalDateTime fim) {
+        log.debug("Buscando tarefas concluídas entre {} e {}", inicio, fim);
+
+        return percorrerIntervalo(CampoTemporal.CONCLUSAO, inicio, fim, null);
+    }
+
+    public Pagina<Tarefa> listarTarefasConcluidasEntre(LocalDateTime inicio, LocalDateTime fim, String cursor, int limite) {
+        log.debug("Buscando página de tarefas concluídas entre {} e {}", inicio, fim);
+
+        return paginarIntervalo(CampoTemporal.CONCLUSAO, inicio, fim, cursor, limite);
+    }
+
+    private Stream<Tarefa> percorrerIntervalo(CampoTemporal campo, LocalDateTime inicio, LocalDateTime fim, ChaveTemporal depoisDe) {
+        NavigableSet<ChaveTemporal> chaves = indiceTemporal.entre(campo, inicio, fim);
+        NavigableSet<ChaveTemporal> restantes = depoisDe == null ? chaves : chaves.tailSet(depoisDe, false);
+
+        return restantes.stream()
+                .map(chave -> {
+                    Tarefa tarefa = bancoTarefas.get(chave.getIdTarefa());
+                    return tarefa != null && chave.getInstante().equals(campo.de(tarefa)) ? tarefa : null;
+                })
+                .filter(Objects::nonNull);
+    }
+
+    // Prazos únicos vêm do índice temporal, cujo intervalo é aberto no início; as séries, do índice de recorrências.
+    private List<Ocorrencia> expandirCalendario(LocalDateTime inicio, LocalDateTime fim) {
+        Stream<Ocorrencia> unicas = percorrerIntervalo(CampoTemporal.PRAZO, inicio.minusNanos(1), fim, null)
+                .filter(tarefa -> !tarefa.ehRecorrente())
+                .map(tarefa -> Ocorrencia.de(tarefa, tarefa.getPrazo()));
+        Stream<Ocorrencia> recorrentes = indiceRecorrencias.series().stream()
+                .flatMap(tarefa -> tarefa.ocorrenciasEntre(inicio, fim).map(instante -> Ocorrencia.de(tarefa, instante)));
+        return Stream.concat(unicas, recorrentes).sorted(ORDEM_CALENDARIO).toList();
+    }
+
+    // Sem o armazém colunar a agregação resolve cada chave do índice temporal até a tarefa.
+    private ObterEstatisticas agregarIntervalo(CampoTemporal campo, LocalDateTime inicio, LocalDateTime fim) {
+        Map<StatusTarefa, Long> porStatus = new EnumMap<>(StatusTarefa.class);
+        Map<PrioridadeTarefa, Long> porPrioridade = new EnumMap<>(PrioridadeTarefa.class);
+        percorrerIntervalo(campo, inicio, fim, null).forEach(tarefa -> {
+            porStatus.merge(tarefa.getStatus(), 1L, Long::sum);
+            porPrioridade.merge(tarefa.getPrioridade(), 1L, Long::sum);
+        });
+        return ObterEstatisticas.de(porStatus, porPrioridade);
+    }
+
+    private Pagina<Tarefa> paginarIntervalo(CampoTemporal campo, LocalDateTime inicio, LocalDateTime fim, String cursor, int limite) {
+        return metricas.medir(OperacaoTarefa.LISTAR_POR_INTERVALO, () -> consultar(OperacaoTarefa.LISTAR_POR_INTERVALO, () -> {
+            ChaveTemporal ultima = cursor == null ? null : CursorPaginacao.decodificarTemporal(cursor);
+
+            List<Tarefa> itens = percorrerIntervalo(campo, inicio, fim, ultima)
+                    .limit(limite + 1L)
+                    .collect(Collectors.toList());
+            return montarPagina(itens, limite,
+                    tarefa -> CursorPaginacao.codificar(new ChaveTemporal(campo.de(tarefa), tarefa.getIdTarefa())));
+        }, campo, inicio, fim, cursor, limite));
+    }
+
+    private Pagina<Tarefa> paginar(NavigableSet<ChaveOrdenacao> chaves, String cursor, int limite, Predicate<Tarefa> filtro) {
+        NavigableSet<ChaveOrdenacao> restantes = cursor == null
+                ? chaves
+                : chaves.tailSet(CursorPaginacao.decodificar(cursor), false);
+
+        List<Tarefa> itens = resolver(restantes)
+                .filter(filtro)
+                .limit(limite + 1L)
                 .collect(Collectors.toList());
+        return montarPagina(itens, limite, tarefa -> CursorPaginacao.codificar(ChaveOrdenacao.de(tarefa)));
+    }
+
+    // A versão da loja é lida antes de executar a consulta, como nas ETags: o resultado guardado sob
+    // uma versão contém pelo menos todas as mutações que ela conta.
+    private <T> T consultar(OperacaoTarefa operacao, Supplier<T> consulta, Object... parametros) {
+        ChaveConsulta chave = new ChaveConsulta(operacao.rotulo(), Arrays.asList(parametros), versaoLoja.get());
+        return cacheConsultas.obter(chave, consulta);
+    }
+
+    // Páginas podem ser compartilhadas pelo cache entre várias respostas, então a lista não é alterável.
+    private static Pagina<Tarefa> montarPagina(List<Tarefa> itens, int limite, Function<Tarefa, String> cursorDe) {
+        if (itens.size() <= limite) {
+            return new Pagina<>(Collections.unmodifiableList(itens), null);
+        }
+        List<Tarefa> pagina = List.copyOf(itens.subList(0, limite));
+        return new Pagina<>(pagina, cursorDe.apply(pagina.get(limite - 1)));
+    }
+
+    // Com o índice de trigramas só as candidatas são conferidas e ordenadas; termos curtos percorrem a ordem geral.
+    private Stream<Tarefa> filtrarPorTermo(String termo, ChaveOrdenacao depoisDe) {
+        String termoMinusculo = termo.toLowerCase();
+        Predicate<Tarefa> filtro = contemTermo(termo);
+
+        if (!indiceTrigramas.podeResponder(termoMinusculo)) {
+            NavigableSet<ChaveOrdenacao> chaves = depoisDe == null
+                    ? indiceTarefas.ordemGeral()
+                    : indiceTarefas.ordemGeral().tailSet(depoisDe, false);
+            return resolver(chaves).filter(filtro);
+        }
+
+        return indiceTrigramas.candidatos(termoMinusculo)
+                .stream()
+                .map(bancoTarefas::get)
+                .filter(Objects::nonNull)
+                .filter(filtro)
+                .map(tarefa -> new AbstractMap.SimpleImmutableEntry<>(ChaveOrdenacao.de(tarefa), tarefa))
+                .filter(entrada -> depoisDe == null || entrada.getKey().compareTo(depoisDe) > 0)
+                .sorted(Map.Entry.comparingByKey())
+                .map(Map.Entry::getValue);
+    }
+
+    private static Predicate<Tarefa> contemTermo(String termo) {
+        String termoMinusculo = termo.toLowerCase();
+
+        return t -> t.getTitulo().toLowerCase().contains(termoMinusculo) ||
+                (t.getDiscricao() != null && t.getDiscricao().toLowerCase().contains(termoMinusculo));
+    }
+
+    // Descarta chaves que ficaram para trás por uma alteração concorrente à leitura.
+    private Stream<Tarefa> resolver(Collection<ChaveOrdenacao> chaves) {
+        return chaves.stream()
+                .map(chave -> {
+                    Tarefa tarefa = bancoTarefas.get(chave.getIdTarefa());
+                    return tarefa != null && chave.corresponde(tarefa) ? tarefa : null;
+                })
+                .filter(Objects::nonNull);
+    }
+
+    // A nova versão substitui a anterior atomicamente dentro do compute, que trava apenas a entrada
+    // da tarefa: leituras seguem sem bloqueio e sempre enxergam uma versão completa. O registro no
+    // diário e a reindexação ficam no mesmo compute para preservar a ordem das versões; a espera
+    // pelo fsync fica do lado de fora.
+    private Tarefa alterarTarefa(String id, OperacaoTarefa operacao, TipoEventoTarefa tipo,
+                                 UnaryOperator<Tarefa> alteracao) {
+        return metricas.medir(operacao, () -> {
+            long[] sequencia = new long[1];
+            Tarefa tarefa = alterar(id, tipo, alteracao, sequencia);
+
+            if (tarefa == null) {
+                metricas.registrarNaoEncontrada();
+                throw new TarefaNaoEncontradaException(id);
+            }
+            diarioMutacoes.aguardarDurabilidade(sequencia[0]);
+            return tarefa;
+        });
+    }
+
+    private Tarefa novaTarefa(RequisicaoCriacaoTarefa requisicao) {
+        return new Tarefa(geradorIds.proximo(), requisicao.getTitulo(), requisicao.getDescricao(),
+                requisicao.getPrioridade(), inquilino, requisicao.getPrazo(), requisicao.getRecorrencia());
+    }
+
+    // Lançada dentro do compute, deixa a tarefa como estava e nada chega ao diário.
+    private static Tarefa exigirOcorrencia(Tarefa tarefa, LocalDate data) {
+        if (!tarefa.temOcorrenciaEm(data)) {
+            throw new OcorrenciaNaoEncontradaException(tarefa.getIdTarefa(), data);
+        }
+        return tarefa;
+    }
+
+    // Os métodos abaixo não esperam pelo diário: acumulam em sequencia[0] a maior sequência
+    // registrada para que o chamador espere uma única vez.
+    private long inserir(Tarefa tarefa) {
+        reservarCota();
+        long sequencia;
+        try {
+            sequencia = diarioMutacoes.registrar(
+                    new EventoTarefa(TipoEventoTarefa.CRIADA, inquilino, tarefa.getIdTarefa(), tarefa));
+        } catch (RuntimeException e) {
+            tarefasNaCota.decrementAndGet();
+            throw e;
+        }
+        // A criação só é anunciada depois que a tarefa pode ser lida e consultada pelas projeções. Até este
+        // método retornar, o id só é conhecido por quem recebe o anúncio, então nenhuma alteração da
+        // tarefa chega ao canal antes dele.
+        try {
+            bancoTarefas.put(tarefa.getIdTarefa(), tarefa);
+            projecoes.forEach(projecao -> projecao.adicionar(tarefa));
+            canalAlteracoes.publicar(TipoEventoTarefa.CRIADA, null, tarefa);
+        } finally {
+            diarioMutacoes.publicado(sequencia);
+        }
+        metricas.registrarMutacao(TipoEventoTarefa.CRIADA);
+        versaoLoja.incrementAndGet();
+        return sequencia;
+    }
+
+    // A nova versão só fica visível quando o compute termina, então é lá fora que o diário fica sabendo.
+    private Tarefa alterar(String id, TipoEventoTarefa tipo, UnaryOperator<Tarefa> alteracao, long[] sequencia) {
+        long[] registrada = new long[1];
+        Tarefa alterada;
+        try {
+            alterada = bancoTarefas.computeIfPresent(id, (chave, atual) -> {
+                Tarefa nova = alteracao.apply(atual);
+                registrada[0] = diarioMutacoes.registrar(new EventoTarefa(tipo, inquilino, id, nova));
+                sequencia[0] = Math.max(sequencia[0], registrada[0]);
+                canalAlteracoes.publicar(tipo, atual, nova);
+                projecoes.forEach(projecao -> projecao.reindexar(atual, nova));
+                metricas.registrarMutacao(tipo);
+                return nova;
+            });
+        } finally {
+            if (registrada[0] != 0) {
+                diarioMutacoes.publicado(registrada[0]);
+            }
+        }
+        if (alterada != null) {
+            versaoLoja.incrementAndGet();
+        }
+        return alterada;
+    }
+
+    private Tarefa remover(String id, long[] sequencia) {
+        Tarefa[] removida = new Tarefa[1];
+        long[] registrada = new long[1];
+        try {
+            bancoTarefas.computeIfPresent(id, (chave, atual) -> {
+                registrada[0] = diarioMutacoes.registrar(new EventoTarefa(TipoEventoTarefa.REMOVIDA, inquilino, id, null));
+                sequencia[0] = Math.max(sequencia[0], registrada[0]);
+                canalAlteracoes.publicar(TipoEventoTarefa.REMOVIDA, atual, null);
+                projecoes.forEach(projecao -> projecao.remover(atual));
+                metricas.registrarMutacao(TipoEventoTarefa.REMOVIDA);
+                removida[0] = atual;
+                return null;
+            });
+        } finally {
+            if (registrada[0] != 0) {
+                diarioMutacoes.publicado(registrada[0]);
+            }
+        }
+        if (removida[0] != null) {
+            tarefasNaCota.decrementAndGet();
+            versaoLoja.incrementAndGet();
+        }
+        return removida[0];
+    }
+
+    // A vaga é reservada antes do registro no diário, então criações concorrentes nunca passam da cota.
+    private void reservarCota() {
+        if (tarefasNaCota.incrementAndGet() > cotaTarefas) {
+            tarefasNaCota.decrementAndGet();
+            throw new CotaExcedidaException("O inquilino '" + inquilino + "' atingiu a cota de " + cotaTarefas + " tarefas");
+        }
+    }
+
+    private interface OperacaoLote {
+        Tarefa aplicar(String id, long[] sequencia);
+    }
+
+    private RespostaLote processarLote(List<String> ids, OperacaoLote operacao, int statusSucesso) {
+        long[] sequencia = new long[1];
+        List<ResultadoLote> resultados = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            String id = ids.get(i);
+            ResultadoLote.ResultadoLoteBuilder resultado = ResultadoLote.builder().indice(i).idTarefa(id);
+            if (id == null || id.isBlank()) {
+                resultados.add(resultado.status(400).erro("O ID da tarefa é obrigatório").build());
+                continue;
+            }
+
+            Tarefa tarefa = operacao.aplicar(id, sequencia);
+            if (tarefa == null) {
+                metricas.registrarNaoEncontrada();
+                resultados.add(resultado.status(404).erro("Tarefa com ID '" + id + "' não foi encontrada").build());
+            } else {
+                resultados.add(resultado.status(statusSucesso).tarefa(statusSucesso == 204 ? null : tarefa).build());
+            }
+        }
+        diarioMutacoes.aguardarDurabilidade(sequencia[0]);
+
+        return RespostaLote.de(resultados);
+    }
+
+    private Map<String, String> validar(RequisicaoCriacaoTarefa requisicao) {
+        if (requisicao == null) {
+            return Map.of("requisicao", "O item do lote não pode ser nulo");
+        }
+        Map<String, String> erros = new HashMap<>();
+        for (ConstraintViolation<RequisicaoCriacaoTarefa> violacao : validador.validate(requisicao)) {
+            erros.put(violacao.getPropertyPath().toString(), violacao.getMessage());
+        }
+        return erros;
+    }
+
+    // Aplica um evento já registrado, sem passar pelo diário: usado na recuperação do estado e pela réplica.
+    // A cota não é imposta aqui: o que já foi aceito continua valendo mesmo que a cota tenha diminuído.
+    // Só o que muda o estado chega ao canal, então reaplicar um instantâneo não gera alterações.
+    // Toda mutação avança a versão da tarefa; um evento que não passa da versão guardada é antigo,
+    // como o histórico que o líder reenvia depois do instantâneo, e é ignorado para o estado não voltar.
+    void aplicarEvento(EventoTarefa evento) {
+        if (evento.ehRemocao()) {
+            bancoTarefas.computeIfPresent(evento.getIdTarefa(), (chave, atual) -> {
+                projecoes.forEach(projecao -> projecao.remover(atual));
+                tarefasNaCota.decrementAndGet();
+                canalAlteracoes.publicar(TipoEventoTarefa.REMOVIDA, atual, null);
+                return null;
+            });
+            versaoLoja.incrementAndGet();
+            return;
+        }
+
+        Tarefa nova = evento.getTarefa();
+        boolean[] aplicado = new boolean[1];
+        bancoTarefas.compute(evento.getIdTarefa(), (chave, atual) -> {
+            if (atual != null && nova.getVersao() <= atual.getVersao()) {
+                return atual;
+            }
+            aplicado[0] = true;
+            if (atual == null) {
+                projecoes.forEach(projecao -> projecao.adicionar(nova));
+                tarefasNaCota.incrementAndGet();
+                canalAlteracoes.publicar(TipoEventoTarefa.CRIADA, null, nova);
+            } else {
+                projecoes.forEach(projecao -> projecao.reindexar(atual, nova));
+                if (!atual.equals(nova)) {
+                    canalAlteracoes.publicar(evento.getTipo() == TipoEventoTarefa.CRIADA
+                            ? TipoEventoTarefa.ATUALIZADA : evento.getTipo(), atual, nova);
+                }
+            }
+            return nova;
+        });
+        geradorIds.observar(evento.getIdTarefa());
+        if (aplicado[0]) {
+            versaoLoja.incrementAndGet();
+        }
     }
 }
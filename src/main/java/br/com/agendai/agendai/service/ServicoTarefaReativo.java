@@ -0,0 +1,110 @@
+package br.com.agendai.agendai.service;
+
+import br.com.agendai.agendai.model.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+// Fachada não bloqueante sobre o ServicoTarefa. Leituras consultam só a memória e rodam na própria
+// thread do laço de eventos; as listagens percorrem os índices sob demanda, então o assinante
+// controla o ritmo e nada é montado por inteiro. Mutações podem esperar o fsync do diário e por isso
+// são deslocadas para o agendador de tarefas bloqueantes.
+public class ServicoTarefaReativo {
+
+    private final ServicoTarefa servicoTarefa;
+    private final Scheduler agendadorMutacoes;
+
+    public ServicoTarefaReativo(ServicoTarefa servicoTarefa) {
+        this(servicoTarefa, Schedulers.boundedElastic());
+    }
+
+    public ServicoTarefaReativo(ServicoTarefa servicoTarefa, Scheduler agendadorMutacoes) {
+        this.servicoTarefa = servicoTarefa;
+        this.agendadorMutacoes = agendadorMutacoes;
+    }
+
+    public Mono<Tarefa> criarTarefa(RequisicaoCriacaoTarefa requisicao) {
+        return mutacao(() -> servicoTarefa.criarTarefa(requisicao));
+    }
+
+    public Flux<Tarefa> listarTodasTarefas() {
+        return Flux.fromStream(servicoTarefa::percorrerTodasTarefas);
+    }
+
+    public Mono<Tarefa> buscarTarefaPorId(String id) {
+        return Mono.fromCallable(() -> servicoTarefa.buscarTarefaPorId(id));
+    }
+
+    public Mono<Tarefa> atualizarTarefa(String id, AtualizarTarefa requisicao) {
+        return mutacao(() -> servicoTarefa.atualizarTarefa(id, requisicao));
+    }
+
+    public Mono<Tarefa> concluirTarefa(String id) {
+        return mutacao(() -> servicoTarefa.concluirTarefa(id));
+    }
+
+    public Mono<Tarefa> reabrirTarefa(String id) {
+        return mutacao(() -> servicoTarefa.reabrirTarefa(id));
+    }
+
+    public Mono<Void> removerTarefa(String id) {
+        return Mono.fromRunnable(() -> servicoTarefa.removerTarefa(id)).subscribeOn(agendadorMutacoes).then();
+    }
+
+    public Mono<RespostaLote> criarTarefasEmLote(List<RequisicaoCriacaoTarefa> requisicoes) {
+        return mutacao(() -> servicoTarefa.criarTarefasEmLote(requisicoes));
+    }
+
+    public Mono<RespostaLote> buscarTarefasEmLote(List<String> ids) {
+        return Mono.fromCallable(() -> servicoTarefa.buscarTarefasEmLote(ids));
+    }
+
+    public Mono<RespostaLote> concluirTarefasEmLote(List<String> ids) {
+        return mutacao(() -> servicoTarefa.concluirTarefasEmLote(ids));
+    }
+
+    public Mono<RespostaLote> removerTarefasEmLote(List<String> ids) {
+        return mutacao(() -> servicoTarefa.removerTarefasEmLote(ids));
+    }
+
+    public Flux<Tarefa> listarTarefasPorStatus(StatusTarefa status) {
+        return Flux.fromStream(() -> servicoTarefa.percorrerTarefasPorStatus(status));
+    }
+
+    public Flux<Tarefa> listarTarefasPorPrioridade(PrioridadeTarefa prioridade) {
+        return Flux.fromStream(() -> servicoTarefa.percorrerTarefasPorPrioridade(prioridade));
+    }
+
+    public Flux<Tarefa> buscarTarefasPorTermo(String termo) {
+        return Flux.fromStream(() -> servicoTarefa.percorrerTarefasPorTermo(termo));
+    }
+
+    public Mono<ObterEstatisticas> obterEstatisticas() {
+        return Mono.fromCallable(servicoTarefa::obterEstatisticas);
+    }
+
+    public Mono<ObterEstatisticas> obterEstatisticasEntreDatas(LocalDateTime inicio, LocalDateTime fim) {
+        return Mono.fromCallable(() -> servicoTarefa.obterEstatisticasEntreDatas(inicio, fim));
+    }
+
+    public Flux<Tarefa> listarTarefasEntreDatas(LocalDateTime inicio, LocalDateTime fim) {
+        return Flux.fromStream(() -> servicoTarefa.percorrerTarefasEntreDatas(inicio, fim));
+    }
+
+    public Flux<Tarefa> listarTarefasAtualizadasEntre(LocalDateTime inicio, LocalDateTime fim) {
+        return Flux.fromStream(() -> servicoTarefa.percorrerTarefasAtualizadasEntre(inicio, fim));
+    }
+
+    public Flux<Tarefa> listarTarefasConcluidasEntre(LocalDateTime inicio, LocalDateTime fim) {
+        return Flux.fromStream(() -> servicoTarefa.percorrerTarefasConcluidasEntre(inicio, fim));
+    }
+
+    private <T> Mono<T> mutacao(Callable<T> operacao) {
+        return Mono.fromCallable(operacao).subscribeOn(agendadorMutacoes);
+    }
+}
@@ -0,0 +1,204 @@
+package br.com.agendai.agendai.alteracoes;
+
+import br.com.agendai.agendai.exception.CotaExcedidaException;
+import br.com.agendai.agendai.model.AlteracaoTarefa;
+import br.com.agendai.agendai.model.AtualizarTarefa;
+import br.com.agendai.agendai.model.PrioridadeTarefa;
+import br.com.agendai.agendai.model.RequisicaoCriacaoTarefa;
+import br.com.agendai.agendai.model.StatusTarefa;
+import br.com.agendai.agendai.model.Tarefa;
+import br.com.agendai.agendai.model.TipoEventoTarefa;
+import br.com.agendai.agendai.service.CacheConsultas;
+import br.com.agendai.agendai.service.ColunasTarefas;
+import br.com.agendai.agendai.service.DiarioMutacoes;
+import br.com.agendai.agendai.service.GeradorIdsMonotonico;
+import br.com.agendai.agendai.service.ServicoTarefa;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+
+@DisplayName("Testes do fluxo de alterações")
+class DifusorAlteracoesTeste {
+
+    private final SimpleMeterRegistry registro = new SimpleMeterRegistry();
+    private DifusorAlteracoes difusor;
+
+    @AfterEach
+    void tearDown() {
+        difusor.close();
+    }
+
+    @Test
+    @DisplayName("Deve entregar as alterações do inquilino que passam no filtro, inclusive as que saem dele")
+    void deveEntregarAlteracoesFiltradas() throws Exception {
+        // Given
+        difusor = difusor(PoliticaAssinantesLentos.DESCONECTAR, 16);
+        ServicoTarefa acme = servico("acme");
+        ServicoTarefa globex = servico("globex");
+        AssinaturaAlteracoes assinatura = difusor.assinar(
+                FiltroAlteracoes.de("acme", Set.of(StatusTarefa.PENDENTE), Set.of(PrioridadeTarefa.ALTA)));
+
+        // When
+        Tarefa alta = acme.criarTarefa(new RequisicaoCriacaoTarefa("Alta", null, PrioridadeTarefa.ALTA));
+        acme.criarTarefa(new RequisicaoCriacaoTarefa("Baixa", null, PrioridadeTarefa.BAIXA));
+        globex.criarTarefa(new RequisicaoCriacaoTarefa("De outro inquilino", null, PrioridadeTarefa.ALTA));
+        acme.concluirTarefa(alta.getIdTarefa());
+        acme.reabrirTarefa(alta.getIdTarefa());
+        acme.atualizarTarefa(alta.getIdTarefa(), new AtualizarTarefa("Alta revista", null, PrioridadeTarefa.ALTA));
+        acme.removerTarefa(alta.getIdTarefa());
+        List<AlteracaoTarefa> recebidas = receber(assinatura, 5);
+
+        // Then
+        assertThat(recebidas).extracting(AlteracaoTarefa::getTipo).containsExactly(
+                TipoEventoTarefa.CRIADA, TipoEventoTarefa.CONCLUIDA, TipoEventoTarefa.REABERTA,
+                TipoEventoTarefa.ATUALIZADA, TipoEventoTarefa.REMOVIDA);
+        assertThat(recebidas).extracting(AlteracaoTarefa::getIdTarefa).containsOnly(alta.getIdTarefa());
+        assertThat(recebidas).extracting(AlteracaoTarefa::getSequencia).isSorted();
+        assertThat(recebidas.get(1).getTarefa().getStatus()).isEqualTo(StatusTarefa.CONCLUIDA);
+        assertThat(recebidas.get(4).getTarefa()).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve fundir alterações pendentes da mesma tarefa quando o assinante atrasa")
+    void deveFundirAlteracoesPendentes() throws Exception {
+        // Given
+        difusor = difusor(PoliticaAssinantesLentos.CONFLAR, 16);
+        ServicoTarefa servico = servico("acme");
+        AssinaturaAlteracoes assinatura = difusor.assinar(FiltroAlteracoes.de("acme", null, null));
+
+        // When
+        Tarefa mantida = servico.criarTarefa(new RequisicaoCriacaoTarefa("Mantida", null, PrioridadeTarefa.ALTA));
+        Tarefa concluida = servico.concluirTarefa(mantida.getIdTarefa());
+        Tarefa efemera = servico.criarTarefa(new RequisicaoCriacaoTarefa("Efêmera", null, PrioridadeTarefa.BAIXA));
+        servico.removerTarefa(efemera.getIdTarefa());
+        aguardar(() -> registro.counter("agendai.alteracoes.conflacoes").count() == 2);
+        List<AlteracaoTarefa> recebidas = assinatura.aguardar();
+
+        // Then
+        assertThat(recebidas).hasSize(1);
+        assertThat(recebidas.get(0).getTipo()).isEqualTo(TipoEventoTarefa.CRIADA);
+        assertThat(recebidas.get(0).getTarefa()).isEqualTo(concluida);
+        assertThat(assinatura.ativa()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Deve manter o lote em ordem crescente de sequência depois de fundir")
+    void deveManterOrdemDaSequenciaAoFundir() throws Exception {
+        // Given
+        difusor = difusor(PoliticaAssinantesLentos.CONFLAR, 16);
+        ServicoTarefa servico = servico("acme");
+        AssinaturaAlteracoes assinatura = difusor.assinar(FiltroAlteracoes.de("acme", null, null));
+
+        // When
+        Tarefa primeira = servico.criarTarefa(new RequisicaoCriacaoTarefa("Primeira", null, PrioridadeTarefa.ALTA));
+        Tarefa segunda = servico.criarTarefa(new RequisicaoCriacaoTarefa("Segunda", null, PrioridadeTarefa.ALTA));
+        servico.concluirTarefa(primeira.getIdTarefa());
+        aguardar(() -> registro.counter("agendai.alteracoes.conflacoes").count() == 1);
+        List<AlteracaoTarefa> recebidas = assinatura.aguardar();
+
+        // Then
+        assertThat(recebidas).extracting(AlteracaoTarefa::getIdTarefa)
+                .containsExactly(segunda.getIdTarefa(), primeira.getIdTarefa());
+        assertThat(recebidas).extracting(AlteracaoTarefa::getSequencia).isSorted().doesNotHaveDuplicates();
+    }
+
+    @Test
+    @DisplayName("Deve desconectar o assinante lento sem segurar quem escreve")
+    void deveDesconectarAssinanteLento() throws Exception {
+        // Given
+        difusor = difusor(PoliticaAssinantesLentos.DESCONECTAR, 2);
+        ServicoTarefa servico = servico(Tarefa.INQUILINO_PADRAO);
+        AssinaturaAlteracoes assinatura = difusor.assinar(FiltroAlteracoes.de(Tarefa.INQUILINO_PADRAO, null, null));
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            servico.criarTarefa(new RequisicaoCriacaoTarefa("Tarefa " + i, null, PrioridadeTarefa.MEDIA));
+        }
+        aguardar(() -> !assinatura.ativa());
+
+        // Then
+        assertThat(assinatura.motivoEncerramento()).isEqualTo(AssinaturaAlteracoes.MOTIVO_LENTO);
+        assertThat(assinatura.aguardar()).isEmpty();
+        assertThat(servico.listarTodasTarefas()).hasSize(3);
+        assertThat(difusor.quantidadeAssinantes()).isZero();
+        assertThat(registro.counter("agendai.alteracoes.desconectados", "motivo", "lento").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve recusar assinantes além do limite e liberar a vaga de quem cancela")
+    void deveLimitarAssinantes() {
+        // Given
+        difusor = new DifusorAlteracoes(16, 16, 16, 1, PoliticaAssinantesLentos.CONFLAR, Duration.ofMillis(20), registro);
+        AssinaturaAlteracoes primeira = difusor.assinar(FiltroAlteracoes.de(Tarefa.INQUILINO_PADRAO, null, null));
+
+        // When / Then
+        assertThatThrownBy(() -> difusor.assinar(FiltroAlteracoes.de(Tarefa.INQUILINO_PADRAO, null, null)))
+                .isInstanceOf(CotaExcedidaException.class);
+        primeira.close();
+        assertThat(difusor.assinar(FiltroAlteracoes.de(Tarefa.INQUILINO_PADRAO, null, null)).ativa()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Deve anunciar a criação só depois que a tarefa já pode ser lida")
+    void deveAnunciarCriacaoDepoisDeGravar() {
+        // Given
+        difusor = difusor(PoliticaAssinantesLentos.DESCONECTAR, 16);
+        ServicoTarefa[] servico = new ServicoTarefa[1];
+        List<Tarefa> lidasNoAnuncio = new ArrayList<>();
+        servico[0] = new ServicoTarefa(Tarefa.INQUILINO_PADRAO, Long.MAX_VALUE, DiarioMutacoes.NENHUM,
+                Validation.buildDefaultValidatorFactory().getValidator(), CacheConsultas.NENHUM,
+                new GeradorIdsMonotonico(), ColunasTarefas.NENHUMA, (tipo, anterior, atual) -> {
+                    lidasNoAnuncio.add(servico[0].buscarTarefaPorId(atual.getIdTarefa()));
+                    lidasNoAnuncio.addAll(servico[0].buscarTarefasPorTermo(atual.getTitulo()));
+                });
+
+        // When
+        Tarefa criada = servico[0].criarTarefa(new RequisicaoCriacaoTarefa("Anunciada", null, PrioridadeTarefa.ALTA));
+
+        // Then
+        assertThat(lidasNoAnuncio).containsExactly(criada, criada);
+    }
+
+    private DifusorAlteracoes difusor(PoliticaAssinantesLentos politica, int capacidadeAssinante) {
+        return new DifusorAlteracoes(1024, 64, capacidadeAssinante, 100, politica, Duration.ofMillis(20), registro);
+    }
+
+    private ServicoTarefa servico(String inquilino) {
+        return new ServicoTarefa(inquilino, Long.MAX_VALUE, DiarioMutacoes.NENHUM,
+                Validation.buildDefaultValidatorFactory().getValidator(), CacheConsultas.NENHUM,
+                new GeradorIdsMonotonico(), ColunasTarefas.NENHUMA, difusor);
+    }
+
+    private static List<AlteracaoTarefa> receber(AssinaturaAlteracoes assinatura, int quantidade) throws Exception {
+        List<AlteracaoTarefa> recebidas = new ArrayList<>();
+        aguardar(() -> {
+            try {
+                recebidas.addAll(assinatura.aguardar());
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            return recebidas.size() >= quantidade;
+        });
+        return recebidas;
+    }
+
+    private static void aguardar(BooleanSupplier condicao) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condicao.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condição não atingida em 10 s").isLessThan(limite);
+            Thread.sleep(10);
+        }
+    }
+}
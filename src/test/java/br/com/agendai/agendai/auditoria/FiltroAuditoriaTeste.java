@@ -0,0 +1,85 @@
+package br.com.agendai.agendai.auditoria;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Testes do FiltroAuditoria")
+class FiltroAuditoriaTeste {
+
+    private final List<RegistroAuditoria> gravados = new CopyOnWriteArrayList<>();
+    private final PipelineAuditoria pipeline = new PipelineAuditoria(gravados::addAll, 1024, 10, 1.0,
+            PoliticaDescarte.DESCARTAR, Duration.ofMillis(1), new SimpleMeterRegistry());
+    private final FiltroAuditoria filtro = new FiltroAuditoria(pipeline);
+
+    @AfterEach
+    void tearDown() {
+        pipeline.close();
+    }
+
+    @Test
+    @DisplayName("Deve registrar a requisição assíncrona só quando a resposta termina")
+    void deveRegistrarRequisicaoAssincronaAoConcluir() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/tarefas/importacao");
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        filtro.doFilter(request, response, (req, resp) -> {
+            request.startAsync();
+            response.setStatus(200);
+        });
+        Thread.sleep(20);
+        boolean registradaAntes = !gravados.isEmpty();
+        response.setStatus(207);
+        ((MockAsyncContext) request.getAsyncContext()).complete();
+        pipeline.close();
+
+        // Then
+        assertThat(registradaAntes).isFalse();
+        assertThat(gravados).singleElement().satisfies(registro -> {
+            assertThat(registro.isMutacao()).isTrue();
+            assertThat(registro.getRota()).isEqualTo("/tarefas/importacao");
+            assertThat(registro.getStatus()).isEqualTo(207);
+        });
+    }
+
+    @Test
+    @DisplayName("Deve tratar a busca em lote como leitura amostrada, apesar do POST")
+    void deveAmostrarBuscaEmLoteComoLeitura() throws Exception {
+        // Given
+        List<RegistroAuditoria> semLeituras = new CopyOnWriteArrayList<>();
+        PipelineAuditoria pipelineSemLeituras = new PipelineAuditoria(semLeituras::addAll, 1024, 10, 0.0,
+                PoliticaDescarte.DESCARTAR, Duration.ofMillis(1), new SimpleMeterRegistry());
+        FiltroAuditoria filtroSemLeituras = new FiltroAuditoria(pipelineSemLeituras);
+
+        // When
+        filtroSemLeituras.doFilter(post("/tarefas/lote/buscar"), new MockHttpServletResponse(), (req, resp) -> { });
+        filtroSemLeituras.doFilter(post("/tarefas/lote/excluir"), new MockHttpServletResponse(), (req, resp) -> { });
+        pipelineSemLeituras.close();
+
+        // Then
+        assertThat(semLeituras).singleElement().satisfies(registro -> {
+            assertThat(registro.isMutacao()).isTrue();
+            assertThat(registro.getRota()).isEqualTo("/tarefas/lote/excluir");
+        });
+    }
+
+    private static MockHttpServletRequest post(String rota) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", rota);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, rota);
+        return request;
+    }
+}
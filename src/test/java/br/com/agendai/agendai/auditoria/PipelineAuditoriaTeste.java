@@ -0,0 +1,151 @@
+package br.com.agendai.agendai.auditoria;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Testes do PipelineAuditoria")
+class PipelineAuditoriaTeste {
+
+    private final SimpleMeterRegistry registro = new SimpleMeterRegistry();
+    private final List<List<RegistroAuditoria>> lotes = new CopyOnWriteArrayList<>();
+    private final CountDownLatch liberarDestino = new CountDownLatch(1);
+    private PipelineAuditoria pipeline;
+
+    @AfterEach
+    void tearDown() {
+        liberarDestino.countDown();
+        pipeline.close();
+    }
+
+    @Test
+    @DisplayName("Deve gravar todos os registros em lotes limitados")
+    void deveGravarRegistrosEmLotes() {
+        // Given
+        liberarDestino.countDown();
+        pipeline = criar(1024, 10, 1.0, PoliticaDescarte.DESCARTAR);
+
+        // When
+        for (int i = 0; i < 95; i++) {
+            pipeline.registrar(registro(i % 2 == 0));
+        }
+        pipeline.close();
+
+        // Then
+        assertThat(lotes.stream().mapToInt(List::size).sum()).isEqualTo(95);
+        assertThat(lotes).allSatisfy(lote -> assertThat(lote.size()).isBetween(1, 10));
+        assertThat(registro.get("agendai.auditoria.registros").tag("tipo", "mutacao").counter().count()).isEqualTo(48);
+        assertThat(registro.get("agendai.auditoria.registros").tag("tipo", "leitura").counter().count()).isEqualTo(47);
+    }
+
+    @Test
+    @DisplayName("Deve descartar leituras com o buffer cheio e fazer mutações esperarem por espaço")
+    void deveDescartarLeiturasEFazerMutacoesEsperarem() throws Exception {
+        // Given: o destino fica travado até que o buffer encha
+        pipeline = criar(4, 4, 1.0, PoliticaDescarte.DESCARTAR, Duration.ofSeconds(5));
+        pipeline.registrar(registro(false));
+        while (registro.get("agendai.auditoria.buffer.ocupacao").gauge().value() > 0) {
+            Thread.sleep(5);
+        }
+        for (int i = 0; i < 4; i++) {
+            pipeline.registrar(registro(false));
+        }
+
+        // When
+        pipeline.registrar(registro(false));
+        Thread mutacao = new Thread(() -> pipeline.registrar(registro(true)));
+        mutacao.start();
+        mutacao.join(200);
+        boolean mutacaoAguardou = mutacao.isAlive();
+        liberarDestino.countDown();
+        mutacao.join();
+        pipeline.close();
+
+        // Then
+        List<RegistroAuditoria> gravados = new ArrayList<>();
+        lotes.forEach(gravados::addAll);
+        assertThat(mutacaoAguardou).isTrue();
+        assertThat(gravados).filteredOn(RegistroAuditoria::isMutacao).hasSize(1);
+        assertThat(gravados).filteredOn(r -> !r.isMutacao()).hasSize(5);
+        assertThat(registro.get("agendai.auditoria.descartados").counter().count()).isEqualTo(1);
+        assertThat(registro.get("agendai.auditoria.mutacoes.aguardaram").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve descartar a mutação depois da espera máxima quando o destino trava")
+    void deveDescartarMutacaoComDestinoTravado() throws Exception {
+        // Given: o destino nunca é liberado durante o teste
+        pipeline = criar(2, 2, 1.0, PoliticaDescarte.DESCARTAR, Duration.ofMillis(50));
+        pipeline.registrar(registro(true));
+        while (registro.get("agendai.auditoria.buffer.ocupacao").gauge().value() > 0) {
+            Thread.sleep(5);
+        }
+        pipeline.registrar(registro(true));
+        pipeline.registrar(registro(true));
+
+        // When
+        Thread mutacao = new Thread(() -> pipeline.registrar(registro(true)));
+        mutacao.start();
+        mutacao.join(TimeUnit.SECONDS.toMillis(2));
+
+        // Then
+        assertThat(mutacao.isAlive()).isFalse();
+        assertThat(registro.get("agendai.auditoria.mutacoes.descartadas").counter().count()).isEqualTo(1);
+        assertThat(registro.get("agendai.auditoria.mutacoes.aguardaram").counter().count()).isEqualTo(1);
+        assertThat(registro.get("agendai.auditoria.registros").tag("tipo", "mutacao").counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Deve amostrar leituras conforme a taxa configurada")
+    void deveAmostrarLeituras() {
+        // Given
+        liberarDestino.countDown();
+        pipeline = criar(1024, 10, 0.0, PoliticaDescarte.DESCARTAR);
+
+        // When
+        int amostradas = 0;
+        for (int i = 0; i < 100; i++) {
+            if (pipeline.deveRegistrarLeitura()) {
+                amostradas++;
+            }
+        }
+
+        // Then
+        assertThat(amostradas).isZero();
+        assertThat(registro.get("agendai.auditoria.leituras.fora.da.amostra").counter().count()).isEqualTo(100);
+    }
+
+    private PipelineAuditoria criar(int capacidade, int tamanhoLote, double amostragem, PoliticaDescarte politica) {
+        return criar(capacidade, tamanhoLote, amostragem, politica, Duration.ofMillis(1));
+    }
+
+    private PipelineAuditoria criar(int capacidade, int tamanhoLote, double amostragem, PoliticaDescarte politica,
+                                    Duration esperaMaxima) {
+        DestinoAuditoria destino = lote -> {
+            liberarDestino.await(5, TimeUnit.SECONDS);
+            lotes.add(new ArrayList<>(lote));
+        };
+        return new PipelineAuditoria(destino, capacidade, tamanhoLote, amostragem, politica, esperaMaxima, registro);
+    }
+
+    private static RegistroAuditoria registro(boolean mutacao) {
+        return RegistroAuditoria.builder()
+                .instante(Instant.now())
+                .mutacao(mutacao)
+                .metodo(mutacao ? "POST" : "GET")
+                .rota("/tarefas")
+                .status(200)
+                .build();
+    }
+}
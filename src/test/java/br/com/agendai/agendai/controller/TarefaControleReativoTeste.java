@@ -0,0 +1,140 @@
+package br.com.agendai.agendai.controller;
+
+import br.com.agendai.agendai.model.PrioridadeTarefa;
+import br.com.agendai.agendai.model.RequisicaoCriacaoTarefa;
+import br.com.agendai.agendai.model.Tarefa;
+import br.com.agendai.agendai.service.ServicoInquilinos;
+import br.com.agendai.agendai.service.ServicoTarefa;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import jakarta.validation.Validation;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Testes da API reativa de tarefas")
+class TarefaControleReativoTeste {
+
+    // Em NDJSON cada linha é decodificada sozinha, então o tipo é o do elemento.
+    private static final ParameterizedTypeReference<Map<String, Object>> TAREFA_JSON =
+            new ParameterizedTypeReference<>() {
+            };
+
+    private ServicoTarefa servicoTarefa;
+    private ServidorReativo servidor;
+    private WebTestClient cliente;
+
+    @BeforeEach
+    void iniciarServidor() {
+        ServicoInquilinos inquilinos = new ServicoInquilinos();
+        servicoTarefa = inquilinos.doInquilino(null);
+        TarefaControleReativo controle = new TarefaControleReativo(inquilinos,
+                Validation.buildDefaultValidatorFactory().getValidator());
+        servidor = new ServidorReativo(controle.rotas(), Jackson2ObjectMapperBuilder.json().build(), 0, 1);
+        servidor.start();
+        cliente = WebTestClient.bindToServer().baseUrl("http://localhost:" + servidor.porta()).build();
+    }
+
+    @AfterEach
+    void encerrarServidor() {
+        servidor.stop();
+    }
+
+    @Test
+    @DisplayName("POST e GET /tarefas/{id} - Deve criar e buscar a tarefa")
+    void deveCriarEBuscarTarefa() {
+        String id = cliente.post().uri("/tarefas")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new RequisicaoCriacaoTarefa("Estudar WebFlux", "Rotas funcionais", PrioridadeTarefa.ALTA))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(Map.class)
+                .returnResult().getResponseBody().get("idTarefa").toString();
+
+        cliente.get().uri("/tarefas/{id}", id)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.titulo").isEqualTo("Estudar WebFlux")
+                .jsonPath("$.status").isEqualTo("PENDENTE");
+    }
+
+    @Test
+    @DisplayName("POST /tarefas - Deve responder 400 com os erros de validação")
+    void deveRejeitarTarefaInvalida() {
+        cliente.post().uri("/tarefas")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new RequisicaoCriacaoTarefa("", null, PrioridadeTarefa.BAIXA))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.erro").isEqualTo("Erro de validação")
+                .jsonPath("$.errosValidacao.titulo").exists();
+    }
+
+    @Test
+    @DisplayName("GET /tarefas/{id} - Deve responder 404 para ID inexistente")
+    void deveResponderNaoEncontrada() {
+        cliente.get().uri("/tarefas/inexistente")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.erro").isEqualTo("Tarefa não encontrada");
+    }
+
+    @Test
+    @DisplayName("GET /tarefas/status/{status} - Deve responder 400 para status desconhecido")
+    void deveRejeitarStatusDesconhecido() {
+        cliente.get().uri("/tarefas/status/ARQUIVADA")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    @DisplayName("GET /tarefas - Deve transmitir as tarefas em NDJSON e respeitar o limite")
+    void deveTransmitirTarefas() {
+        for (int i = 0; i < 5; i++) {
+            servicoTarefa.criarTarefa(new RequisicaoCriacaoTarefa("Tarefa " + i, null, PrioridadeTarefa.MEDIA));
+        }
+
+        List<Map<String, Object>> todas = cliente.get().uri("/tarefas")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(TAREFA_JSON)
+                .returnResult().getResponseBody();
+        assertThat(todas).hasSize(5);
+
+        cliente.get().uri("/tarefas?limite=2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("PATCH /tarefas/lote/concluir - Deve responder 207 quando parte do lote falha")
+    void deveConcluirLoteParcial() {
+        Tarefa tarefa = servicoTarefa.criarTarefa(new RequisicaoCriacaoTarefa("Tarefa do lote", null, PrioridadeTarefa.ALTA));
+
+        cliente.patch().uri("/tarefas/lote/concluir")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of(tarefa.getIdTarefa(), "inexistente"))
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.MULTI_STATUS)
+                .expectBody()
+                .jsonPath("$.sucessos").isEqualTo(1)
+                .jsonPath("$.falhas").isEqualTo(1);
+    }
+}
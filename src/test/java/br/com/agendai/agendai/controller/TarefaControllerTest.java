@@ -1,11 +1,21 @@
 package br.com.agendai.agendai.controller;
 
+import br.com.agendai.agendai.alteracoes.DifusorAlteracoes;
+import br.com.agendai.agendai.alteracoes.PoliticaAssinantesLentos;
+import br.com.agendai.agendai.exception.CotaExcedidaException;
+import br.com.agendai.agendai.exception.InquilinoInvalidoException;
+import br.com.agendai.agendai.exception.ReplicaSomenteLeituraException;
 import br.com.agendai.agendai.exception.TarefaNaoEncontradaException;
+import br.com.agendai.agendai.importacao.FormatoImportacao;
+import br.com.agendai.agendai.importacao.ImportadorTarefas;
 import br.com.agendai.agendai.model.*;
 import br.com.agendai.agendai.service.ObterEstatisticas;
-
+import br.com.agendai.agendai.service.Pagina;
+import br.com.agendai.agendai.service.ServicoInquilinos;
 import br.com.agendai.agendai.service.ServicoTarefa;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,14 +23,23 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -37,7 +56,22 @@ class TarefaControllerTest {
     private ObjectMapper objectMapper;
 
     @MockBean
-    private ServicoTarefa servicoTarefa;
+    private ServicoInquilinos servicoInquilinos;
+
+    @MockBean
+    private DifusorAlteracoes difusorAlteracoes;
+
+    @MockBean
+    private ImportadorTarefas importadorTarefas;
+
+    private final ServicoTarefa servicoTarefa = mock(ServicoTarefa.class);
+
+    @BeforeEach
+    void resolverParticao() {
+        when(servicoInquilinos.doInquilino(any())).thenReturn(servicoTarefa);
+        when(servicoInquilinos.doInquilinoSemCriar(any())).thenReturn(servicoTarefa);
+        when(servicoTarefa.inquilino()).thenReturn(Tarefa.INQUILINO_PADRAO);
+    }
 
     @Test
     @DisplayName("POST /tarefas - Deve criar tarefa com sucesso")
@@ -98,7 +132,7 @@ class TarefaControllerTest {
                         LocalDateTime.now(), LocalDateTime.now(), LocalDateTime.now())
         );
 
-     when(servicoTarefa.listarTodasTarefas()).thenReturn(tarefa);
+     when(servicoTarefa.listarTodasTarefas(null, 100)).thenReturn(new Pagina<>(tarefa, null));
 
 
      mockMvc.perform(get("/tarefas"))
@@ -109,7 +143,128 @@ class TarefaControllerTest {
              .andExpect((jsonPath("$[1].idTarefa").value("2")))
              .andExpect((jsonPath("$[1].titulo").value("Tarefa 2")));
 
-     verify(servicoTarefa).listarTodasTarefas();
+     verify(servicoTarefa).listarTodasTarefas(null, 100);
+    }
+
+    @Test
+    @DisplayName("GET /tarefas - Deve devolver o cursor da próxima página no cabeçalho")
+    void deveDevolverCursorDaProximaPagina() throws Exception {
+
+        List<Tarefa> pagina = Arrays.asList(
+                new Tarefa("1", "Tarefa 1", "Descrição 1", StatusTarefa.PENDENTE, PrioridadeTarefa.ALTA,
+                        LocalDateTime.now(), LocalDateTime.now(), null));
+
+        when(servicoTarefa.listarTodasTarefas("abc", 1)).thenReturn(new Pagina<>(pagina, "def"));
+
+        mockMvc.perform(get("/tarefas")
+                        .param("cursor", "abc")
+                        .param("limite", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Proximo-Cursor", "def"))
+                .andExpect(jsonPath("$.length()").value(1));
+
+        verify(servicoTarefa).listarTodasTarefas("abc", 1);
+    }
+
+    @Test
+    @DisplayName("GET /tarefas - Deve retornar erro 400 para limite fora do intervalo")
+    void deveRetornarErro400ParaLimiteInvalido() throws Exception {
+
+        mockMvc.perform(get("/tarefas").param("limite", "0"))
+                .andExpect(status().isBadRequest());
+
+        verify(servicoTarefa, never()).listarTodasTarefas(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("GET /tarefas - Deve transmitir tarefas em CSV, com cabeçalho e campos entre aspas quando preciso")
+    void deveTransmitirTarefasEmCsv() throws Exception {
+
+        LocalDateTime agora = LocalDateTime.of(2026, 3, 1, 9, 30);
+        when(servicoTarefa.percorrerTodasTarefas()).thenReturn(Stream.of(
+                new Tarefa("1", "Comprar pão, leite", "Dizer \"oi\"", StatusTarefa.PENDENTE, PrioridadeTarefa.ALTA, agora, agora, null)));
+
+        MvcResult resultado = mockMvc.perform(get("/tarefas").accept("text/csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String corpo = mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+
+        assertThat(corpo.split("\n")).containsExactly(
+                "idTarefa,titulo,descricao,status,prioridade,criadoEm,atualizadoEm,concluidoEm,prazo,"
+                        + "frequencia,intervalo,diasSemana,terminaEm,maximoOcorrencias",
+                "1,\"Comprar pão, leite\",\"Dizer \"\"oi\"\"\",PENDENTE,ALTA,2026-03-01T09:30,2026-03-01T09:30,,,,,,,");
+    }
+
+    @Test
+    @DisplayName("POST /tarefas/importacao - Deve entregar o corpo ao importador no formato do Content-Type")
+    void deveImportarNoFormatoDoContentType() throws Exception {
+
+        doAnswer(invocacao -> {
+            InputStream corpo = invocacao.getArgument(1);
+            OutputStream saida = invocacao.getArgument(3);
+            saida.write(("{\"lidos\":" + corpo.readAllBytes().length + "}\n").getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(importadorTarefas).importar(eq(servicoTarefa), any(), eq(FormatoImportacao.CSV), any());
+
+        MvcResult resultado = mockMvc.perform(post("/tarefas/importacao")
+                        .contentType("text/csv")
+                        .content("titulo,prioridade\nEstudar,ALTA\n"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"lidos\":31}\n"));
+        verify(importadorTarefas, never()).importar(any(), any(), eq(FormatoImportacao.NDJSON), any());
+        verify(servicoTarefa, never()).criarTarefa(any());
+    }
+
+    @Test
+    @DisplayName("POST /tarefas/importacao - Deve recusar com 415 um Content-Type sem leitor")
+    void deveRecusarImportacaoEmTipoNaoSuportado() throws Exception {
+
+        mockMvc.perform(post("/tarefas/importacao")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isUnsupportedMediaType())
+                .andExpect(jsonPath("$.status").value(415));
+        verifyNoInteractions(importadorTarefas);
+    }
+
+    @Test
+    @DisplayName("GET /tarefas - Deve transmitir tarefas em NDJSON, uma por linha")
+    void deveTransmitirTarefasEmNdjson() throws Exception {
+
+        LocalDateTime agora = LocalDateTime.now();
+        Stream<Tarefa> tarefas = Stream.of(
+                new Tarefa("1", "Tarefa 1", "Descrição 1", StatusTarefa.PENDENTE, PrioridadeTarefa.ALTA, agora, agora, null),
+                new Tarefa("2", "Tarefa 2", "Descrição 2", StatusTarefa.PENDENTE, PrioridadeTarefa.BAIXA, agora, agora, null));
+
+        when(servicoTarefa.percorrerTodasTarefas()).thenReturn(tarefas);
+
+        MvcResult resultado = mockMvc.perform(get("/tarefas").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String corpo = mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        String[] linhas = corpo.split("\n");
+        assertThat(linhas).hasSize(2).allMatch(linha -> linha.startsWith("{"));
+        assertThat(objectMapper.readTree(linhas[0]).get("idTarefa").asText()).isEqualTo("1");
+        assertThat(objectMapper.readTree(linhas[1]).get("idTarefa").asText()).isEqualTo("2");
+        verify(servicoTarefa, never()).listarTodasTarefas(any(), anyInt());
     }
 
     @Test
@@ -260,14 +415,14 @@ class TarefaControllerTest {
                             LocalDateTime.now(),
                             LocalDateTime.now()));
 
-            when(servicoTarefa.listarTarefasPorStatus(status)).thenReturn(tarefasConcluidas);
+            when(servicoTarefa.listarTarefasPorStatus(status, null, 100)).thenReturn(new Pagina<>(tarefasConcluidas, null));
 
             mockMvc.perform(get("/tarefas/status/{status}", status))
                     .andExpect((status().isOk()))
                     .andExpect(jsonPath("$.length()").value(1))
                     .andExpect(jsonPath("$[0].status").value("CONCLUIDA"));
 
-            verify(servicoTarefa).listarTarefasPorStatus(status);
+            verify(servicoTarefa).listarTarefasPorStatus(status, null, 100);
         }
         @Test
         @DisplayName("GET /tarefas/prioridade/{prioridade} - Deve filtrar tarefas por prioridade")
@@ -279,7 +434,7 @@ class TarefaControllerTest {
                             LocalDateTime.now(), LocalDateTime.now(), null)
             );
 
-            when(servicoTarefa.listarTarefasPorPrioridade(prioridade)).thenReturn(tarefasPrioridadeAlta);
+            when(servicoTarefa.listarTarefasPorPrioridade(prioridade, null, 100)).thenReturn(new Pagina<>(tarefasPrioridadeAlta, null));
 
             // Quando & Então
             mockMvc.perform(get("/tarefas/prioridade/{prioridade}", prioridade))
@@ -287,7 +442,7 @@ class TarefaControllerTest {
                     .andExpect(jsonPath("$.length()").value(1))
                     .andExpect(jsonPath("$[0].prioridade").value("ALTA"));
 
-            verify(servicoTarefa).listarTarefasPorPrioridade(prioridade);
+            verify(servicoTarefa).listarTarefasPorPrioridade(prioridade, null, 100);
         }
 
         @Test
@@ -306,7 +461,7 @@ class TarefaControllerTest {
                             LocalDateTime.now(),
                             null));
 
-            when(servicoTarefa.buscarTarefasPorTermo(termoBusca)).thenReturn(resultadosBusca);
+            when(servicoTarefa.buscarTarefasPorTermo(termoBusca, null, 100)).thenReturn(new Pagina<>(resultadosBusca, null));
 
             mockMvc.perform(get("/tarefas/buscar")
                             .param("termo", termoBusca))
@@ -314,7 +469,7 @@ class TarefaControllerTest {
                     .andExpect(jsonPath("$", hasSize(1)))
                     .andExpect(jsonPath("$[0].titulo").value("Estudar Spring Boot"));
 
-            verify(servicoTarefa).buscarTarefasPorTermo(termoBusca);
+            verify(servicoTarefa).buscarTarefasPorTermo(termoBusca, null, 100);
         }
 
         @Test
@@ -348,4 +503,254 @@ class TarefaControllerTest {
 
             verify(servicoTarefa).obterEstatisticas();
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("GET /tarefas/estatisticas/criadas-entre - Deve retornar estatísticas do período")
+    void deveRetornarEstatisticasDoPeriodo() throws Exception {
+        // Dado
+        LocalDateTime inicio = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime fim = LocalDateTime.of(2024, 2, 1, 0, 0);
+        ObterEstatisticas obterEstatisticas = ObterEstatisticas.builder()
+                .totalTarefas(4L)
+                .tarefasConcluidas(1L)
+                .tarefasPendentes(3L)
+                .tarefasPorPrioridade(Map.of(PrioridadeTarefa.BAIXA, 4L))
+                .tarefasPorStatus(Map.of(StatusTarefa.PENDENTE, 3L, StatusTarefa.CONCLUIDA, 1L))
+                .build();
+
+        when(servicoTarefa.obterEstatisticasEntreDatas(inicio, fim)).thenReturn(obterEstatisticas);
+
+        mockMvc.perform(get("/tarefas/estatisticas/criadas-entre")
+                        .param("dataInicio", "2024-01-01T00:00:00")
+                        .param("dataFim", "2024-02-01T00:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$.totalTarefas").value(4))
+                .andExpect(jsonPath("$.tarefasPorPrioridade.BAIXA").value(4));
+
+        verify(servicoTarefa).obterEstatisticasEntreDatas(inicio, fim);
+    }
+
+    @Test
+    @DisplayName("POST /tarefas/lote - Deve responder 207 quando parte do lote falhar")
+    void deveResponderMultiStatusQuandoParteDoLoteFalhar() throws Exception {
+        // Dado
+        List<RequisicaoCriacaoTarefa> requisicoes = List.of(
+                new RequisicaoCriacaoTarefa("Tarefa válida", null, PrioridadeTarefa.ALTA),
+                new RequisicaoCriacaoTarefa("", null, null));
+        LocalDateTime agora = LocalDateTime.now();
+        RespostaLote resposta = RespostaLote.de(List.of(
+                ResultadoLote.builder().indice(0).idTarefa("1").status(201)
+                        .tarefa(new Tarefa("1", "Tarefa válida", null, StatusTarefa.PENDENTE, PrioridadeTarefa.ALTA,
+                                agora, agora, null))
+                        .build(),
+                ResultadoLote.builder().indice(1).status(400).erro("Dados inválidos fornecidos")
+                        .errosValidacao(Map.of("titulo", "O título da tarefa não pode estar vazio"))
+                        .build()));
+        when(servicoTarefa.criarTarefasEmLote(anyList())).thenReturn(resposta);
+
+        // Quando / Então
+        mockMvc.perform(post("/tarefas/lote")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requisicoes)))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.total").value(2))
+                .andExpect(jsonPath("$.sucessos").value(1))
+                .andExpect(jsonPath("$.falhas").value(1))
+                .andExpect(jsonPath("$.resultados[0].tarefa.idTarefa").value("1"))
+                .andExpect(jsonPath("$.resultados[1].errosValidacao.titulo").exists())
+                .andExpect(jsonPath("$.resultados[1].tarefa").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("PATCH /tarefas/lote/concluir - Deve responder 200 quando todo o lote for aplicado")
+    void deveResponderOkQuandoTodoLoteForAplicado() throws Exception {
+        // Dado
+        when(servicoTarefa.concluirTarefasEmLote(List.of("1", "2"))).thenReturn(RespostaLote.de(List.of(
+                ResultadoLote.builder().indice(0).idTarefa("1").status(200).build(),
+                ResultadoLote.builder().indice(1).idTarefa("2").status(200).build())));
+
+        // Quando / Então
+        mockMvc.perform(patch("/tarefas/lote/concluir")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[\"1\", \"2\"]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.sucessos").value(2));
+    }
+
+    @Test
+    @DisplayName("POST /tarefas/lote/excluir - Deve rejeitar lote vazio")
+    void deveRejeitarLoteVazio() throws Exception {
+        mockMvc.perform(post("/tarefas/lote/excluir")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest());
+
+        verify(servicoTarefa, never()).removerTarefasEmLote(anyList());
+    }
+
+    @Test
+    @DisplayName("GET /tarefas/{id} - Deve responder 304 quando a versão da tarefa não mudou")
+    void deveResponderNaoModificadaParaMesmaVersaoDaTarefa() throws Exception {
+        // Dado
+        LocalDateTime agora = LocalDateTime.now();
+        Tarefa tarefa = new Tarefa("1", "Estudar", null, StatusTarefa.PENDENTE, PrioridadeTarefa.ALTA,
+                agora, agora, null, 3, Tarefa.INQUILINO_PADRAO);
+        when(servicoTarefa.buscarTarefaPorId("1")).thenReturn(tarefa);
+
+        // Quando / Então
+        mockMvc.perform(get("/tarefas/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""));
+        mockMvc.perform(get("/tarefas/1").header("If-None-Match", "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        mockMvc.perform(get("/tarefas/1").header("If-None-Match", "\"2\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.versao").value(3));
+    }
+
+    @Test
+    @DisplayName("GET /tarefas - Deve responder 304 sem consultar quando a loja não mudou")
+    void deveResponderNaoModificadaSemConsultarQuandoLojaNaoMudou() throws Exception {
+        // Dado
+        when(servicoTarefa.versaoLoja()).thenReturn(7L);
+        when(servicoTarefa.listarTodasTarefas(isNull(), anyInt())).thenReturn(new Pagina<>(List.of(), null));
+        String etag = mockMvc.perform(get("/tarefas"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        // Quando / Então
+        mockMvc.perform(get("/tarefas").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/tarefas/estatisticas").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+        verify(servicoTarefa, times(1)).listarTodasTarefas(isNull(), anyInt());
+        verify(servicoTarefa, never()).obterEstatisticas();
+
+        when(servicoTarefa.versaoLoja()).thenReturn(8L);
+        mockMvc.perform(get("/tarefas").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(etag)));
+    }
+
+    @Test
+    @DisplayName("X-Inquilino - Deve resolver a partição pelo cabeçalho e separar as ETags por inquilino")
+    void deveResolverParticaoPeloCabecalho() throws Exception {
+        // Dado
+        ServicoTarefa outraParticao = mock(ServicoTarefa.class);
+        when(outraParticao.inquilino()).thenReturn("acme");
+        when(servicoInquilinos.doInquilinoSemCriar("acme")).thenReturn(outraParticao);
+        when(outraParticao.obterEstatisticas()).thenReturn(ObterEstatisticas.builder().build());
+        when(servicoTarefa.obterEstatisticas()).thenReturn(ObterEstatisticas.builder().build());
+
+        // Quando
+        String etagAcme = mockMvc.perform(get("/tarefas/estatisticas").header("X-Inquilino", "acme"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        // Então
+        verify(outraParticao).obterEstatisticas();
+        verify(servicoTarefa, never()).obterEstatisticas();
+        verify(servicoInquilinos, never()).doInquilino(any());
+        mockMvc.perform(get("/tarefas/estatisticas").header("If-None-Match", etagAcme))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("X-Inquilino - Deve responder 400 para inquilino inválido e 429 para cota excedida")
+    void deveResponderErrosDeInquilino() throws Exception {
+        // Dado
+        when(servicoInquilinos.doInquilinoSemCriar("a b")).thenThrow(new InquilinoInvalidoException("a b"));
+        when(servicoTarefa.criarTarefa(any(RequisicaoCriacaoTarefa.class)))
+                .thenThrow(new CotaExcedidaException("O inquilino 'padrao' atingiu a cota de 1 tarefas"));
+
+        // Quando / Então
+        mockMvc.perform(get("/tarefas/estatisticas").header("X-Inquilino", "a b"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.erro").value("Inquilino inválido"));
+        mockMvc.perform(post("/tarefas")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new RequisicaoCriacaoTarefa("Estudar", null, PrioridadeTarefa.ALTA))))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(jsonPath("$.erro").value("Cota excedida"));
+    }
+
+    @Test
+    @DisplayName("X-Inquilino - Deve responder buscas em lote, alterações e remoções de inquilino novo sem criar partição")
+    void deveAtenderInquilinoNovoSemCriarParticao() throws Exception {
+        // Dado
+        ServicoInquilinos inquilinos = new ServicoInquilinos();
+        when(servicoInquilinos.doInquilinoSemCriar("initech"))
+                .thenAnswer(invocacao -> inquilinos.doInquilinoSemCriar("initech"));
+        when(servicoInquilinos.doInquilino("initech")).thenAnswer(invocacao -> inquilinos.doInquilino("initech"));
+        String ids = objectMapper.writeValueAsString(List.of("1", "2"));
+
+        // Quando / Então
+        mockMvc.perform(post("/tarefas/lote/buscar").header("X-Inquilino", "initech")
+                        .contentType(MediaType.APPLICATION_JSON).content(ids))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.falhas").value(2))
+                .andExpect(jsonPath("$.resultados[0].status").value(404));
+        mockMvc.perform(patch("/tarefas/lote/concluir").header("X-Inquilino", "initech")
+                        .contentType(MediaType.APPLICATION_JSON).content(ids))
+                .andExpect(status().isMultiStatus());
+        mockMvc.perform(post("/tarefas/lote/excluir").header("X-Inquilino", "initech")
+                        .contentType(MediaType.APPLICATION_JSON).content(ids))
+                .andExpect(status().isMultiStatus());
+        mockMvc.perform(put("/tarefas/1").header("X-Inquilino", "initech")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new AtualizarTarefa("Titulo", null, PrioridadeTarefa.ALTA))))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(patch("/tarefas/1/concluir").header("X-Inquilino", "initech"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(delete("/tarefas/1").header("X-Inquilino", "initech"))
+                .andExpect(status().isNotFound());
+        verify(servicoInquilinos, never()).doInquilino(any());
+        assertThat(inquilinos.quantidadeInquilinos()).isZero();
+    }
+
+    @Test
+    @DisplayName("PATCH /tarefas/{id}/concluir - Deve responder 403 num seguidor somente leitura")
+    void deveRecusarEscritaEmSeguidor() throws Exception {
+        // Dado
+        when(servicoTarefa.concluirTarefa("1")).thenThrow(new ReplicaSomenteLeituraException());
+
+        // Quando / Então
+        mockMvc.perform(patch("/tarefas/1/concluir"))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.erro").value("Réplica somente leitura"));
+    }
+
+    @Test
+    @DisplayName("GET /tarefas/alteracoes - Deve transmitir por SSE só as alterações que passam no filtro")
+    void deveTransmitirAlteracoesPorSse() throws Exception {
+        // Dado
+        DifusorAlteracoes difusor = new DifusorAlteracoes(64, 16, 16, 10, PoliticaAssinantesLentos.CONFLAR,
+                Duration.ofSeconds(10), new SimpleMeterRegistry());
+        when(difusorAlteracoes.assinar(any())).thenAnswer(invocacao -> difusor.assinar(invocacao.getArgument(0)));
+        Tarefa baixa = new Tarefa("1", "Baixa", null, PrioridadeTarefa.BAIXA, Tarefa.INQUILINO_PADRAO);
+        Tarefa alta = new Tarefa("2", "Alta", null, PrioridadeTarefa.ALTA, Tarefa.INQUILINO_PADRAO);
+
+        try (difusor) {
+            // Quando
+            MvcResult resultado = mockMvc.perform(get("/tarefas/alteracoes").param("prioridade", "ALTA"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            difusor.publicar(TipoEventoTarefa.CRIADA, null, baixa);
+            difusor.publicar(TipoEventoTarefa.CRIADA, null, alta);
+            long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (!resultado.getResponse().getContentAsString().contains("\"idTarefa\":\"2\"")) {
+                assertThat(System.nanoTime()).as("evento não recebido em 10 s").isLessThan(limite);
+                Thread.sleep(10);
+            }
+
+            // Então
+            String corpo = resultado.getResponse().getContentAsString();
+            assertThat(resultado.getResponse().getContentType()).startsWith(MediaType.TEXT_EVENT_STREAM_VALUE);
+            assertThat(corpo).contains("id:2", "event:CRIADA").doesNotContain("\"idTarefa\":\"1\"");
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package br.com.agendai.agendai.importacao;
+
+import br.com.agendai.agendai.model.FrequenciaRecorrencia;
+import br.com.agendai.agendai.model.PrioridadeTarefa;
+import br.com.agendai.agendai.model.RegraRecorrencia;
+import br.com.agendai.agendai.model.RelatorioImportacao;
+import br.com.agendai.agendai.model.RequisicaoCriacaoTarefa;
+import br.com.agendai.agendai.model.ResultadoLote;
+import br.com.agendai.agendai.model.StatusTarefa;
+import br.com.agendai.agendai.model.Tarefa;
+import br.com.agendai.agendai.service.ServicoTarefa;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Testes da importação em CSV e NDJSON")
+class ImportadorTarefasTeste {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final ImportadorTarefas importador = new ImportadorTarefas(objectMapper, 2, 200);
+
+    private ServicoTarefa servicoTarefa;
+
+    @BeforeEach
+    void setUp() {
+        servicoTarefa = new ServicoTarefa();
+    }
+
+    @Test
+    @DisplayName("Deve importar CSV em lotes, relatando as falhas pela linha onde cada registro começa")
+    void deveImportarCsvEmLotes() throws IOException {
+        // Given
+        String csv = "\uFEFFtitulo,descricao,prioridade,prazo,frequencia,intervalo,diasSemana,status\r\n"
+                + "Estudar java,\"Revisar streams,\ncoletores e \"\"records\"\"\",ALTA,,,,,CONCLUIDA\r\n"
+                + "\r\n"
+                + "Reunião semanal,,MEDIA,2026-01-07T10:00:00,SEMANAL,2,MONDAY;FRIDAY,\r\n"
+                + "Ir ao mercado,,URGENTISSIMA,,,,,\r\n"
+                + "Oi,,BAIXA,,,,,\r\n"
+                + "Lavar o carro,,BAIXA\r\n";
+
+        // When
+        List<RelatorioImportacao> relatorios = importar(csv, FormatoImportacao.CSV);
+
+        // Then
+        assertThat(relatorios).extracting(RelatorioImportacao::getRegistros).containsExactly(2L, 4L, 5L);
+        assertThat(relatorios).extracting(RelatorioImportacao::isConcluida).containsExactly(false, false, true);
+        RelatorioImportacao ultimo = relatorios.get(relatorios.size() - 1);
+        assertThat(ultimo.getImportadas()).isEqualTo(3);
+        assertThat(ultimo.getFalhas()).isEqualTo(2);
+        assertThat(ultimo.getErro()).isNull();
+        assertThat(falhas(relatorios)).extracting(ResultadoLote::getIndice).containsExactly(6, 7);
+        assertThat(falhas(relatorios).get(0).getErro()).isEqualTo("Valor inválido em 'prioridade'");
+        assertThat(falhas(relatorios).get(1).getErrosValidacao()).containsKey("titulo");
+
+        List<Tarefa> tarefas = tarefasPorTitulo();
+        assertThat(tarefas).extracting(Tarefa::getTitulo)
+                .containsExactly("Estudar java", "Lavar o carro", "Reunião semanal");
+        assertThat(tarefas.get(0).getDiscricao()).isEqualTo("Revisar streams,\ncoletores e \"records\"");
+        assertThat(tarefas.get(0).getStatus()).isEqualTo(StatusTarefa.PENDENTE);
+        assertThat(tarefas.get(2).getRecorrencia()).isEqualTo(new RegraRecorrencia(FrequenciaRecorrencia.SEMANAL, 2,
+                Set.of(DayOfWeek.MONDAY, DayOfWeek.FRIDAY), null, null));
+    }
+
+    @Test
+    @DisplayName("Deve importar NDJSON seguindo em frente depois de linhas malformadas, inválidas ou longas demais")
+    void deveImportarNdjsonLinhaALinha() throws IOException {
+        // Given
+        String ndjson = "{\"titulo\":\"Estudar java\",\"prioridade\":\"ALTA\"}\n"
+                + "{\"titulo\":\"Sem fim\",\n"
+                + "\n"
+                + "{\"titulo\":\"Série\",\"prioridade\":\"MEDIA\",\"recorrencia\":{\"frequencia\":\"DIARIA\"}}\n"
+                + "{\"titulo\":\"" + "x".repeat(300) + "\",\"prioridade\":\"ALTA\"}\n"
+                + "{\"titulo\":\"Ler um livro\",\"prioridade\":\"BAIXA\",\"prazo\":\"2026-02-01T08:00:00\"}";
+
+        // When
+        List<RelatorioImportacao> relatorios = importar(ndjson, FormatoImportacao.NDJSON);
+
+        // Then
+        RelatorioImportacao ultimo = relatorios.get(relatorios.size() - 1);
+        assertThat(ultimo.isConcluida()).isTrue();
+        assertThat(ultimo.getRegistros()).isEqualTo(5);
+        assertThat(ultimo.getImportadas()).isEqualTo(2);
+        assertThat(falhas(relatorios)).extracting(ResultadoLote::getIndice).containsExactlyInAnyOrder(2, 4, 5);
+        assertThat(falhas(relatorios)).filteredOn(falha -> falha.getIndice() == 4)
+                .singleElement()
+                .satisfies(falha -> assertThat(falha.getErrosValidacao()).containsKey("recorrenciaComPrazo"));
+        assertThat(falhas(relatorios)).filteredOn(falha -> falha.getIndice() == 5)
+                .singleElement()
+                .satisfies(falha -> assertThat(falha.getErro()).isEqualTo("Linha maior que 200 caracteres"));
+        assertThat(tarefasPorTitulo()).extracting(Tarefa::getTitulo).containsExactly("Estudar java", "Ler um livro");
+    }
+
+    @Test
+    @DisplayName("Deve interromper o CSV com aspas sem fechamento, mantendo o que já foi gravado")
+    void deveInterromperCsvComAspasAbertas() throws IOException {
+        // Given
+        String csv = "titulo,prioridade\n"
+                + "Primeira tarefa,ALTA\n"
+                + "Segunda tarefa,MEDIA\n"
+                + "Terceira tarefa,BAIXA\n"
+                + "\"Sem fechamento,ALTA\n"
+                + "Quinta tarefa,ALTA\n";
+
+        // When
+        List<RelatorioImportacao> relatorios = importar(csv, FormatoImportacao.CSV);
+
+        // Then
+        RelatorioImportacao ultimo = relatorios.get(relatorios.size() - 1);
+        assertThat(ultimo.isConcluida()).isTrue();
+        assertThat(ultimo.getErro()).isEqualTo("Aspas abertas na linha 5 nunca são fechadas");
+        assertThat(ultimo.getImportadas()).isEqualTo(3);
+        assertThat(tarefasPorTitulo()).extracting(Tarefa::getTitulo)
+                .containsExactly("Primeira tarefa", "Segunda tarefa", "Terceira tarefa");
+    }
+
+    @Test
+    @DisplayName("Deve importar de volta o CSV exportado, com prazo e recorrência")
+    void deveReimportarCsvExportado() throws IOException {
+        // Given
+        servicoTarefa.criarTarefa(new RequisicaoCriacaoTarefa("Pagar aluguel", "Conta \"fixa\", todo mês",
+                PrioridadeTarefa.ALTA, LocalDateTime.of(2026, 1, 31, 8, 0),
+                new RegraRecorrencia(FrequenciaRecorrencia.MENSAL, null, null, LocalDate.of(2026, 12, 31), 12)));
+        servicoTarefa.criarTarefa(new RequisicaoCriacaoTarefa("Estudar java", null, PrioridadeTarefa.MEDIA));
+        StringWriter exportado = new StringWriter();
+        exportado.write(FormatoCsv.CABECALHO);
+        exportado.write('\n');
+        for (Tarefa tarefa : servicoTarefa.listarTodasTarefas()) {
+            FormatoCsv.escrever(exportado, tarefa);
+        }
+        List<Tarefa> originais = tarefasPorTitulo();
+        servicoTarefa = new ServicoTarefa();
+
+        // When
+        List<RelatorioImportacao> relatorios = importar(exportado.toString(), FormatoImportacao.CSV);
+
+        // Then
+        assertThat(relatorios.get(relatorios.size() - 1).getImportadas()).isEqualTo(2);
+        assertThat(tarefasPorTitulo()).usingRecursiveFieldByFieldElementComparatorOnFields(
+                        "titulo", "discricao", "prioridade", "prazo", "recorrencia")
+                .containsExactlyElementsOf(originais);
+    }
+
+    private List<RelatorioImportacao> importar(String conteudo, FormatoImportacao formato) throws IOException {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        importador.importar(servicoTarefa, new ByteArrayInputStream(conteudo.getBytes(StandardCharsets.UTF_8)),
+                formato, saida);
+        List<RelatorioImportacao> relatorios = new ArrayList<>();
+        for (String linha : saida.toString(StandardCharsets.UTF_8).split("\n")) {
+            assertThat(linha).startsWith("{");
+            relatorios.add(objectMapper.readValue(linha, RelatorioImportacao.class));
+        }
+        return relatorios;
+    }
+
+    private static List<ResultadoLote> falhas(List<RelatorioImportacao> relatorios) {
+        return relatorios.stream()
+                .flatMap(relatorio -> relatorio.getFalhasLote().stream())
+                .toList();
+    }
+
+    private List<Tarefa> tarefasPorTitulo() {
+        return servicoTarefa.listarTodasTarefas().stream()
+                .sorted(Comparator.comparing(Tarefa::getTitulo))
+                .toList();
+    }
+}
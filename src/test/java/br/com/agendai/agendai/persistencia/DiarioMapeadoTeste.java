@@ -0,0 +1,248 @@
+package br.com.agendai.agendai.persistencia;
+
+import br.com.agendai.agendai.model.AtualizarTarefa;
+import br.com.agendai.agendai.model.EventoTarefa;
+import br.com.agendai.agendai.model.PrioridadeTarefa;
+import br.com.agendai.agendai.model.RequisicaoCriacaoTarefa;
+import br.com.agendai.agendai.model.StatusTarefa;
+import br.com.agendai.agendai.model.Tarefa;
+import br.com.agendai.agendai.model.TipoEventoTarefa;
+import br.com.agendai.agendai.service.ServicoTarefa;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Testes do DiárioMapeado")
+class DiarioMapeadoTeste {
+
+    private static final int TAMANHO_SEGMENTO = 64 * 1024;
+
+    @TempDir
+    Path diretorio;
+
+    private final List<DiarioMapeado> abertos = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws IOException {
+        for (DiarioMapeado diario : abertos) {
+            diario.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve recuperar criações, alterações e remoções depois de reiniciar")
+    void deveRecuperarEstadoDepoisDeReiniciar() throws IOException {
+        // Given
+        DiarioMapeado diario = abrir(PoliticaSincronizacao.SEMPRE, Long.MAX_VALUE);
+        ServicoTarefa servico = iniciarServico(diario);
+        Tarefa mantida = servico.criarTarefa(new RequisicaoCriacaoTarefa("Estudar", "Spring", PrioridadeTarefa.ALTA));
+        Tarefa removida = servico.criarTarefa(new RequisicaoCriacaoTarefa("Remover", null, PrioridadeTarefa.BAIXA));
+        LocalDateTime prazo = LocalDateTime.of(2030, 5, 17, 9, 30, 15, 123_456_789);
+        servico.atualizarTarefa(mantida.getIdTarefa(),
+                new AtualizarTarefa("Estudar muito", "Boot", PrioridadeTarefa.MEDIA, prazo));
+        servico.concluirTarefa(mantida.getIdTarefa());
+        servico.removerTarefa(removida.getIdTarefa());
+        List<Tarefa> antes = servico.listarTodasTarefas();
+        fechar(diario);
+
+        // When
+        ServicoTarefa recuperado = iniciarServico(abrir(PoliticaSincronizacao.SEMPRE, Long.MAX_VALUE));
+
+        // Then
+        assertThat(recuperado.listarTodasTarefas()).containsExactlyElementsOf(antes);
+        Tarefa tarefa = recuperado.buscarTarefaPorId(mantida.getIdTarefa());
+        assertThat(tarefa.getTitulo()).isEqualTo("Estudar muito");
+        assertThat(tarefa.getStatus()).isEqualTo(StatusTarefa.CONCLUIDA);
+        assertThat(tarefa.getPrazo()).isEqualTo(prazo);
+        assertThat(recuperado.obterEstatisticas().getTotalTarefas()).isEqualTo(1);
+        assertThat(recuperado.buscarTarefasPorTermo("muito")).extracting(Tarefa::getIdTarefa)
+                .containsExactly(mantida.getIdTarefa());
+    }
+
+    @Test
+    @DisplayName("Deve recuperar a partir do instantâneo mais a cauda do diário")
+    void deveRecuperarInstantaneoMaisCauda() throws IOException {
+        // Given
+        DiarioMapeado diario = abrir(PoliticaSincronizacao.NUNCA, Long.MAX_VALUE);
+        ServicoTarefa servico = iniciarServico(diario);
+        for (int i = 0; i < 50; i++) {
+            servico.criarTarefa(new RequisicaoCriacaoTarefa("Antes " + i, null, PrioridadeTarefa.MEDIA));
+        }
+        diario.gerarInstantaneo();
+        for (int i = 0; i < 20; i++) {
+            servico.criarTarefa(new RequisicaoCriacaoTarefa("Depois " + i, null, PrioridadeTarefa.ALTA));
+        }
+        List<String> ids = ids(servico);
+        fechar(diario);
+
+        // When
+        ServicoTarefa recuperado = iniciarServico(abrir(PoliticaSincronizacao.NUNCA, Long.MAX_VALUE));
+
+        // Then: o segmento fechado pelo instantâneo é mantido até o próximo, junto com o atual
+        assertThat(arquivos(ArquivoInstantaneo.EXTENSAO)).hasSize(1);
+        assertThat(arquivos(SegmentoDiario.EXTENSAO)).hasSize(2);
+        assertThat(ids(recuperado)).containsExactlyElementsOf(ids);
+    }
+
+    @Test
+    @DisplayName("Deve gerar instantâneos automaticamente e descartar segmentos antigos")
+    void deveGerarInstantaneosAutomaticamente() throws Exception {
+        // Given
+        DiarioMapeado diario = abrir(PoliticaSincronizacao.NUNCA, 100);
+        ServicoTarefa servico = iniciarServico(diario);
+
+        // When
+        for (int i = 0; i < 1_000; i++) {
+            servico.criarTarefa(new RequisicaoCriacaoTarefa("Tarefa " + i, "Descrição " + i, PrioridadeTarefa.BAIXA));
+        }
+        List<String> ids = ids(servico);
+        fechar(diario);
+
+        // Then
+        assertThat(arquivos(ArquivoInstantaneo.EXTENSAO)).isNotEmpty();
+        ServicoTarefa recuperado = iniciarServico(abrir(PoliticaSincronizacao.NUNCA, 100));
+        assertThat(ids(recuperado)).containsExactlyElementsOf(ids);
+    }
+
+    @Test
+    @DisplayName("Deve ignorar um registro interrompido no fim do diário")
+    void deveIgnorarRegistroInterrompido() throws IOException {
+        // Given
+        DiarioMapeado diario = abrir(PoliticaSincronizacao.SEMPRE, Long.MAX_VALUE);
+        ServicoTarefa servico = iniciarServico(diario);
+        Tarefa primeira = servico.criarTarefa(new RequisicaoCriacaoTarefa("Primeira", null, PrioridadeTarefa.ALTA));
+        servico.criarTarefa(new RequisicaoCriacaoTarefa("Segunda", null, PrioridadeTarefa.ALTA));
+        fechar(diario);
+
+        // When: corrompe o conteúdo do segundo registro, como se a escrita tivesse sido interrompida
+        Path segmento = arquivos(SegmentoDiario.EXTENSAO).get(0);
+        try (FileChannel canal = FileChannel.open(segmento, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer tamanho = ByteBuffer.allocate(Integer.BYTES);
+            canal.read(tamanho, 0);
+            int inicioSegundo = SegmentoDiario.CABECALHO_REGISTRO + tamanho.flip().getInt();
+            canal.write(ByteBuffer.wrap(new byte[]{1, 2, 3}), inicioSegundo + SegmentoDiario.CABECALHO_REGISTRO + 4);
+        }
+        DiarioMapeado reaberto = abrir(PoliticaSincronizacao.SEMPRE, Long.MAX_VALUE);
+        ServicoTarefa recuperado = iniciarServico(reaberto);
+
+        // Then
+        assertThat(ids(recuperado)).containsExactly(primeira.getIdTarefa());
+        assertThat(reaberto.ultimaSequencia()).isEqualTo(1);
+
+        Tarefa nova = recuperado.criarTarefa(new RequisicaoCriacaoTarefa("Nova", null, PrioridadeTarefa.ALTA));
+        fechar(reaberto);
+        assertThat(ids(iniciarServico(abrir(PoliticaSincronizacao.SEMPRE, Long.MAX_VALUE))))
+                .containsExactly(primeira.getIdTarefa(), nova.getIdTarefa());
+    }
+
+    @Test
+    @DisplayName("Deve ignorar instantâneo corrompido e usar o diário")
+    void deveIgnorarInstantaneoCorrompido() throws IOException {
+        // Given
+        DiarioMapeado diario = abrir(PoliticaSincronizacao.NUNCA, Long.MAX_VALUE);
+        ServicoTarefa servico = iniciarServico(diario);
+        servico.criarTarefa(new RequisicaoCriacaoTarefa("Tarefa", null, PrioridadeTarefa.ALTA));
+        diario.gerarInstantaneo();
+        fechar(diario);
+
+        // When
+        Path instantaneo = arquivos(ArquivoInstantaneo.EXTENSAO).get(0);
+        byte[] conteudo = Files.readAllBytes(instantaneo);
+        conteudo[conteudo.length / 2] ^= 0x7F;
+        Files.write(instantaneo, conteudo);
+
+        // Then: o segmento fechado pelo instantâneo continua no disco e basta para recuperar a tarefa
+        assertThat(ArquivoInstantaneo.valido(instantaneo)).isFalse();
+        assertThat(iniciarServico(abrir(PoliticaSincronizacao.NUNCA, Long.MAX_VALUE)).listarTodasTarefas())
+                .extracting(Tarefa::getTitulo)
+                .containsExactly("Tarefa");
+    }
+
+    @Test
+    @DisplayName("Deve manter o segmento girado por tamanho com um registro ainda não publicado antes do instantâneo")
+    void deveManterRegistroNaoPublicadoAoGirarPorTamanho() throws IOException {
+        // Given: um segmento pequeno e uma criação registrada no diário mas ainda fora do mapa
+        Map<String, Tarefa> publicadas = new LinkedHashMap<>();
+        DiarioMapeado diario = abrir(PoliticaSincronizacao.NUNCA, Long.MAX_VALUE, 1024);
+        diario.recuperar(evento -> {
+        });
+        diario.iniciar(() -> publicadas.values().stream());
+        criar(diario, publicadas, "Publicada antes");
+        Tarefa pendente = new Tarefa("pendente", "Pendente", null, PrioridadeTarefa.ALTA, Tarefa.INQUILINO_PADRAO);
+        long sequenciaPendente = diario.registrar(new EventoTarefa(TipoEventoTarefa.CRIADA, pendente.getIdTarefa(), pendente));
+        int criadas = 0;
+        while (arquivos(SegmentoDiario.EXTENSAO).size() == 1) {
+            criar(diario, publicadas, "Publicada depois " + criadas++);
+        }
+
+        // When: o instantâneo sai antes de a criação pendente chegar ao mapa
+        diario.gerarInstantaneo();
+        publicadas.put(pendente.getIdTarefa(), pendente);
+        diario.publicado(sequenciaPendente);
+        fechar(diario);
+
+        // Then
+        assertThat(arquivos(SegmentoDiario.EXTENSAO)).hasSize(3);
+        ServicoTarefa recuperado = iniciarServico(abrir(PoliticaSincronizacao.NUNCA, Long.MAX_VALUE, 1024));
+        assertThat(ids(recuperado)).containsExactlyInAnyOrderElementsOf(publicadas.keySet());
+    }
+
+    private static void criar(DiarioMapeado diario, Map<String, Tarefa> publicadas, String titulo) {
+        Tarefa tarefa = new Tarefa(UUID.randomUUID().toString(), titulo, null, PrioridadeTarefa.BAIXA,
+                Tarefa.INQUILINO_PADRAO);
+        long sequencia = diario.registrar(new EventoTarefa(TipoEventoTarefa.CRIADA, tarefa.getIdTarefa(), tarefa));
+        publicadas.put(tarefa.getIdTarefa(), tarefa);
+        diario.publicado(sequencia);
+    }
+
+    private DiarioMapeado abrir(PoliticaSincronizacao politica, long registrosPorInstantaneo) {
+        return abrir(politica, registrosPorInstantaneo, TAMANHO_SEGMENTO);
+    }
+
+    private DiarioMapeado abrir(PoliticaSincronizacao politica, long registrosPorInstantaneo, int tamanhoSegmento) {
+        DiarioMapeado diario = new DiarioMapeado(diretorio, politica, Duration.ofMillis(10),
+                tamanhoSegmento, registrosPorInstantaneo);
+        abertos.add(diario);
+        return diario;
+    }
+
+    private void fechar(DiarioMapeado diario) throws IOException {
+        diario.close();
+        abertos.remove(diario);
+    }
+
+    private ServicoTarefa iniciarServico(DiarioMapeado diario) {
+        ServicoTarefa servico = new ServicoTarefa(diario);
+        servico.restaurarEstado();
+        return servico;
+    }
+
+    private List<String> ids(ServicoTarefa servico) {
+        return servico.listarTodasTarefas().stream().map(Tarefa::getIdTarefa).collect(Collectors.toList());
+    }
+
+    private List<Path> arquivos(String extensao) throws IOException {
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            return arquivos.filter(arquivo -> arquivo.toString().endsWith(extensao)).sorted().collect(Collectors.toList());
+        }
+    }
+}
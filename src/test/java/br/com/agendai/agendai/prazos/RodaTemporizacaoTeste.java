@@ -0,0 +1,78 @@
+package br.com.agendai.agendai.prazos;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Testes da roda de temporização hierárquica")
+class RodaTemporizacaoTeste {
+
+    @Test
+    @DisplayName("Deve disparar cada temporizador no seu tique, em qualquer nível, nunca antes")
+    void deveDispararNoTiqueCerto() {
+        // Given
+        long inicio = 1_000_000;
+        RodaTemporizacao<Long> roda = new RodaTemporizacao<>(1, inicio);
+        Random aleatorio = new Random(7);
+        Set<Long> pendentes = new HashSet<>();
+        for (int i = 0; i < 20_000; i++) {
+            // Distâncias de 0 a ~17 milhões de tiques: cobre os quatro primeiros níveis.
+            long instante = inicio + (long) Math.pow(2, aleatorio.nextDouble() * 24);
+            if (pendentes.add(instante)) {
+                roda.agendar(instante, instante);
+            }
+        }
+
+        // When / Then
+        long agora = inicio;
+        long fim = inicio + (1L << 24) + 1;
+        while (agora < fim) {
+            agora = Math.min(fim, agora + 1 + aleatorio.nextInt(5000));
+            long limite = agora;
+            List<Long> disparados = new ArrayList<>();
+            roda.avancar(agora, disparados::add);
+            assertThat(disparados).allMatch(instante -> instante <= limite).isSorted();
+            disparados.forEach(pendentes::remove);
+            assertThat(pendentes).allMatch(instante -> instante > limite);
+        }
+        assertThat(pendentes).isEmpty();
+        assertThat(roda.quantidade()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve cancelar temporizadores sem afetar os vizinhos da mesma posição")
+    void deveCancelarTemporizadores() {
+        // Given
+        RodaTemporizacao<String> roda = new RodaTemporizacao<>(1000, 0);
+        Map<String, RodaTemporizacao.Temporizador<String>> temporizadores = new HashMap<>();
+        for (String nome : List.of("a", "b", "c", "d")) {
+            temporizadores.put(nome, roda.agendar(90_000, nome));
+        }
+        RodaTemporizacao.Temporizador<String> passado = roda.agendar(-5_000, "passado");
+
+        // When
+        assertThat(roda.cancelar(temporizadores.get("b"))).isTrue();
+        assertThat(roda.cancelar(temporizadores.get("d"))).isTrue();
+        assertThat(roda.cancelar(temporizadores.get("d"))).isFalse();
+        List<String> disparados = new ArrayList<>();
+        roda.avancar(0, disparados::add);
+        assertThat(disparados).containsExactly("passado");
+        assertThat(roda.cancelar(passado)).isFalse();
+        roda.avancar(89_999, disparados::add);
+        assertThat(disparados).containsExactly("passado");
+        roda.avancar(90_000, disparados::add);
+
+        // Then
+        assertThat(disparados).containsExactlyInAnyOrder("passado", "a", "c");
+        assertThat(roda.quantidade()).isZero();
+    }
+}
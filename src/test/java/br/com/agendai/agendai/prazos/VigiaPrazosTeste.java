@@ -0,0 +1,137 @@
+package br.com.agendai.agendai.prazos;
+
+import br.com.agendai.agendai.model.AtualizarTarefa;
+import br.com.agendai.agendai.model.AvisoPrazo;
+import br.com.agendai.agendai.model.PrioridadeTarefa;
+import br.com.agendai.agendai.model.RequisicaoCriacaoTarefa;
+import br.com.agendai.agendai.model.Tarefa;
+import br.com.agendai.agendai.model.TipoAvisoPrazo;
+import br.com.agendai.agendai.service.CacheConsultas;
+import br.com.agendai.agendai.service.CanalAlteracoes;
+import br.com.agendai.agendai.service.ColunasTarefas;
+import br.com.agendai.agendai.service.DiarioMutacoes;
+import br.com.agendai.agendai.service.GeradorIdsMonotonico;
+import br.com.agendai.agendai.service.ServicoTarefa;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Testes dos avisos de prazo")
+class VigiaPrazosTeste {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final List<List<AvisoPrazo>> lotesRecebidos = new CopyOnWriteArrayList<>();
+    private final AtomicInteger requisicoes = new AtomicInteger();
+    private final SimpleMeterRegistry registro = new SimpleMeterRegistry();
+
+    private HttpServer destino;
+    private VigiaPrazos vigia;
+    private ServicoTarefa servicoTarefa;
+
+    // O destino recusa a primeira entrega para forçar uma retentativa.
+    @BeforeEach
+    void setUp() throws IOException {
+        destino = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        destino.createContext("/avisos", troca -> {
+            byte[] corpo = troca.getRequestBody().readAllBytes();
+            if (requisicoes.incrementAndGet() == 1) {
+                troca.sendResponseHeaders(500, -1);
+            } else {
+                lotesRecebidos.add(objectMapper.readValue(corpo, new TypeReference<List<AvisoPrazo>>() { }));
+                troca.sendResponseHeaders(204, -1);
+            }
+            troca.close();
+        });
+        destino.start();
+
+        DestinoAvisosHttp http = new DestinoAvisosHttp(
+                URI.create("http://localhost:" + destino.getAddress().getPort() + "/avisos"),
+                Duration.ofSeconds(2), objectMapper);
+        CaixaSaidaAvisos caixaSaida = new CaixaSaidaAvisos(http, 1024, 100, Duration.ofMillis(100), 5,
+                Duration.ofMillis(20), registro);
+        vigia = VigiaPrazos.iniciar(Duration.ofMillis(10), Duration.ofMillis(400), caixaSaida,
+                Clock.systemDefaultZone(), registro);
+        servicoTarefa = new ServicoTarefa(Tarefa.INQUILINO_PADRAO, Long.MAX_VALUE, DiarioMutacoes.NENHUM,
+                Validation.buildDefaultValidatorFactory().getValidator(), CacheConsultas.NENHUM,
+                new GeradorIdsMonotonico(), ColunasTarefas.NENHUMA, CanalAlteracoes.NENHUM, vigia);
+    }
+
+    @AfterEach
+    void tearDown() {
+        vigia.close();
+        destino.stop(0);
+    }
+
+    @Test
+    @DisplayName("Deve entregar lembretes e vencimentos em lote, tentando de novo após falha")
+    void deveEntregarLembretesEVencimentos() throws Exception {
+        // Given
+        LocalDateTime prazo = LocalDateTime.now().plusNanos(TimeUnit.MILLISECONDS.toNanos(800));
+        Tarefa primeira = criar("Primeira", prazo);
+        Tarefa segunda = criar("Segunda", prazo);
+        Tarefa concluida = criar("Concluída antes do prazo", prazo);
+        Tarefa adiada = criar("Adiada", prazo);
+        criar("Já vencida", LocalDateTime.now().minusMinutes(5));
+        criar("Sem prazo", null);
+
+        // When
+        servicoTarefa.concluirTarefa(concluida.getIdTarefa());
+        servicoTarefa.atualizarTarefa(adiada.getIdTarefa(),
+                new AtualizarTarefa("Adiada", null, PrioridadeTarefa.MEDIA, prazo.plusHours(1)));
+        assertThat(vigia.temporizadores()).isEqualTo(6);
+        aguardar(() -> avisos(TipoAvisoPrazo.VENCIMENTO).size() == 2);
+
+        // Then
+        assertThat(avisos(TipoAvisoPrazo.LEMBRETE))
+                .containsExactlyInAnyOrder(primeira.getIdTarefa(), segunda.getIdTarefa());
+        assertThat(avisos(TipoAvisoPrazo.VENCIMENTO))
+                .containsExactlyInAnyOrder(primeira.getIdTarefa(), segunda.getIdTarefa());
+        assertThat(lotesRecebidos).hasSize(2).allMatch(lote -> lote.size() == 2);
+        assertThat(requisicoes.get()).isEqualTo(3);
+        assertThat(registro.counter("agendai.prazos.entregas.falhas").count()).isEqualTo(1);
+        assertThat(vigia.temporizadores()).isEqualTo(2);
+    }
+
+    private Tarefa criar(String titulo, LocalDateTime prazo) {
+        RequisicaoCriacaoTarefa requisicao = new RequisicaoCriacaoTarefa(titulo, null, PrioridadeTarefa.ALTA);
+        requisicao.setPrazo(prazo);
+        return servicoTarefa.criarTarefa(requisicao);
+    }
+
+    private List<String> avisos(TipoAvisoPrazo tipo) {
+        return lotesRecebidos.stream()
+                .flatMap(List::stream)
+                .filter(aviso -> aviso.getTipo() == tipo)
+                .map(AvisoPrazo::getIdTarefa)
+                .toList();
+    }
+
+    private static void aguardar(BooleanSupplier condicao) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condicao.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condição não atingida em 10 s").isLessThan(limite);
+            Thread.sleep(10);
+        }
+    }
+}
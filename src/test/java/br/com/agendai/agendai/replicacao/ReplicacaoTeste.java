@@ -0,0 +1,221 @@
+package br.com.agendai.agendai.replicacao;
+
+import br.com.agendai.agendai.exception.ReplicaSomenteLeituraException;
+import br.com.agendai.agendai.model.AtualizarTarefa;
+import br.com.agendai.agendai.model.EventoTarefa;
+import br.com.agendai.agendai.model.PrioridadeTarefa;
+import br.com.agendai.agendai.model.RequisicaoCriacaoTarefa;
+import br.com.agendai.agendai.model.Tarefa;
+import br.com.agendai.agendai.service.DiarioMutacoes;
+import br.com.agendai.agendai.service.ServicoInquilinos;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+
+@DisplayName("Testes da replicação líder/seguidor")
+class ReplicacaoTeste {
+
+    private static final Duration BATIMENTO = Duration.ofMillis(50);
+
+    private final List<Closeable> abertos = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws IOException {
+        for (Closeable aberto : abertos) {
+            aberto.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve replicar o estado inicial e as mutações seguintes no seguidor")
+    void deveReplicarEstadoEMutacoes() throws Exception {
+        // Given
+        LiderReplicacao lider = lider(0);
+        ServicoInquilinos noLider = iniciar(lider);
+        Tarefa antiga = noLider.doInquilino("acme")
+                .criarTarefa(new RequisicaoCriacaoTarefa("Antes do seguidor", null, PrioridadeTarefa.ALTA));
+        SeguidorReplicacao seguidor = seguidor(lider.porta());
+        ServicoInquilinos noSeguidor = iniciar(seguidor);
+        aguardar(() -> seguidor.sincronizado() && seguidor.atrasoEventos() == 0);
+
+        // When
+        noLider.doInquilino("acme").atualizarTarefa(antiga.getIdTarefa(),
+                new AtualizarTarefa("Atualizada", "no líder", PrioridadeTarefa.BAIXA));
+        Tarefa removida = noLider.doInquilino(null)
+                .criarTarefa(new RequisicaoCriacaoTarefa("Removida", null, PrioridadeTarefa.MEDIA));
+        noLider.doInquilino(null).removerTarefa(removida.getIdTarefa());
+        Tarefa nova = noLider.doInquilino("globex")
+                .criarTarefa(new RequisicaoCriacaoTarefa("Nova", null, PrioridadeTarefa.MEDIA));
+        noLider.doInquilino("globex").concluirTarefa(nova.getIdTarefa());
+        aguardar(() -> seguidor.sequenciaAplicada() == 6);
+
+        // Then
+        assertThat(noSeguidor.doInquilino("acme").listarTodasTarefas())
+                .containsExactlyElementsOf(noLider.doInquilino("acme").listarTodasTarefas());
+        assertThat(noSeguidor.doInquilino("globex").listarTodasTarefas())
+                .containsExactlyElementsOf(noLider.doInquilino("globex").listarTodasTarefas());
+        assertThat(noSeguidor.doInquilino(null).listarTodasTarefas()).isEmpty();
+        assertThat(seguidor.atrasoEventos()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve medir o atraso em eventos e em tempo enquanto o seguidor não acompanha o líder")
+    void deveMedirAtrasoDoSeguidorLento() throws Exception {
+        // Given
+        LiderReplicacao lider = lider(0);
+        ServicoInquilinos noLider = iniciar(lider);
+        SeguidorReplicacao seguidor = seguidor(lider.porta());
+        ServicoInquilinos noSeguidor = iniciar(new Lento(seguidor, 20));
+        aguardar(seguidor::sincronizado);
+
+        // When
+        for (int i = 0; i < 50; i++) {
+            noLider.doInquilino(null)
+                    .criarTarefa(new RequisicaoCriacaoTarefa("Tarefa " + i, null, PrioridadeTarefa.MEDIA));
+        }
+        aguardar(() -> seguidor.atrasoEventos() >= 10);
+        Thread.sleep(BATIMENTO.toMillis());
+
+        // Then
+        assertThat(seguidor.atrasoEventos()).isPositive();
+        assertThat(seguidor.atrasoMillis()).isPositive();
+        aguardar(() -> seguidor.atrasoEventos() == 0 && seguidor.atrasoMillis() < 3 * BATIMENTO.toMillis());
+        assertThat(noSeguidor.doInquilino(null).listarTodasTarefas())
+                .containsExactlyInAnyOrderElementsOf(noLider.doInquilino(null).listarTodasTarefas());
+    }
+
+    @Test
+    @DisplayName("Deve recusar escritas no seguidor sem alterar o estado")
+    void deveRecusarEscritasNoSeguidor() throws Exception {
+        // Given
+        LiderReplicacao lider = lider(0);
+        ServicoInquilinos noLider = iniciar(lider);
+        Tarefa tarefa = noLider.doInquilino(null)
+                .criarTarefa(new RequisicaoCriacaoTarefa("Do líder", null, PrioridadeTarefa.ALTA));
+        SeguidorReplicacao seguidor = seguidor(lider.porta());
+        ServicoInquilinos noSeguidor = iniciar(seguidor);
+        aguardar(seguidor::sincronizado);
+
+        // When / Then
+        assertThatThrownBy(() -> noSeguidor.doInquilino(null)
+                .criarTarefa(new RequisicaoCriacaoTarefa("No seguidor", null, PrioridadeTarefa.ALTA)))
+                .isInstanceOf(ReplicaSomenteLeituraException.class);
+        assertThatThrownBy(() -> noSeguidor.doInquilino(null).concluirTarefa(tarefa.getIdTarefa()))
+                .isInstanceOf(ReplicaSomenteLeituraException.class);
+        assertThat(noSeguidor.doInquilino(null).listarTodasTarefas()).containsExactly(tarefa);
+    }
+
+    @Test
+    @DisplayName("Deve ressincronizar depois de reconectar, descartando o que sumiu no líder")
+    void deveRessincronizarDepoisDeReconectar() throws Exception {
+        // Given
+        LiderReplicacao primeiro = lider(0);
+        ServicoInquilinos noPrimeiro = iniciar(primeiro);
+        noPrimeiro.doInquilino(null)
+                .criarTarefa(new RequisicaoCriacaoTarefa("Só no primeiro", null, PrioridadeTarefa.ALTA));
+        int porta = primeiro.porta();
+        SeguidorReplicacao seguidor = seguidor(porta);
+        ServicoInquilinos noSeguidor = iniciar(seguidor);
+        aguardar(() -> noSeguidor.doInquilino(null).listarTodasTarefas().size() == 1);
+
+        // When
+        primeiro.close();
+        aguardar(() -> !seguidor.sincronizado());
+        ServicoInquilinos noSegundo = iniciar(lider(porta));
+        Tarefa mantida = noSegundo.doInquilino(null)
+                .criarTarefa(new RequisicaoCriacaoTarefa("No segundo", null, PrioridadeTarefa.BAIXA));
+        aguardar(() -> seguidor.sincronizado() && seguidor.atrasoEventos() == 0
+                && noSeguidor.doInquilino(null).listarTodasTarefas().size() == 1);
+
+        // Then
+        assertThat(noSeguidor.doInquilino(null).listarTodasTarefas()).containsExactly(mantida);
+    }
+
+    private LiderReplicacao lider(int porta) {
+        LiderReplicacao lider = new LiderReplicacao(DiarioMutacoes.NENHUM, porta, BATIMENTO, 1024, 64);
+        lider.bindTo(new SimpleMeterRegistry());
+        abertos.add(lider);
+        return lider;
+    }
+
+    private SeguidorReplicacao seguidor(int portaLider) {
+        SeguidorReplicacao seguidor = new SeguidorReplicacao("localhost", portaLider, BATIMENTO, BATIMENTO);
+        seguidor.bindTo(new SimpleMeterRegistry());
+        abertos.add(0, seguidor);
+        return seguidor;
+    }
+
+    private static ServicoInquilinos iniciar(DiarioMutacoes diario) {
+        ServicoInquilinos inquilinos = new ServicoInquilinos(diario,
+                ServicoInquilinos.fabricaPadrao(diario, Long.MAX_VALUE), Integer.MAX_VALUE);
+        inquilinos.restaurarEstado();
+        return inquilinos;
+    }
+
+    private static void aguardar(BooleanSupplier condicao) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condicao.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condição não atingida em 10 s").isLessThan(limite);
+            Thread.sleep(10);
+        }
+    }
+
+    // Seguidor que leva um tempo fixo para aplicar cada evento recebido do líder.
+    private static final class Lento implements DiarioMutacoes {
+
+        private final DiarioMutacoes seguidor;
+        private final long millisPorEvento;
+
+        Lento(DiarioMutacoes seguidor, long millisPorEvento) {
+            this.seguidor = seguidor;
+            this.millisPorEvento = millisPorEvento;
+        }
+
+        @Override
+        public void recuperar(Consumer<EventoTarefa> aplicador) {
+            seguidor.recuperar(evento -> {
+                try {
+                    Thread.sleep(millisPorEvento);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                aplicador.accept(evento);
+            });
+        }
+
+        @Override
+        public void iniciar(Supplier<Stream<Tarefa>> estadoAtual) {
+            seguidor.iniciar(estadoAtual);
+        }
+
+        @Override
+        public long registrar(EventoTarefa evento) {
+            return seguidor.registrar(evento);
+        }
+
+        @Override
+        public void publicado(long sequencia) {
+            seguidor.publicado(sequencia);
+        }
+
+        @Override
+        public void aguardarDurabilidade(long sequencia) {
+            seguidor.aguardarDurabilidade(sequencia);
+        }
+    }
+}
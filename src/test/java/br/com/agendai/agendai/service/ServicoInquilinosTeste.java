@@ -0,0 +1,201 @@
+package br.com.agendai.agendai.service;
+
+import br.com.agendai.agendai.exception.CotaExcedidaException;
+import br.com.agendai.agendai.exception.InquilinoInvalidoException;
+import br.com.agendai.agendai.exception.TarefaNaoEncontradaException;
+import br.com.agendai.agendai.model.PrioridadeTarefa;
+import br.com.agendai.agendai.model.RequisicaoCriacaoTarefa;
+import br.com.agendai.agendai.model.RespostaLote;
+import br.com.agendai.agendai.model.Tarefa;
+import br.com.agendai.agendai.persistencia.DiarioMapeado;
+import br.com.agendai.agendai.persistencia.PoliticaSincronizacao;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+
+@DisplayName("Testes do ServiçoDeInquilinos")
+class ServicoInquilinosTeste {
+
+    @TempDir
+    Path diretorio;
+
+    @Test
+    @DisplayName("Deve isolar tarefas, estatísticas e versões de cada inquilino")
+    void deveIsolarInquilinos() {
+        // Given
+        ServicoInquilinos inquilinos = new ServicoInquilinos();
+        ServicoTarefa acme = inquilinos.doInquilino("acme");
+        ServicoTarefa globex = inquilinos.doInquilino("globex");
+
+        // When
+        Tarefa tarefaAcme = acme.criarTarefa(new RequisicaoCriacaoTarefa("Relatório", null, PrioridadeTarefa.ALTA));
+        acme.criarTarefa(new RequisicaoCriacaoTarefa("Planilha", null, PrioridadeTarefa.BAIXA));
+        globex.criarTarefa(new RequisicaoCriacaoTarefa("Reunião", null, PrioridadeTarefa.MEDIA));
+
+        // Then
+        assertThat(inquilinos.doInquilino("acme")).isSameAs(acme);
+        assertThat(tarefaAcme.getInquilino()).isEqualTo("acme");
+        assertThat(acme.obterEstatisticas().getTotalTarefas()).isEqualTo(2);
+        assertThat(globex.obterEstatisticas().getTotalTarefas()).isEqualTo(1);
+        assertThat(globex.listarTodasTarefas()).extracting(Tarefa::getTitulo).containsExactly("Reunião");
+        assertThatThrownBy(() -> globex.buscarTarefaPorId(tarefaAcme.getIdTarefa()))
+                .isInstanceOf(TarefaNaoEncontradaException.class);
+        assertThat(inquilinos.doInquilino(null).listarTodasTarefas()).isEmpty();
+        assertThat(inquilinos.doInquilino(" ").inquilino()).isEqualTo(Tarefa.INQUILINO_PADRAO);
+    }
+
+    @Test
+    @DisplayName("Deve recusar criações além da cota e liberar a vaga ao remover")
+    void deveImporCotaDeTarefas() {
+        // Given
+        ServicoInquilinos inquilinos = new ServicoInquilinos(DiarioMutacoes.NENHUM,
+                ServicoInquilinos.fabricaPadrao(DiarioMutacoes.NENHUM, 2), 10);
+        ServicoTarefa acme = inquilinos.doInquilino("acme");
+        Tarefa primeira = acme.criarTarefa(new RequisicaoCriacaoTarefa("Primeira", null, PrioridadeTarefa.ALTA));
+        acme.criarTarefa(new RequisicaoCriacaoTarefa("Segunda", null, PrioridadeTarefa.ALTA));
+
+        // When / Then
+        assertThatThrownBy(() -> acme.criarTarefa(new RequisicaoCriacaoTarefa("Terceira", null, PrioridadeTarefa.ALTA)))
+                .isInstanceOf(CotaExcedidaException.class);
+        assertThat(inquilinos.doInquilino("globex")
+                .criarTarefa(new RequisicaoCriacaoTarefa("Outra", null, PrioridadeTarefa.ALTA))).isNotNull();
+
+        acme.removerTarefa(primeira.getIdTarefa());
+        RespostaLote lote = acme.criarTarefasEmLote(List.of(
+                new RequisicaoCriacaoTarefa("Terceira", null, PrioridadeTarefa.ALTA),
+                new RequisicaoCriacaoTarefa("Quarta", null, PrioridadeTarefa.ALTA)));
+        assertThat(lote.getSucessos()).isEqualTo(1);
+        assertThat(lote.getResultados().get(1).getStatus()).isEqualTo(429);
+        assertThat(acme.listarTodasTarefas()).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Deve recusar inquilinos com formato inválido ou além do limite")
+    void deveValidarInquilinos() {
+        // Given
+        ServicoInquilinos inquilinos = new ServicoInquilinos(DiarioMutacoes.NENHUM,
+                ServicoInquilinos.fabricaPadrao(DiarioMutacoes.NENHUM, Long.MAX_VALUE), 2);
+        inquilinos.doInquilino("acme");
+        inquilinos.doInquilino("globex");
+
+        // When / Then
+        assertThatThrownBy(() -> inquilinos.doInquilino("../acme")).isInstanceOf(InquilinoInvalidoException.class);
+        assertThatThrownBy(() -> inquilinos.doInquilino("a".repeat(65))).isInstanceOf(InquilinoInvalidoException.class);
+        assertThatThrownBy(() -> inquilinos.doInquilino("initech")).isInstanceOf(CotaExcedidaException.class);
+        assertThat(inquilinos.doInquilino("acme")).isNotNull();
+        assertThat(inquilinos.quantidadeInquilinos()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Deve ler inquilino desconhecido como vazio sem criar partição nem gastar o limite")
+    void deveLerInquilinoDesconhecidoSemCriarParticao() {
+        // Given
+        ServicoInquilinos inquilinos = new ServicoInquilinos(DiarioMutacoes.NENHUM,
+                ServicoInquilinos.fabricaPadrao(DiarioMutacoes.NENHUM, Long.MAX_VALUE), 1);
+        ServicoTarefa acme = inquilinos.doInquilino("acme");
+
+        // When
+        ServicoTarefa desconhecido = inquilinos.doInquilinoSemCriar("initech");
+
+        // Then
+        assertThat(desconhecido.inquilino()).isEqualTo("initech");
+        assertThat(desconhecido.listarTodasTarefas()).isEmpty();
+        assertThat(desconhecido.obterEstatisticas().getTotalTarefas()).isZero();
+        assertThat(inquilinos.doInquilinoSemCriar("acme")).isSameAs(acme);
+        assertThat(inquilinos.quantidadeInquilinos()).isEqualTo(1);
+        assertThatThrownBy(() -> inquilinos.doInquilinoSemCriar("../acme"))
+                .isInstanceOf(InquilinoInvalidoException.class);
+        assertThatThrownBy(() -> inquilinos.doInquilino("initech")).isInstanceOf(CotaExcedidaException.class);
+    }
+
+    @Test
+    @DisplayName("Deve respeitar o limite de inquilinos com criações simultâneas")
+    void deveRespeitarLimiteComCriacoesSimultaneas() throws Exception {
+        // Given
+        int limite = 8;
+        ServicoInquilinos inquilinos = new ServicoInquilinos(DiarioMutacoes.NENHUM,
+                ServicoInquilinos.fabricaPadrao(DiarioMutacoes.NENHUM, Long.MAX_VALUE), limite);
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<Boolean>> criacoes = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < 64; i++) {
+            String inquilino = "inquilino-" + i;
+            criacoes.add(executor.submit(() -> {
+                largada.await();
+                try {
+                    inquilinos.doInquilino(inquilino);
+                    return true;
+                } catch (CotaExcedidaException e) {
+                    return false;
+                }
+            }));
+        }
+        largada.countDown();
+        int criadas = 0;
+        for (Future<Boolean> criacao : criacoes) {
+            criadas += criacao.get(10, TimeUnit.SECONDS) ? 1 : 0;
+        }
+        executor.shutdown();
+
+        // Then
+        assertThat(criadas).isEqualTo(limite);
+        assertThat(inquilinos.quantidadeInquilinos()).isEqualTo(limite);
+    }
+
+    @Test
+    @DisplayName("Deve devolver cada tarefa à partição do seu inquilino ao recuperar o diário e o instantâneo")
+    void deveRecuperarParticoesDoDiario() throws IOException {
+        // Given
+        DiarioMapeado diario = abrir();
+        ServicoInquilinos inquilinos = iniciar(diario);
+        Tarefa noInstantaneo = inquilinos.doInquilino("acme")
+                .criarTarefa(new RequisicaoCriacaoTarefa("No instantâneo", null, PrioridadeTarefa.ALTA));
+        diario.gerarInstantaneo();
+        Tarefa noDiario = inquilinos.doInquilino("globex")
+                .criarTarefa(new RequisicaoCriacaoTarefa("No diário", null, PrioridadeTarefa.BAIXA));
+        inquilinos.doInquilino(null).criarTarefa(new RequisicaoCriacaoTarefa("Padrão", null, PrioridadeTarefa.MEDIA));
+        diario.close();
+
+        // When
+        DiarioMapeado reaberto = abrir();
+        ServicoInquilinos recuperado = iniciar(reaberto);
+
+        // Then
+        assertThat(recuperado.quantidadeInquilinos()).isEqualTo(3);
+        assertThat(recuperado.doInquilino("acme").listarTodasTarefas())
+                .extracting(Tarefa::getIdTarefa).containsExactly(noInstantaneo.getIdTarefa());
+        assertThat(recuperado.doInquilino("globex").listarTodasTarefas())
+                .extracting(Tarefa::getIdTarefa).containsExactly(noDiario.getIdTarefa());
+        assertThat(recuperado.doInquilino(null).listarTodasTarefas())
+                .extracting(Tarefa::getTitulo).containsExactly("Padrão");
+        reaberto.close();
+    }
+
+    private DiarioMapeado abrir() {
+        return new DiarioMapeado(diretorio, PoliticaSincronizacao.SEMPRE, Duration.ofMillis(10),
+                64 * 1024, Long.MAX_VALUE);
+    }
+
+    private static ServicoInquilinos iniciar(DiarioMutacoes diario) {
+        ServicoInquilinos inquilinos = new ServicoInquilinos(diario,
+                ServicoInquilinos.fabricaPadrao(diario, Long.MAX_VALUE), Integer.MAX_VALUE);
+        inquilinos.restaurarEstado();
+        return inquilinos;
+    }
+}
@@ -1,14 +1,30 @@
 package br.com.agendai.agendai.service;
 
+import br.com.agendai.agendai.exception.CursorInvalidoException;
+import br.com.agendai.agendai.exception.JanelaCalendarioInvalidaException;
+import br.com.agendai.agendai.exception.OcorrenciaNaoEncontradaException;
 import br.com.agendai.agendai.exception.TarefaNaoEncontradaException;
 import br.com.agendai.agendai.model.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import jakarta.validation.Validation;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
@@ -72,6 +88,56 @@ class ServicoTarefaTeste {
         assertThat(tarefas.get(2).getPrioridade()).isEqualTo(PrioridadeTarefa.BAIXA);
     }
 
+    @Test
+    @DisplayName("Deve reposicionar tarefa na listagem quando a prioridade muda")
+    void deveReposicionarTarefaQuandoPrioridadeMuda() {
+        // Given
+        Tarefa primeira = servicoTarefa.criarTarefa(new RequisicaoCriacaoTarefa("Primeira", "Descrição", PrioridadeTarefa.MEDIA));
+        Tarefa segunda = servicoTarefa.criarTarefa(new RequisicaoCriacaoTarefa("Segunda", "Descrição", PrioridadeTarefa.MEDIA));
+        Tarefa terceira = servicoTarefa.criarTarefa(new RequisicaoCriacaoTarefa("Terceira", "Descrição", PrioridadeTarefa.MEDIA));
+
+        // When
+        servicoTarefa.atualizarTarefa(terceira.getIdTarefa(), new AtualizarTarefa("Terceira", "Descrição", PrioridadeTarefa.URGENTE));
+
+        // Then
+        assertThat(servicoTarefa.listarTodasTarefas()).extracting(Tarefa::getIdTarefa)
+                .containsExactly(terceira.getIdTarefa(), primeira.getIdTarefa(), segunda.getIdTarefa());
+        assertThat(servicoTarefa.listarTarefasPorPrioridade(PrioridadeTarefa.MEDIA)).extracting(Tarefa::getIdTarefa)
+                .containsExactly(primeira.getIdTarefa(), segunda.getIdTarefa());
+    }
+
+    @Test
+    @DisplayName("Deve percorrer todas as tarefas por páginas usando o cursor")
+    void devePercorrerTarefasPorPaginas() {
+        // Given
+        for (int i = 0; i < 5; i++) {
+            servicoTarefa.criarTarefa(new RequisicaoCriacaoTarefa("Tarefa " + i, "Descrição", PrioridadeTarefa.values()[i % 4]));
+        }
+
+        // When
+        Pagina<Tarefa> primeira = servicoTarefa.listarTodasTarefas(null, 2);
+        Pagina<Tarefa> segunda = servicoTarefa.listarTodasTarefas(primeira.getProximoCursor(), 2);
+        Pagina<Tarefa> terceira = servicoTarefa.listarTodasTarefas(segunda.getProximoCursor(), 2);
+
+        // Then
+        assertThat(primeira.getItens()).hasSize(2);
+        assertThat(segunda.getItens()).hasSize(2);
+        assertThat(terceira.getItens()).hasSize(1);
+        assertThat(terceira.temProxima()).isFalse();
+
+        List<Tarefa> paginadas = new ArrayList<>(primeira.getItens());
+        paginadas.addAll(segunda.getItens());
+        paginadas.addAll(terceira.getItens());
+        assertThat(paginadas).containsExactlyElementsOf(servicoTarefa.listarTodasTarefas());
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção para cursor inválido")
+    void deveLancarExcecaoParaCursorInvalido() {
+        assertThatThrownBy(() -> servicoTarefa.listarTodasTarefas("não-é-cursor", 10))
+                .isInstanceOf(CursorInvalidoException.class);
+    }
+
     @Test
     @DisplayName("Deve buscar tarefa por ID com sucesso")
     void deveBuscarTarefaPorIdComSucesso() {
@@ -211,6 +277,27 @@ class ServicoTarefaTeste {
         assertThat(tarefasBaixaPrioridade.get(0).getTitulo()).isEqualTo("Baixa Prioridade");
     }
 
+    @Test
+    @DisplayName("Deve mover tarefa entre os filtros quando status e prioridade mudam")
+    void deveReindexarTarefaQuandoStatusEPrioridadeMudam() {
+        // Given
+        Tarefa tarefa = servicoTarefa.criarTarefa(new RequisicaoCriacaoTarefa("Tarefa", "Descrição", PrioridadeTarefa.BAIXA));
+
+        // When
+        servicoTarefa.atualizarTarefa(tarefa.getIdTarefa(), new AtualizarTarefa("Tarefa", "Descrição", PrioridadeTarefa.URGENTE));
+        servicoTarefa.concluirTarefa(tarefa.getIdTarefa());
+
+        // Then
+        assertThat(servicoTarefa.listarTarefasPorPrioridade(PrioridadeTarefa.BAIXA)).isEmpty();
+        assertThat(servicoTarefa.listarTarefasPorPrioridade(PrioridadeTarefa.URGENTE)).hasSize(1);
+        assertThat(servicoTarefa.listarTarefasPorStatus(StatusTarefa.PENDENTE)).isEmpty();
+        assertThat(servicoTarefa.listarTarefasPorStatus(StatusTarefa.CONCLUIDA)).hasSize(1);
+
+        servicoTarefa.removerTarefa(tarefa.getIdTarefa());
+        assertThat(servicoTarefa.listarTarefasPorStatus(StatusTarefa.CONCLUIDA)).isEmpty();
+        assertThat(servicoTarefa.listarTarefasPorPrioridade(PrioridadeTarefa.URGENTE)).isEmpty();
+    }
+
     @Test
     @DisplayName("Deve buscar tarefas por termo no título")
     void deveBuscarTarefasPorTermoNoTítulo() {
@@ -250,6 +337,498 @@ class ServicoTarefaTeste {
         assertThat(tarefasDeEntrevista.get(0).getTitulo()).isEqualTo("Tarefa 1");
     }
 
+    @Test
+    @DisplayName("Deve buscar por trecho de palavra sem diferenciar maiúsculas e acompanhar alterações")
+    void deveBuscarPorTrechoEAcompanharAlteracoes() {
+        // Given
+        Tarefa relatorio = servicoTarefa.criarTarefa(new RequisicaoCriacaoTarefa("Relatório Mensal", "Enviar ao FINANCEIRO", PrioridadeTarefa.BAIXA));
+        Tarefa reuniao = servicoTarefa.criarTarefa(new RequisicaoCriacaoTarefa("Reunião", "Pauta financeira", PrioridadeTarefa.URGENTE));
+        servicoTarefa.criarTarefa(new RequisicaoCriacaoTarefa("Academia", null, PrioridadeTarefa.MEDIA));
+
+        // When & Then
+        assertThat(servicoTarefa.buscarTarefasPorTermo("FINANC")).extracting(Tarefa::getIdTarefa)
+                .containsExactly(reuniao.getIdTarefa(), relatorio.getIdTarefa());
+        assertThat(servicoTarefa.buscarTarefasPorTermo("ório men")).extracting(Tarefa::getIdTarefa)
+                .containsExactly(relatorio.getIdTarefa());
+        assertThat(servicoTarefa.buscarTarefasPorTermo("re")).hasSize(2);
+
+        servicoTarefa.atualizarTarefa(relatorio.getIdTarefa(), new AtualizarTarefa("Relatório Anual", null, PrioridadeTarefa.BAIXA));
+
+        assertThat(servicoTarefa.buscarTarefasPorTermo("financ")).extracting(Tarefa::getIdTarefa)
+                .containsExactly(reuniao.getIdTarefa());
+        assertThat(servicoTarefa.buscarTarefasPorTermo("anual")).extracting(Tarefa::getIdTarefa)
+                .containsExactly(relatorio.getIdTarefa());
+
+        servicoTarefa.removerTarefa(reuniao.getIdTarefa());
+        assertThat(servicoTarefa.buscarTarefasPorTermo("financ")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve buscar tarefas por intervalo de criação, atualização e conclusão")
+    void deveBuscarTarefasPorIntervalosDeTempo() {
+        // Given
+        LocalDateTime antes = LocalDateTime.now().minusSeconds(1);
+        Tarefa primeira = servicoTarefa.criarTarefa(new RequisicaoCriacaoTarefa("Primeira", null, PrioridadeTarefa.BAIXA));
+        Tarefa segunda = servicoTarefa.criarTarefa(new RequisicaoCriacaoTarefa("Segunda", null, PrioridadeTarefa.URGENTE));
+        Tarefa terceira = servicoTarefa.criarTarefa(new RequisicaoCriacaoTarefa("Terceira", null, PrioridadeTarefa.MEDIA));
+        servicoTarefa.concluirTarefa(segunda.getIdTarefa());
+        LocalDateTime depois = LocalDateTime.now().plusSeconds(1);
+
+        // When
+        List<Tarefa> criadas = servicoTarefa.listarTarefasEntreDatas(antes, depois);
+        Pagina<Tarefa> primeiraPagina = servicoTarefa.listarTarefasEntreDatas(antes, depois, null, 2);
+        Pagina<Tarefa> segundaPagina = servicoTarefa.listarTarefasEntreDatas(antes, depois, primeiraPagina.getProximoCursor(), 2);
+
+        // Then
+        assertThat(criadas).extracting(Tarefa::getIdTarefa)
+                .containsExactly(terceira.getIdTarefa(), segunda.getIdTarefa(), primeira.getIdTarefa());
+        assertThat(primeiraPagina.getItens()).extracting(Tarefa::getIdTarefa)
+                .containsExactly(terceira.getIdTarefa(), segunda.getIdTarefa());
+        assertThat(segundaPagina.getItens()).extracting(Tarefa::getIdTarefa)
+                .containsExactly(primeira.getIdTarefa());
+        assertThat(segundaPagina.temProxima()).isFalse();
+
+        assertThat(servicoTarefa.listarTarefasAtualizadasEntre(antes, depois, null, 10).getItens()).hasSize(3)
+                .first().extracting(Tarefa::getIdTarefa).isEqualTo(segunda.getIdTarefa());
+        assertThat(servicoTarefa.listarTarefasConcluidasEntre(antes, depois, null, 10).getItens())
+                .extracting(Tarefa::getIdTarefa).containsExactly(segunda.getIdTarefa());
+        assertThat(servicoTarefa.listarTarefasEntreDatas(depois, antes)).isEmpty();
+
+        servicoTarefa.reabrirTarefa(segunda.getIdTarefa());
+        assertThat(servicoTarefa.listarTarefasConcluidasEntre(antes, depois, null, 10).getItens()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve manter estatísticas incrementais consistentes com a recontagem completa")
+    void deveManterEstatisticasConsistentesComRecontagem() {
+        // Given
+        Random aleatorio = new Random(42);
+        List<String> ids = new ArrayList<>();
+        PrioridadeTarefa[] prioridades = PrioridadeTarefa.values();
+
+        // When
+        for (int i = 0; i < 2_000; i++) {
+            int operacao = ids.isEmpty() ? 0 : aleatorio.nextInt(5);
+            String id = ids.isEmpty() ? null : ids.get(aleatorio.nextInt(ids.size()));
+            PrioridadeTarefa prioridade = prioridades[aleatorio.nextInt(prioridades.length)];
+            switch (operacao) {
+                case 0:
+                    ids.add(servicoTarefa.criarTarefa(new RequisicaoCriacaoTarefa("Tarefa " + i, null, prioridade)).getIdTarefa());
+                    break;
+                case 1:
+                    servicoTarefa.atualizarTarefa(id, new AtualizarTarefa("Tarefa " + i, null, prioridade));
+                    break;
+                case 2:
+                    servicoTarefa.concluirTarefa(id);
+                    break;
+                case 3:
+                    servicoTarefa.reabrirTarefa(id);
+                    break;
+                default:
+                    servicoTarefa.removerTarefa(id);
+                    ids.remove(id);
+            }
+        }
+
+        // Then
+        List<Tarefa> tarefas = servicoTarefa.listarTodasTarefas();
+        ObterEstatisticas estatisticas = servicoTarefa.obterEstatisticas();
+
+        assertThat(estatisticas.getTotalTarefas()).isEqualTo(tarefas.size());
+        assertThat(estatisticas.getTarefasConcluidas()).isEqualTo(tarefas.stream().filter(Tarefa::estaConcluida).count());
+        assertThat(estatisticas.getTarefasPendentes()).isEqualTo(tarefas.stream().filter(t -> !t.estaConcluida()).count());
+        assertThat(estatisticas.getTarefasPorPrioridade())
+                .isEqualTo(tarefas.stream().collect(Collectors.groupingBy(Tarefa::getPrioridade, Collectors.counting())));
+        assertThat(estatisticas.getTarefasPorStatus())
+                .isEqualTo(tarefas.stream().collect(Collectors.groupingBy(Tarefa::getStatus, Collectors.counting())));
+    }
+
+    @Test
+    @DisplayName("Deve manter estatísticas consistentes sob alterações concorrentes")
+    void deveManterEstatisticasConsistentesSobConcorrencia() throws Exception {
+        // Given
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Callable<Void>> trabalhos = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            trabalhos.add(() -> {
+                for (int i = 0; i < 500; i++) {
+                    Tarefa tarefa = servicoTarefa.criarTarefa(new RequisicaoCriacaoTarefa("Tarefa " + i, null, PrioridadeTarefa.MEDIA));
+                    servicoTarefa.concluirTarefa(tarefa.getIdTarefa());
+                    if (i % 3 == 0) {
+                        servicoTarefa.removerTarefa(tarefa.getIdTarefa());
+                    }
+                }
+                return null;
+            });
+        }
+
+        // When
+        for (Future<Void> resultado : executor.invokeAll(trabalhos)) {
+            resultado.get();
+        }
+        executor.shutdown();
+
+        // Then
+        List<Tarefa> tarefas = servicoTarefa.listarTodasTarefas();
+        ObterEstatisticas estatisticas = servicoTarefa.obterEstatisticas();
+        assertThat(estatisticas.getTotalTarefas()).isEqualTo(tarefas.size());
+        assertThat(estatisticas.getTarefasConcluidas()).isEqualTo(tarefas.size());
+        assertThat(estatisticas.getTarefasPorPrioridade()).containsEntry(PrioridadeTarefa.MEDIA, (long) tarefas.size());
+    }
+
+    @Test
+    @DisplayName("Deve gerar uma nova versão a cada alteração sem modificar a anterior")
+    void deveGerarNovaVersaoACadaAlteracao() {
+        // Given
+        Tarefa criada = servicoTarefa.criarTarefa(new RequisicaoCriacaoTarefa("Tarefa", "Descrição", PrioridadeTarefa.BAIXA));
+
+        // When
+        Tarefa atualizada = servicoTarefa.atualizarTarefa(criada.getIdTarefa(),
+                new AtualizarTarefa("Tarefa alterada", "Descrição", PrioridadeTarefa.ALTA));
+        Tarefa concluida = servicoTarefa.concluirTarefa(criada.getIdTarefa());
+
+        // Then
+        assertThat(criada.getVersao()).isEqualTo(1);
+        assertThat(criada.getTitulo()).isEqualTo("Tarefa");
+        assertThat(criada.getStatus()).isEqualTo(StatusTarefa.PENDENTE);
+        assertThat(atualizada.getVersao()).isEqualTo(2);
+        assertThat(atualizada.getStatus()).isEqualTo(StatusTarefa.PENDENTE);
+        assertThat(concluida.getVersao()).isEqualTo(3);
+        assertThat(concluida.getTitulo()).isEqualTo("Tarefa alterada");
+        assertThat(servicoTarefa.buscarTarefaPorId(criada.getIdTarefa())).isSameAs(concluida);
+    }
+
+    @Test
+    @DisplayName("Deve aplicar alterações concorrentes na mesma tarefa sem perder versões")
+    void deveAplicarAlteracoesConcorrentesSemPerderVersoes() throws Exception {
+        // Given
+        Tarefa tarefa = servicoTarefa.criarTarefa(new RequisicaoCriacaoTarefa("Tarefa", null, PrioridadeTarefa.MEDIA));
+        String id = tarefa.getIdTarefa();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Callable<Void>> trabalhos = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            trabalhos.add(() -> {
+                for (int i = 0; i < 250; i++) {
+                    if (i % 2 == 0) {
+                        servicoTarefa.concluirTarefa(id);
+                    } else {
+                        servicoTarefa.reabrirTarefa(id);
+                    }
+                    Tarefa lida = servicoTarefa.buscarTarefaPorId(id);
+                    assertThat(lida.getConcluidoEm() != null).isEqualTo(lida.estaConcluida());
+                }
+                return null;
+            });
+        }
+
+        // When
+        for (Future<Void> resultado : executor.invokeAll(trabalhos)) {
+            resultado.get();
+        }
+        executor.shutdown();
+
+        // Then
+        Tarefa finalizada = servicoTarefa.buscarTarefaPorId(id);
+        assertThat(finalizada.getVersao()).isEqualTo(1 + 4 * 250);
+        assertThat(servicoTarefa.listarTarefasPorStatus(finalizada.getStatus())).containsExactly(finalizada);
+        assertThat(servicoTarefa.obterEstatisticas().getTotalTarefas()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve aplicar operações em lote reportando falhas por item")
+    void deveAplicarOperacoesEmLoteReportandoFalhas() {
+        // Given
+        List<RequisicaoCriacaoTarefa> requisicoes = List.of(
+                new RequisicaoCriacaoTarefa("Primeira", null, PrioridadeTarefa.ALTA),
+                new RequisicaoCriacaoTarefa("", null, null),
+                new RequisicaoCriacaoTarefa("Segunda", "Descrição", PrioridadeTarefa.BAIXA));
+
+        // When
+        RespostaLote criacao = servicoTarefa.criarTarefasEmLote(requisicoes);
+        String primeira = criacao.getResultados().get(0).getIdTarefa();
+        String segunda = criacao.getResultados().get(2).getIdTarefa();
+        RespostaLote conclusao = servicoTarefa.concluirTarefasEmLote(List.of(primeira, "inexistente"));
+        RespostaLote remocao = servicoTarefa.removerTarefasEmLote(List.of(segunda, segunda));
+        RespostaLote busca = servicoTarefa.buscarTarefasEmLote(List.of(primeira, segunda));
+
+        // Then
+        assertThat(criacao.getSucessos()).isEqualTo(2);
+        assertThat(criacao.getResultados()).extracting(ResultadoLote::getStatus).containsExactly(201, 400, 201);
+        assertThat(criacao.getResultados().get(1).getErrosValidacao()).containsKeys("titulo", "prioridade");
+        assertThat(conclusao.getResultados()).extracting(ResultadoLote::getStatus).containsExactly(200, 404);
+        assertThat(conclusao.getResultados().get(0).getTarefa().estaConcluida()).isTrue();
+        assertThat(remocao.getResultados()).extracting(ResultadoLote::getStatus).containsExactly(204, 404);
+        assertThat(busca.getResultados()).extracting(ResultadoLote::getStatus).containsExactly(200, 404);
+        assertThat(servicoTarefa.obterEstatisticas().getTotalTarefas()).isEqualTo(1);
+        assertThat(servicoTarefa.obterEstatisticas().getTarefasConcluidas()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve avançar a versão da loja apenas quando uma mutação é aplicada")
+    void deveAvancarVersaoDaLojaAcadaMutacao() {
+        // Given
+        long inicial = servicoTarefa.versaoLoja();
+        Tarefa tarefa = servicoTarefa.criarTarefa(new RequisicaoCriacaoTarefa("Tarefa", null, PrioridadeTarefa.ALTA));
+
+        // When
+        servicoTarefa.concluirTarefa(tarefa.getIdTarefa());
+        servicoTarefa.listarTodasTarefas();
+        servicoTarefa.buscarTarefaPorId(tarefa.getIdTarefa());
+        assertThatThrownBy(() -> servicoTarefa.concluirTarefa("inexistente"))
+                .isInstanceOf(TarefaNaoEncontradaException.class);
+        servicoTarefa.removerTarefasEmLote(List.of(tarefa.getIdTarefa(), "inexistente"));
+
+        // Then
+        assertThat(servicoTarefa.versaoLoja()).isEqualTo(inicial + 3);
+    }
+
+    @Test
+    @DisplayName("Deve servir consultas repetidas do cache até a próxima mutação")
+    void deveServirConsultasRepetidasDoCacheAteProximaMutacao() {
+        // Given
+        ServicoTarefa servico = new ServicoTarefa(DiarioMutacoes.NENHUM, new CacheConsultasCaffeine(10_000));
+        SimpleMeterRegistry registro = new SimpleMeterRegistry();
+        servico.bindTo(registro);
+        Tarefa tarefa = servico.criarTarefa(new RequisicaoCriacaoTarefa("Estudar cache", null, PrioridadeTarefa.ALTA));
+
+        // When
+        Pagina<Tarefa> primeira = servico.listarTarefasPorStatus(StatusTarefa.PENDENTE, null, 10);
+        Pagina<Tarefa> repetida = servico.listarTarefasPorStatus(StatusTarefa.PENDENTE, null, 10);
+        Pagina<Tarefa> outroLimite = servico.listarTarefasPorStatus(StatusTarefa.PENDENTE, null, 5);
+        servico.concluirTarefa(tarefa.getIdTarefa());
+        Pagina<Tarefa> depoisDaMutacao = servico.listarTarefasPorStatus(StatusTarefa.PENDENTE, null, 10);
+
+        // Then
+        assertThat(repetida).isSameAs(primeira);
+        assertThat(outroLimite).isNotSameAs(primeira);
+        assertThat(primeira.getItens()).extracting(Tarefa::getIdTarefa).containsExactly(tarefa.getIdTarefa());
+        assertThat(depoisDaMutacao.getItens()).isEmpty();
+        assertThat(registro.get("cache.gets").tag("result", "hit").functionCounter().count()).isEqualTo(1);
+        assertThat(registro.get("cache.gets").tag("result", "miss").functionCounter().count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Deve gerar IDs compactos em ordem de criação e continuar aceitando IDs UUID")
+    void deveGerarIdsCompactosEAceitarIdsUuid() {
+        // Given
+        GeradorIdsMonotonico gerador = new GeradorIdsMonotonico(() -> 1_700_000_000_000L);
+        ServicoTarefa servico = new ServicoTarefa(DiarioMutacoes.NENHUM, CacheConsultas.NENHUM, gerador);
+        String idLegado = "3f2b8c1e-7a4d-4e5f-9b6a-0c1d2e3f4a5b";
+        String idRecuperado = GeradorIdsMonotonico.codificar(gerador.proximoValor() + 1_000);
+        LocalDateTime agora = LocalDateTime.now();
+        servico.aplicarEvento(new EventoTarefa(TipoEventoTarefa.CRIADA, idLegado, new Tarefa(idLegado, "Tarefa antiga",
+                null, StatusTarefa.PENDENTE, PrioridadeTarefa.MEDIA, agora, agora, null)));
+        servico.aplicarEvento(new EventoTarefa(TipoEventoTarefa.CRIADA, idRecuperado, new Tarefa(idRecuperado,
+                "Tarefa recuperada", null, StatusTarefa.PENDENTE, PrioridadeTarefa.MEDIA, agora, agora, null)));
+
+        // When
+        Tarefa primeira = servico.criarTarefa(new RequisicaoCriacaoTarefa("Primeira", null, PrioridadeTarefa.ALTA));
+        Tarefa segunda = servico.criarTarefa(new RequisicaoCriacaoTarefa("Segunda", null, PrioridadeTarefa.ALTA));
+        Tarefa antiga = servico.concluirTarefa(idLegado);
+
+        // Then
+        assertThat(primeira.getIdTarefa()).hasSize(13).isGreaterThan(idRecuperado);
+        assertThat(segunda.getIdTarefa()).isGreaterThan(primeira.getIdTarefa());
+        assertThat(GeradorIdsMonotonico.decodificar(segunda.getIdTarefa()))
+                .isEqualTo(GeradorIdsMonotonico.decodificar(primeira.getIdTarefa()) + 1);
+        assertThat(GeradorIdsMonotonico.decodificar(idLegado)).isEqualTo(-1);
+        assertThat(antiga.estaConcluida()).isTrue();
+        assertThat(servico.buscarTarefaPorId(idLegado).getTitulo()).isEqualTo("Tarefa antiga");
+    }
+
+    @Test
+    @DisplayName("Deve ignorar evento reaplicado com versão que o estado já superou")
+    void deveIgnorarEventoComVersaoAntiga() {
+        // Given
+        List<TipoEventoTarefa> publicados = new ArrayList<>();
+        ServicoTarefa servico = new ServicoTarefa(Tarefa.INQUILINO_PADRAO, Long.MAX_VALUE, DiarioMutacoes.NENHUM,
+                Validation.buildDefaultValidatorFactory().getValidator(), CacheConsultas.NENHUM,
+                new GeradorIdsMonotonico(), ColunasTarefas.NENHUMA, (tipo, anterior, atual) -> publicados.add(tipo));
+        Tarefa criada = servico.criarTarefa(new RequisicaoCriacaoTarefa("Relatório", null, PrioridadeTarefa.ALTA));
+        Tarefa concluida = servico.concluirTarefa(criada.getIdTarefa());
+        long versaoLoja = servico.versaoLoja();
+        publicados.clear();
+
+        // When
+        servico.aplicarEvento(new EventoTarefa(TipoEventoTarefa.CRIADA, criada.getIdTarefa(), criada));
+        servico.aplicarEvento(new EventoTarefa(TipoEventoTarefa.CONCLUIDA, concluida.getIdTarefa(), concluida));
+
+        // Then
+        assertThat(servico.buscarTarefaPorId(criada.getIdTarefa())).isEqualTo(concluida);
+        assertThat(servico.versaoLoja()).isEqualTo(versaoLoja);
+        assertThat(servico.listarTarefasPorStatus(StatusTarefa.PENDENTE)).isEmpty();
+        assertThat(publicados).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve agregar pelo armazém colunar o mesmo que a varredura das tarefas")
+    void deveAgregarPeloArmazemColunarComoNaVarreduraDasTarefas() {
+        // Given
+        ArmazemColunar colunas = new ArmazemColunar();
+        ServicoTarefa servico = new ServicoTarefa(DiarioMutacoes.NENHUM, CacheConsultas.NENHUM,
+                new GeradorIdsMonotonico(), colunas);
+        Random aleatorio = new Random(7);
+        PrioridadeTarefa[] prioridades = PrioridadeTarefa.values();
+        LocalDateTime inicio = LocalDateTime.now().minusSeconds(1);
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            int operacao = ids.isEmpty() ? 0 : aleatorio.nextInt(5);
+            String id = ids.isEmpty() ? null : ids.get(aleatorio.nextInt(ids.size()));
+            switch (operacao) {
+                case 0, 1 -> ids.add(servico.criarTarefa(new RequisicaoCriacaoTarefa("Tarefa " + i, null,
+                        prioridades[aleatorio.nextInt(prioridades.length)])).getIdTarefa());
+                case 2 -> servico.concluirTarefa(id);
+                case 3 -> servico.atualizarTarefa(id, new AtualizarTarefa("Tarefa " + i, null,
+                        prioridades[aleatorio.nextInt(prioridades.length)]));
+                default -> {
+                    servico.removerTarefa(id);
+                    ids.remove(id);
+                }
+            }
+        }
+        LocalDateTime fim = LocalDateTime.now().plusSeconds(1);
+        LocalDateTime meio = servico.buscarTarefaPorId(ids.get(ids.size() / 2)).getCriadoEm();
+
+        // When / Then
+        for (CampoTemporal campo : CampoTemporal.values()) {
+            for (LocalDateTime limite : List.of(meio, fim)) {
+                List<Tarefa> noIntervalo = servico.listarTodasTarefas().stream()
+                        .filter(t -> campo.de(t) != null && campo.de(t).isAfter(inicio) && campo.de(t).isBefore(limite))
+                        .collect(Collectors.toList());
+                ObterEstatisticas colunar = colunas.agregar(campo, inicio, limite, () -> null);
+
+                assertThat(colunar.getTotalTarefas()).isEqualTo(noIntervalo.size());
+                assertThat(colunar.getTarefasPorStatus()).isEqualTo(noIntervalo.stream()
+                        .collect(Collectors.groupingBy(Tarefa::getStatus, Collectors.counting())));
+                assertThat(colunar.getTarefasPorPrioridade()).isEqualTo(noIntervalo.stream()
+                        .collect(Collectors.groupingBy(Tarefa::getPrioridade, Collectors.counting())));
+            }
+        }
+        assertThat(servico.obterEstatisticasEntreDatas(inicio, fim)).isEqualTo(servico.obterEstatisticas());
+        for (int i = 0; i < 3; i++) {
+            Tarefa tarefa = servicoTarefa.criarTarefa(new RequisicaoCriacaoTarefa("Sem colunas " + i, null, prioridades[i]));
+            if (i == 0) {
+                servicoTarefa.concluirTarefa(tarefa.getIdTarefa());
+            }
+        }
+        assertThat(servicoTarefa.obterEstatisticasEntreDatas(inicio, LocalDateTime.now().plusSeconds(1)))
+                .isEqualTo(servicoTarefa.obterEstatisticas());
+        assertThat(colunas.quantidadeLinhas()).isEqualTo(ids.size());
+    }
+
+    @Test
+    @DisplayName("Deve expandir séries diárias, semanais e mensais só dentro da janela do calendário")
+    void deveExpandirSeriesNaJanelaDoCalendario() {
+        // Given
+        Tarefa diaria = criarSerie("Alongar", LocalDateTime.of(2026, 1, 1, 9, 0),
+                new RegraRecorrencia(FrequenciaRecorrencia.DIARIA, 2, null, null, 5));
+        Tarefa semanal = criarSerie("Reunião", LocalDateTime.of(2026, 1, 7, 10, 0),
+                new RegraRecorrencia(FrequenciaRecorrencia.SEMANAL, 2, Set.of(DayOfWeek.FRIDAY, DayOfWeek.MONDAY),
+                        LocalDate.of(2026, 2, 6), null));
+        Tarefa mensal = criarSerie("Pagar aluguel", LocalDateTime.of(2026, 1, 31, 8, 0),
+                new RegraRecorrencia(FrequenciaRecorrencia.MENSAL, null, null, null, null));
+        Tarefa antiga = criarSerie("Regar plantas", LocalDateTime.of(2020, 1, 1, 7, 0),
+                new RegraRecorrencia(FrequenciaRecorrencia.DIARIA, null, null, null, null));
+        RequisicaoCriacaoTarefa requisicao = new RequisicaoCriacaoTarefa("Entregar relatório", null, PrioridadeTarefa.ALTA);
+        requisicao.setPrazo(LocalDateTime.of(2026, 1, 15, 12, 0));
+        Tarefa unica = servicoTarefa.criarTarefa(requisicao);
+
+        // When
+        List<Ocorrencia> trimestre = servicoTarefa.listarCalendario(
+                LocalDateTime.of(2026, 1, 1, 0, 0), LocalDateTime.of(2026, 4, 1, 0, 0));
+        List<Ocorrencia> marco = servicoTarefa.listarCalendario(
+                LocalDateTime.of(2026, 3, 10, 7, 0), LocalDateTime.of(2026, 3, 13, 0, 0));
+
+        // Then
+        assertThat(instantes(trimestre, diaria)).containsExactly(LocalDateTime.of(2026, 1, 1, 9, 0),
+                LocalDateTime.of(2026, 1, 3, 9, 0), LocalDateTime.of(2026, 1, 5, 9, 0),
+                LocalDateTime.of(2026, 1, 7, 9, 0), LocalDateTime.of(2026, 1, 9, 9, 0));
+        assertThat(instantes(trimestre, semanal)).containsExactly(LocalDateTime.of(2026, 1, 9, 10, 0),
+                LocalDateTime.of(2026, 1, 19, 10, 0), LocalDateTime.of(2026, 1, 23, 10, 0),
+                LocalDateTime.of(2026, 2, 2, 10, 0), LocalDateTime.of(2026, 2, 6, 10, 0));
+        assertThat(instantes(trimestre, mensal)).containsExactly(LocalDateTime.of(2026, 1, 31, 8, 0),
+                LocalDateTime.of(2026, 2, 28, 8, 0), LocalDateTime.of(2026, 3, 31, 8, 0));
+        assertThat(instantes(trimestre, antiga)).hasSize(90);
+        assertThat(instantes(trimestre, unica)).containsExactly(LocalDateTime.of(2026, 1, 15, 12, 0));
+        assertThat(trimestre).extracting(Ocorrencia::getInstante).isSorted();
+        assertThat(marco).extracting(Ocorrencia::getIdTarefa).containsOnly(antiga.getIdTarefa());
+        assertThat(marco).extracting(Ocorrencia::getInstante).containsExactly(LocalDateTime.of(2026, 3, 10, 7, 0),
+                LocalDateTime.of(2026, 3, 11, 7, 0), LocalDateTime.of(2026, 3, 12, 7, 0));
+        assertThat(servicoTarefa.listarTodasTarefas()).hasSize(5);
+        assertThatThrownBy(() -> servicoTarefa.listarCalendario(
+                LocalDateTime.of(2026, 1, 1, 0, 0), LocalDateTime.of(2027, 1, 3, 0, 0)))
+                .isInstanceOf(JanelaCalendarioInvalidaException.class);
+    }
+
+    @Test
+    @DisplayName("Deve concluir uma ocorrência sem copiar a série e refazer o calendário em cache só após a mutação")
+    void deveConcluirOcorrenciaSemCopiarSerie() {
+        // Given
+        ServicoTarefa servico = new ServicoTarefa(DiarioMutacoes.NENHUM, new CacheConsultasCaffeine(10_000));
+        LocalDateTime inicio = LocalDateTime.of(2026, 5, 4, 18, 30);
+        RequisicaoCriacaoTarefa requisicao = new RequisicaoCriacaoTarefa("Academia", null, PrioridadeTarefa.MEDIA,
+                inicio, new RegraRecorrencia(FrequenciaRecorrencia.DIARIA, null, null, null, null));
+        Tarefa serie = servico.criarTarefa(requisicao);
+        LocalDateTime de = inicio.toLocalDate().atStartOfDay();
+        LocalDateTime ate = de.plusDays(3);
+        List<Ocorrencia> antes = servico.listarCalendario(de, ate);
+
+        // When
+        Tarefa concluida = servico.concluirOcorrencia(serie.getIdTarefa(), LocalDate.of(2026, 5, 5));
+        List<Ocorrencia> depois = servico.listarCalendario(de, ate);
+
+        // Then
+        assertThat(servico.listarCalendario(de, ate)).isSameAs(depois).isNotSameAs(antes);
+        assertThat(antes).noneMatch(Ocorrencia::isConcluida);
+        assertThat(depois).extracting(Ocorrencia::isConcluida).containsExactly(false, true, false);
+        assertThat(concluida.getStatus()).isEqualTo(StatusTarefa.PENDENTE);
+        assertThat(concluida.getVersao()).isEqualTo(2);
+        assertThat(concluida.getOcorrenciasConcluidas()).containsExactly(LocalDate.of(2026, 5, 5));
+        assertThat(concluida.proximoPrazo(inicio)).isEqualTo(inicio.plusDays(2));
+        assertThat(servico.listarTodasTarefas()).containsExactly(concluida);
+        assertThatThrownBy(() -> servico.concluirOcorrencia(serie.getIdTarefa(), LocalDate.of(2026, 5, 3)))
+                .isInstanceOf(OcorrenciaNaoEncontradaException.class);
+        assertThat(servico.buscarTarefaPorId(serie.getIdTarefa())).isSameAs(concluida);
+        assertThat(servico.reabrirOcorrencia(serie.getIdTarefa(), LocalDate.of(2026, 5, 5)).getOcorrenciasConcluidas())
+                .isEmpty();
+    }
+
+    private Tarefa criarSerie(String titulo, LocalDateTime inicio, RegraRecorrencia regra) {
+        return servicoTarefa.criarTarefa(new RequisicaoCriacaoTarefa(titulo, null, PrioridadeTarefa.MEDIA, inicio, regra));
+    }
+
+    private static List<LocalDateTime> instantes(List<Ocorrencia> ocorrencias, Tarefa tarefa) {
+        return ocorrencias.stream()
+                .filter(ocorrencia -> ocorrencia.getIdTarefa().equals(tarefa.getIdTarefa()))
+                .map(Ocorrencia::getInstante)
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    @DisplayName("Deve publicar tempos, contadores e tamanhos no registro de métricas")
+    void devePublicarMetricas() {
+        // Given
+        SimpleMeterRegistry registro = new SimpleMeterRegistry();
+        servicoTarefa.bindTo(registro);
+        Tarefa tarefa = servicoTarefa.criarTarefa(new RequisicaoCriacaoTarefa("Estudar métricas", null, PrioridadeTarefa.ALTA));
+
+        // When
+        servicoTarefa.concluirTarefa(tarefa.getIdTarefa());
+        servicoTarefa.buscarTarefaPorId(tarefa.getIdTarefa());
+        assertThatThrownBy(() -> servicoTarefa.buscarTarefaPorId("inexistente"))
+                .isInstanceOf(TarefaNaoEncontradaException.class);
+
+        // Then
+        assertThat(registro.get("agendai.tarefas.operacao").tag("operacao", "buscar_por_id").timer().count()).isEqualTo(2);
+        assertThat(registro.get("agendai.tarefas.operacao").tag("operacao", "criar").timer().count()).isEqualTo(1);
+        assertThat(registro.get("agendai.tarefas.mutacoes").tag("tipo", "concluida").counter().count()).isEqualTo(1);
+        assertThat(registro.get("agendai.tarefas.nao.encontradas").counter().count()).isEqualTo(1);
+        assertThat(registro.get("agendai.tarefas.armazenadas").gauge().value()).isEqualTo(1);
+        assertThat(registro.get("agendai.tarefas.por.status").tag("status", "concluida").gauge().value()).isEqualTo(1);
+        assertThat(registro.get("agendai.indice.temporal.entradas").tag("campo", "conclusao").gauge().value()).isEqualTo(1);
+        assertThat(registro.get("agendai.indice.trigramas.vinculos").gauge().value()).isPositive();
+    }
+
     @Test
     @DisplayName("Deve calcular estatísticas das tarefas")
     void deveCalcularEstatísticasDasTarefas() {